@@ -1,5 +1,10 @@
 package com.github.nicholascowan.twelvedata;
 
+import com.github.nicholascowan.twelvedata.concurrent.BulkOperations;
+import com.github.nicholascowan.twelvedata.concurrent.BulkOptions;
+import com.github.nicholascowan.twelvedata.concurrent.BulkResult;
+import com.github.nicholascowan.twelvedata.concurrent.ExecutionMode;
+import com.github.nicholascowan.twelvedata.concurrent.RateLimiter;
 import com.github.nicholascowan.twelvedata.config.TwelveDataConfig;
 import com.github.nicholascowan.twelvedata.endpoints.Daily;
 import com.github.nicholascowan.twelvedata.endpoints.EndOfDay;
@@ -7,10 +12,18 @@ import com.github.nicholascowan.twelvedata.endpoints.Price;
 import com.github.nicholascowan.twelvedata.endpoints.Quote;
 import com.github.nicholascowan.twelvedata.endpoints.TimeSeries;
 import com.github.nicholascowan.twelvedata.models.DailyResponse;
+import com.github.nicholascowan.twelvedata.http.ApiKeyPool;
 import com.github.nicholascowan.twelvedata.http.DefaultHttpClient;
 import com.github.nicholascowan.twelvedata.http.HttpClient;
+import com.github.nicholascowan.twelvedata.http.KeyPoolHttpClient;
+import com.github.nicholascowan.twelvedata.models.DecoderWarmUp;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -63,6 +76,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class TwelveDataClient {
 
+  /** The number of connections {@link #warmUp()} opens. */
+  public static final int DEFAULT_WARM_UP_CONNECTIONS = 4;
+
+  private static final Logger logger = LoggerFactory.getLogger(TwelveDataClient.class);
+
   private final TwelveDataContext context;
 
   /**
@@ -105,6 +123,20 @@ public class TwelveDataClient {
     this.context = new TwelveDataContext(apiKey, baseUrl, httpClient, defaults);
   }
 
+  /**
+   * Creates a client that spreads its requests over a pool of API keys.
+   *
+   * <p>Requests are sent through a {@link KeyPoolHttpClient}, so every key shares one connection
+   * pool and the client can use the sum of the keys' credits per minute.
+   *
+   * @param keys the API key pool
+   * @param baseUrl the base URL for the API
+   */
+  public TwelveDataClient(ApiKeyPool keys, String baseUrl) {
+    this(keys.getKeys().get(0), baseUrl,
+        new KeyPoolHttpClient(new DefaultHttpClient(baseUrl), keys));
+  }
+
   /**
    * Creates a client with Spring configuration.
    *
@@ -390,4 +422,135 @@ public class TwelveDataClient {
   public void updateDefaults(Map<String, String> newDefaults) {
     context.updateDefaults(newDefaults);
   }
+
+  /**
+   * Sets the rate limiter every request of this client takes a permit from.
+   *
+   * @param rateLimiter the rate limiter, e.g. {@code RateLimiter.perMinute(55)}, or null for no
+   *     limit
+   */
+  public void setRateLimiter(RateLimiter rateLimiter) {
+    context.setRateLimiter(rateLimiter);
+  }
+
+  /**
+   * Sets the kind of threads the bulk and async APIs of this client run on.
+   *
+   * @param executionMode the execution mode, e.g. {@link ExecutionMode#VIRTUAL} on Java 21
+   * @throws UnsupportedOperationException if the mode is not supported on the running JVM
+   */
+  public void setExecutionMode(ExecutionMode executionMode) {
+    context.setExecutionMode(executionMode);
+  }
+
+  /**
+   * Warms the client up with {@value #DEFAULT_WARM_UP_CONNECTIONS} connections.
+   *
+   * @return the report
+   * @see #warmUp(int)
+   */
+  public WarmUpReport warmUp() {
+    return warmUp(DEFAULT_WARM_UP_CONNECTIONS);
+  }
+
+  /**
+   * Prepares the client for its first requests, e.g. right after a deploy.
+   *
+   * <p>Opens connections to the base URL with {@link HttpClient#warmUp(int)}, which costs no API
+   * credits, then decodes embedded sample responses with {@link DecoderWarmUp} so the JIT compiles
+   * the decoders. Blocks until both are done. Network failures are not thrown; they show as fewer
+   * connections in the report.
+   *
+   * <p>Example usage:
+   *
+   * <pre>{@code
+   * WarmUpReport report = client.warmUp(8);
+   * report.bindTo(meterRegistry);
+   * }</pre>
+   *
+   * @param connections the number of connections to open
+   * @return the report, with the latency of a request before and after the warm-up
+   * @throws IllegalArgumentException if connections is not positive
+   */
+  public WarmUpReport warmUp(int connections) {
+    return warmUp(connections, DecoderWarmUp.DEFAULT_ITERATIONS);
+  }
+
+  /**
+   * Prepares the client for its first requests, decoding every sample a given number of times.
+   *
+   * @param connections the number of connections to open
+   * @param decodeIterations the number of times each sample response is decoded, 0 to skip the
+   *     decoder warm-up
+   * @return the report
+   * @throws IllegalArgumentException if connections is not positive or decodeIterations is
+   *     negative
+   * @see #warmUp(int)
+   */
+  public WarmUpReport warmUp(int connections, int decodeIterations) {
+    if (connections < 1) {
+      throw new IllegalArgumentException("connections must be positive: " + connections);
+    }
+    if (decodeIterations < 0) {
+      throw new IllegalArgumentException(
+          "decodeIterations must not be negative: " + decodeIterations);
+    }
+    HttpClient httpClient = context.getHttpClient();
+    long start = System.nanoTime();
+    httpClient.warmUp(1);
+    long coldLatency = System.nanoTime() - start;
+    int opened = httpClient.warmUp(connections);
+
+    long decodeStart = System.nanoTime();
+    int decoded = DecoderWarmUp.run(decodeIterations);
+    long decodeDuration = System.nanoTime() - decodeStart;
+
+    long warmStart = System.nanoTime();
+    httpClient.warmUp(1);
+    long end = System.nanoTime();
+    WarmUpReport report = new WarmUpReport(opened, Duration.ofNanos(coldLatency),
+        Duration.ofNanos(end - warmStart), decoded, Duration.ofNanos(decodeDuration),
+        Duration.ofNanos(end - start));
+    logger.info("Warmed up: {}", report);
+    return report;
+  }
+
+  /**
+   * Runs a request for every symbol with bounded concurrency and collects the results.
+   *
+   * <p>Requests run on threads of the client's {@link ExecutionMode}.
+   *
+   * <p>Example usage:
+   *
+   * <pre>{@code
+   * BulkResult<QuoteResponse> quotes =
+   *     client.forEachSymbol(symbols, symbol -> client.quote(symbol).asObject());
+   * }</pre>
+   *
+   * @param symbols the symbols
+   * @param request makes the blocking request for a symbol
+   * @param <T> the result type
+   * @return the successes and failures, in the order of the symbols
+   * @see BulkOperations#forEachSymbol(Collection, Function, BulkOptions)
+   */
+  public <T> BulkResult<T> forEachSymbol(
+      Collection<String> symbols, Function<String, ? extends T> request) {
+    return forEachSymbol(
+        symbols, request, new BulkOptions().executionMode(context.getExecutionMode()));
+  }
+
+  /**
+   * Runs a request for every symbol with the given options and collects the results.
+   *
+   * @param symbols the symbols
+   * @param request makes the blocking request for a symbol
+   * @param options the concurrency, executor and progress listener
+   * @param <T> the result type
+   * @return the successes and failures, in the order of the symbols
+   * @see BulkOperations#forEachSymbol(Collection, Function, BulkOptions)
+   */
+  public <T> BulkResult<T> forEachSymbol(
+      Collection<String> symbols, Function<String, ? extends T> request, BulkOptions options) {
+    return BulkOperations.forEachSymbol(symbols, request, options);
+  }
 }
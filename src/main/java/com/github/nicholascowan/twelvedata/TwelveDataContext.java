@@ -1,7 +1,10 @@
 package com.github.nicholascowan.twelvedata;
 
+import com.github.nicholascowan.twelvedata.concurrent.ExecutionMode;
+import com.github.nicholascowan.twelvedata.concurrent.RateLimiter;
 import com.github.nicholascowan.twelvedata.config.TwelveDataConfig;
 import com.github.nicholascowan.twelvedata.http.HttpClient;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,18 +19,26 @@ import java.util.Map;
  *   <li>HTTP client instance
  *   <li>Default parameters for API requests
  *   <li>Custom default parameters that can be overridden
+ *   <li>The rate limiter shared by all requests
+ *   <li>The execution mode of bulk and async requests
  * </ul>
  *
  * <p>The context is used by all endpoint classes to make API requests with the correct
  * configuration and parameters.
+ *
+ * <p>The parameters are held in an immutable snapshot. {@link #updateDefaults(Map)} builds a new
+ * snapshot and publishes it atomically, so endpoints created concurrently see either the old or
+ * the new defaults, never a map being changed, and share the merged parameters of {@link
+ * #getAllParams()} instead of copying them.
  */
 public class TwelveDataContext {
 
   private final String apiKey;
   private final String baseUrl;
   private final HttpClient httpClient;
-  private final Map<String, String> defaults;
-  private final Map<String, String> customDefaults;
+  private volatile Params params;
+  private volatile RateLimiter rateLimiter = RateLimiter.unlimited();
+  private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM;
 
   /**
    * Creates a new context with the specified configuration.
@@ -43,8 +54,7 @@ public class TwelveDataContext {
     this.apiKey = apiKey;
     this.baseUrl = baseUrl;
     this.httpClient = httpClient;
-    this.defaults = new HashMap<>(defaults);
-    this.customDefaults = new HashMap<>();
+    this.params = new Params(apiKey, defaults, Map.of());
   }
 
   /**
@@ -59,8 +69,7 @@ public class TwelveDataContext {
     this.apiKey = apiKey;
     this.baseUrl = config.getApi().getBaseUrl();
     this.httpClient = httpClient;
-    this.defaults = config.getDefaultParams();
-    this.customDefaults = new HashMap<>();
+    this.params = new Params(apiKey, config.getDefaultParams(), Map.of());
   }
 
   /**
@@ -72,9 +81,10 @@ public class TwelveDataContext {
    */
   public static TwelveDataContext fromContext(TwelveDataContext context) {
     TwelveDataContext newContext =
-        new TwelveDataContext(
-            context.apiKey, context.baseUrl, context.httpClient, context.defaults);
-    newContext.customDefaults.putAll(context.customDefaults);
+        new TwelveDataContext(context.apiKey, context.baseUrl, context.httpClient, Map.of());
+    newContext.params = context.params;
+    newContext.rateLimiter = context.rateLimiter;
+    newContext.executionMode = context.executionMode;
     return newContext;
   }
 
@@ -105,49 +115,105 @@ public class TwelveDataContext {
     return httpClient;
   }
 
+  /**
+   * Gets the rate limiter every request made through this context takes a permit from.
+   *
+   * @return the rate limiter, {@link RateLimiter#unlimited()} by default
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * Sets the rate limiter shared by every request made through this context.
+   *
+   * @param rateLimiter the rate limiter, or null for no limit
+   */
+  public void setRateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter != null ? rateLimiter : RateLimiter.unlimited();
+  }
+
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  /**
+   * Sets the kind of threads bulk and async requests run on.
+   *
+   * @param executionMode the execution mode, {@link ExecutionMode#PLATFORM} by default
+   * @throws UnsupportedOperationException if the mode is not supported on the running JVM
+   */
+  public void setExecutionMode(ExecutionMode executionMode) {
+    if (!executionMode.isSupported()) {
+      throw new UnsupportedOperationException(executionMode + " threads are not supported");
+    }
+    this.executionMode = executionMode;
+  }
+
   /**
    * Gets the default parameters used for API requests.
    *
-   * @return a map of default parameter names to values
+   * @return an unmodifiable map of default parameter names to values
    */
   public Map<String, String> getDefaults() {
-    return defaults;
+    return params.defaults;
   }
 
   /**
    * Gets the custom default parameters that override the standard defaults.
    *
-   * @return a map of custom parameter names to values
+   * @return an unmodifiable map of custom parameter names to values
    */
   public Map<String, String> getCustomDefaults() {
-    return customDefaults;
+    return params.customDefaults;
   }
 
   /**
    * Gets all parameters including defaults and custom defaults.
    *
    * <p>This method combines the default parameters, custom defaults, and the API key into a single
-   * map that can be used for API requests.
+   * map that can be used for API requests. The map is computed when the defaults change, not per
+   * call.
    *
-   * @return a map containing all parameters including the API key
+   * @return an unmodifiable map containing all parameters including the API key
    */
   public Map<String, String> getAllParams() {
-    Map<String, String> allParams = new HashMap<>(defaults);
-    allParams.putAll(customDefaults);
-    allParams.put("apikey", apiKey);
-    return allParams;
+    return params.all;
   }
 
   /**
    * Updates custom defaults with the provided parameters.
    *
    * <p>These custom defaults will override the standard defaults for all subsequent API requests
-   * made through this context.
+   * made through this context. Endpoints created before the update keep the old defaults.
    *
    * @param newDefaults a map of parameter names to values to set as custom defaults
    * @throws IllegalArgumentException if newDefaults is null
    */
-  public void updateDefaults(Map<String, String> newDefaults) {
-    this.customDefaults.putAll(newDefaults);
+  public synchronized void updateDefaults(Map<String, String> newDefaults) {
+    if (newDefaults == null) {
+      throw new IllegalArgumentException("newDefaults must not be null");
+    }
+    Params current = params;
+    Map<String, String> customDefaults = new HashMap<>(current.customDefaults);
+    customDefaults.putAll(newDefaults);
+    params = new Params(apiKey, current.defaults, customDefaults);
+  }
+
+  /** An immutable snapshot of the request parameters. */
+  private static final class Params {
+    private final Map<String, String> defaults;
+    private final Map<String, String> customDefaults;
+    private final Map<String, String> all;
+
+    private Params(
+        String apiKey, Map<String, String> defaults, Map<String, String> customDefaults) {
+      this.defaults = Collections.unmodifiableMap(new HashMap<>(defaults));
+      this.customDefaults = Collections.unmodifiableMap(new HashMap<>(customDefaults));
+      Map<String, String> all = new HashMap<>(defaults);
+      all.putAll(customDefaults);
+      all.put("apikey", apiKey);
+      this.all = Collections.unmodifiableMap(all);
+    }
   }
 }
@@ -0,0 +1,107 @@
+package com.github.nicholascowan.twelvedata;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of {@link TwelveDataClient#warmUp(int)}.
+ *
+ * <p>The latency of a request for the base URL is measured twice: once before anything is warmed
+ * up, which includes the DNS lookup and the TLS handshake, and once after, on a pooled
+ * connection. Comparing the two shows what the warm-up saved the first API requests.
+ *
+ * <p>Bind the report to a registry to publish it:
+ *
+ * <ul>
+ *   <li>{@code twelvedata.warmup.duration} - the time the whole warm-up took, in seconds
+ *   <li>{@code twelvedata.warmup.decode.duration} - the time the decoder warm-up took
+ *   <li>{@code twelvedata.warmup.request.latency} - tagged {@code phase} {@code cold} or {@code
+ *       warm}
+ *   <li>{@code twelvedata.warmup.connections} - the warm-up requests that got a response
+ * </ul>
+ */
+public final class WarmUpReport implements MeterBinder {
+
+  private final int connections;
+  private final Duration coldRequestLatency;
+  private final Duration warmRequestLatency;
+  private final int decodedPayloads;
+  private final Duration decodeDuration;
+  private final Duration totalDuration;
+
+  WarmUpReport(int connections, Duration coldRequestLatency, Duration warmRequestLatency,
+      int decodedPayloads, Duration decodeDuration, Duration totalDuration) {
+    this.connections = connections;
+    this.coldRequestLatency = coldRequestLatency;
+    this.warmRequestLatency = warmRequestLatency;
+    this.decodedPayloads = decodedPayloads;
+    this.decodeDuration = decodeDuration;
+    this.totalDuration = totalDuration;
+  }
+
+  public int getConnections() {
+    return connections;
+  }
+
+  public Duration getColdRequestLatency() {
+    return coldRequestLatency;
+  }
+
+  public Duration getWarmRequestLatency() {
+    return warmRequestLatency;
+  }
+
+  public int getDecodedPayloads() {
+    return decodedPayloads;
+  }
+
+  public Duration getDecodeDuration() {
+    return decodeDuration;
+  }
+
+  public Duration getTotalDuration() {
+    return totalDuration;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("twelvedata.warmup.duration", this, r -> seconds(r.totalDuration))
+        .description("Time the warm-up took")
+        .baseUnit("seconds")
+        .register(registry);
+    Gauge.builder("twelvedata.warmup.decode.duration", this, r -> seconds(r.decodeDuration))
+        .description("Time the decoder warm-up took")
+        .baseUnit("seconds")
+        .register(registry);
+    Gauge.builder("twelvedata.warmup.request.latency", this, r -> seconds(r.coldRequestLatency))
+        .description("Latency of a request to the base URL")
+        .baseUnit("seconds")
+        .tag("phase", "cold")
+        .register(registry);
+    Gauge.builder("twelvedata.warmup.request.latency", this, r -> seconds(r.warmRequestLatency))
+        .description("Latency of a request to the base URL")
+        .baseUnit("seconds")
+        .tag("phase", "warm")
+        .register(registry);
+    Gauge.builder("twelvedata.warmup.connections", this, r -> r.connections)
+        .description("Warm-up requests that got a response")
+        .register(registry);
+  }
+
+  @Override
+  public String toString() {
+    return "WarmUpReport{connections=" + connections
+        + ", coldRequestLatency=" + coldRequestLatency.toMillis() + "ms"
+        + ", warmRequestLatency=" + warmRequestLatency.toMillis() + "ms"
+        + ", decodedPayloads=" + decodedPayloads
+        + ", decodeDuration=" + decodeDuration.toMillis() + "ms"
+        + ", totalDuration=" + totalDuration.toMillis() + "ms}";
+  }
+
+  private static double seconds(Duration duration) {
+    return duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,349 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to the latency and rate limiting of the API (AIMD).
+ *
+ * <p>Every request holds a {@link Permit} while it is in flight. The limit grows by one per window
+ * of successful requests (additive increase) as long as their latency stays within {@link
+ * #LATENCY_TOLERANCE} times the baseline, the lowest latency seen recently; differences under a
+ * millisecond are treated as jitter. It shrinks multiplicatively when latency inflates beyond
+ * that or a request is dropped because it timed out, and by half when the API answers with a rate
+ * limit error, so a burst at the market open backs off at once while a quiet night ramps up. The
+ * requests in flight when the limit is halved were sent under the old limit, so their own rate
+ * limit errors do not halve it again. The
+ * limit only grows while the requests actually use it, so an idle client does not drift to the
+ * maximum.
+ *
+ * <p>The current limit, the requests in flight and the number of back-offs are published as
+ * metrics by {@link #bindTo(MeterRegistry)}. Instances are thread-safe; waiting requests block on
+ * a lock rather than a monitor, so they do not pin virtual threads.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 64);
+ * limiter.bindTo(meterRegistry);
+ * TwelveDataClient client = new TwelveDataClient(apiKey, baseUrl,
+ *     new LimitingHttpClient(new DefaultHttpClient(baseUrl), limiter));
+ * }</pre>
+ *
+ * @see com.github.nicholascowan.twelvedata.http.LimitingHttpClient
+ */
+public final class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+  /** Latency above this multiple of the baseline counts as inflation. */
+  public static final double LATENCY_TOLERANCE = 2.0;
+
+  /** Factor the limit is multiplied by when latency inflates or a request is dropped. */
+  public static final double LATENCY_BACKOFF = 0.9;
+
+  /** Factor the limit is multiplied by on a rate limit error. */
+  public static final double RATE_LIMIT_BACKOFF = 0.5;
+
+  // Latency within this of the baseline is jitter, however small the baseline
+  private static final long MIN_INFLATION_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  // Weight of a new sample when the baseline drifts up towards slower latencies
+  private static final double BASELINE_DRIFT = 0.01;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition available = lock.newCondition();
+  private double limit;
+  private int inFlight;
+  private long baselineNanos = Long.MAX_VALUE;
+  private long rateLimitBackoffs;
+  // Bumped by every rate limit back-off; only permits taken since then may back off again
+  private long rateLimitGeneration;
+  private long latencyBackoffs;
+
+  /** Creates a limiter that starts at 4 concurrent requests and stays between 1 and 64. */
+  public AdaptiveConcurrencyLimiter() {
+    this(4, 1, 64);
+  }
+
+  /**
+   * Creates a limiter.
+   *
+   * @param initialLimit the limit to start with
+   * @param minLimit the lowest the limit backs off to
+   * @param maxLimit the highest the limit grows to
+   * @throws IllegalArgumentException if the limits are not positive or not in order
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max: "
+          + minLimit + ", " + initialLimit + ", " + maxLimit);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+  }
+
+  /**
+   * Waits until a request may be sent and takes a permit for it.
+   *
+   * @return the permit, which must be completed exactly once
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public Permit acquire() throws InterruptedException {
+    long generation;
+    lock.lockInterruptibly();
+    try {
+      while (inFlight >= (int) limit) {
+        available.await();
+      }
+      inFlight++;
+      generation = rateLimitGeneration;
+    } finally {
+      lock.unlock();
+    }
+    return new Permit(System.nanoTime(), generation);
+  }
+
+  /**
+   * Waits until a request may be sent, up to a timeout, and takes a permit for it.
+   *
+   * @param timeout the longest time to wait
+   * @param unit the unit of the timeout
+   * @return the permit, which must be completed exactly once, or null if the limit was still
+   *     reached when the timeout elapsed
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public Permit tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+    long generation;
+    long remaining = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (inFlight >= (int) limit) {
+        if (remaining <= 0) {
+          return null;
+        }
+        remaining = available.awaitNanos(remaining);
+      }
+      inFlight++;
+      generation = rateLimitGeneration;
+    } finally {
+      lock.unlock();
+    }
+    return new Permit(System.nanoTime(), generation);
+  }
+
+  /**
+   * Takes a permit if a request may be sent without waiting.
+   *
+   * @return the permit, or null if the limit is reached
+   */
+  public Permit tryAcquire() {
+    long generation;
+    lock.lock();
+    try {
+      if (inFlight >= (int) limit) {
+        return null;
+      }
+      inFlight++;
+      generation = rateLimitGeneration;
+    } finally {
+      lock.unlock();
+    }
+    return new Permit(System.nanoTime(), generation);
+  }
+
+  /**
+   * Gets the current limit.
+   *
+   * @return the number of requests allowed in flight
+   */
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getRateLimitBackoffs() {
+    lock.lock();
+    try {
+      return rateLimitBackoffs;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getLatencyBackoffs() {
+    lock.lock();
+    try {
+      return latencyBackoffs;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Publishes the limiter as metrics.
+   *
+   * <ul>
+   *   <li>{@code twelvedata.concurrency.limit} - the current limit
+   *   <li>{@code twelvedata.concurrency.inflight} - the requests holding a permit
+   *   <li>{@code twelvedata.concurrency.backoffs} - back-offs, tagged {@code cause} {@code
+   *       rate_limit} or {@code latency}, which includes dropped requests
+   * </ul>
+   *
+   * @param registry the registry
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("twelvedata.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .register(registry);
+    Gauge.builder("twelvedata.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Requests in flight under the adaptive limit")
+        .register(registry);
+    FunctionCounter.builder("twelvedata.concurrency.backoffs", this,
+            limiter -> limiter.getRateLimitBackoffs())
+        .description("Times the adaptive limit backed off")
+        .tag("cause", "rate_limit")
+        .register(registry);
+    FunctionCounter.builder("twelvedata.concurrency.backoffs", this,
+            limiter -> limiter.getLatencyBackoffs())
+        .description("Times the adaptive limit backed off")
+        .tag("cause", "latency")
+        .register(registry);
+  }
+
+  @Override
+  public String toString() {
+    lock.lock();
+    try {
+      return "AdaptiveConcurrencyLimiter{"
+          + "limit="
+          + (int) limit
+          + ", inFlight="
+          + inFlight
+          + ", baselineMicros="
+          + (baselineNanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMicros(baselineNanos))
+          + '}';
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long startNanos, long generation, Outcome outcome) {
+    long rtt = System.nanoTime() - startNanos;
+    lock.lock();
+    try {
+      // Whether the requests were using the limit, so that growing it is meaningful
+      boolean saturated = inFlight * 2 >= (int) limit;
+      inFlight--;
+      switch (outcome) {
+        case SUCCESS:
+          onSample(rtt, saturated);
+          break;
+        case RATE_LIMITED:
+          // A burst of 429s from requests sent under the old limit backs off only once
+          if (generation == rateLimitGeneration) {
+            rateLimitGeneration++;
+            rateLimitBackoffs++;
+            limit = Math.max(minLimit, limit * RATE_LIMIT_BACKOFF);
+          }
+          break;
+        case DROPPED:
+          // Latency inflated past the timeout, so there is no sample to compare
+          latencyBackoffs++;
+          limit = Math.max(minLimit, limit * LATENCY_BACKOFF);
+          break;
+        default:
+          break;
+      }
+      available.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void onSample(long rtt, boolean saturated) {
+    if (rtt < baselineNanos) {
+      baselineNanos = rtt;
+    } else {
+      baselineNanos += (long) ((rtt - baselineNanos) * BASELINE_DRIFT);
+    }
+    if (rtt > baselineNanos * LATENCY_TOLERANCE && rtt - baselineNanos > MIN_INFLATION_NANOS) {
+      latencyBackoffs++;
+      limit = Math.max(minLimit, limit * LATENCY_BACKOFF);
+    } else if (saturated) {
+      limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+  }
+
+  private enum Outcome {
+    SUCCESS,
+    RATE_LIMITED,
+    DROPPED,
+    IGNORED
+  }
+
+  /** Permission for one request, completed with its outcome. */
+  public final class Permit {
+    private final long startNanos;
+    private final long generation;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private Permit(long startNanos, long generation) {
+      this.startNanos = startNanos;
+      this.generation = generation;
+    }
+
+    /** Completes a successful request; its latency is a sample for the limit. */
+    public void onSuccess() {
+      complete(Outcome.SUCCESS);
+    }
+
+    /**
+     * Completes a request the API rejected for its rate limit. The limit is halved, unless it was
+     * already halved since this permit was taken.
+     */
+    public void onRateLimited() {
+      complete(Outcome.RATE_LIMITED);
+    }
+
+    /**
+     * Completes a request that timed out or missed its deadline; the limit backs off as for
+     * inflated latency.
+     */
+    public void onDropped() {
+      complete(Outcome.DROPPED);
+    }
+
+    /** Completes a request whose outcome says nothing about load, e.g. a bad request. */
+    public void onIgnore() {
+      complete(Outcome.IGNORED);
+    }
+
+    private void complete(Outcome outcome) {
+      if (completed.compareAndSet(false, true)) {
+        release(startNanos, generation, outcome);
+      }
+    }
+  }
+}
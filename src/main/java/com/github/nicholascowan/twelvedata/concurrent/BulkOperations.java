@@ -0,0 +1,139 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded fan-out of one request per symbol.
+ *
+ * <p>Runs a request for every distinct symbol with at most {@link BulkOptions#getConcurrency()}
+ * in flight, waits for all of them and collects successes and {@link TwelveDataException}s
+ * separately, so one failing symbol never hides the others. Requests made through endpoints take
+ * their permits from the client's {@link RateLimiter}, so the concurrency only needs to be high
+ * enough to keep the limiter busy.
+ *
+ * @see com.github.nicholascowan.twelvedata.TwelveDataClient#forEachSymbol(Collection, Function)
+ */
+public final class BulkOperations {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkOperations.class);
+
+  // Private constructor to prevent instantiation
+  private BulkOperations() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Runs a request for every symbol and waits for all of them.
+   *
+   * <p>Duplicate symbols are requested once. Runtime exceptions other than {@link
+   * TwelveDataException} are wrapped in one and reported as failures of their symbol. Requests
+   * run within the {@link BulkOptions#deadline(Deadline) deadline} of the options, if any.
+   *
+   * @param symbols the symbols
+   * @param request makes the blocking request for a symbol, e.g. {@code symbol ->
+   *     client.quote(symbol).asObject()}
+   * @param options the options
+   * @param <T> the result type
+   * @return the successes and failures, in the order of the symbols
+   * @throws TwelveDataException if the calling thread is interrupted while waiting
+   */
+  public static <T> BulkResult<T> forEachSymbol(
+      Collection<String> symbols, Function<String, ? extends T> request, BulkOptions options) {
+    Deadline deadline = options.getDeadline();
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(symbols));
+    int total = distinct.size();
+    Object[] results = new Object[total];
+    TwelveDataException[] failures = new TwelveDataException[total];
+    AtomicInteger completed = new AtomicInteger();
+    CountDownLatch finished = new CountDownLatch(total);
+    Semaphore slots = new Semaphore(options.getConcurrency());
+
+    ExecutorService owned = null;
+    Executor executor = options.getExecutor();
+    if (executor == null && total > 0) {
+      owned = options.getExecutionMode()
+          .newExecutor("twelvedata-bulk", Math.min(options.getConcurrency(), total));
+      executor = owned;
+    }
+
+    try {
+      for (int i = 0; i < total; i++) {
+        int index = i;
+        String symbol = distinct.get(i);
+        slots.acquire();
+        Runnable task = () -> {
+          try {
+            results[index] = deadline == null
+                ? request.apply(symbol)
+                : deadline.call(() -> request.apply(symbol));
+          } catch (TwelveDataException e) {
+            failures[index] = e;
+          } catch (RuntimeException e) {
+            failures[index] = new TwelveDataException("Request for " + symbol + " failed", e);
+          } finally {
+            slots.release();
+            report(options.getProgress(), symbol, failures[index], completed, total);
+            finished.countDown();
+          }
+        };
+        try {
+          executor.execute(task);
+        } catch (RejectedExecutionException e) {
+          failures[index] = new TwelveDataException("Request for " + symbol + " was rejected", e);
+          slots.release();
+          report(options.getProgress(), symbol, failures[index], completed, total);
+          finished.countDown();
+        }
+      }
+      finished.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("Bulk operation was interrupted", e);
+    } finally {
+      if (owned != null) {
+        owned.shutdownNow();
+      }
+    }
+
+    Map<String, T> successes = new LinkedHashMap<>();
+    Map<String, TwelveDataException> failed = new LinkedHashMap<>();
+    for (int i = 0; i < total; i++) {
+      if (failures[i] != null) {
+        failed.put(distinct.get(i), failures[i]);
+      } else {
+        @SuppressWarnings("unchecked")
+        T result = (T) results[i];
+        successes.put(distinct.get(i), result);
+      }
+    }
+    return new BulkResult<>(successes, failed);
+  }
+
+  private static void report(BulkProgressListener progress, String symbol,
+      TwelveDataException failure, AtomicInteger completed, int total) {
+    int count = completed.incrementAndGet();
+    if (progress == null) {
+      return;
+    }
+    try {
+      progress.onProgress(symbol, failure, count, total);
+    } catch (RuntimeException e) {
+      logger.warn("Bulk progress listener failed for {}", symbol, e);
+    }
+  }
+}
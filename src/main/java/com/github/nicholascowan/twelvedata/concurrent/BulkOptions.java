@@ -0,0 +1,120 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Options of a bulk operation over many symbols.
+ *
+ * <p>By default a bulk operation runs up to {@link #DEFAULT_CONCURRENCY} requests at once on its
+ * own daemon threads; the {@link RateLimiter} of the client decides how fast they actually go.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * BulkOptions options = new BulkOptions()
+ *     .concurrency(8)
+ *     .progress((symbol, failure, completed, total) -> log.info("{}/{}", completed, total));
+ * }</pre>
+ */
+public class BulkOptions {
+
+  /** The default maximum number of requests in flight. */
+  public static final int DEFAULT_CONCURRENCY = 32;
+
+  private int concurrency = DEFAULT_CONCURRENCY;
+  private Executor executor;
+  private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+  private BulkProgressListener progress;
+  private Deadline deadline;
+
+  /**
+   * Sets the maximum number of requests in flight.
+   *
+   * @param concurrency the maximum number of concurrent requests
+   * @return this instance for method chaining
+   * @throws IllegalArgumentException if concurrency is not positive
+   */
+  public BulkOptions concurrency(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+    }
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * Sets the executor the requests run on, instead of threads owned by the operation.
+   *
+   * @param executor the executor, or null for the default
+   * @return this instance for method chaining
+   */
+  public BulkOptions executor(Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Sets the kind of threads the operation creates when no executor is given.
+   *
+   * <p>With {@link ExecutionMode#VIRTUAL} every request gets its own virtual thread, so the
+   * concurrency can be raised to thousands without a matching pool of platform threads.
+   *
+   * @param executionMode the execution mode
+   * @return this instance for method chaining
+   * @throws UnsupportedOperationException if the mode is not supported on the running JVM
+   */
+  public BulkOptions executionMode(ExecutionMode executionMode) {
+    if (!executionMode.isSupported()) {
+      throw new UnsupportedOperationException(executionMode + " threads are not supported");
+    }
+    this.executionMode = executionMode;
+    return this;
+  }
+
+  /**
+   * Sets the listener notified as each symbol finishes.
+   *
+   * @param progress the listener, or null for none
+   * @return this instance for method chaining
+   */
+  public BulkOptions progress(BulkProgressListener progress) {
+    this.progress = progress;
+    return this;
+  }
+
+  /**
+   * Sets the deadline of the whole operation.
+   *
+   * <p>Every request runs with the deadline as its {@link Deadline#current() current deadline},
+   * so blocking endpoint calls made by the request are aborted when it passes, and symbols not
+   * started by then fail at once with a {@link
+   * com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException}.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this instance for method chaining
+   */
+  public BulkOptions deadline(Deadline deadline) {
+    this.deadline = deadline;
+    return this;
+  }
+
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  public BulkProgressListener getProgress() {
+    return progress;
+  }
+
+  public Deadline getDeadline() {
+    return deadline;
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+
+/**
+ * Receives progress updates of a bulk operation.
+ *
+ * <p>Called from the worker threads as each symbol finishes, so implementations must be
+ * thread-safe and quick.
+ *
+ * @see BulkOptions#progress(BulkProgressListener)
+ */
+@FunctionalInterface
+public interface BulkProgressListener {
+
+  /**
+   * Reports that a symbol has finished.
+   *
+   * @param symbol the symbol
+   * @param failure the failure, or null if the request succeeded
+   * @param completed the number of symbols finished so far, including this one
+   * @param total the number of symbols of the operation
+   */
+  void onProgress(String symbol, TwelveDataException failure, int completed, int total);
+}
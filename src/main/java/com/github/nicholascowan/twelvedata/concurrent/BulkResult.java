@@ -0,0 +1,55 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk operation: the result of every symbol that succeeded and the exception of every
+ * symbol that failed.
+ *
+ * <p>Both maps iterate in the order of the symbols passed to the operation.
+ *
+ * @param <T> the result type
+ */
+public final class BulkResult<T> {
+
+  private final Map<String, T> successes;
+  private final Map<String, TwelveDataException> failures;
+
+  BulkResult(Map<String, T> successes, Map<String, TwelveDataException> failures) {
+    this.successes = Collections.unmodifiableMap(successes);
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  public Map<String, T> getSuccesses() {
+    return successes;
+  }
+
+  public Map<String, TwelveDataException> getFailures() {
+    return failures;
+  }
+
+  public boolean hasFailures() {
+    return !failures.isEmpty();
+  }
+
+  /**
+   * Gets the number of symbols of the operation.
+   *
+   * @return the number of successes and failures
+   */
+  public int size() {
+    return successes.size() + failures.size();
+  }
+
+  @Override
+  public String toString() {
+    return "BulkResult{"
+        + "successes="
+        + successes.size()
+        + ", failures="
+        + failures.keySet()
+        + '}';
+  }
+}
@@ -0,0 +1,174 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker over the outcome of the most recent calls to one endpoint.
+ *
+ * <ul>
+ *   <li>{@link State#CLOSED} - calls are permitted; once at least {@link
+ *       CircuitBreakerOptions#getMinimumCalls()} calls are recorded and the failure rate or the
+ *       slow call rate of the window reaches its threshold, the breaker opens
+ *   <li>{@link State#OPEN} - calls are rejected for {@link
+ *       CircuitBreakerOptions#getOpenDuration()}, then the breaker turns half-open
+ *   <li>{@link State#HALF_OPEN} - a few trial calls are permitted; the breaker closes if they are
+ *       healthy and opens again otherwise
+ * </ul>
+ *
+ * <p>A caller asks for permission with {@link #tryAcquirePermission()} and reports the outcome of
+ * every permitted call with {@link #onResult(long, boolean)}, or {@link #releasePermission()} if
+ * the call was abandoned. Which errors count as failures is decided by the caller. Instances are
+ * thread-safe.
+ *
+ * @see com.github.nicholascowan.twelvedata.http.CircuitBreakerHttpClient
+ */
+public final class CircuitBreaker {
+
+  /** The states of a breaker. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int windowSize;
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final double slowCallRateThreshold;
+  private final long slowCallNanos;
+  private final long openNanos;
+  private final int halfOpenCalls;
+  private final boolean[] failed;
+  private final boolean[] slow;
+  private State state = State.CLOSED;
+  private int recorded;
+  private int next;
+  private int failures;
+  private int slowCalls;
+  private long openedAtNanos;
+  private int halfOpenPermitted;
+  private long rejected;
+
+  /**
+   * Creates a closed breaker.
+   *
+   * @param options the thresholds; later changes to them do not affect the breaker
+   */
+  public CircuitBreaker(CircuitBreakerOptions options) {
+    this.windowSize = options.getWindowSize();
+    this.minimumCalls = Math.min(options.getMinimumCalls(), windowSize);
+    this.failureRateThreshold = options.getFailureRateThreshold();
+    this.slowCallRateThreshold = options.getSlowCallRateThreshold();
+    this.slowCallNanos = options.getSlowCallThreshold().toNanos();
+    this.openNanos = options.getOpenDuration().toNanos();
+    this.halfOpenCalls = options.getHalfOpenCalls();
+    this.failed = new boolean[windowSize];
+    this.slow = new boolean[windowSize];
+  }
+
+  /**
+   * Gets the state, turning an open breaker half-open once its open duration has passed.
+   *
+   * @return the state
+   */
+  public synchronized State getState() {
+    if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+      transition(State.HALF_OPEN);
+    }
+    return state;
+  }
+
+  /**
+   * Gets the number of calls rejected while the breaker was open or out of trial calls.
+   *
+   * @return the rejected calls
+   */
+  public synchronized long getRejected() {
+    return rejected;
+  }
+
+  /**
+   * Asks for permission to make a call.
+   *
+   * @return true if the call may be made; its outcome must then be reported
+   */
+  public synchronized boolean tryAcquirePermission() {
+    State current = getState();
+    if (current == State.CLOSED) {
+      return true;
+    }
+    if (current == State.HALF_OPEN && halfOpenPermitted < halfOpenCalls) {
+      halfOpenPermitted++;
+      return true;
+    }
+    rejected++;
+    return false;
+  }
+
+  /**
+   * Gives back the permission of a call that was abandoned without an outcome.
+   */
+  public synchronized void releasePermission() {
+    if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+      halfOpenPermitted--;
+    }
+  }
+
+  /**
+   * Records the outcome of a permitted call.
+   *
+   * @param durationNanos how long the call took
+   * @param failure whether the call failed in a way that counts against the endpoint
+   */
+  public synchronized void onResult(long durationNanos, boolean failure) {
+    if (state == State.OPEN) {
+      // Permitted before the breaker opened
+      return;
+    }
+    if (failed[next] && recorded == windowSize) {
+      failures--;
+    }
+    if (slow[next] && recorded == windowSize) {
+      slowCalls--;
+    }
+    failed[next] = failure;
+    slow[next] = durationNanos >= slowCallNanos;
+    failures += failure ? 1 : 0;
+    slowCalls += slow[next] ? 1 : 0;
+    next = (next + 1) % windowSize;
+    recorded = Math.min(recorded + 1, windowSize);
+
+    int required = state == State.HALF_OPEN ? Math.min(halfOpenCalls, windowSize) : minimumCalls;
+    if (recorded < required) {
+      return;
+    }
+    boolean unhealthy = failures >= failureRateThreshold * recorded
+        || slowCalls >= slowCallRateThreshold * recorded;
+    if (unhealthy) {
+      openedAtNanos = System.nanoTime();
+      transition(State.OPEN);
+    } else if (state == State.HALF_OPEN) {
+      transition(State.CLOSED);
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "CircuitBreaker{state=" + state + ", calls=" + recorded + ", failures=" + failures
+        + ", slowCalls=" + slowCalls + ", openFor="
+        + TimeUnit.NANOSECONDS.toMillis(openNanos) + "ms}";
+  }
+
+  // Every state starts with an empty window, so half-open judges only its trial calls
+  private void transition(State target) {
+    state = target;
+    recorded = 0;
+    next = 0;
+    failures = 0;
+    slowCalls = 0;
+    halfOpenPermitted = 0;
+    Arrays.fill(failed, false);
+    Arrays.fill(slow, false);
+  }
+}
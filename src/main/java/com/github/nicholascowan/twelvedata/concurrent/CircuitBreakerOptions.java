@@ -0,0 +1,156 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.time.Duration;
+
+/**
+ * Thresholds of a {@link CircuitBreaker}.
+ *
+ * <p>By default a breaker opens when at least half of the last 20 calls (with 10 calls recorded at
+ * least) failed or took longer than 10 seconds, stays open for 30 seconds and then closes again if
+ * 3 trial calls are healthy.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * CircuitBreakerOptions options = new CircuitBreakerOptions()
+ *     .failureRateThreshold(0.25)
+ *     .slowCallThreshold(Duration.ofSeconds(2))
+ *     .openDuration(Duration.ofSeconds(10));
+ * }</pre>
+ */
+public class CircuitBreakerOptions {
+
+  private int windowSize = 20;
+  private int minimumCalls = 10;
+  private double failureRateThreshold = 0.5;
+  private double slowCallRateThreshold = 0.5;
+  private Duration slowCallThreshold = Duration.ofSeconds(10);
+  private Duration openDuration = Duration.ofSeconds(30);
+  private int halfOpenCalls = 3;
+
+  /**
+   * Sets the number of most recent calls the rates are computed over.
+   *
+   * @param windowSize the number of calls
+   * @return this instance for method chaining
+   * @throws IllegalArgumentException if windowSize is not positive
+   */
+  public CircuitBreakerOptions windowSize(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+    }
+    this.windowSize = windowSize;
+    return this;
+  }
+
+  /**
+   * Sets the number of calls recorded before the breaker may open.
+   *
+   * @param minimumCalls the number of calls
+   * @return this instance for method chaining
+   * @throws IllegalArgumentException if minimumCalls is not positive
+   */
+  public CircuitBreakerOptions minimumCalls(int minimumCalls) {
+    if (minimumCalls < 1) {
+      throw new IllegalArgumentException("Minimum calls must be positive: " + minimumCalls);
+    }
+    this.minimumCalls = minimumCalls;
+    return this;
+  }
+
+  /**
+   * Sets the fraction of failed calls at which the breaker opens.
+   *
+   * @param failureRateThreshold the fraction, e.g. 0.5
+   * @return this instance for method chaining
+   * @throws IllegalArgumentException if the fraction is not between 0 and 1
+   */
+  public CircuitBreakerOptions failureRateThreshold(double failureRateThreshold) {
+    this.failureRateThreshold = checkRate(failureRateThreshold);
+    return this;
+  }
+
+  /**
+   * Sets the fraction of slow calls at which the breaker opens.
+   *
+   * @param slowCallRateThreshold the fraction, e.g. 0.5
+   * @return this instance for method chaining
+   * @throws IllegalArgumentException if the fraction is not between 0 and 1
+   */
+  public CircuitBreakerOptions slowCallRateThreshold(double slowCallRateThreshold) {
+    this.slowCallRateThreshold = checkRate(slowCallRateThreshold);
+    return this;
+  }
+
+  /**
+   * Sets the duration from which a call counts as slow.
+   *
+   * @param slowCallThreshold the duration
+   * @return this instance for method chaining
+   */
+  public CircuitBreakerOptions slowCallThreshold(Duration slowCallThreshold) {
+    this.slowCallThreshold = slowCallThreshold;
+    return this;
+  }
+
+  /**
+   * Sets how long the breaker stays open before it lets trial calls through.
+   *
+   * @param openDuration the duration
+   * @return this instance for method chaining
+   */
+  public CircuitBreakerOptions openDuration(Duration openDuration) {
+    this.openDuration = openDuration;
+    return this;
+  }
+
+  /**
+   * Sets the number of trial calls that decide whether a half-open breaker closes.
+   *
+   * @param halfOpenCalls the number of calls
+   * @return this instance for method chaining
+   * @throws IllegalArgumentException if halfOpenCalls is not positive
+   */
+  public CircuitBreakerOptions halfOpenCalls(int halfOpenCalls) {
+    if (halfOpenCalls < 1) {
+      throw new IllegalArgumentException("Half-open calls must be positive: " + halfOpenCalls);
+    }
+    this.halfOpenCalls = halfOpenCalls;
+    return this;
+  }
+
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  public int getMinimumCalls() {
+    return minimumCalls;
+  }
+
+  public double getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  public double getSlowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  public Duration getSlowCallThreshold() {
+    return slowCallThreshold;
+  }
+
+  public Duration getOpenDuration() {
+    return openDuration;
+  }
+
+  public int getHalfOpenCalls() {
+    return halfOpenCalls;
+  }
+
+  private static double checkRate(double rate) {
+    if (!(rate > 0 && rate <= 1)) {
+      throw new IllegalArgumentException("Rate must be between 0 and 1: " + rate);
+    }
+    return rate;
+  }
+}
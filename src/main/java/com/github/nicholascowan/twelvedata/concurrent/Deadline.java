@@ -0,0 +1,158 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A point in time by which a request, including its retries, must complete.
+ *
+ * <p>A deadline is absolute, so one instance can be shared by every request of a batch. Requests
+ * run inside {@link #call(Supplier)} see it as {@link #current()}: the HTTP clients turn it into a
+ * call timeout that aborts the request when it passes, and decorators that retry or wait check it
+ * before each attempt. Nested deadlines never extend the one in effect; the earliest wins.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * QuoteResponse quote = client.quote("AAPL")
+ *     .deadline(Deadline.after(Duration.ofSeconds(2)))
+ *     .asObject();
+ * }</pre>
+ *
+ * @see com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException
+ */
+public final class Deadline {
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  /** Fails bounded futures at their deadline; cancelled timeouts leave the queue at once. */
+  private static final ScheduledThreadPoolExecutor TIMEOUTS = timeouts();
+
+  private final long deadlineNanos;
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * Creates a deadline a duration from now.
+   *
+   * @param timeout the time the request may take
+   * @return the deadline
+   */
+  public static Deadline after(Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos());
+  }
+
+  /**
+   * Gets the deadline in effect on the calling thread.
+   *
+   * @return the deadline, or null if there is none
+   */
+  public static Deadline current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Gets the time left until the deadline.
+   *
+   * @return the remaining nanoseconds, zero or negative if the deadline has passed
+   */
+  public long remainingNanos() {
+    return deadlineNanos - System.nanoTime();
+  }
+
+  public boolean isExpired() {
+    return remainingNanos() <= 0;
+  }
+
+  /**
+   * Checks that the deadline has not passed.
+   *
+   * @throws DeadlineExceededException if it has
+   */
+  public void check() throws DeadlineExceededException {
+    if (isExpired()) {
+      throw new DeadlineExceededException("Deadline exceeded");
+    }
+  }
+
+  /**
+   * Gets the earlier of this deadline and another.
+   *
+   * @param other the other deadline, or null
+   * @return the earlier deadline
+   */
+  public Deadline min(Deadline other) {
+    return other == null || deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+  }
+
+  /**
+   * Runs a request with this deadline in effect on the calling thread.
+   *
+   * @param request the request
+   * @param <T> the result type
+   * @return the result of the request
+   * @throws DeadlineExceededException if the deadline has already passed
+   */
+  public <T> T call(Supplier<? extends T> request) throws DeadlineExceededException {
+    Deadline previous = CURRENT.get();
+    Deadline effective = min(previous);
+    effective.check();
+    CURRENT.set(effective);
+    try {
+      return request.get();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Fails a future with a {@link DeadlineExceededException} if it is not complete by the deadline.
+   *
+   * <p>The timeout is cancelled as soon as the future completes, so a completed future is not kept
+   * reachable until the deadline.
+   *
+   * @param future the future
+   * @param <T> the result type
+   * @return the future
+   */
+  public <T> CompletableFuture<T> bound(CompletableFuture<T> future) {
+    if (!future.isDone()) {
+      ScheduledFuture<?> timeout = TIMEOUTS.schedule(
+          () -> future.completeExceptionally(new DeadlineExceededException("Deadline exceeded")),
+          Math.max(0L, remainingNanos()), TimeUnit.NANOSECONDS);
+      future.whenComplete((result, failure) -> timeout.cancel(false));
+    }
+    return future;
+  }
+
+  /** Gets the number of timeouts of {@link #bound} that have neither fired nor been cancelled. */
+  static int pendingTimeouts() {
+    return TIMEOUTS.getQueue().size();
+  }
+
+  private static ScheduledThreadPoolExecutor timeouts() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "twelvedata-deadline");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline{remaining=" + Duration.ofNanos(remainingNanos()) + '}';
+  }
+}
@@ -0,0 +1,76 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The kind of threads the client's bulk and async APIs run blocking requests on.
+ *
+ * <ul>
+ *   <li>{@link #PLATFORM} - bulk operations use a bounded pool of platform threads and async
+ *       requests are sent with the non-blocking call of the {@link
+ *       com.github.nicholascowan.twelvedata.http.HttpClient}
+ *   <li>{@link #VIRTUAL} - every request runs on its own virtual thread, so thousands of blocking
+ *       {@code asObject()} calls can be in flight without a large pool (Java 21 or later)
+ * </ul>
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * if (ExecutionMode.VIRTUAL.isSupported()) {
+ *   client.setExecutionMode(ExecutionMode.VIRTUAL);
+ * }
+ * BulkResult<QuoteResponse> quotes = client.forEachSymbol(symbols,
+ *     symbol -> client.quote(symbol).asObject(), new BulkOptions().concurrency(2000));
+ * }</pre>
+ */
+public enum ExecutionMode {
+
+  /** Pooled platform threads, and non-blocking HTTP calls for async requests. */
+  PLATFORM {
+    @Override
+    public boolean isSupported() {
+      return true;
+    }
+
+    @Override
+    public ExecutorService newExecutor(String name, int maxThreads) {
+      return Executors.newFixedThreadPool(maxThreads, runnable -> {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  },
+
+  /** One virtual thread per request. */
+  VIRTUAL {
+    @Override
+    public boolean isSupported() {
+      return VirtualThreads.isSupported();
+    }
+
+    @Override
+    public ExecutorService newExecutor(String name, int maxThreads) {
+      return VirtualThreads.newExecutor(name);
+    }
+  };
+
+  /**
+   * Checks whether this mode can be used on the running JVM.
+   *
+   * @return true if executors of this mode can be created
+   */
+  public abstract boolean isSupported();
+
+  /**
+   * Creates an executor that runs tasks on threads of this mode. The caller shuts it down.
+   *
+   * @param name the name of the threads
+   * @param maxThreads the number of pooled threads; ignored by {@link #VIRTUAL}, which starts a
+   *     thread per task
+   * @return the executor
+   * @throws UnsupportedOperationException if the mode is not supported on the running JVM
+   */
+  public abstract ExecutorService newExecutor(String name, int maxThreads);
+}
@@ -0,0 +1,222 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limiter for API credits.
+ *
+ * <p>TwelveData plans allow a number of credits per minute. The limiter refills its permits
+ * continuously at that rate and allows bursts of up to one period's worth. {@link #acquire(int)}
+ * reserves permits in call order and sleeps until they are covered, so callers waiting on a busy
+ * limiter are served first come, first served.
+ *
+ * <p>A limiter is shared by every request of a {@link
+ * com.github.nicholascowan.twelvedata.TwelveDataContext}; the default context limiter is {@link
+ * #unlimited()}. Instances are thread-safe.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * TwelveDataClient client = new TwelveDataClient("your-api-key");
+ * client.setRateLimiter(RateLimiter.perMinute(55));
+ * }</pre>
+ */
+public final class RateLimiter {
+
+  private static final RateLimiter UNLIMITED = new RateLimiter();
+
+  private final boolean unlimited;
+  private final int capacity;
+  private final double permitsPerNano;
+  private double available;
+  private long lastRefillNanos;
+
+  /**
+   * Creates a limiter that allows a number of permits per period.
+   *
+   * @param permits the permits per period, which is also the largest burst
+   * @param period the period
+   * @throws IllegalArgumentException if permits or period is not positive
+   */
+  public RateLimiter(int permits, Duration period) {
+    if (permits < 1) {
+      throw new IllegalArgumentException("Permits must be positive: " + permits);
+    }
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Period must be positive: " + period);
+    }
+    this.unlimited = false;
+    this.capacity = permits;
+    this.permitsPerNano = permits / (double) period.toNanos();
+    this.available = permits;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  private RateLimiter() {
+    this.unlimited = true;
+    this.capacity = Integer.MAX_VALUE;
+    this.permitsPerNano = Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Creates a limiter for a number of API credits per minute.
+   *
+   * @param credits the credits per minute of the plan
+   * @return the limiter
+   * @throws IllegalArgumentException if credits is not positive
+   */
+  public static RateLimiter perMinute(int credits) {
+    return new RateLimiter(credits, Duration.ofMinutes(1));
+  }
+
+  /**
+   * Gets a limiter that never waits.
+   *
+   * @return the shared unlimited limiter
+   */
+  public static RateLimiter unlimited() {
+    return UNLIMITED;
+  }
+
+  public boolean isUnlimited() {
+    return unlimited;
+  }
+
+  /**
+   * Acquires one permit, waiting if necessary.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public void acquire() throws InterruptedException {
+    acquire(1);
+  }
+
+  /**
+   * Acquires permits, waiting until they are available.
+   *
+   * <p>The permits are reserved before waiting, so they stay consumed if the wait is interrupted.
+   *
+   * @param permits the number of permits, e.g. the credit cost of a request
+   * @throws InterruptedException if the thread is interrupted while waiting
+   * @throws IllegalArgumentException if permits is not positive or exceeds the burst size
+   */
+  public void acquire(int permits) throws InterruptedException {
+    long waitNanos = reserve(permits);
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Acquires permits if they are available without waiting.
+   *
+   * @param permits the number of permits
+   * @return true if the permits were acquired
+   * @throws IllegalArgumentException if permits is not positive or exceeds the burst size
+   */
+  public boolean tryAcquire(int permits) {
+    checkPermits(permits);
+    if (unlimited) {
+      return true;
+    }
+    synchronized (this) {
+      refill();
+      if (available < permits) {
+        return false;
+      }
+      available -= permits;
+      return true;
+    }
+  }
+
+  /**
+   * Acquires permits if they become available within a timeout, waiting if necessary.
+   *
+   * <p>Nothing is reserved when the permits cannot be covered in time, so a caller that gives up
+   * does not delay the callers after it. Once reserved, the permits stay consumed if the wait is
+   * interrupted.
+   *
+   * @param permits the number of permits
+   * @param timeout the longest time to wait
+   * @param unit the unit of the timeout
+   * @return true if the permits were acquired, false if they would not be available in time
+   * @throws InterruptedException if the thread is interrupted while waiting
+   * @throws IllegalArgumentException if permits is not positive or exceeds the burst size
+   */
+  public boolean tryAcquire(int permits, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    checkPermits(permits);
+    if (unlimited) {
+      return true;
+    }
+    long waitNanos;
+    synchronized (this) {
+      refill();
+      waitNanos = available >= permits
+          ? 0L
+          : (long) Math.ceil((permits - available) / permitsPerNano);
+      if (waitNanos > unit.toNanos(timeout)) {
+        return false;
+      }
+      available -= permits;
+    }
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of permits that can be acquired without waiting.
+   *
+   * @return the available permits, or {@link Integer#MAX_VALUE} if unlimited
+   */
+  public int getAvailablePermits() {
+    if (unlimited) {
+      return Integer.MAX_VALUE;
+    }
+    synchronized (this) {
+      refill();
+      return (int) Math.max(0, Math.floor(available));
+    }
+  }
+
+  @Override
+  public String toString() {
+    if (unlimited) {
+      return "RateLimiter{unlimited}";
+    }
+    return "RateLimiter{"
+        + "permitsPerMinute="
+        + Math.round(permitsPerNano * TimeUnit.MINUTES.toNanos(1))
+        + ", burst="
+        + capacity
+        + '}';
+  }
+
+  private long reserve(int permits) {
+    checkPermits(permits);
+    if (unlimited) {
+      return 0L;
+    }
+    synchronized (this) {
+      refill();
+      available -= permits;
+      return available >= 0 ? 0L : (long) Math.ceil(-available / permitsPerNano);
+    }
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerNano);
+    lastRefillNanos = now;
+  }
+
+  private void checkPermits(int permits) {
+    if (permits < 1 || permits > capacity) {
+      throw new IllegalArgumentException(
+          "Permits must be between 1 and " + capacity + ": " + permits);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+/**
+ * Priority classes of the {@link RequestScheduler}, with their default share of the request
+ * slots.
+ *
+ * <ul>
+ *   <li>{@link #REALTIME} - latency-critical calls such as {@code quote} and {@code price}
+ *   <li>{@link #INTERACTIVE} - other requests made on behalf of a user
+ *   <li>{@link #BULK} - backfills and other throughput work such as long {@code time_series}
+ * </ul>
+ */
+public enum RequestPriority {
+
+  /** Latency-critical requests; queued bulk requests wait while these are queued. */
+  REALTIME(8),
+
+  /** Requests made on behalf of a user. */
+  INTERACTIVE(4),
+
+  /** Backfills and other work that only needs throughput. */
+  BULK(1);
+
+  private final int defaultWeight;
+
+  RequestPriority(int defaultWeight) {
+    this.defaultWeight = defaultWeight;
+  }
+
+  /**
+   * Gets the default weight, i.e. the credits the class may start per round of the scheduler.
+   *
+   * @return the weight
+   */
+  public int getDefaultWeight() {
+    return defaultWeight;
+  }
+}
@@ -0,0 +1,377 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Schedules requests of different {@link RequestPriority priorities} onto a fixed number of
+ * slots.
+ *
+ * <p>Requests start at once while slots are free and nothing is queued. Otherwise they queue per
+ * priority, and freed slots are handed out by deficit round robin: every round, each class with
+ * queued requests may start requests worth its weight in credits (a request costs the credits it
+ * uses, e.g. one per symbol). With the default weights realtime, interactive and bulk requests
+ * share a busy client 8:4:1, and an idle class gives its share to the others.
+ *
+ * <p>While at least {@link #getPreemptThreshold()} realtime requests are queued, queued bulk
+ * requests are preempted: they get no slots until the realtime queue drains, so a spike of quotes
+ * is not stuck behind a backfill. Requests already running are never interrupted.
+ *
+ * <p>Queue lengths, the requests in flight and the preemptions are published as metrics by {@link
+ * #bindTo(MeterRegistry)}. Instances are thread-safe.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * RequestScheduler scheduler = new RequestScheduler(16).weight(RequestPriority.BULK, 2);
+ * TwelveDataClient client = new TwelveDataClient(apiKey, baseUrl,
+ *     new PriorityHttpClient(new DefaultHttpClient(baseUrl), scheduler));
+ * }</pre>
+ *
+ * @see com.github.nicholascowan.twelvedata.http.PriorityHttpClient
+ */
+public final class RequestScheduler implements MeterBinder {
+
+  private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+  private final int maxConcurrency;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final int[] weights = new int[PRIORITIES.length];
+  private final int[] deficits = new int[PRIORITIES.length];
+  private final List<ArrayDeque<Ticket>> queues = new ArrayList<>();
+  private int preemptThreshold = 1;
+  private int inFlight;
+  private int cursor;
+  private boolean roundStarted;
+  private long preemptions;
+
+  /**
+   * Creates a scheduler with the default weights.
+   *
+   * @param maxConcurrency the number of requests that may run at the same time
+   * @throws IllegalArgumentException if maxConcurrency is not positive
+   */
+  public RequestScheduler(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    this.maxConcurrency = maxConcurrency;
+    for (RequestPriority priority : PRIORITIES) {
+      weights[priority.ordinal()] = priority.getDefaultWeight();
+      queues.add(new ArrayDeque<>());
+    }
+  }
+
+  /**
+   * Sets the weight of a priority class.
+   *
+   * @param priority the priority
+   * @param weight the credits the class may start per round
+   * @return this scheduler
+   * @throws IllegalArgumentException if weight is not positive
+   */
+  public RequestScheduler weight(RequestPriority priority, int weight) {
+    if (weight < 1) {
+      throw new IllegalArgumentException("Weight must be positive: " + weight);
+    }
+    lock.lock();
+    try {
+      weights[priority.ordinal()] = weight;
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * Sets the number of queued realtime requests from which queued bulk requests are preempted.
+   *
+   * @param preemptThreshold the threshold, or {@link Integer#MAX_VALUE} to never preempt
+   * @return this scheduler
+   * @throws IllegalArgumentException if preemptThreshold is not positive
+   */
+  public RequestScheduler preemptThreshold(int preemptThreshold) {
+    if (preemptThreshold < 1) {
+      throw new IllegalArgumentException(
+          "preemptThreshold must be positive: " + preemptThreshold);
+    }
+    lock.lock();
+    try {
+      this.preemptThreshold = preemptThreshold;
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public int getPreemptThreshold() {
+    lock.lock();
+    try {
+      return preemptThreshold;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of requests holding a slot.
+   *
+   * @return the requests in flight
+   */
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of requests of a priority waiting for a slot.
+   *
+   * @param priority the priority
+   * @return the queue length
+   */
+  public int getQueued(RequestPriority priority) {
+    lock.lock();
+    try {
+      return queues.get(priority.ordinal()).size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of times a freed slot skipped queued bulk requests for realtime ones.
+   *
+   * @return the preemptions
+   */
+  public long getPreemptions() {
+    lock.lock();
+    try {
+      return preemptions;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits for a slot. The caller must call {@link #release()} once the request is done.
+   *
+   * @param priority the priority of the request
+   * @param credits the credits the request uses
+   * @throws InterruptedException if the thread is interrupted while waiting; no slot is held
+   */
+  public void acquire(RequestPriority priority, int credits) throws InterruptedException {
+    CompletableFuture<Void> slot = schedule(priority, credits);
+    try {
+      slot.get();
+    } catch (InterruptedException e) {
+      if (!slot.cancel(false)) {
+        // Granted while being interrupted
+        release();
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Slot future failed", e.getCause());
+    }
+  }
+
+  /**
+   * Waits for a slot, up to a timeout. If a slot is granted, the caller must call {@link
+   * #release()} once the request is done.
+   *
+   * @param priority the priority of the request
+   * @param credits the credits the request uses
+   * @param timeout the longest time to wait
+   * @param unit the unit of the timeout
+   * @return true if a slot was granted, false if the request gave up its place in the queue
+   * @throws InterruptedException if the thread is interrupted while waiting; no slot is held
+   */
+  public boolean tryAcquire(RequestPriority priority, int credits, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    CompletableFuture<Void> slot = schedule(priority, credits);
+    try {
+      slot.get(timeout, unit);
+      return true;
+    } catch (TimeoutException e) {
+      // Granted while timing out if it can no longer be cancelled
+      return !slot.cancel(false);
+    } catch (InterruptedException e) {
+      if (!slot.cancel(false)) {
+        release();
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Slot future failed", e.getCause());
+    }
+  }
+
+  /**
+   * Requests a slot without blocking. The caller must call {@link #release()} once the request is
+   * done if the future completes normally; cancelling a queued future gives up its place.
+   *
+   * @param priority the priority of the request
+   * @param credits the credits the request uses
+   * @return a future completed when the slot is granted
+   */
+  public CompletableFuture<Void> schedule(RequestPriority priority, int credits) {
+    Ticket ticket = new Ticket(priority, Math.max(1, credits));
+    lock.lock();
+    try {
+      if (inFlight < maxConcurrency && isIdle()) {
+        inFlight++;
+        ticket.complete(null);
+        return ticket;
+      }
+      queues.get(priority.ordinal()).add(ticket);
+    } finally {
+      lock.unlock();
+    }
+    ticket.whenComplete((ignored, failure) -> {
+      if (failure instanceof CancellationException) {
+        remove(ticket);
+      }
+    });
+    return ticket;
+  }
+
+  /** Gives back a slot, starting the next queued request if any. */
+  public void release() {
+    List<Ticket> granted = new ArrayList<>();
+    lock.lock();
+    try {
+      inFlight--;
+      while (inFlight < maxConcurrency && !isIdle()) {
+        inFlight++;
+        granted.add(next());
+      }
+    } finally {
+      lock.unlock();
+    }
+    for (Ticket ticket : granted) {
+      if (!ticket.complete(null)) {
+        // Cancelled after it was dequeued; pass the slot on
+        release();
+      }
+    }
+  }
+
+  /**
+   * Publishes the scheduler state as metrics.
+   *
+   * <ul>
+   *   <li>{@code twelvedata.scheduler.queued} - requests waiting for a slot, tagged {@code
+   *       priority}
+   *   <li>{@code twelvedata.scheduler.inflight} - requests holding a slot
+   *   <li>{@code twelvedata.scheduler.preemptions} - slots that skipped queued bulk requests
+   * </ul>
+   *
+   * @param registry the registry
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (RequestPriority priority : PRIORITIES) {
+      Gauge.builder("twelvedata.scheduler.queued", this, scheduler -> scheduler.getQueued(priority))
+          .description("Requests waiting for a slot")
+          .tag("priority", priority.name().toLowerCase())
+          .register(registry);
+    }
+    Gauge.builder("twelvedata.scheduler.inflight", this, RequestScheduler::getInFlight)
+        .description("Requests holding a slot")
+        .register(registry);
+    FunctionCounter.builder(
+            "twelvedata.scheduler.preemptions", this, RequestScheduler::getPreemptions)
+        .description("Slots that skipped queued bulk requests for realtime ones")
+        .register(registry);
+  }
+
+  @Override
+  public String toString() {
+    lock.lock();
+    try {
+      return "RequestScheduler{inFlight=" + inFlight + ", maxConcurrency=" + maxConcurrency
+          + ", queued=" + queues.stream().mapToInt(ArrayDeque::size).sum() + '}';
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Called with the lock held and at least one request queued
+  private Ticket next() {
+    boolean preempting = queues.get(RequestPriority.REALTIME.ordinal()).size() >= preemptThreshold;
+    if (preempting && !queues.get(RequestPriority.BULK.ordinal()).isEmpty()) {
+      preemptions++;
+    }
+    while (true) {
+      ArrayDeque<Ticket> queue = queues.get(cursor);
+      if (queue.isEmpty() || (preempting && cursor == RequestPriority.BULK.ordinal())) {
+        if (queue.isEmpty()) {
+          deficits[cursor] = 0;
+        }
+        advance();
+        continue;
+      }
+      if (!roundStarted) {
+        deficits[cursor] += weights[cursor];
+        roundStarted = true;
+      }
+      Ticket head = queue.peek();
+      if (deficits[cursor] >= head.credits) {
+        deficits[cursor] -= head.credits;
+        return queue.poll();
+      }
+      advance();
+    }
+  }
+
+  private void advance() {
+    cursor = (cursor + 1) % PRIORITIES.length;
+    roundStarted = false;
+  }
+
+  private boolean isIdle() {
+    for (ArrayDeque<Ticket> queue : queues) {
+      if (!queue.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void remove(Ticket ticket) {
+    lock.lock();
+    try {
+      queues.get(ticket.priority.ordinal()).remove(ticket);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** A queued request, completed when it is granted a slot. */
+  private static final class Ticket extends CompletableFuture<Void> {
+    private final RequestPriority priority;
+    private final int credits;
+
+    private Ticket(RequestPriority priority, int credits) {
+      this.priority = priority;
+      this.credits = credits;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads from code compiled for Java 17.
+ *
+ * <p>The API is looked up reflectively, so a Java 17 build still uses virtual threads when it runs
+ * on Java 21 or later. Multi-release jars built with JDK 21 replace this class with a version in
+ * {@code META-INF/versions/21} that calls the API directly.
+ */
+final class VirtualThreads {
+
+  private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+  private static final Method NAME = lookup(builderClass(), "name", String.class, long.class);
+  private static final Method FACTORY = lookup(builderClass(), "factory");
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+      lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+  private static final boolean SUPPORTED = probe();
+
+  // Private constructor to prevent instantiation
+  private VirtualThreads() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  static boolean isSupported() {
+    return SUPPORTED;
+  }
+
+  /**
+   * Creates an executor that starts a virtual thread per task.
+   *
+   * @param name the prefix of the thread names, followed by a counter
+   * @return the executor
+   * @throws UnsupportedOperationException if virtual threads are not available
+   */
+  static ExecutorService newExecutor(String name) {
+    if (!SUPPORTED) {
+      throw new UnsupportedOperationException(
+          "Virtual threads require Java 21 or later, running " + Runtime.version());
+    }
+    try {
+      Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+      ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new UnsupportedOperationException("Virtual threads are not available", e);
+    }
+  }
+
+  private static boolean probe() {
+    if (OF_VIRTUAL == null || NAME == null || FACTORY == null
+        || NEW_THREAD_PER_TASK_EXECUTOR == null) {
+      return false;
+    }
+    try {
+      // Throws on Java 19 and 20 unless preview features are enabled
+      OF_VIRTUAL.invoke(null);
+      return true;
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return false;
+    }
+  }
+
+  private static Class<?> builderClass() {
+    try {
+      return Class.forName("java.lang.Thread$Builder");
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  private static Method lookup(Class<?> owner, String name, Class<?>... parameterTypes) {
+    if (owner == null) {
+      return null;
+    }
+    try {
+      return owner.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
@@ -1,12 +1,14 @@
 package com.github.nicholascowan.twelvedata.endpoints;
 
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
 import com.github.nicholascowan.twelvedata.models.DailyResponse;
 import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
 import com.github.nicholascowan.twelvedata.models.ModelUtils;
 import io.micrometer.core.annotation.Timed;
 import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides access to daily time series data (OHLC - Open, High, Low, Close) from the TwelveData API.
@@ -136,6 +138,19 @@ public class Daily extends TimeSeries {
     return this;
   }
 
+  /**
+   * Sets the deadline of the request.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this Daily instance for method chaining
+   * @see Endpoint#deadline(Deadline)
+   */
+  @Override
+  public Daily deadline(Deadline deadline) {
+    super.deadline(deadline);
+    return this;
+  }
+
   /**
    * Sets the exchange for the daily request.
    *
@@ -408,6 +423,21 @@ public class Daily extends TimeSeries {
          description = "Time taken for Daily API calls",
          extraTags = {"endpoint", "daily"})
   public DailyResponse asObject() throws TwelveDataException {
-    return ModelUtils.toDailyResponse(asJson());
+    return ModelUtils.toDailyResponse(asJson(), getPriceScale());
+  }
+
+  /**
+   * Executes the daily request asynchronously.
+   *
+   * <p>The future is typed like {@link TimeSeries#asObjectAsync()}, but its value is always a
+   * {@link DailyResponse}.
+   *
+   * @return a future of the {@link DailyResponse}; it fails with the exception {@link
+   *     #asObject()} would throw
+   * @see #asJsonAsync()
+   */
+  @Override
+  public CompletableFuture<TimeSeriesResponse> asObjectAsync() {
+    return supplyAsync(json -> ModelUtils.toDailyResponse(json, getPriceScale()));
   }
 } 
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.github.nicholascowan.twelvedata.endpoints;
 
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
 import com.github.nicholascowan.twelvedata.models.ModelUtils;
 import com.github.nicholascowan.twelvedata.models.EndOfDayResponse;
 import io.micrometer.core.annotation.Timed;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides access to end-of-day price data from the TwelveData API.
@@ -128,6 +130,19 @@ public class EndOfDay extends Endpoint {
     return this;
   }
 
+  /**
+   * Sets the deadline of the request.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this EndOfDay instance for method chaining
+   * @see Endpoint#deadline(Deadline)
+   */
+  @Override
+  public EndOfDay deadline(Deadline deadline) {
+    super.deadline(deadline);
+    return this;
+  }
+
   /**
    * Sets the Financial Instrument Global Identifier (FIGI) for the request.
    *
@@ -277,6 +292,28 @@ public class EndOfDay extends Endpoint {
          description = "Time taken for EndOfDay API calls",
          extraTags = {"endpoint", "endofday"})
   public EndOfDayResponse asObject() throws TwelveDataException {
-    return ModelUtils.toEndOfDayResponse(asJson());
+    return ModelUtils.toEndOfDayResponse(asJson(), getPriceScale());
+  }
+
+  /**
+   * Executes the end of day request asynchronously.
+   *
+   * @return a future of the {@link EndOfDayResponse}; it fails with the exception {@link
+   *     #asObject()} would throw
+   * @see #asJsonAsync()
+   */
+  public CompletableFuture<EndOfDayResponse> asObjectAsync() {
+    return supplyAsync(json -> ModelUtils.toEndOfDayResponse(json, getPriceScale()));
+  }
+
+  /**
+   * Prepares the request for repeated execution, e.g. for one symbol after another.
+   *
+   * @return the template, answering with {@link EndOfDayResponse}s decoded like {@link #asObject()}
+   * @see #prepare()
+   */
+  public PreparedEndpoint<EndOfDayResponse> prepareObject() {
+    int priceScale = getPriceScale();
+    return prepare(json -> ModelUtils.toEndOfDayResponse(json, priceScale));
   }
 } 
\ No newline at end of file
@@ -3,12 +3,23 @@ package com.github.nicholascowan.twelvedata.endpoints;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.concurrent.ExecutionMode;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import com.github.nicholascowan.twelvedata.models.CsvDecoder;
 import com.github.nicholascowan.twelvedata.models.ErrorResponse;
 import com.github.nicholascowan.twelvedata.models.ModelUtils;
+import com.github.nicholascowan.twelvedata.models.NumberDecoder;
 import io.micrometer.core.annotation.Timed;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Base class for all API endpoints.
@@ -21,6 +32,8 @@ import java.util.Map;
  * <ul>
  *   <li>Parameter management with type-safe addParam methods
  *   <li>JSON and CSV response handling
+ *   <li>Async requests following the {@link ExecutionMode} of the context
+ *   <li>Per-request {@link Deadline deadlines} and cancellation of async requests
  *   <li>URL generation for debugging
  *   <li>Endpoint type classification (price, indicator, overlay, batch)
  * </ul>
@@ -40,6 +53,8 @@ public abstract class Endpoint {
   protected boolean isOverlay = false;
   protected boolean isBatch = false;
 
+  private Deadline deadline;
+
   /**
    * Creates a new endpoint with the specified context.
    *
@@ -48,7 +63,7 @@ public abstract class Endpoint {
    */
   public Endpoint(TwelveDataContext context) {
     this.context = context;
-    this.params = new HashMap<>(context.getAllParams());
+    this.params = new EndpointParams(context.getAllParams());
   }
 
   /**
@@ -61,6 +76,26 @@ public abstract class Endpoint {
    */
   protected abstract String getEndpointName();
 
+  /**
+   * Sets the deadline of the request.
+   *
+   * <p>The request, including the wait for the rate limiter and any retries by the HTTP client,
+   * fails with a {@link com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException}
+   * once the deadline passes, and the call in flight is aborted. The deadline is absolute, so one
+   * instance can bound several requests.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this endpoint for method chaining
+   */
+  public Endpoint deadline(Deadline deadline) {
+    this.deadline = deadline;
+    return this;
+  }
+
+  public Deadline getDeadline() {
+    return deadline;
+  }
+
   /**
    * Gets the endpoint name for metrics and logging.
    *
@@ -84,7 +119,8 @@ public abstract class Endpoint {
          extraTags = {"endpoint", "#{@getEndpointNameForMetrics()}"})
   public JsonNode asJson() throws TwelveDataException {
     try {
-      String response = context.getHttpClient().get("/" + getEndpointName(), params);
+      acquirePermit();
+      String response = send(() -> context.getHttpClient().get("/" + getEndpointName(), params));
       return objectMapper.readTree(response);
     } catch (TwelveDataException e) {
       // Re-throw TwelveDataException subclasses directly
@@ -94,6 +130,25 @@ public abstract class Endpoint {
     }
   }
 
+  /**
+   * Executes the endpoint request asynchronously and returns a future of the JSON response.
+   *
+   * <p>With {@link ExecutionMode#VIRTUAL} the blocking {@link #asJson()} runs on its own virtual
+   * thread. Otherwise the request is sent with {@link
+   * com.github.nicholascowan.twelvedata.http.HttpClient#getAsync(String, Map)}, after waiting for a
+   * permit from the rate limiter on the calling thread. The future fails with the exception {@link
+   * #asJson()} would throw.
+   *
+   * <p>Cancelling the future, or the {@link #deadline(Deadline) deadline} passing, aborts the
+   * request in flight and frees its connection. Requests running on a virtual thread are bounded
+   * by the deadline but run to completion when cancelled.
+   *
+   * @return a future of the API response as a JsonNode
+   */
+  public CompletableFuture<JsonNode> asJsonAsync() {
+    return supplyAsync(Function.identity());
+  }
+
   /**
    * Executes the endpoint request and returns CSV response.
    *
@@ -108,7 +163,8 @@ public abstract class Endpoint {
          extraTags = {"endpoint", "#{@getEndpointNameForMetrics()}"})
   public String asCsv() throws TwelveDataException {
     try {
-      return context.getHttpClient().getCsv("/" + getEndpointName(), params);
+      acquirePermit();
+      return send(() -> context.getHttpClient().getCsv("/" + getEndpointName(), params));
     } catch (TwelveDataException e) {
       // Re-throw TwelveDataException subclasses directly
       throw e;
@@ -117,6 +173,24 @@ public abstract class Endpoint {
     }
   }
 
+  /**
+   * Executes the endpoint request as CSV and calls a handler for every row while the response is
+   * downloaded.
+   *
+   * <p>Fields are decoded straight from the response bytes (see {@link CsvDecoder}), split on the
+   * {@code delimiter} parameter. The row passed to the handler is reused and must not be retained.
+   *
+   * @param handler the handler called for every data row
+   * @return the number of data rows
+   * @throws TwelveDataException if the API request fails or returns an error
+   */
+  @Timed(value = "twelvedata.api.duration", 
+         description = "Time taken for API requests",
+         extraTags = {"endpoint", "#{@getEndpointNameForMetrics()}"})
+  public int forEachCsvRow(CsvDecoder.RowHandler handler) throws TwelveDataException {
+    return decodeCsv(in -> CsvDecoder.forEachRow(in, getCsvDelimiter(), handler));
+  }
+
   /**
    * Executes the endpoint request and returns error response if applicable.
    *
@@ -128,7 +202,8 @@ public abstract class Endpoint {
    */
   public ErrorResponse asErrorResponse() throws TwelveDataException {
     try {
-      String response = context.getHttpClient().get("/" + getEndpointName(), params);
+      acquirePermit();
+      String response = send(() -> context.getHttpClient().get("/" + getEndpointName(), params));
       JsonNode jsonNode = objectMapper.readTree(response);
 
       if (jsonNode.has("status")) {
@@ -168,6 +243,194 @@ public abstract class Endpoint {
     return url.toString();
   }
 
+  /**
+   * Prepares the request for repeated execution with a few varying parameters.
+   *
+   * <p>The current parameters of the endpoint become the static part of the template. The {@link
+   * #deadline(Deadline) deadline} is not copied; executions run within the {@link
+   * Deadline#current() current deadline}, if any.
+   *
+   * @return the template, answering with the JSON response
+   * @see PreparedEndpoint
+   */
+  public PreparedEndpoint<JsonNode> prepare() {
+    return prepare(Function.identity());
+  }
+
+  /**
+   * Prepares the request for repeated execution, decoding every response.
+   *
+   * @param decoder converts the JSON response, e.g. into a model object
+   * @param <T> the decoded type
+   * @return the template
+   * @see #prepare()
+   */
+  protected <T> PreparedEndpoint<T> prepare(Function<JsonNode, ? extends T> decoder) {
+    return new PreparedEndpoint<>(context, getEndpointName(), params, decoder);
+  }
+
+  /**
+   * Gets the number of decimal places prices are requested with.
+   *
+   * <p>The value of the {@code dp} parameter is passed to the model decoders so that prices can be
+   * decoded as fixed-point values with a known scale.
+   *
+   * @return the {@code dp} parameter, or -1 if it is not set or not a valid scale
+   */
+  protected int getPriceScale() {
+    String dp = params.get(ApiParameters.DP);
+    if (dp == null) {
+      return -1;
+    }
+    try {
+      int scale = Integer.parseInt(dp);
+      return scale >= 0 && scale <= NumberDecoder.MAX_SCALE ? scale : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Takes a permit for one request from the rate limiter of the context, waiting if necessary.
+   *
+   * <p>With a {@link #deadline(Deadline) deadline} or a {@link Deadline#current() current
+   * deadline}, the wait is bounded by the earlier of them: if the permit would not be available
+   * in time, the request fails at once and the permit is left for other requests.
+   *
+   * @throws TwelveDataException if the thread is interrupted while waiting or the deadline passed
+   */
+  protected void acquirePermit() throws TwelveDataException {
+    Deadline current = Deadline.current();
+    acquirePermit(context, deadline == null ? current : deadline.min(current));
+  }
+
+  static void acquirePermit(TwelveDataContext context, Deadline deadline)
+      throws TwelveDataException {
+    try {
+      if (deadline == null) {
+        context.getRateLimiter().acquire();
+        return;
+      }
+      deadline.check();
+      if (!context.getRateLimiter()
+          .tryAcquire(1, deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+        throw new DeadlineExceededException("Deadline exceeded while waiting for the rate limiter");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("Interrupted while waiting for the rate limiter", e);
+    }
+  }
+
+  /**
+   * Sends a request with the {@link #deadline(Deadline) deadline} of the endpoint in effect.
+   *
+   * @param request the request to the HTTP client
+   * @param <T> the response type
+   * @return the response
+   * @throws TwelveDataException if the request fails or the deadline passed
+   */
+  protected <T> T send(Supplier<? extends T> request) throws TwelveDataException {
+    return deadline == null ? request.get() : deadline.call(request);
+  }
+
+  /**
+   * Executes the endpoint request asynchronously and decodes the JSON response.
+   *
+   * @param decoder converts the JSON response, e.g. into a model object
+   * @param <T> the decoded type
+   * @return a future of the decoded response
+   * @see #asJsonAsync()
+   */
+  protected <T> CompletableFuture<T> supplyAsync(Function<JsonNode, ? extends T> decoder) {
+    if (context.getExecutionMode() == ExecutionMode.VIRTUAL) {
+      CompletableFuture<T> result =
+          CompletableFuture.supplyAsync(() -> decoder.apply(asJson()), VirtualExecutor.INSTANCE);
+      return deadline == null ? result : deadline.bound(result);
+    }
+    CompletableFuture<String> sent;
+    try {
+      acquirePermit();
+      sent = send(() -> context.getHttpClient().getAsync("/" + getEndpointName(), params));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    CompletableFuture<T> result = sent.thenApply(response -> decoder.apply(readJson(response)));
+    // Cancelled or timed out: abort the request and release what it holds
+    result.whenComplete((value, failure) -> {
+      if (failure != null) {
+        sent.cancel(true);
+      }
+    });
+    return deadline == null ? result : deadline.bound(result);
+  }
+
+  private JsonNode readJson(String response) throws TwelveDataException {
+    try {
+      return objectMapper.readTree(response);
+    } catch (IOException e) {
+      throw new TwelveDataException("Failed to execute " + getEndpointName() + " endpoint", e);
+    }
+  }
+
+  /** Starts a virtual thread per async request; created on first use. */
+  private static final class VirtualExecutor {
+    private static final ExecutorService INSTANCE =
+        ExecutionMode.VIRTUAL.newExecutor("twelvedata-async", 0);
+  }
+
+  /**
+   * Gets the delimiter CSV responses are split on.
+   *
+   * @return the first character of the {@code delimiter} parameter, or {@link
+   *     CsvDecoder#DEFAULT_DELIMITER} if it is not set
+   */
+  protected char getCsvDelimiter() {
+    String delimiter = params.get(ApiParameters.DELIMITER);
+    return delimiter == null || delimiter.isEmpty()
+        ? CsvDecoder.DEFAULT_DELIMITER
+        : delimiter.charAt(0);
+  }
+
+  /**
+   * Executes the endpoint request as CSV and decodes the response body as it is streamed.
+   *
+   * @param decoder the decoder for the response body
+   * @param <T> the decoded type
+   * @return the decoded response
+   * @throws TwelveDataException if the API request fails, returns an error or cannot be decoded
+   */
+  protected <T> T decodeCsv(CsvBodyDecoder<T> decoder) throws TwelveDataException {
+    acquirePermit();
+    try (InputStream in =
+        send(() -> context.getHttpClient().getCsvStream("/" + getEndpointName(), params))) {
+      return decoder.decode(in);
+    } catch (TwelveDataException e) {
+      // Re-throw TwelveDataException subclasses directly
+      throw e;
+    } catch (Exception e) {
+      throw new TwelveDataException("Failed to execute " + getEndpointName() + " endpoint", e);
+    }
+  }
+
+  /**
+   * Decodes a streamed CSV response body.
+   *
+   * @param <T> the decoded type
+   */
+  @FunctionalInterface
+  protected interface CsvBodyDecoder<T> {
+
+    /**
+     * Decodes the response body. The stream is closed by the caller.
+     *
+     * @param in the response body
+     * @return the decoded response
+     * @throws IOException if the body cannot be read or decoded
+     */
+    T decode(InputStream in) throws IOException;
+  }
+
   /**
    * Adds a string parameter to the request.
    *
@@ -0,0 +1,116 @@
+package com.github.nicholascowan.twelvedata.endpoints;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The parameters of an endpoint: its own parameters layered over the shared, immutable
+ * {@link com.github.nicholascowan.twelvedata.TwelveDataContext#getAllParams() context parameters}.
+ *
+ * <p>Only the endpoint's own parameters are stored, so creating an endpoint does not copy the
+ * defaults. A parameter of the endpoint hides the context parameter of the same name. Parameters
+ * can be added and replaced but not removed. Instances are not thread-safe.
+ */
+final class EndpointParams extends AbstractMap<String, String> {
+
+  private final Map<String, String> shared;
+  private final Map<String, String> own = new HashMap<>();
+  private final Map<String, String> ownView = Collections.unmodifiableMap(own);
+  private final Set<Entry<String, String>> entries = new Entries();
+
+  /**
+   * Creates the parameters of an endpoint.
+   *
+   * @param shared the context parameters, which must not change
+   */
+  EndpointParams(Map<String, String> shared) {
+    this.shared = shared;
+  }
+
+  @Override
+  public String get(Object key) {
+    String value = own.get(key);
+    return value != null || own.containsKey(key) ? value : shared.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return own.containsKey(key) || shared.containsKey(key);
+  }
+
+  @Override
+  public String put(String key, String value) {
+    String previous = get(key);
+    own.put(key, value);
+    return previous;
+  }
+
+  @Override
+  public int size() {
+    int size = own.size();
+    for (String key : shared.keySet()) {
+      if (!own.containsKey(key)) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return entries;
+  }
+
+  /** The entries of the endpoint followed by the context entries they do not hide. */
+  private final class Entries extends AbstractSet<Entry<String, String>> {
+
+    @Override
+    public int size() {
+      return EndpointParams.this.size();
+    }
+
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+      return new Iterator<>() {
+        private final Iterator<Entry<String, String>> ownEntries = ownView.entrySet().iterator();
+        private final Iterator<Entry<String, String>> sharedEntries = shared.entrySet().iterator();
+        private Entry<String, String> next;
+
+        @Override
+        public boolean hasNext() {
+          if (next != null) {
+            return true;
+          }
+          if (ownEntries.hasNext()) {
+            next = ownEntries.next();
+            return true;
+          }
+          while (sharedEntries.hasNext()) {
+            Entry<String, String> entry = sharedEntries.next();
+            if (!own.containsKey(entry.getKey())) {
+              next = entry;
+              return true;
+            }
+          }
+          return false;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          Entry<String, String> result = next;
+          next = null;
+          return result;
+        }
+      };
+    }
+  }
+}
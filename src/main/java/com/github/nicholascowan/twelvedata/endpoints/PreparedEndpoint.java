@@ -0,0 +1,130 @@
+package com.github.nicholascowan.twelvedata.endpoints;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import com.github.nicholascowan.twelvedata.http.PreparedRequest;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A configured endpoint that can be executed many times with a few varying parameters.
+ *
+ * <p>Created with {@link Endpoint#prepare()} or the {@code prepareObject()} method of an endpoint.
+ * The parameters the endpoint was configured with, including the API key and the context
+ * defaults, are copied once into a {@link PreparedRequest} of the context's HTTP client; an
+ * execution only adds its own parameters, usually the symbol. Every execution still takes a
+ * permit from the rate limiter of the context.
+ *
+ * <p>Later changes to the endpoint or to the defaults of the context do not affect the template.
+ * Templates are immutable and thread-safe.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * PreparedEndpoint<QuoteResponse> quotes = client.quote().dp(4).prepareObject();
+ * while (polling) {
+ *   for (String symbol : symbols) {
+ *     handle(quotes.execute(symbol));
+ *   }
+ * }
+ * }</pre>
+ *
+ * @param <T> the decoded response type
+ */
+public final class PreparedEndpoint<T> {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final TwelveDataContext context;
+  private final String endpointName;
+  private final PreparedRequest request;
+  private final Function<JsonNode, ? extends T> decoder;
+
+  PreparedEndpoint(TwelveDataContext context, String endpointName, Map<String, String> params,
+      Function<JsonNode, ? extends T> decoder) {
+    this.context = context;
+    this.endpointName = endpointName;
+    this.request = context.getHttpClient().prepare("/" + endpointName, params);
+    this.decoder = decoder;
+  }
+
+  public String getEndpointName() {
+    return endpointName;
+  }
+
+  public PreparedRequest getRequest() {
+    return request;
+  }
+
+  /**
+   * Executes the request for one symbol.
+   *
+   * @param symbol the symbol
+   * @return the decoded response
+   * @throws TwelveDataException if the API request fails or returns an error
+   */
+  public T execute(String symbol) throws TwelveDataException {
+    return execute(Map.of(ApiParameters.SYMBOL, symbol));
+  }
+
+  /**
+   * Executes the request with varying parameters.
+   *
+   * @param params the parameters of this execution
+   * @return the decoded response
+   * @throws TwelveDataException if the API request fails or returns an error
+   */
+  public T execute(Map<String, String> params) throws TwelveDataException {
+    acquirePermit();
+    return decoder.apply(readJson(request.get(params)));
+  }
+
+  /**
+   * Executes the request with varying parameters without blocking on the response.
+   *
+   * <p>The permit is taken from the rate limiter on the calling thread, then the request is sent
+   * with {@link PreparedRequest#getAsync(Map)}. Cancelling the future aborts the request.
+   *
+   * @param params the parameters of this execution
+   * @return a future of the decoded response; it fails with the exception {@link #execute(Map)}
+   *     would throw
+   */
+  public CompletableFuture<T> executeAsync(Map<String, String> params) {
+    CompletableFuture<String> sent;
+    try {
+      acquirePermit();
+      sent = request.getAsync(params);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    CompletableFuture<T> result = sent.thenApply(response -> decoder.apply(readJson(response)));
+    result.whenComplete((value, failure) -> {
+      if (failure != null) {
+        sent.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "PreparedEndpoint{" + endpointName + ", params=" + request.getParams().keySet() + '}';
+  }
+
+  private void acquirePermit() throws TwelveDataException {
+    Endpoint.acquirePermit(context, Deadline.current());
+  }
+
+  private JsonNode readJson(String response) throws TwelveDataException {
+    try {
+      return objectMapper.readTree(response);
+    } catch (IOException e) {
+      throw new TwelveDataException("Failed to execute " + endpointName + " endpoint", e);
+    }
+  }
+}
@@ -1,10 +1,13 @@
 package com.github.nicholascowan.twelvedata.endpoints;
 
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import com.github.nicholascowan.twelvedata.models.CsvDecoder;
 import com.github.nicholascowan.twelvedata.models.ModelUtils;
 import com.github.nicholascowan.twelvedata.models.PriceResponse;
 import io.micrometer.core.annotation.Timed;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides access to real-time price data from the TwelveData API.
@@ -110,6 +113,19 @@ public class Price extends Endpoint {
     return this;
   }
 
+  /**
+   * Sets the deadline of the request.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this Price instance for method chaining
+   * @see Endpoint#deadline(Deadline)
+   */
+  @Override
+  public Price deadline(Deadline deadline) {
+    super.deadline(deadline);
+    return this;
+  }
+
   /**
    * Sets the exchange for the price request.
    *
@@ -259,6 +275,41 @@ public class Price extends Endpoint {
          description = "Time taken for Price API calls",
          extraTags = {"endpoint", "price"})
   public PriceResponse asObject() throws TwelveDataException {
-    return ModelUtils.toPriceResponse(asJson());
+    return ModelUtils.toPriceResponse(asJson(), getPriceScale());
+  }
+
+  /**
+   * Executes the price request asynchronously.
+   *
+   * @return a future of the {@link PriceResponse}; it fails with the exception {@link
+   *     #asObject()} would throw
+   * @see #asJsonAsync()
+   */
+  public CompletableFuture<PriceResponse> asObjectAsync() {
+    return supplyAsync(json -> ModelUtils.toPriceResponse(json, getPriceScale()));
+  }
+
+  /**
+   * Prepares the request for repeated execution, e.g. for one symbol after another.
+   *
+   * @return the template, answering with {@link PriceResponse}s decoded like {@link #asObject()}
+   * @see #prepare()
+   */
+  public PreparedEndpoint<PriceResponse> prepareObject() {
+    int priceScale = getPriceScale();
+    return prepare(json -> ModelUtils.toPriceResponse(json, priceScale));
+  }
+
+  /**
+   * Executes the price request as CSV and decodes the response straight from its bytes.
+   *
+   * @return a {@link PriceResponse} object containing the price data
+   * @throws TwelveDataException if the API request fails or returns an error
+   */
+  @Timed(value = "twelvedata.price.duration", 
+         description = "Time taken for Price API calls",
+         extraTags = {"endpoint", "price"})
+  public PriceResponse asCsvObject() throws TwelveDataException {
+    return decodeCsv(in -> CsvDecoder.decodePrice(in, getCsvDelimiter(), getPriceScale()));
   }
 }
@@ -1,11 +1,13 @@
 package com.github.nicholascowan.twelvedata.endpoints;
 
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
 import com.github.nicholascowan.twelvedata.models.ModelUtils;
 import com.github.nicholascowan.twelvedata.models.QuoteResponse;
 import io.micrometer.core.annotation.Timed;
 import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides access to real-time quote data from the TwelveData API.
@@ -127,6 +129,19 @@ public class Quote extends Endpoint {
     return this;
   }
 
+  /**
+   * Sets the deadline of the request.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this Quote instance for method chaining
+   * @see Endpoint#deadline(Deadline)
+   */
+  @Override
+  public Quote deadline(Deadline deadline) {
+    super.deadline(deadline);
+    return this;
+  }
+
   /**
    * Sets the time interval for the quote data.
    *
@@ -377,6 +392,28 @@ public class Quote extends Endpoint {
          description = "Time taken for Quote API calls",
          extraTags = {"endpoint", "quote"})
   public QuoteResponse asObject() throws TwelveDataException {
-    return ModelUtils.toQuoteResponse(asJson());
+    return ModelUtils.toQuoteResponse(asJson(), getPriceScale());
+  }
+
+  /**
+   * Executes the quote request asynchronously.
+   *
+   * @return a future of the {@link QuoteResponse}; it fails with the exception {@link
+   *     #asObject()} would throw
+   * @see #asJsonAsync()
+   */
+  public CompletableFuture<QuoteResponse> asObjectAsync() {
+    return supplyAsync(json -> ModelUtils.toQuoteResponse(json, getPriceScale()));
+  }
+
+  /**
+   * Prepares the request for repeated execution, e.g. for one symbol after another.
+   *
+   * @return the template, answering with {@link QuoteResponse}s decoded like {@link #asObject()}
+   * @see #prepare()
+   */
+  public PreparedEndpoint<QuoteResponse> prepareObject() {
+    int priceScale = getPriceScale();
+    return prepare(json -> ModelUtils.toQuoteResponse(json, priceScale));
   }
 }
@@ -1,11 +1,18 @@
 package com.github.nicholascowan.twelvedata.endpoints;
 
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import com.github.nicholascowan.twelvedata.models.BarConsumer;
+import com.github.nicholascowan.twelvedata.models.ColumnarTimeSeriesValues;
+import com.github.nicholascowan.twelvedata.models.CsvDecoder;
 import com.github.nicholascowan.twelvedata.models.ModelUtils;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesBarReader;
 import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
 import io.micrometer.core.annotation.Timed;
+import java.io.InputStream;
 import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides access to time series data (OHLC - Open, High, Low, Close) from the TwelveData API.
@@ -147,6 +154,19 @@ public class TimeSeries extends Endpoint {
     return this;
   }
 
+  /**
+   * Sets the deadline of the request.
+   *
+   * @param deadline the deadline, or null for none
+   * @return this TimeSeries instance for method chaining
+   * @see Endpoint#deadline(Deadline)
+   */
+  @Override
+  public TimeSeries deadline(Deadline deadline) {
+    super.deadline(deadline);
+    return this;
+  }
+
   /**
    * Sets the time interval for the time series data.
    *
@@ -408,6 +428,96 @@ public class TimeSeries extends Endpoint {
          description = "Time taken for TimeSeries API calls",
          extraTags = {"endpoint", "time_series"})
   public TimeSeriesResponse asObject() throws TwelveDataException {
-    return ModelUtils.toTimeSeriesResponse(asJson());
+    return ModelUtils.toTimeSeriesResponse(asJson(), getPriceScale());
+  }
+
+  /**
+   * Executes the time series request asynchronously.
+   *
+   * @return a future of the {@link TimeSeriesResponse}; it fails with the exception {@link
+   *     #asObject()} would throw
+   * @see #asJsonAsync()
+   */
+  public CompletableFuture<TimeSeriesResponse> asObjectAsync() {
+    return supplyAsync(json -> ModelUtils.toTimeSeriesResponse(json, getPriceScale()));
+  }
+
+  /**
+   * Executes the time series request and returns the response with its values stored as primitive
+   * columns.
+   *
+   * <p>The values list is a {@link ColumnarTimeSeriesValues}: it holds a few arrays instead of one
+   * object per bar and returns read-only views from {@code get(int)}. Use it for large output sizes
+   * or when many responses are kept in memory.</p>
+   *
+   * @return a {@link TimeSeriesResponse} whose values are a {@link ColumnarTimeSeriesValues}
+   * @throws TwelveDataException if the API request fails or returns an error
+   */
+  @Timed(value = "twelvedata.timeseries.duration", 
+         description = "Time taken for TimeSeries API calls",
+         extraTags = {"endpoint", "time_series"})
+  public TimeSeriesResponse asColumnarObject() throws TwelveDataException {
+    return ModelUtils.toColumnarTimeSeriesResponse(asJson(), getPriceScale());
+  }
+
+  /**
+   * Executes the time series request and passes the bars to a consumer one at a time while the
+   * response is downloaded.
+   *
+   * <p>Nothing is materialized: each bar is decoded into the same reusable {@link
+   * com.github.nicholascowan.twelvedata.models.MutableBar}, so memory use is constant in the
+   * output size. Use it to fold over large series once, e.g. to compute a statistic or copy the
+   * bars into another store.</p>
+   *
+   * @param consumer the consumer called for every bar, in response order
+   * @return the number of bars
+   * @throws TwelveDataException if the API request fails or returns an error
+   */
+  @Timed(value = "twelvedata.timeseries.duration", 
+         description = "Time taken for TimeSeries API calls",
+         extraTags = {"endpoint", "time_series"})
+  public int stream(BarConsumer consumer) throws TwelveDataException {
+    try (TimeSeriesBarReader reader = iterator()) {
+      return reader.forEach(consumer);
+    }
+  }
+
+  /**
+   * Executes the time series request and returns a reader that decodes the bars one at a time as
+   * they are pulled.
+   *
+   * <p>The reader holds the connection open until it is closed, so it must be used with
+   * try-with-resources. As with {@link #stream(BarConsumer)}, the returned bar is reused.</p>
+   *
+   * @return the reader
+   * @throws TwelveDataException if the API request fails
+   */
+  public TimeSeriesBarReader iterator() throws TwelveDataException {
+    acquirePermit();
+    InputStream in = send(() -> context.getHttpClient().getStream("/" + getEndpointName(), params));
+    return new TimeSeriesBarReader(in, getPriceScale());
+  }
+
+  /**
+   * Executes the time series request as CSV and decodes the rows into primitive columns while the
+   * response is downloaded.
+   *
+   * <p>This is the compact path for large pulls: the body is never materialized as a string and
+   * fields are decoded straight from the response bytes (see {@link CsvDecoder}). Rows are split
+   * on the {@link #delimiter(String) delimiter}. CSV responses carry no meta, so epoch milliseconds
+   * are only set when the {@link #timezone(String) timezone} parameter names a zone id such as
+   * {@code UTC} or {@code America/New_York}.</p>
+   *
+   * @return the bars, in response order
+   * @throws TwelveDataException if the API request fails, returns an error or is not a time series
+   */
+  @Timed(value = "twelvedata.timeseries.duration", 
+         description = "Time taken for TimeSeries API calls",
+         extraTags = {"endpoint", "time_series"})
+  public ColumnarTimeSeriesValues asCsvValues() throws TwelveDataException {
+    String timezone = params.get(ApiParameters.TIMEZONE);
+    String zone = "Exchange".equalsIgnoreCase(timezone) ? null : timezone;
+    return decodeCsv(
+        in -> CsvDecoder.decodeTimeSeries(in, getCsvDelimiter(), zone, getPriceScale()));
   }
 }
@@ -0,0 +1,14 @@
+package com.github.nicholascowan.twelvedata.exceptions;
+
+/**
+ * Exception thrown without sending a request when its endpoint already has the maximum number of
+ * concurrent calls in flight.
+ *
+ * @see com.github.nicholascowan.twelvedata.http.CircuitBreakerHttpClient
+ */
+public class BulkheadFullException extends TwelveDataException {
+
+  public BulkheadFullException(String message) {
+    super(message);
+  }
+}
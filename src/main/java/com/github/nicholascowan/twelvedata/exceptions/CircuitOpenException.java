@@ -0,0 +1,16 @@
+package com.github.nicholascowan.twelvedata.exceptions;
+
+/**
+ * Exception thrown without sending a request while the circuit breaker of its endpoint is open.
+ *
+ * <p>The endpoint failed or was slow too often recently. Requests are allowed again once the
+ * breaker has been open for its wait duration and a few trial requests succeed.
+ *
+ * @see com.github.nicholascowan.twelvedata.concurrent.CircuitBreaker
+ */
+public class CircuitOpenException extends TwelveDataException {
+
+  public CircuitOpenException(String message) {
+    super(message);
+  }
+}
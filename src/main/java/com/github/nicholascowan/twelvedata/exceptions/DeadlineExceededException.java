@@ -0,0 +1,20 @@
+package com.github.nicholascowan.twelvedata.exceptions;
+
+/**
+ * Exception thrown when a request does not complete before its deadline.
+ *
+ * <p>The request was abandoned on the client side, either before it was sent or by aborting the
+ * call in flight; the API may still have charged credits for it.
+ *
+ * @see com.github.nicholascowan.twelvedata.concurrent.Deadline
+ */
+public class DeadlineExceededException extends TwelveDataException {
+
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+
+  public DeadlineExceededException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,35 @@
+package com.github.nicholascowan.twelvedata.exceptions;
+
+import java.util.Locale;
+
+/**
+ * Exception thrown when a valid request matches no data, e.g. a time series for dates on which the
+ * symbol did not trade.
+ *
+ * <p>The API reports this as a 400 Bad Request error that differs from others only by its message,
+ * so the message is recognized once, where error responses are mapped to exceptions, and callers
+ * can catch this type instead. It is a {@link BadRequestException}, so existing handlers still
+ * see it.
+ */
+public class NoDataException extends BadRequestException {
+
+  // Start of the message of the API's 400 error for an empty result
+  private static final String NO_DATA_MESSAGE = "no data is available";
+
+  public NoDataException(String message) {
+    super(message);
+  }
+
+  /**
+   * Creates the exception for a 400 error response.
+   *
+   * @param message the message of the error response
+   * @return a {@link NoDataException} if the message reports an empty result, otherwise a {@link
+   *     BadRequestException}
+   */
+  public static BadRequestException badRequest(String message) {
+    return message != null && message.toLowerCase(Locale.ROOT).contains(NO_DATA_MESSAGE)
+        ? new NoDataException(message)
+        : new BadRequestException(message);
+  }
+}
@@ -0,0 +1,327 @@
+package com.github.nicholascowan.twelvedata.flow;
+
+import com.github.nicholascowan.twelvedata.TwelveDataClient;
+import com.github.nicholascowan.twelvedata.endpoints.TimeSeries;
+import com.github.nicholascowan.twelvedata.exceptions.NoDataException;
+import com.github.nicholascowan.twelvedata.models.QuoteResponse;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesBarReader;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link Flow.Publisher} sources for reactive pipelines.
+ *
+ * <p>All publishers are cold and demand-driven: nothing is requested from the API until a
+ * subscriber calls {@link Flow.Subscription#request(long)}, and no more chunks, bars or responses
+ * are fetched than the subscriber has asked for. Requests run on a shared pool of daemon threads
+ * unless an executor is given. Failures terminate the stream with {@code onError}, carrying the
+ * same {@link com.github.nicholascowan.twelvedata.exceptions.TwelveDataException} the blocking API
+ * would throw.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * Flow.Publisher<TimeSeriesValue> bars = Publishers.timeSeries(
+ *     () -> client.timeSeries("AAPL", "1min"),
+ *     LocalDate.of(2024, 1, 1), LocalDate.of(2024, 7, 1), Period.ofWeeks(1));
+ * Flow.Publisher<QuoteResponse> quotes = Publishers.quotes(client, symbols, 8);
+ * Flow.Publisher<PriceResponse> prices = Publishers.polling(
+ *     () -> client.price("AAPL").asObject(), Duration.ofSeconds(5));
+ * }</pre>
+ */
+public final class Publishers {
+
+  // Private constructor to prevent instantiation
+  private Publishers() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Publishes the bars of a date range fetched as consecutive chunks.
+   *
+   * <p>The range is split into chunks of the given period, requested in ascending order with
+   * {@code order=asc}. Bars are decoded one at a time from the streamed response (see {@link
+   * TimeSeries#iterator()}), so at most one chunk request is open and one bar is decoded ahead of
+   * demand. Bars repeated at a chunk boundary are emitted once, and chunks the API reports as
+   * having no data ({@link NoDataException}) are skipped.
+   *
+   * @param request creates the request for a chunk, configured with everything but the dates
+   * @param startDate the first day of the range
+   * @param endDate the day after the range
+   * @param chunk the length of a chunk
+   * @return the publisher
+   * @throws IllegalArgumentException if the chunk is not positive or the range is inverted
+   */
+  public static Flow.Publisher<TimeSeriesValue> timeSeries(
+      Supplier<TimeSeries> request, LocalDate startDate, LocalDate endDate, Period chunk) {
+    return timeSeries(request, startDate, endDate, chunk, PullPublisher.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Publishes the bars of a date range fetched as consecutive chunks, pulling on the given
+   * executor.
+   *
+   * @param request creates the request for a chunk, configured with everything but the dates
+   * @param startDate the first day of the range
+   * @param endDate the day after the range
+   * @param chunk the length of a chunk
+   * @param executor the executor the blocking requests run on
+   * @return the publisher
+   * @throws IllegalArgumentException if the chunk is not positive or the range is inverted
+   * @see #timeSeries(Supplier, LocalDate, LocalDate, Period)
+   */
+  public static Flow.Publisher<TimeSeriesValue> timeSeries(Supplier<TimeSeries> request,
+      LocalDate startDate, LocalDate endDate, Period chunk, Executor executor) {
+    Objects.requireNonNull(request, "request");
+    if (chunk.isNegative() || chunk.isZero()) {
+      throw new IllegalArgumentException("Chunk must be positive: " + chunk);
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date " + endDate + " is before " + startDate);
+    }
+    return new PullPublisher<>(
+        () -> new ChunkSource(request, startDate, endDate, chunk), executor);
+  }
+
+  /**
+   * Publishes the quotes of several symbols, in the order of the symbols.
+   *
+   * @param client the client
+   * @param symbols the symbols
+   * @param maxConcurrency the maximum number of quote requests in flight
+   * @return the publisher
+   * @throws IllegalArgumentException if maxConcurrency is not positive
+   * @see #fanOut(List, Function, int, Executor)
+   */
+  public static Flow.Publisher<QuoteResponse> quotes(
+      TwelveDataClient client, List<String> symbols, int maxConcurrency) {
+    return fanOut(symbols, symbol -> client.quote(symbol).asObject(), maxConcurrency,
+        PullPublisher.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Publishes the results of one request per key, in the order of the keys.
+   *
+   * <p>Requests are started only for outstanding demand: at most {@code min(requested,
+   * maxConcurrency)} run at the same time, and each result is emitted as soon as it and the
+   * results before it are available.
+   *
+   * @param keys the keys, e.g. symbols
+   * @param request makes the blocking request for a key
+   * @param maxConcurrency the maximum number of requests in flight
+   * @param executor the executor the requests run on; it must be able to run {@code
+   *     maxConcurrency + 1} tasks at once, as the drain loop waits for the requests on it
+   * @param <K> the key type
+   * @param <T> the result type
+   * @return the publisher
+   * @throws IllegalArgumentException if maxConcurrency is not positive
+   */
+  public static <K, T> Flow.Publisher<T> fanOut(List<K> keys,
+      Function<? super K, ? extends T> request, int maxConcurrency, Executor executor) {
+    Objects.requireNonNull(request, "request");
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    List<K> copy = new ArrayList<>(keys);
+    return new PullPublisher<>(
+        () -> new FanOutSource<K, T>(copy, request, maxConcurrency, executor), executor);
+  }
+
+  /**
+   * Publishes the result of a request polled at a fixed period.
+   *
+   * <p>A poll is only made while there is outstanding demand; ticks missed while the subscriber
+   * has not requested anything are skipped, and the next poll is made as soon as demand arrives.
+   * The stream never completes on its own unless the request returns null.
+   *
+   * @param request the blocking request, e.g. {@code () -> client.price("AAPL").asObject()}
+   * @param period the time between the starts of two polls
+   * @param <T> the result type
+   * @return the publisher
+   * @throws IllegalArgumentException if the period is not positive
+   */
+  public static <T> Flow.Publisher<T> polling(Callable<? extends T> request, Duration period) {
+    return polling(request, period, PullPublisher.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Publishes the result of a request polled at a fixed period, polling on the given executor.
+   *
+   * @param request the blocking request
+   * @param period the time between the starts of two polls
+   * @param executor the executor the polls run on; a thread is held while waiting for a tick
+   * @param <T> the result type
+   * @return the publisher
+   * @throws IllegalArgumentException if the period is not positive
+   * @see #polling(Callable, Duration)
+   */
+  public static <T> Flow.Publisher<T> polling(
+      Callable<? extends T> request, Duration period, Executor executor) {
+    Objects.requireNonNull(request, "request");
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Period must be positive: " + period);
+    }
+    return new PullPublisher<>(() -> new PollingSource<T>(request, period.toNanos()), executor);
+  }
+
+  /** Streams the bars of consecutive date-range chunks. */
+  private static final class ChunkSource implements PullPublisher.Source<TimeSeriesValue> {
+    private final Supplier<TimeSeries> request;
+    private final LocalDate endDate;
+    private final Period chunk;
+    private LocalDate nextStart;
+    private TimeSeriesBarReader reader;
+    private String lastDatetime;
+
+    private ChunkSource(
+        Supplier<TimeSeries> request, LocalDate startDate, LocalDate endDate, Period chunk) {
+      this.request = request;
+      this.endDate = endDate;
+      this.chunk = chunk;
+      this.nextStart = startDate;
+    }
+
+    @Override
+    public TimeSeriesValue next(long demand) {
+      while (true) {
+        if (reader == null && !openNextChunk()) {
+          return null;
+        }
+        if (!reader.hasNext()) {
+          close();
+          continue;
+        }
+        TimeSeriesValue value = reader.next().toTimeSeriesValue();
+        String datetime = value.getDatetime();
+        if (lastDatetime != null && datetime != null && datetime.compareTo(lastDatetime) <= 0) {
+          continue;
+        }
+        lastDatetime = datetime;
+        return value;
+      }
+    }
+
+    private boolean openNextChunk() {
+      while (nextStart.isBefore(endDate)) {
+        LocalDate start = nextStart;
+        LocalDate end = start.plus(chunk);
+        nextStart = end.isBefore(endDate) ? end : endDate;
+        try {
+          reader = request.get()
+              .startDate(start.toString())
+              .endDate(nextStart.toString())
+              .order("asc")
+              .iterator();
+          reader.hasNext();
+          return true;
+        } catch (NoDataException e) {
+          close();
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public void close() {
+      if (reader != null) {
+        reader.close();
+        reader = null;
+      }
+    }
+  }
+
+  /** Runs one request per key, keeping at most the outstanding demand in flight. */
+  private static final class FanOutSource<K, T> implements PullPublisher.Source<T> {
+    private final Iterator<K> keys;
+    private final Function<? super K, ? extends T> request;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final Deque<CompletableFuture<T>> inFlight = new ConcurrentLinkedDeque<>();
+
+    private FanOutSource(List<K> keys, Function<? super K, ? extends T> request,
+        int maxConcurrency, Executor executor) {
+      this.keys = keys.iterator();
+      this.request = request;
+      this.maxConcurrency = maxConcurrency;
+      this.executor = executor;
+    }
+
+    @Override
+    public T next(long demand) throws Exception {
+      while (inFlight.size() < Math.min(demand, maxConcurrency) && keys.hasNext()) {
+        K key = keys.next();
+        inFlight.add(CompletableFuture.supplyAsync(() -> request.apply(key), executor));
+      }
+      CompletableFuture<T> head = inFlight.peek();
+      if (head == null) {
+        return null;
+      }
+      try {
+        return head.get();
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        throw cause instanceof Exception ? (Exception) cause : e;
+      } finally {
+        inFlight.poll();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      close();
+    }
+
+    @Override
+    public void close() {
+      // Called concurrently with next(); a cancelled head fails the blocked get()
+      for (CompletableFuture<T> future : inFlight) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  /** Polls a request at a fixed period while there is demand. */
+  private static final class PollingSource<T> implements PullPublisher.Source<T> {
+    private final Callable<? extends T> request;
+    private final long periodNanos;
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private long nextPollNanos = System.nanoTime();
+
+    private PollingSource(Callable<? extends T> request, long periodNanos) {
+      this.request = request;
+      this.periodNanos = periodNanos;
+    }
+
+    @Override
+    public T next(long demand) throws Exception {
+      long wait = nextPollNanos - System.nanoTime();
+      if (wait > 0 && cancelled.await(wait, TimeUnit.NANOSECONDS)) {
+        return null;
+      }
+      nextPollNanos = Math.max(nextPollNanos, System.nanoTime()) + periodNanos;
+      return request.call();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled.countDown();
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.github.nicholascowan.twelvedata.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cold publisher that pulls items from a blocking {@link Source} only when subscribers have
+ * requested them.
+ *
+ * <p>Every subscription gets its own source, created on the first request. Items are pulled on
+ * the executor by a drain loop that runs while there is outstanding demand, so nothing is fetched
+ * or buffered ahead of {@link Flow.Subscription#request(long)}. Signals to a subscriber are
+ * serialized by the loop as required by the Reactive Streams rules.
+ *
+ * @param <T> the item type
+ */
+final class PullPublisher<T> implements Flow.Publisher<T> {
+
+  /** Shared executor for blocking pulls: a cached pool of daemon threads. */
+  static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "twelvedata-flow");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Blocking source of items for one subscription.
+   *
+   * @param <T> the item type
+   */
+  interface Source<T> {
+
+    /**
+     * Gets the next item, blocking until it is available.
+     *
+     * @param demand the number of items the subscriber has requested and not received yet,
+     *     including this one; {@link Long#MAX_VALUE} if unbounded
+     * @return the item, or null if the source is exhausted
+     * @throws Exception if the item cannot be produced; it is signalled with {@code onError}
+     */
+    T next(long demand) throws Exception;
+
+    /**
+     * Wakes up a blocked {@link #next(long)} after the subscription was cancelled. Called from the
+     * cancelling thread; the default does nothing.
+     */
+    default void cancel() {}
+
+    /** Releases the resources of the source. Called once from the drain loop. */
+    default void close() {}
+  }
+
+  private final Supplier<? extends Source<T>> sources;
+  private final Executor executor;
+
+  PullPublisher(Supplier<? extends Source<T>> sources, Executor executor) {
+    this.sources = Objects.requireNonNull(sources, "sources");
+    this.executor = Objects.requireNonNull(executor, "executor");
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super T> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    subscriber.onSubscribe(new PullSubscription(subscriber));
+  }
+
+  private final class PullSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super T> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Source<T> source;
+    private volatile Throwable invalidRequest;
+    private boolean done;
+
+    private PullSubscription(Flow.Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Requested " + n + " items (rule 3.9)");
+      } else {
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      Source<T> current = source;
+      if (current != null) {
+        current.cancel();
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        try {
+          executor.execute(this::drain);
+        } catch (RuntimeException e) {
+          // Executor rejected the task; fail the subscription on the calling thread
+          wip.set(0);
+          if (!done && !cancelled) {
+            done = true;
+            subscriber.onError(e);
+          }
+        }
+      }
+    }
+
+    private void drain() {
+      int missed = 1;
+      do {
+        while (!done && !cancelled) {
+          if (invalidRequest != null) {
+            fail(invalidRequest);
+            break;
+          }
+          long requested = demand.get();
+          if (requested == 0) {
+            break;
+          }
+          T item;
+          try {
+            if (source == null) {
+              source = sources.get();
+            }
+            item = source.next(requested);
+          } catch (Throwable t) {
+            if (!cancelled) {
+              fail(t);
+            }
+            break;
+          }
+          if (cancelled) {
+            break;
+          }
+          if (item == null) {
+            done = true;
+            closeSource();
+            subscriber.onComplete();
+            break;
+          }
+          if (requested != Long.MAX_VALUE) {
+            demand.decrementAndGet();
+          }
+          subscriber.onNext(item);
+        }
+        if (cancelled && !done) {
+          done = true;
+          closeSource();
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void fail(Throwable t) {
+      done = true;
+      closeSource();
+      subscriber.onError(t);
+    }
+
+    private void closeSource() {
+      Source<T> current = source;
+      if (current != null) {
+        current.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.RateLimiter;
+import com.github.nicholascowan.twelvedata.exceptions.ForbiddenException;
+import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of API keys that spreads requests over several plans.
+ *
+ * <p>Every key has its own {@link RateLimiter}, so the pool allows the sum of the keys' credits
+ * per minute. A request takes the first key in round-robin order that has a credit available, or
+ * waits for the next one. Requests with a sticky id always go to the same key while it is
+ * usable, chosen by rendezvous hashing so that losing a key only moves its own share.
+ *
+ * <p>Keys are taken out of rotation by the outcome of their requests:
+ *
+ * <ul>
+ *   <li>{@link InvalidApiKeyException} - the key is quarantined until {@link #restore(String)} is
+ *       called
+ *   <li>{@link RateLimitException} - the key cools down for {@link #getCooldown()}, as its
+ *       remaining credits for the minute are gone
+ * </ul>
+ *
+ * <p>A {@link ForbiddenException} is left alone: it usually means the request asked for something
+ * the plan does not include, so another key would be refused as well.
+ *
+ * <p>Requests, rate limit errors and quarantine per key are published as metrics by {@link
+ * #bindTo(MeterRegistry)}; keys are tagged by their last four characters only. Instances are
+ * thread-safe.
+ *
+ * @see KeyPoolHttpClient
+ */
+public final class ApiKeyPool implements MeterBinder {
+
+  private static final Logger logger = LoggerFactory.getLogger(ApiKeyPool.class);
+
+  private final List<KeyState> keys = new ArrayList<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private final Duration cooldown;
+
+  /**
+   * Creates a pool of keys on plans with the same credits per minute and a cooldown of one minute.
+   *
+   * @param apiKeys the API keys; duplicates are ignored
+   * @param creditsPerMinute the credits per minute of each key's plan
+   * @throws IllegalArgumentException if there are no keys or credits is not positive
+   */
+  public ApiKeyPool(Collection<String> apiKeys, int creditsPerMinute) {
+    this(apiKeys, creditsPerMinute, Duration.ofMinutes(1));
+  }
+
+  /**
+   * Creates a pool of keys on plans with the same credits per minute.
+   *
+   * @param apiKeys the API keys; duplicates are ignored
+   * @param creditsPerMinute the credits per minute of each key's plan
+   * @param cooldown how long a key is skipped after a rate limit error
+   * @throws IllegalArgumentException if there are no keys or credits is not positive
+   */
+  public ApiKeyPool(Collection<String> apiKeys, int creditsPerMinute, Duration cooldown) {
+    Set<String> distinct = new LinkedHashSet<>(apiKeys);
+    if (distinct.isEmpty()) {
+      throw new IllegalArgumentException("At least one API key is required");
+    }
+    for (String apiKey : distinct) {
+      keys.add(new KeyState(apiKey, RateLimiter.perMinute(creditsPerMinute)));
+    }
+    this.cooldown = cooldown;
+  }
+
+  public Duration getCooldown() {
+    return cooldown;
+  }
+
+  /**
+   * Gets the keys of the pool.
+   *
+   * @return the keys, in the order they were given
+   */
+  public List<String> getKeys() {
+    List<String> all = new ArrayList<>(keys.size());
+    for (KeyState key : keys) {
+      all.add(key.apiKey);
+    }
+    return all;
+  }
+
+  /**
+   * Gets the quarantined keys.
+   *
+   * @return the keys taken out of rotation by an invalid key error
+   */
+  public Set<String> getQuarantined() {
+    Set<String> quarantined = new LinkedHashSet<>();
+    for (KeyState key : keys) {
+      if (key.quarantined) {
+        quarantined.add(key.apiKey);
+      }
+    }
+    return quarantined;
+  }
+
+  /**
+   * Takes a credit from a key, waiting until one is available.
+   *
+   * @param stickyId identifies requests that should always use the same key, e.g. cacheable
+   *     requests; null to use any key
+   * @return the key to send the request with
+   * @throws TwelveDataException if every key is quarantined
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public String acquire(String stickyId) throws InterruptedException {
+    return tryAcquire(stickyId, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Takes a credit from a key if one becomes available within a timeout.
+   *
+   * <p>No credit is taken when the wait, including the cooldown of rate limited keys, would
+   * exceed the timeout.
+   *
+   * @param stickyId identifies requests that should always use the same key, e.g. cacheable
+   *     requests; null to use any key
+   * @param timeout the longest time to wait
+   * @param unit the unit of the timeout
+   * @return the key to send the request with, or null if none is available in time
+   * @throws TwelveDataException if every key is quarantined
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public String tryAcquire(String stickyId, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long startNanos = System.nanoTime();
+    long timeoutNanos = unit.toNanos(timeout);
+    if (stickyId != null) {
+      KeyState sticky = stickyKey(stickyId);
+      if (sticky != null && !sticky.isCoolingDown(startNanos)) {
+        return sticky.limiter.tryAcquire(1, timeoutNanos, TimeUnit.NANOSECONDS)
+            ? sticky.use()
+            : null;
+      }
+    }
+    while (true) {
+      long now = System.nanoTime();
+      long remaining = timeoutNanos - (now - startNanos);
+      int start = Math.floorMod(next.getAndIncrement(), keys.size());
+      KeyState waitFor = null;
+      long earliestCooldownEnd = Long.MAX_VALUE;
+      for (int i = 0; i < keys.size(); i++) {
+        KeyState key = keys.get((start + i) % keys.size());
+        if (key.quarantined) {
+          continue;
+        }
+        if (key.isCoolingDown(now)) {
+          earliestCooldownEnd = Math.min(earliestCooldownEnd, key.cooldownUntil);
+          continue;
+        }
+        if (key.limiter.tryAcquire(1)) {
+          return key.use();
+        }
+        if (waitFor == null) {
+          waitFor = key;
+        }
+      }
+      if (waitFor != null) {
+        return waitFor.limiter.tryAcquire(1, remaining, TimeUnit.NANOSECONDS)
+            ? waitFor.use()
+            : null;
+      }
+      if (earliestCooldownEnd == Long.MAX_VALUE) {
+        throw new TwelveDataException("All API keys are quarantined");
+      }
+      long sleepNanos = Math.max(1L, earliestCooldownEnd - now);
+      if (sleepNanos > remaining) {
+        return null;
+      }
+      TimeUnit.NANOSECONDS.sleep(sleepNanos);
+    }
+  }
+
+  /**
+   * Records the failure of a request made with a key.
+   *
+   * @param apiKey the key
+   * @param failure the failure
+   * @return true if the failure was caused by the key, so the request may succeed with another one
+   */
+  public boolean onFailure(String apiKey, TwelveDataException failure) {
+    KeyState key = find(apiKey);
+    if (key == null) {
+      return false;
+    }
+    if (failure instanceof InvalidApiKeyException) {
+      if (!key.quarantined) {
+        key.quarantined = true;
+        logger.warn("API key ending {} quarantined: {}", key.tag, failure.getMessage());
+      }
+      return true;
+    }
+    if (failure instanceof RateLimitException) {
+      key.rateLimited.incrementAndGet();
+      key.cooldownUntil = System.nanoTime() + cooldown.toNanos();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Puts a quarantined key back into rotation.
+   *
+   * @param apiKey the key
+   */
+  public void restore(String apiKey) {
+    KeyState key = find(apiKey);
+    if (key != null) {
+      key.quarantined = false;
+      key.cooldownUntil = 0;
+    }
+  }
+
+  /**
+   * Publishes per-key usage as metrics, tagged {@code key} with the last four characters.
+   *
+   * <ul>
+   *   <li>{@code twelvedata.apikey.requests} - requests sent with the key
+   *   <li>{@code twelvedata.apikey.rate_limited} - rate limit errors returned for the key
+   *   <li>{@code twelvedata.apikey.quarantined} - 1 while the key is quarantined
+   * </ul>
+   *
+   * @param registry the registry
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (KeyState key : keys) {
+      FunctionCounter.builder("twelvedata.apikey.requests", key, state -> state.requests.get())
+          .description("Requests sent with the API key")
+          .tag("key", key.tag)
+          .register(registry);
+      FunctionCounter.builder(
+              "twelvedata.apikey.rate_limited", key, state -> state.rateLimited.get())
+          .description("Rate limit errors returned for the API key")
+          .tag("key", key.tag)
+          .register(registry);
+      Gauge.builder("twelvedata.apikey.quarantined", key, state -> state.quarantined ? 1 : 0)
+          .description("Whether the API key is quarantined")
+          .tag("key", key.tag)
+          .register(registry);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ApiKeyPool{keys=" + keys.size() + ", quarantined=" + getQuarantined().size() + '}';
+  }
+
+  private KeyState stickyKey(String stickyId) {
+    KeyState best = null;
+    long bestScore = Long.MIN_VALUE;
+    for (KeyState key : keys) {
+      if (key.quarantined) {
+        continue;
+      }
+      long score = mix(stickyId.hashCode() * 0x9E3779B97F4A7C15L + key.apiKey.hashCode());
+      if (best == null || score > bestScore) {
+        best = key;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  private KeyState find(String apiKey) {
+    for (KeyState key : keys) {
+      if (key.apiKey.equals(apiKey)) {
+        return key;
+      }
+    }
+    return null;
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+    value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return value ^ (value >>> 33);
+  }
+
+  /** The rotation state and usage of one key. */
+  private static final class KeyState {
+    private final String apiKey;
+    private final String tag;
+    private final RateLimiter limiter;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private volatile boolean quarantined;
+    private volatile long cooldownUntil;
+
+    private KeyState(String apiKey, RateLimiter limiter) {
+      this.apiKey = apiKey;
+      this.tag = apiKey.length() > 4 ? apiKey.substring(apiKey.length() - 4) : apiKey;
+      this.limiter = limiter;
+    }
+
+    private boolean isCoolingDown(long now) {
+      return cooldownUntil != 0 && now - cooldownUntil < 0;
+    }
+
+    private String use() {
+      requests.incrementAndGet();
+      return apiKey;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.CircuitBreaker;
+import com.github.nicholascowan.twelvedata.concurrent.CircuitBreakerOptions;
+import com.github.nicholascowan.twelvedata.exceptions.BulkheadFullException;
+import com.github.nicholascowan.twelvedata.exceptions.CircuitOpenException;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.InternalServerException;
+import com.github.nicholascowan.twelvedata.exceptions.ServerErrorException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client decorator with a circuit breaker and a bulkhead per endpoint.
+ *
+ * <p>Every endpoint path gets its own {@link CircuitBreaker} and its own cap on concurrent calls,
+ * so trouble with {@code /time_series} neither opens the breaker of {@code /quote} nor takes all
+ * the threads. Calls are rejected without being sent:
+ *
+ * <ul>
+ *   <li>with a {@link CircuitOpenException} while the breaker of the endpoint is open
+ *   <li>with a {@link BulkheadFullException} while the endpoint has the maximum number of calls in
+ *       flight
+ * </ul>
+ *
+ * <p>Server errors, deadline and transport failures count against the breaker (see {@link
+ * #isFailure(Throwable)}); client errors such as a bad symbol do not. Streamed requests hold their
+ * bulkhead slot until the response headers arrive.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * CircuitBreakerHttpClient httpClient = new CircuitBreakerHttpClient(
+ *     new DefaultHttpClient("https://api.twelvedata.com"), new CircuitBreakerOptions(), 16)
+ *     .bulkhead("/time_series", 4);
+ * }</pre>
+ */
+public class CircuitBreakerHttpClient implements HttpClient, MeterBinder {
+
+  private final HttpClient delegate;
+  private final CircuitBreakerOptions options;
+  private final int maxConcurrentCalls;
+  private final ConcurrentMap<String, Integer> bulkheadSizes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Guard> guards = new ConcurrentHashMap<>();
+  private volatile MeterRegistry registry;
+
+  /**
+   * Creates a client with a breaker and a bulkhead for every endpoint.
+   *
+   * @param delegate the client that sends the requests
+   * @param options the thresholds of the breakers
+   * @param maxConcurrentCalls the maximum number of calls in flight per endpoint
+   * @throws IllegalArgumentException if maxConcurrentCalls is not positive
+   */
+  public CircuitBreakerHttpClient(
+      HttpClient delegate, CircuitBreakerOptions options, int maxConcurrentCalls) {
+    if (maxConcurrentCalls < 1) {
+      throw new IllegalArgumentException(
+          "maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+    }
+    this.delegate = delegate;
+    this.options = options;
+    this.maxConcurrentCalls = maxConcurrentCalls;
+  }
+
+  /**
+   * Sets the bulkhead size of one endpoint. Must be called before the endpoint is first used.
+   *
+   * @param relativeUrl the endpoint path, e.g. {@code /time_series}
+   * @param maxConcurrentCalls the maximum number of calls in flight
+   * @return this client for method chaining
+   * @throws IllegalArgumentException if maxConcurrentCalls is not positive
+   */
+  public CircuitBreakerHttpClient bulkhead(String relativeUrl, int maxConcurrentCalls) {
+    if (maxConcurrentCalls < 1) {
+      throw new IllegalArgumentException(
+          "maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+    }
+    bulkheadSizes.put(relativeUrl, maxConcurrentCalls);
+    return this;
+  }
+
+  /**
+   * Gets the breaker of an endpoint.
+   *
+   * @param relativeUrl the endpoint path
+   * @return the breaker, created on first use
+   */
+  public CircuitBreaker getCircuitBreaker(String relativeUrl) {
+    return guard(relativeUrl).breaker;
+  }
+
+  /**
+   * Gets the number of calls an endpoint has in flight.
+   *
+   * @param relativeUrl the endpoint path
+   * @return the calls in flight
+   */
+  public int getInFlight(String relativeUrl) {
+    Guard guard = guard(relativeUrl);
+    return guard.size - guard.bulkhead.availablePermits();
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(relativeUrl, () -> delegate.get(relativeUrl, params));
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(relativeUrl, () -> delegate.getCsv(relativeUrl, params));
+  }
+
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(relativeUrl, () -> delegate.getStream(relativeUrl, params));
+  }
+
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(relativeUrl, () -> delegate.getCsvStream(relativeUrl, params));
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    return delegate.warmUp(connections);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Rejected calls return a failed future. Cancelling the future cancels the delegate's request
+   * and frees the bulkhead slot.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    Guard guard = guard(relativeUrl);
+    try {
+      guard.enter(relativeUrl);
+    } catch (TwelveDataException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    long start = System.nanoTime();
+    CompletableFuture<String> response;
+    try {
+      response = delegate.getAsync(relativeUrl, params);
+    } catch (RuntimeException | Error e) {
+      guard.exit(start, e);
+      throw e;
+    }
+    CompletableFuture<String> recorded =
+        response.whenComplete((body, failure) -> guard.exit(start, failure));
+    CompletableFuture<String> result = recorded.thenApply(body -> body);
+    result.whenComplete((body, failure) -> {
+      if (result.isCancelled()) {
+        response.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Checks whether an error counts against the breaker of its endpoint. The default counts server
+   * errors, deadlines and transport failures such as timeouts and refused connections.
+   *
+   * @param failure the error
+   * @return true if the error is a failure of the endpoint
+   */
+  protected boolean isFailure(Throwable failure) {
+    return failure instanceof ServerErrorException
+        || failure instanceof InternalServerException
+        || failure instanceof DeadlineExceededException
+        || failure instanceof TwelveDataException && failure.getCause() instanceof IOException;
+  }
+
+  /**
+   * Publishes the state of every endpoint, tagged {@code endpoint}, including endpoints first used
+   * after binding.
+   *
+   * <ul>
+   *   <li>{@code twelvedata.circuit.state} - 0 closed, 1 open, 2 half-open
+   *   <li>{@code twelvedata.circuit.rejected} - calls rejected, tagged {@code reason} {@code
+   *       circuit_open} or {@code bulkhead_full}
+   * </ul>
+   *
+   * @param registry the registry
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+    guards.forEach((relativeUrl, guard) -> guard.bindTo(registry, relativeUrl));
+  }
+
+  private <T> T call(String relativeUrl, Request<T> request) throws TwelveDataException {
+    Guard guard = guard(relativeUrl);
+    guard.enter(relativeUrl);
+    long start = System.nanoTime();
+    Throwable failure = null;
+    try {
+      return request.send();
+    } catch (RuntimeException | Error e) {
+      failure = e;
+      throw e;
+    } finally {
+      guard.exit(start, failure);
+    }
+  }
+
+  private Guard guard(String relativeUrl) {
+    Guard guard = guards.get(relativeUrl);
+    if (guard != null) {
+      return guard;
+    }
+    Guard created = guards.computeIfAbsent(relativeUrl, path -> new Guard(
+        new CircuitBreaker(options), bulkheadSizes.getOrDefault(path, maxConcurrentCalls)));
+    MeterRegistry current = registry;
+    if (current != null) {
+      created.bindTo(current, relativeUrl);
+    }
+    return created;
+  }
+
+  /** The breaker and bulkhead of one endpoint. */
+  private final class Guard {
+    private final CircuitBreaker breaker;
+    private final int size;
+    private final Semaphore bulkhead;
+    private final AtomicLong bulkheadRejected = new AtomicLong();
+    private volatile boolean bound;
+
+    private Guard(CircuitBreaker breaker, int size) {
+      this.breaker = breaker;
+      this.size = size;
+      this.bulkhead = new Semaphore(size);
+    }
+
+    private void enter(String relativeUrl) throws TwelveDataException {
+      if (!breaker.tryAcquirePermission()) {
+        throw new CircuitOpenException("Circuit breaker of " + relativeUrl + " is open");
+      }
+      if (!bulkhead.tryAcquire()) {
+        breaker.releasePermission();
+        bulkheadRejected.incrementAndGet();
+        throw new BulkheadFullException(
+            relativeUrl + " already has " + size + " calls in flight");
+      }
+    }
+
+    // Frees the bulkhead slot first, so that the slot is never lost to a failing outcome
+    private void exit(long startNanos, Throwable failure) {
+      bulkhead.release();
+      Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+          ? failure.getCause()
+          : failure;
+      if (cause instanceof CancellationException || cause instanceof Error) {
+        // No answer from the endpoint, so nothing to record
+        breaker.releasePermission();
+      } else {
+        breaker.onResult(System.nanoTime() - startNanos, cause != null && isFailure(cause));
+      }
+    }
+
+    private synchronized void bindTo(MeterRegistry registry, String relativeUrl) {
+      if (bound) {
+        return;
+      }
+      bound = true;
+      Gauge.builder("twelvedata.circuit.state", breaker, b -> b.getState().ordinal())
+          .description("State of the circuit breaker: 0 closed, 1 open, 2 half-open")
+          .tag("endpoint", relativeUrl)
+          .register(registry);
+      FunctionCounter.builder("twelvedata.circuit.rejected", breaker, CircuitBreaker::getRejected)
+          .description("Calls rejected without being sent")
+          .tag("endpoint", relativeUrl)
+          .tag("reason", "circuit_open")
+          .register(registry);
+      FunctionCounter.builder("twelvedata.circuit.rejected", bulkheadRejected, AtomicLong::get)
+          .description("Calls rejected without being sent")
+          .tag("endpoint", relativeUrl)
+          .tag("reason", "bulkhead_full")
+          .register(registry);
+    }
+  }
+
+  /** A request sent by the delegate. */
+  @FunctionalInterface
+  private interface Request<T> {
+    T send() throws TwelveDataException;
+  }
+}
@@ -1,23 +1,41 @@
 package com.github.nicholascowan.twelvedata.http;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
-import com.github.nicholascowan.twelvedata.exceptions.ForbiddenException;
-import com.github.nicholascowan.twelvedata.exceptions.InternalServerException;
-import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
-import com.github.nicholascowan.twelvedata.exceptions.NotFoundException;
-import com.github.nicholascowan.twelvedata.exceptions.ParameterTooLongException;
-import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
-import com.github.nicholascowan.twelvedata.exceptions.ServerErrorException;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.GzipSource;
+import okio.Okio;
+import okio.Source;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,17 +53,39 @@ import org.slf4j.LoggerFactory;
  *   <li>JSON response parsing and error handling
  *   <li>CSV response support
  *   <li>HTTP status code to exception mapping
+ *   <li>Non-blocking requests with {@link #getAsync(String, Map)}
+ *   <li>Per-request deadlines: the {@link Deadline#current() current deadline} becomes the call
+ *       timeout, so the call is aborted and its connection freed when the deadline passes
+ *   <li>Pre-encoded {@link #prepare(String, Map) request templates}: the URL up to the varying
+ *       parameters is encoded once, and the parsed URL of every path is kept
+ *   <li>Explicit {@link #compression(boolean) compression}: responses are requested with gzip, or
+ *       brotli when {@code org.brotli:dec} is on the classpath, and decompressed while they are
+ *       read, so streamed responses go straight from the wire into the decoders
+ *   <li>Traffic accounting: the bytes received and the bytes decoded from them are counted per
+ *       path and published by {@link #bindTo(MeterRegistry)}
  * </ul>
  *
- * <p>Default timeout is 30 seconds for all operations.
+ * <p>Default timeout is 30 seconds for all operations. Blocking calls hold no monitors while
+ * waiting for the network (OkHttp 5 guards its state with {@code ReentrantLock}), so they do not
+ * pin the carrier thread when they run on virtual threads.
  */
-public class DefaultHttpClient implements HttpClient {
+public class DefaultHttpClient implements HttpClient, MeterBinder {
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultHttpClient.class);
-  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  /** The brotli decoder of {@code org.brotli:dec}, or null if it is not on the classpath. */
+  private static final Constructor<? extends InputStream> BROTLI = brotliDecoder();
+  private static final String ACCEPT_ENCODING = BROTLI != null ? "br, gzip" : "gzip";
+
+  /** Maximum number of async requests in flight; every request goes to the same host. */
+  static final int MAX_ASYNC_REQUESTS = 64;
 
   private final String baseUrl;
   private final OkHttpClient client;
+  private final int timeoutMs;
+  private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+  private volatile boolean compression = true;
+  private volatile MeterRegistry registry;
 
   /**
    * Creates a new HTTP client with the specified base URL and default timeout (30 seconds).
@@ -66,134 +106,514 @@ public class DefaultHttpClient implements HttpClient {
    */
   public DefaultHttpClient(String baseUrl, int timeoutMs) {
     this.baseUrl = baseUrl;
+    this.timeoutMs = timeoutMs;
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(MAX_ASYNC_REQUESTS);
+    dispatcher.setMaxRequestsPerHost(MAX_ASYNC_REQUESTS);
     this.client =
         new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
             .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
             .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
             .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
             .build();
   }
 
+  /**
+   * Sets whether responses are requested compressed.
+   *
+   * <p>Enabled by default. When disabled, requests ask for {@code identity} encoding, e.g. to
+   * compare the traffic with and without compression.
+   *
+   * @param enabled true to accept gzip and, if available, brotli responses
+   * @return this client for method chaining
+   */
+  public DefaultHttpClient compression(boolean enabled) {
+    this.compression = enabled;
+    return this;
+  }
+
+  public boolean isCompression() {
+    return compression;
+  }
+
+  /**
+   * Checks whether brotli responses can be decoded, which needs {@code org.brotli:dec} on the
+   * classpath.
+   *
+   * @return true if brotli is accepted when compression is enabled
+   */
+  public static boolean isBrotliAvailable() {
+    return BROTLI != null;
+  }
+
+  /**
+   * Gets the number of response body bytes received for a path, before decompression.
+   *
+   * @param relativeUrl the relative URL path
+   * @return the bytes read from the connection
+   */
+  public long getWireBytes(String relativeUrl) {
+    Route route = routes.get(relativeUrl);
+    return route == null ? 0L : route.wireBytes.sum();
+  }
+
+  /**
+   * Gets the number of response body bytes decoded for a path, after decompression.
+   *
+   * @param relativeUrl the relative URL path
+   * @return the bytes handed to the decoders
+   */
+  public long getDecodedBytes(String relativeUrl) {
+    Route route = routes.get(relativeUrl);
+    return route == null ? 0L : route.decodedBytes.sum();
+  }
+
+  /**
+   * Publishes the response traffic of every path, including paths first used after binding.
+   *
+   * <ul>
+   *   <li>{@code twelvedata.http.response.bytes} - response body bytes, tagged {@code endpoint}
+   *       and {@code type} {@code wire} (as received) or {@code decoded} (after decompression)
+   * </ul>
+   *
+   * <p>Bytes are counted as they are read, so a streamed response counts as far as the caller
+   * read it.
+   *
+   * @param registry the registry
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+    routes.values().forEach(route -> route.bindTo(registry));
+  }
+
   @Override
   public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
-    try {
-      HttpUrl.Builder urlBuilder = HttpUrl.get(baseUrl + relativeUrl).newBuilder();
+    Route route = route(relativeUrl);
+    return execute(request(route, route.jsonUrl, params));
+  }
 
-      // Add source parameter for monitoring
-      urlBuilder.addQueryParameter("source", "java");
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The request is queued on OkHttp's dispatcher, which runs up to {@value #MAX_ASYNC_REQUESTS}
+   * requests at once; the future is completed on a dispatcher thread. Cancelling the future
+   * cancels the call.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    Route route = route(relativeUrl);
+    return executeAsync(request(route, route.jsonUrl, params));
+  }
 
-      // Add all parameters
-      for (Map.Entry<String, String> entry : params.entrySet()) {
-        if (entry.getValue() != null) {
-          urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The URL with the static parameters is encoded once, here; an execution only encodes its
+   * varying parameters. Executions with a varying parameter that repeats a static one fall back to
+   * merging the parameters.
+   */
+  @Override
+  public PreparedRequest prepare(String relativeUrl, Map<String, String> params) {
+    return new EncodedRequest(relativeUrl, params);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Idle connections stay in OkHttp's pool for five minutes; the pool keeps at most five of
+   * them. Over HTTP/2 the requests share one connection. Waits at most the client's timeout;
+   * requests still running then are cancelled and not counted.
+   */
+  @Override
+  public int warmUp(int connections) {
+    Request request = new Request.Builder().url(HttpUrl.get(baseUrl)).head().build();
+    CountDownLatch done = new CountDownLatch(connections);
+    AtomicInteger opened = new AtomicInteger();
+    List<Call> calls = new ArrayList<>(connections);
+    for (int i = 0; i < connections; i++) {
+      Call call = client.newCall(request);
+      call.timeout().timeout(timeoutMs, TimeUnit.MILLISECONDS);
+      calls.add(call);
+      call.enqueue(new Callback() {
+        @Override
+        public void onFailure(Call failed, IOException e) {
+          logger.debug("Warm-up request to {} failed", request.url(), e);
+          done.countDown();
+        }
+
+        @Override
+        public void onResponse(Call completed, Response response) {
+          response.close();
+          opened.incrementAndGet();
+          done.countDown();
         }
+      });
+    }
+    try {
+      if (timeoutMs == 0) {
+        done.await();
+      } else if (!done.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+        logger.debug("Warm-up requests to {} timed out", request.url());
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (Call call : calls) {
+      call.cancel();
+    }
+    return opened.get();
+  }
 
-      Request request = new Request.Builder().url(urlBuilder.build()).get().build();
+  private String execute(Request request) throws TwelveDataException {
+    logger.debug("Making GET request to: {}", request.url());
+    try (Response response = newCall(request).execute()) {
+      return handleResponse(response);
+    } catch (IOException e) {
+      throw requestFailed(e);
+    }
+  }
 
-      logger.debug("Making GET request to: {}", request.url());
+  private CompletableFuture<String> executeAsync(Request request) {
+    CompletableFuture<String> future = new CompletableFuture<>();
 
-      try (Response response = client.newCall(request).execute()) {
-        return handleResponse(response);
-      }
+    logger.debug("Making async GET request to: {}", request.url());
 
-    } catch (IOException e) {
-      throw new TwelveDataException("HTTP request failed", e);
+    Call call;
+    try {
+      call = newCall(request);
+    } catch (DeadlineExceededException e) {
+      return CompletableFuture.failedFuture(e);
     }
+    Deadline deadline = Deadline.current();
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call failed, IOException e) {
+        future.completeExceptionally(requestFailed(e, deadline));
+      }
+
+      @Override
+      public void onResponse(Call completed, Response response) {
+        try (response) {
+          future.complete(handleResponse(response));
+        } catch (IOException e) {
+          future.completeExceptionally(requestFailed(e, deadline));
+        } catch (RuntimeException e) {
+          future.completeExceptionally(e);
+        }
+      }
+    });
+    future.whenComplete((body, failure) -> {
+      if (future.isCancelled()) {
+        call.cancel();
+      }
+    });
+    return future;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The stream reads from the connection, so closing it releases the connection. Closing it
+   * before the end of the body discards the rest of the response.
+   */
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    Route route = route(relativeUrl);
+    return openStream(request(route, route.jsonUrl, params));
   }
 
   @Override
   public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    Route route = route(relativeUrl);
+    return executeCsv(request(route, route.csvUrl, params));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The stream reads from the connection, so closing it releases the connection. Closing it
+   * before the end of the body discards the rest of the response.
+   */
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    Route route = route(relativeUrl);
+    return openStream(request(route, route.csvUrl, params));
+  }
+
+  private String executeCsv(Request request) throws TwelveDataException {
+    logger.debug("Making CSV GET request to: {}", request.url());
+    try (Response response = newCall(request).execute()) {
+      if (!response.isSuccessful()) {
+        throw HttpErrors.createException(response.code(), bodyString(response));
+      }
+      return bodyString(response);
+    } catch (IOException e) {
+      throw requestFailed(e);
+    }
+  }
+
+  private InputStream openStream(Request request) throws TwelveDataException {
+    logger.debug("Making streaming GET request to: {}", request.url());
+    Response response = null;
     try {
-      HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + relativeUrl).newBuilder();
+      response = newCall(request).execute();
+      if (!response.isSuccessful()) {
+        try (Response failed = response) {
+          throw HttpErrors.createException(failed.code(), bodyString(failed));
+        }
+      }
+      return body(response).inputStream();
 
-      // Add source parameter for monitoring
-      urlBuilder.addQueryParameter("source", "java");
-      urlBuilder.addQueryParameter("format", "CSV");
+    } catch (IOException e) {
+      if (response != null) {
+        response.close();
+      }
+      throw requestFailed(e);
+    }
+  }
 
-      // Add all parameters
+  /**
+   * Creates a call that is aborted at the current deadline, if any.
+   *
+   * @throws DeadlineExceededException if the deadline has already passed
+   */
+  private Call newCall(Request request) throws DeadlineExceededException {
+    Call call = client.newCall(request);
+    Deadline deadline = Deadline.current();
+    if (deadline != null) {
+      deadline.check();
+      call.timeout().timeout(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+    }
+    return call;
+  }
+
+  private static TwelveDataException requestFailed(IOException e) {
+    return requestFailed(e, Deadline.current());
+  }
+
+  private static TwelveDataException requestFailed(IOException e, Deadline deadline) {
+    if (deadline != null && deadline.isExpired()) {
+      return new DeadlineExceededException("Deadline exceeded", e);
+    }
+    return new TwelveDataException("HTTP request failed", e);
+  }
+
+  /** Gets the parsed URLs and the traffic counters of a path. */
+  private Route route(String relativeUrl) {
+    Route route = routes.get(relativeUrl);
+    if (route != null) {
+      return route;
+    }
+    route = routes.computeIfAbsent(relativeUrl, Route::new);
+    MeterRegistry current = registry;
+    if (current != null) {
+      route.bindTo(current);
+    }
+    return route;
+  }
+
+  private Request request(Route route, HttpUrl base, Map<String, String> params) {
+    HttpUrl url = base;
+    if (!params.isEmpty()) {
+      HttpUrl.Builder urlBuilder = base.newBuilder();
       for (Map.Entry<String, String> entry : params.entrySet()) {
         if (entry.getValue() != null) {
           urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
         }
       }
+      url = urlBuilder.build();
+    }
+    // An explicit Accept-Encoding turns off OkHttp's transparent gzip, so the body is decoded
+    // and counted here
+    return new Request.Builder()
+        .url(url)
+        .header("Accept-Encoding", compression ? ACCEPT_ENCODING : "identity")
+        .tag(Route.class, route)
+        .get()
+        .build();
+  }
 
-      Request request = new Request.Builder().url(urlBuilder.build()).get().build();
+  /** A template whose URL is encoded up to the varying parameters. */
+  private final class EncodedRequest extends PreparedRequest {
+    private final Route route;
+    private final HttpUrl jsonUrl;
+    private final HttpUrl csvUrl;
 
-      logger.debug("Making CSV GET request to: {}", request.url());
+    private EncodedRequest(String relativeUrl, Map<String, String> params) {
+      super(DefaultHttpClient.this, relativeUrl, params);
+      this.route = route(relativeUrl);
+      this.jsonUrl = request(route, route.jsonUrl, getParams()).url();
+      this.csvUrl = request(route, route.csvUrl, getParams()).url();
+    }
+
+    @Override
+    public String get(Map<String, String> params) throws TwelveDataException {
+      return repeatsStatic(params) ? super.get(params) : execute(request(route, jsonUrl, params));
+    }
 
-      try (Response response = client.newCall(request).execute()) {
-        if (!response.isSuccessful()) {
-          throw createException(response.code(), response.body().string());
+    @Override
+    public CompletableFuture<String> getAsync(Map<String, String> params) {
+      return repeatsStatic(params)
+          ? super.getAsync(params)
+          : executeAsync(request(route, jsonUrl, params));
+    }
+
+    @Override
+    public String getCsv(Map<String, String> params) throws TwelveDataException {
+      return repeatsStatic(params)
+          ? super.getCsv(params)
+          : executeCsv(request(route, csvUrl, params));
+    }
+
+    @Override
+    public InputStream getStream(Map<String, String> params) throws TwelveDataException {
+      return repeatsStatic(params)
+          ? super.getStream(params)
+          : openStream(request(route, jsonUrl, params));
+    }
+
+    @Override
+    public InputStream getCsvStream(Map<String, String> params) throws TwelveDataException {
+      return repeatsStatic(params)
+          ? super.getCsvStream(params)
+          : openStream(request(route, csvUrl, params));
+    }
+
+    private boolean repeatsStatic(Map<String, String> params) {
+      Map<String, String> fixed = getParams();
+      for (String name : params.keySet()) {
+        if (fixed.containsKey(name)) {
+          return true;
         }
-        return response.body().string();
       }
-
-    } catch (IOException e) {
-      throw new TwelveDataException("HTTP request failed", e);
+      return false;
     }
   }
 
   private String handleResponse(Response response) throws IOException, TwelveDataException {
-    String responseBody = response.body().string();
+    return HttpErrors.checkResponse(response.code(), response.header("Content-Type"),
+        response.header("Is_batch"), bodyString(response));
+  }
 
-    // Check if it's a batch response or CSV
-    String contentType = response.header("Content-Type");
-    String isBatch = response.header("Is_batch");
+  private static String bodyString(Response response) throws IOException {
+    MediaType contentType = response.body().contentType();
+    Charset charset = contentType == null
+        ? StandardCharsets.UTF_8
+        : contentType.charset(StandardCharsets.UTF_8);
+    try (BufferedSource source = body(response)) {
+      return source.readString(charset);
+    }
+  }
 
-    if ("true".equals(isBatch) || contentType != null && contentType.contains("text/csv")) {
-      if (!response.isSuccessful()) {
-        throw createException(response.code(), responseBody);
-      }
-      return responseBody;
+  /**
+   * Gets the decompressed body of a response, counting the bytes of the route it was sent on.
+   * Closing the source closes the response.
+   */
+  private static BufferedSource body(Response response) throws IOException {
+    Route route = response.request().tag(Route.class);
+    Source wire = response.body().source();
+    if (route == null) {
+      return Okio.buffer(wire);
     }
+    wire = new CountingSource(wire, route.wireBytes);
+    String encoding = response.header("Content-Encoding");
+    Source decoded;
+    if (encoding == null || "identity".equalsIgnoreCase(encoding)) {
+      decoded = wire;
+    } else if ("gzip".equalsIgnoreCase(encoding)) {
+      decoded = new GzipSource(wire);
+    } else if ("br".equalsIgnoreCase(encoding) && BROTLI != null) {
+      decoded = Okio.source(brotli(Okio.buffer(wire).inputStream()));
+    } else {
+      wire.close();
+      throw new IOException("Unsupported Content-Encoding: " + encoding);
+    }
+    return Okio.buffer(new CountingSource(decoded, route.decodedBytes));
+  }
 
-    if (!response.isSuccessful()) {
-      throw createException(response.code(), responseBody);
+  private static InputStream brotli(InputStream in) throws IOException {
+    try {
+      return BROTLI.newInstance(in);
+    } catch (InvocationTargetException e) {
+      in.close();
+      throw e.getCause() instanceof IOException
+          ? (IOException) e.getCause()
+          : new IOException("Failed to decode brotli response", e.getCause());
+    } catch (ReflectiveOperationException e) {
+      in.close();
+      throw new IOException("Failed to decode brotli response", e);
     }
+  }
 
-    // Parse JSON response
+  @SuppressWarnings("unchecked")
+  private static Constructor<? extends InputStream> brotliDecoder() {
     try {
-      JsonNode jsonNode = objectMapper.readTree(responseBody);
-
-      // Check if response has status field
-      if (jsonNode.has("status")) {
-        String status = jsonNode.get("status").asText();
-        if ("error".equals(status)) {
-          int errorCode = jsonNode.has("code") ? jsonNode.get("code").asInt() : 0;
-          String message =
-              jsonNode.has("message") ? jsonNode.get("message").asText() : responseBody;
-          throw createException(errorCode, message);
-        }
+      return (Constructor<? extends InputStream>)
+          Class.forName("org.brotli.dec.BrotliInputStream").getConstructor(InputStream.class);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+
+  /** The parsed URLs and the response traffic of one path. */
+  private final class Route {
+    private final String relativeUrl;
+    private final HttpUrl jsonUrl;
+    private final HttpUrl csvUrl;
+    private final LongAdder wireBytes = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+    private boolean bound;
+
+    private Route(String relativeUrl) {
+      this.relativeUrl = relativeUrl;
+      HttpUrl.Builder urlBuilder = HttpUrl.get(baseUrl + relativeUrl).newBuilder();
+
+      // Add source parameter for monitoring
+      urlBuilder.addQueryParameter("source", "java");
+      this.jsonUrl = urlBuilder.build();
+      this.csvUrl = urlBuilder.addQueryParameter("format", "CSV").build();
+    }
+
+    private synchronized void bindTo(MeterRegistry registry) {
+      if (bound) {
+        return;
       }
+      bound = true;
+      FunctionCounter.builder("twelvedata.http.response.bytes", wireBytes, LongAdder::sum)
+          .description("Response body bytes")
+          .baseUnit("bytes")
+          .tag("endpoint", relativeUrl)
+          .tag("type", "wire")
+          .register(registry);
+      FunctionCounter.builder("twelvedata.http.response.bytes", decodedBytes, LongAdder::sum)
+          .description("Response body bytes")
+          .baseUnit("bytes")
+          .tag("endpoint", relativeUrl)
+          .tag("type", "decoded")
+          .register(registry);
+    }
+  }
 
-      return responseBody;
+  /** Counts the bytes read through a source. */
+  private static final class CountingSource extends ForwardingSource {
+    private final LongAdder count;
 
-    } catch (IOException e) {
-      // If JSON parsing fails, return the raw response
-      return responseBody;
-    }
-  }
-
-  private TwelveDataException createException(int errorCode, String message) {
-    if (errorCode == 400) {
-      return new BadRequestException(message);
-    } else if (errorCode == 401) {
-      return new InvalidApiKeyException(message);
-    } else if (errorCode == 403) {
-      return new ForbiddenException(message);
-    } else if (errorCode == 404) {
-      return new NotFoundException(message);
-    } else if (errorCode == 414) {
-      return new ParameterTooLongException(message);
-    } else if (errorCode == 429) {
-      return new RateLimitException(message);
-    } else if (errorCode == 502) {
-      return new ServerErrorException(message, errorCode);
-    } else if (errorCode >= 500) {
-      return new InternalServerException(message, errorCode);
-    } else {
-      return new TwelveDataException(message, errorCode);
+    private CountingSource(Source delegate, LongAdder count) {
+      super(delegate);
+      this.count = count;
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+      long read = super.read(sink, byteCount);
+      if (read > 0) {
+        count.add(read);
+      }
+      return read;
     }
   }
 }
@@ -0,0 +1,394 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.concurrent.RateLimiter;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HTTP client decorator that hedges slow idempotent requests.
+ *
+ * <p>A hedgeable request (see {@link #isHedgeable(String, Map)}) that has no response after the
+ * {@link #percentile(double) percentile} of recent latencies is sent a second time, and whichever
+ * copy succeeds first is used; the other is cancelled. Hedges are paid from a budget that grows by
+ * {@link #budget(double) a fraction} of a request with every hedgeable request, so they never use
+ * more than that fraction of the credits. No hedges are sent until {@value #MIN_SAMPLES} latencies
+ * have been recorded. The latencies are those the callers saw, from the original request to the
+ * first success, so slow requests that lost to their hedge still count.
+ *
+ * <p>Every hedge is an extra request, so it also takes a permit from the {@link
+ * #rateLimiter(RateLimiter) rate limiter}, which should be the one of the client's context. A hedge
+ * is skipped when the limiter has no permit free; it never waits for one.
+ *
+ * <p>Error responses are not hedged: a request that fails before its hedge was sent fails at once.
+ * CSV and streamed requests are passed to the delegate as they are.
+ *
+ * <p>The hedges sent and won and the current hedge delay are published as metrics by {@link
+ * #bindTo(MeterRegistry)}.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * RateLimiter limiter = RateLimiter.perMinute(55);
+ * HttpClient httpClient =
+ *     new HedgingHttpClient(new DefaultHttpClient("https://api.twelvedata.com"))
+ *         .percentile(0.95).budget(0.05).rateLimiter(limiter);
+ * TwelveDataClient client =
+ *     new TwelveDataClient("your-api-key", "https://api.twelvedata.com", httpClient);
+ * client.setRateLimiter(limiter);
+ * }</pre>
+ */
+public class HedgingHttpClient implements HttpClient, MeterBinder {
+
+  /** The number of latencies recorded before hedging starts. */
+  public static final int MIN_SAMPLES = 20;
+
+  // Latencies the percentile is computed over
+  private static final int SAMPLE_WINDOW = 256;
+
+  // Samples between two computations of the hedge delay
+  private static final int RECOMPUTE_INTERVAL = 16;
+
+  // Budget units per hedge, so that fractions of a hedge add up exactly
+  private static final long HEDGE_COST = 1000;
+
+  // At most this many hedges are saved up while latency is good
+  private static final long MAX_SAVED_HEDGES = 10;
+
+  private final HttpClient delegate;
+  private final long[] samples = new long[SAMPLE_WINDOW];
+  private double percentile = 0.95;
+  private long budgetPerRequest = 50;
+  private RateLimiter rateLimiter = RateLimiter.unlimited();
+  private int sampleCount;
+  private int nextSample;
+  private long hedgeDelayNanos = -1;
+  private long budget;
+  private long hedgesSent;
+  private long hedgesWon;
+
+  /**
+   * Creates a hedging client that hedges at the 95th percentile with a budget of 5%.
+   *
+   * @param delegate the client that sends the requests
+   */
+  public HedgingHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Sets the percentile of recent latencies after which a hedge is sent.
+   *
+   * @param percentile the percentile, e.g. 0.95
+   * @return this client for method chaining
+   * @throws IllegalArgumentException if percentile is not between 0 and 1
+   */
+  public synchronized HedgingHttpClient percentile(double percentile) {
+    if (!(percentile > 0 && percentile < 1)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+    }
+    this.percentile = percentile;
+    this.hedgeDelayNanos = sampleCount >= MIN_SAMPLES ? computeDelay() : -1;
+    return this;
+  }
+
+  /**
+   * Sets the largest fraction of requests that may be hedged.
+   *
+   * @param budget the fraction, e.g. 0.05 for at most one hedge per 20 requests; 0 disables
+   *     hedging
+   * @return this client for method chaining
+   * @throws IllegalArgumentException if budget is not between 0 and 1
+   */
+  public synchronized HedgingHttpClient budget(double budget) {
+    if (!(budget >= 0 && budget <= 1)) {
+      throw new IllegalArgumentException("Budget must be between 0 and 1: " + budget);
+    }
+    this.budgetPerRequest = Math.round(budget * HEDGE_COST);
+    return this;
+  }
+
+  /**
+   * Sets the rate limiter hedges take a permit from.
+   *
+   * @param rateLimiter the limiter of the client's context, or null for none
+   * @return this client for method chaining
+   */
+  public synchronized HedgingHttpClient rateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter != null ? rateLimiter : RateLimiter.unlimited();
+    return this;
+  }
+
+  public synchronized RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * Gets the delay after which a hedge is sent.
+   *
+   * @return the delay in nanoseconds, or -1 while too few latencies have been recorded
+   */
+  public synchronized long getHedgeDelayNanos() {
+    return hedgeDelayNanos;
+  }
+
+  /**
+   * Gets the number of hedges sent, each of which was paid from the budget and the rate limiter.
+   *
+   * @return the hedges sent
+   */
+  public synchronized long getHedgesSent() {
+    return hedgesSent;
+  }
+
+  /**
+   * Gets the number of hedges that returned before the original request.
+   *
+   * @return the hedges won
+   */
+  public synchronized long getHedgesWon() {
+    return hedgesWon;
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    if (!isHedgeable(relativeUrl, params)) {
+      return delegate.get(relativeUrl, params);
+    }
+    CompletableFuture<String> response = getAsync(relativeUrl, params);
+    try {
+      return response.get();
+    } catch (InterruptedException e) {
+      response.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("Interrupted while waiting for a hedged request", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Hedges are sent from a timer thread with the {@link Deadline#current() current deadline}
+   * of the caller; no hedge is sent, or paid for, once that deadline has passed. Cancelling the
+   * future cancels both copies.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    if (!isHedgeable(relativeUrl, params)) {
+      return delegate.getAsync(relativeUrl, params);
+    }
+    long delayNanos = earnBudget();
+    HedgedRequest request = new HedgedRequest();
+    request.send(relativeUrl, params, false);
+    if (delayNanos >= 0) {
+      Deadline deadline = Deadline.current();
+      CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+        if (request.result.isDone() || (deadline != null && deadline.isExpired())
+            || !spendBudget()) {
+          return;
+        }
+        if (deadline == null) {
+          request.send(relativeUrl, params, true);
+          return;
+        }
+        try {
+          deadline.call(() -> request.send(relativeUrl, params, true));
+        } catch (DeadlineExceededException e) {
+          // Expired since the check above
+          refundBudget();
+        }
+      });
+    }
+    request.result.whenComplete((body, failure) -> request.cancelAll());
+    return request.result;
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return delegate.getCsv(relativeUrl, params);
+  }
+
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return delegate.getStream(relativeUrl, params);
+  }
+
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return delegate.getCsvStream(relativeUrl, params);
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    return delegate.warmUp(connections);
+  }
+
+  /**
+   * Checks whether a request may be sent twice. The default hedges {@code /quote}, {@code /price}
+   * and {@code /eod}, which are idempotent and cheap.
+   *
+   * @param relativeUrl the endpoint path
+   * @param params the query parameters
+   * @return true if the request may be hedged
+   */
+  protected boolean isHedgeable(String relativeUrl, Map<String, String> params) {
+    switch (relativeUrl) {
+      case "/quote":
+      case "/price":
+      case "/eod":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Publishes the hedging state as metrics.
+   *
+   * <ul>
+   *   <li>{@code twelvedata.hedge.sent} - hedges sent
+   *   <li>{@code twelvedata.hedge.won} - hedges that returned before the original request
+   *   <li>{@code twelvedata.hedge.delay} - the current hedge delay in milliseconds, -1 while
+   *       warming up
+   * </ul>
+   *
+   * @param registry the registry
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("twelvedata.hedge.sent", this, HedgingHttpClient::getHedgesSent)
+        .description("Hedged requests sent")
+        .register(registry);
+    FunctionCounter.builder("twelvedata.hedge.won", this, HedgingHttpClient::getHedgesWon)
+        .description("Hedged requests that returned before the original request")
+        .register(registry);
+    Gauge.builder("twelvedata.hedge.delay", this,
+            client -> {
+              long delay = client.getHedgeDelayNanos();
+              return delay < 0 ? -1 : delay / 1e6;
+            })
+        .description("Delay after which a request is hedged")
+        .baseUnit("milliseconds")
+        .register(registry);
+  }
+
+  private synchronized long earnBudget() {
+    budget = Math.min(budget + budgetPerRequest, MAX_SAVED_HEDGES * HEDGE_COST);
+    return budgetPerRequest == 0 ? -1 : hedgeDelayNanos;
+  }
+
+  private synchronized void wonHedge() {
+    hedgesWon++;
+  }
+
+  private synchronized boolean spendBudget() {
+    if (budget < HEDGE_COST || !rateLimiter.tryAcquire(1)) {
+      return false;
+    }
+    budget -= HEDGE_COST;
+    hedgesSent++;
+    return true;
+  }
+
+  private synchronized void refundBudget() {
+    budget = Math.min(budget + HEDGE_COST, MAX_SAVED_HEDGES * HEDGE_COST);
+    hedgesSent--;
+  }
+
+  private synchronized void recordLatency(long nanos) {
+    samples[nextSample] = nanos;
+    nextSample = (nextSample + 1) % SAMPLE_WINDOW;
+    sampleCount++;
+    if (sampleCount >= MIN_SAMPLES
+        && (hedgeDelayNanos < 0 || sampleCount % RECOMPUTE_INTERVAL == 0)) {
+      hedgeDelayNanos = computeDelay();
+    }
+  }
+
+  // Called with the monitor held and at least MIN_SAMPLES recorded
+  private long computeDelay() {
+    int size = Math.min(sampleCount, SAMPLE_WINDOW);
+    long[] sorted = Arrays.copyOf(samples, size);
+    Arrays.sort(sorted);
+    return sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+  }
+
+  private static RuntimeException unwrap(Throwable failure) {
+    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause()
+        : failure;
+    if (cause instanceof TwelveDataException || cause instanceof CancellationException) {
+      return (RuntimeException) cause;
+    }
+    return new TwelveDataException("HTTP request failed", cause);
+  }
+
+  /** The copies of one hedged request and their shared outcome. */
+  private final class HedgedRequest {
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private final Queue<CompletableFuture<String>> copies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private final long startNanos = System.nanoTime();
+
+    private HedgedRequest() {
+      result.thenRun(() -> recordLatency(System.nanoTime() - startNanos));
+    }
+
+    private Void send(String relativeUrl, Map<String, String> params, boolean isHedge) {
+      pending.incrementAndGet();
+      CompletableFuture<String> copy;
+      try {
+        copy = delegate.getAsync(relativeUrl, params);
+      } catch (RuntimeException e) {
+        copy = CompletableFuture.failedFuture(e);
+      }
+      copies.add(copy);
+      if (result.isDone()) {
+        // Lost the race with the other copy
+        copy.cancel(true);
+      }
+      copy.whenComplete((body, failure) -> {
+        int remaining = pending.decrementAndGet();
+        if (failure == null) {
+          if (result.complete(body) && isHedge) {
+            wonHedge();
+          }
+          return;
+        }
+        firstFailure.compareAndSet(null, failure);
+        // Errors are not hedged, but with the other copy in flight it may still succeed
+        if (remaining == 0) {
+          result.completeExceptionally(unwrap(firstFailure.get()));
+        }
+      });
+      return null;
+    }
+
+    private void cancelAll() {
+      for (CompletableFuture<String> copy : copies) {
+        copy.cancel(true);
+      }
+    }
+  }
+}
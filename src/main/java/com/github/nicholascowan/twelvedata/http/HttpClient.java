@@ -1,6 +1,10 @@
 package com.github.nicholascowan.twelvedata.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * HTTP client interface for making API requests to the TwelveData API.
@@ -18,6 +22,7 @@ import java.util.Map;
  * </ul>
  *
  * @see DefaultHttpClient
+ * @see InterceptingHttpClient
  */
 public interface HttpClient {
 
@@ -32,6 +37,21 @@ public interface HttpClient {
   String get(String relativeUrl, Map<String, String> params)
       throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
 
+  /**
+   * Makes a GET request without blocking the calling thread.
+   *
+   * <p>The future fails with the exception {@link #get(String, Map)} would throw. The default
+   * implementation runs {@link #get(String, Map)} on the common fork-join pool; implementations
+   * with a non-blocking transport should override it.
+   *
+   * @param relativeUrl the relative URL path
+   * @param params the query parameters
+   * @return a future of the response as a string
+   */
+  default CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    return CompletableFuture.supplyAsync(() -> get(relativeUrl, params));
+  }
+
   /**
    * Makes a GET request to the specified URL with query parameters and returns CSV response.
    *
@@ -42,4 +62,73 @@ public interface HttpClient {
    */
   String getCsv(String relativeUrl, Map<String, String> params)
       throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+
+  /**
+   * Makes a GET request to the specified URL with query parameters and returns the body as a
+   * stream.
+   *
+   * <p>The caller must close the stream. HTTP error statuses are reported as exceptions, but error
+   * bodies sent with a successful status are left to the caller's decoder. The default
+   * implementation buffers the result of {@link #get(String, Map)}; implementations that can hand
+   * out the connection's body stream should override it so responses are decoded while they are
+   * downloaded.
+   *
+   * @param relativeUrl the relative URL path
+   * @param params the query parameters
+   * @return the response body
+   * @throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException if the request fails
+   */
+  default InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException {
+    return new ByteArrayInputStream(get(relativeUrl, params).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Makes a GET request for a CSV response and returns the body as a stream.
+   *
+   * <p>The caller must close the stream. The default implementation buffers the result of {@link
+   * #getCsv(String, Map)}; implementations that can hand out the connection's body stream should
+   * override it so large responses are decoded while they are downloaded.
+   *
+   * @param relativeUrl the relative URL path
+   * @param params the query parameters
+   * @return the response body (CSV format)
+   * @throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException if the request fails
+   */
+  default InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException {
+    return new ByteArrayInputStream(
+        getCsv(relativeUrl, params).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Prepares a template for requests to one path that share most of their parameters.
+   *
+   * <p>The default implementation merges the varying parameters into the static ones on every
+   * execution and sends the request with this client; transports override it to encode the
+   * static part of the URL once.
+   *
+   * @param relativeUrl the relative URL path
+   * @param params the parameters that are the same for every execution
+   * @return the template
+   */
+  default PreparedRequest prepare(String relativeUrl, Map<String, String> params) {
+    return new PreparedRequest(this, relativeUrl, params);
+  }
+
+  /**
+   * Opens connections to the API ahead of the first requests, so they do not pay for DNS lookups
+   * and TLS handshakes.
+   *
+   * <p>Sends concurrent requests for the base URL, which cost no API credits, and waits for their
+   * responses. Failures are not reported; the connections that could not be opened are simply
+   * not counted. The default implementation does nothing; decorators pass the call on to their
+   * delegate.
+   *
+   * @param connections the number of connections to open
+   * @return the number of requests that got a response
+   */
+  default int warmUp(int connections) {
+    return 0;
+  }
 }
@@ -0,0 +1,109 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.exceptions.ForbiddenException;
+import com.github.nicholascowan.twelvedata.exceptions.InternalServerException;
+import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
+import com.github.nicholascowan.twelvedata.exceptions.NoDataException;
+import com.github.nicholascowan.twelvedata.exceptions.NotFoundException;
+import com.github.nicholascowan.twelvedata.exceptions.ParameterTooLongException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import com.github.nicholascowan.twelvedata.exceptions.ServerErrorException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.IOException;
+
+/**
+ * Mapping of HTTP statuses and API error bodies to exceptions, shared by the {@link HttpClient}
+ * implementations so that they fail in the same way.
+ */
+final class HttpErrors {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  // Private constructor to prevent instantiation
+  private HttpErrors() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Checks a buffered response and returns its body.
+   *
+   * <p>Batch and CSV responses are only checked for the HTTP status. JSON responses are also
+   * checked for an error body ({@code "status": "error"}) sent with a successful status. Bodies
+   * that are not valid JSON are returned as they are.
+   *
+   * @param statusCode the HTTP status code
+   * @param contentType the {@code Content-Type} header, or null
+   * @param isBatch the {@code Is_batch} header, or null
+   * @param responseBody the response body
+   * @return the response body
+   * @throws TwelveDataException if the status or the body is an error
+   */
+  static String checkResponse(int statusCode, String contentType, String isBatch,
+      String responseBody) throws TwelveDataException {
+    if (!isSuccessful(statusCode)) {
+      throw createException(statusCode, responseBody);
+    }
+
+    // Batch and CSV responses have no status field
+    if ("true".equals(isBatch) || contentType != null && contentType.contains("text/csv")) {
+      return responseBody;
+    }
+
+    // Parse JSON response
+    try {
+      JsonNode jsonNode = objectMapper.readTree(responseBody);
+
+      // Check if response has status field
+      if (jsonNode.has("status")) {
+        String status = jsonNode.get("status").asText();
+        if ("error".equals(status)) {
+          int errorCode = jsonNode.has("code") ? jsonNode.get("code").asInt() : 0;
+          String message =
+              jsonNode.has("message") ? jsonNode.get("message").asText() : responseBody;
+          throw createException(errorCode, message);
+        }
+      }
+
+      return responseBody;
+
+    } catch (IOException e) {
+      // If JSON parsing fails, return the raw response
+      return responseBody;
+    }
+  }
+
+  static boolean isSuccessful(int statusCode) {
+    return statusCode >= 200 && statusCode < 300;
+  }
+
+  /**
+   * Creates the exception for an HTTP status or API error code.
+   *
+   * @param errorCode the HTTP status or the {@code code} of an error body
+   * @param message the error message
+   * @return the exception
+   */
+  static TwelveDataException createException(int errorCode, String message) {
+    if (errorCode == 400) {
+      return NoDataException.badRequest(message);
+    } else if (errorCode == 401) {
+      return new InvalidApiKeyException(message);
+    } else if (errorCode == 403) {
+      return new ForbiddenException(message);
+    } else if (errorCode == 404) {
+      return new NotFoundException(message);
+    } else if (errorCode == 414) {
+      return new ParameterTooLongException(message);
+    } else if (errorCode == 429) {
+      return new RateLimitException(message);
+    } else if (errorCode == 502) {
+      return new ServerErrorException(message, errorCode);
+    } else if (errorCode >= 500) {
+      return new InternalServerException(message, errorCode);
+    } else {
+      return new TwelveDataException(message, errorCode);
+    }
+  }
+}
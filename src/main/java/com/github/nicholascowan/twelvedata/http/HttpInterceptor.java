@@ -0,0 +1,75 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+
+/**
+ * Observes, changes or answers requests on their way to the {@link HttpClient} that sends them.
+ *
+ * <p>Interceptors are installed in order with {@link InterceptingHttpClient#of(HttpClient,
+ * HttpInterceptor...)}; the first one sees the request first and the response last. An interceptor
+ * usually calls {@link Chain#proceed(HttpRequest)} once, but it may also answer the request itself
+ * (a cache), call it several times (a retry) or throw. The response type follows the {@link
+ * HttpRequest#getKind() kind} of the request: a {@code String}, an {@code InputStream} the caller
+ * closes, or a {@code CompletableFuture<String>} that completes after the interceptor returns.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * HttpInterceptor timing = new HttpInterceptor() {
+ *   @Override
+ *   public <T> T intercept(Chain<T> chain) {
+ *     try {
+ *       return chain.proceed(chain.request());
+ *     } finally {
+ *       logger.debug("{} took {} ns", chain.request(), System.nanoTime() - chain.startNanos());
+ *     }
+ *   }
+ * };
+ * }</pre>
+ *
+ * <p>Interceptors are shared by every request of the client and must be thread-safe.
+ */
+public interface HttpInterceptor {
+
+  /**
+   * Intercepts a request.
+   *
+   * @param chain the rest of the chain and the request
+   * @param <T> the response type of the request
+   * @return the response
+   * @throws TwelveDataException if the request fails
+   */
+  <T> T intercept(Chain<T> chain) throws TwelveDataException;
+
+  /**
+   * The interceptors after the current one, ending with the client that sends the request.
+   *
+   * @param <T> the response type
+   */
+  interface Chain<T> {
+
+    /**
+     * Gets the request as passed to the current interceptor.
+     *
+     * @return the request
+     */
+    HttpRequest request();
+
+    /**
+     * Gets when the request entered the first interceptor.
+     *
+     * @return the {@link System#nanoTime()} of the start
+     */
+    long startNanos();
+
+    /**
+     * Passes a request to the next interceptor, or sends it if this is the last one.
+     *
+     * @param request the request, which must have the kind of {@link #request()}
+     * @return the response
+     * @throws TwelveDataException if the request fails
+     * @throws IllegalArgumentException if the kind of the request was changed
+     */
+    T proceed(HttpRequest request) throws TwelveDataException;
+  }
+}
@@ -0,0 +1,152 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A request as seen by {@link HttpInterceptor}s: the path, the query parameters and which {@link
+ * HttpClient} method it was made with.
+ *
+ * <p>Requests are immutable; an interceptor that changes a request passes a copy made with {@link
+ * #withParam(String, String)} or {@link #withParams(Map)} down the chain. Two requests are equal if
+ * their {@link #canonical() canonical forms} and kinds are equal, so a request can be used as a
+ * cache key.
+ */
+public final class HttpRequest {
+
+  /** The {@link HttpClient} method a request was made with, which determines its response type. */
+  public enum Kind {
+    /** {@link HttpClient#get(String, Map)}, answered with a {@code String}. */
+    GET,
+    /** {@link HttpClient#getAsync(String, Map)}, answered with a {@code CompletableFuture}. */
+    GET_ASYNC,
+    /** {@link HttpClient#getCsv(String, Map)}, answered with a {@code String}. */
+    GET_CSV,
+    /** {@link HttpClient#getStream(String, Map)}, answered with an {@code InputStream}. */
+    GET_STREAM,
+    /** {@link HttpClient#getCsvStream(String, Map)}, answered with an {@code InputStream}. */
+    GET_CSV_STREAM
+  }
+
+  private final String relativeUrl;
+  private final Map<String, String> params;
+  private final Kind kind;
+  private String canonical;
+
+  /**
+   * Creates a request.
+   *
+   * @param relativeUrl the relative URL path
+   * @param params the query parameters; they are copied, so the caller may reuse the map
+   * @param kind the method the request is made with
+   */
+  public HttpRequest(String relativeUrl, Map<String, String> params, Kind kind) {
+    this(Objects.requireNonNull(relativeUrl, "relativeUrl"), kind, new HashMap<>(params));
+  }
+
+  // Takes ownership of params, which the caller has already copied
+  private HttpRequest(String relativeUrl, Kind kind, HashMap<String, String> params) {
+    this.relativeUrl = relativeUrl;
+    this.params = Collections.unmodifiableMap(params);
+    this.kind = Objects.requireNonNull(kind, "kind");
+  }
+
+  public String getRelativeUrl() {
+    return relativeUrl;
+  }
+
+  public Map<String, String> getParams() {
+    return params;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Gets a parameter.
+   *
+   * @param name the parameter name
+   * @return the value, or null if the parameter is not set
+   */
+  public String getParam(String name) {
+    return params.get(name);
+  }
+
+  /**
+   * Creates a copy with one parameter set.
+   *
+   * @param name the parameter name
+   * @param value the value, or null to remove the parameter
+   * @return the copy
+   */
+  public HttpRequest withParam(String name, String value) {
+    HashMap<String, String> copy = new HashMap<>(params);
+    if (value == null) {
+      copy.remove(name);
+    } else {
+      copy.put(name, value);
+    }
+    return new HttpRequest(relativeUrl, kind, copy);
+  }
+
+  /**
+   * Creates a copy with other parameters.
+   *
+   * @param params the parameters
+   * @return the copy
+   */
+  public HttpRequest withParams(Map<String, String> params) {
+    return new HttpRequest(relativeUrl, params, kind);
+  }
+
+  /**
+   * Gets the canonical form of the request: the path followed by the parameters sorted by name,
+   * e.g. {@code /quote?interval=1day&symbol=AAPL}. The {@code apikey} parameter is left out, so
+   * the same data requested with different keys has the same canonical form.
+   *
+   * @return the canonical form
+   */
+  public String canonical() {
+    String result = canonical;
+    if (result == null) {
+      StringBuilder builder = new StringBuilder(relativeUrl);
+      char separator = '?';
+      for (Map.Entry<String, String> param : new TreeMap<>(params).entrySet()) {
+        if ("apikey".equals(param.getKey())) {
+          continue;
+        }
+        builder.append(separator).append(param.getKey()).append('=').append(param.getValue());
+        separator = '&';
+      }
+      result = builder.toString();
+      canonical = result;
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof HttpRequest)) {
+      return false;
+    }
+    HttpRequest that = (HttpRequest) o;
+    return kind == that.kind && canonical().equals(that.canonical());
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * kind.hashCode() + canonical().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return kind + " " + canonical();
+  }
+}
@@ -0,0 +1,170 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP client decorator that passes every request through an ordered chain of {@link
+ * HttpInterceptor}s.
+ *
+ * <p>Use {@link #of(HttpClient, HttpInterceptor...)} to install interceptors: with none it returns
+ * the delegate itself, so a client without interceptors pays nothing per request. With
+ * interceptors, each request allocates its {@link HttpRequest} and one chain link per
+ * interceptor.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * HttpClient httpClient = InterceptingHttpClient.of(
+ *     new DefaultHttpClient("https://api.twelvedata.com"), timing, recording);
+ * TwelveDataClient client =
+ *     new TwelveDataClient("your-api-key", "https://api.twelvedata.com", httpClient);
+ * }</pre>
+ */
+public final class InterceptingHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final HttpInterceptor[] interceptors;
+
+  private InterceptingHttpClient(HttpClient delegate, HttpInterceptor[] interceptors) {
+    this.delegate = delegate;
+    this.interceptors = interceptors;
+  }
+
+  /**
+   * Installs interceptors in front of a client.
+   *
+   * @param delegate the client that sends the requests
+   * @param interceptors the interceptors, first to see a request first
+   * @return the intercepting client, or the delegate if there are no interceptors
+   */
+  public static HttpClient of(HttpClient delegate, HttpInterceptor... interceptors) {
+    Objects.requireNonNull(delegate, "delegate");
+    if (interceptors.length == 0) {
+      return delegate;
+    }
+    HttpInterceptor[] copy = interceptors.clone();
+    for (HttpInterceptor interceptor : copy) {
+      Objects.requireNonNull(interceptor, "interceptor");
+    }
+    return new InterceptingHttpClient(delegate, copy);
+  }
+
+  /**
+   * Installs interceptors in front of a client.
+   *
+   * @param delegate the client that sends the requests
+   * @param interceptors the interceptors, first to see a request first
+   * @return the intercepting client, or the delegate if there are no interceptors
+   */
+  public static HttpClient of(HttpClient delegate, List<? extends HttpInterceptor> interceptors) {
+    return of(delegate, interceptors.toArray(new HttpInterceptor[0]));
+  }
+
+  public HttpClient getDelegate() {
+    return delegate;
+  }
+
+  public List<HttpInterceptor> getInterceptors() {
+    return List.of(interceptors);
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return execute(new HttpRequest(relativeUrl, params, HttpRequest.Kind.GET));
+  }
+
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    try {
+      return execute(new HttpRequest(relativeUrl, params, HttpRequest.Kind.GET_ASYNC));
+    } catch (TwelveDataException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return execute(new HttpRequest(relativeUrl, params, HttpRequest.Kind.GET_CSV));
+  }
+
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return execute(new HttpRequest(relativeUrl, params, HttpRequest.Kind.GET_STREAM));
+  }
+
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return execute(new HttpRequest(relativeUrl, params, HttpRequest.Kind.GET_CSV_STREAM));
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    return delegate.warmUp(connections);
+  }
+
+  private <T> T execute(HttpRequest request) throws TwelveDataException {
+    return new Link<T>(0, request, System.nanoTime()).proceed(request);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T send(HttpRequest request) throws TwelveDataException {
+    String relativeUrl = request.getRelativeUrl();
+    Map<String, String> params = request.getParams();
+    switch (request.getKind()) {
+      case GET:
+        return (T) delegate.get(relativeUrl, params);
+      case GET_ASYNC:
+        return (T) delegate.getAsync(relativeUrl, params);
+      case GET_CSV:
+        return (T) delegate.getCsv(relativeUrl, params);
+      case GET_STREAM:
+        return (T) delegate.getStream(relativeUrl, params);
+      case GET_CSV_STREAM:
+        return (T) delegate.getCsvStream(relativeUrl, params);
+      default:
+        throw new IllegalStateException("Unknown request kind: " + request.getKind());
+    }
+  }
+
+  /** The chain from one interceptor on. */
+  private final class Link<T> implements HttpInterceptor.Chain<T> {
+    private final int index;
+    private final HttpRequest request;
+    private final long startNanos;
+
+    private Link(int index, HttpRequest request, long startNanos) {
+      this.index = index;
+      this.request = request;
+      this.startNanos = startNanos;
+    }
+
+    @Override
+    public HttpRequest request() {
+      return request;
+    }
+
+    @Override
+    public long startNanos() {
+      return startNanos;
+    }
+
+    @Override
+    public T proceed(HttpRequest next) throws TwelveDataException {
+      if (next.getKind() != request.getKind()) {
+        throw new IllegalArgumentException(
+            "Request kind changed from " + request.getKind() + " to " + next.getKind());
+      }
+      if (index == interceptors.length) {
+        return send(next);
+      }
+      return interceptors[index].intercept(new Link<T>(index + 1, next, startNanos));
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP client implementation on the JDK's {@link java.net.http.HttpClient}.
+ *
+ * <p>An alternative to {@link DefaultHttpClient} that needs no HTTP library: it does not load
+ * OkHttp or the Kotlin standard library, which shortens startup. Responses are mapped to the same
+ * exceptions as {@link DefaultHttpClient}.
+ *
+ * <p>Features:
+ *
+ * <ul>
+ *   <li>HTTP/2 over TLS, negotiated with ALPN, with HTTP/1.1 as fallback
+ *   <li>Non-blocking requests with {@link #getAsync(String, Map)} on {@code sendAsync}
+ *   <li>Per-request deadlines: the {@link Deadline#current() current deadline} caps the response
+ *       timeout
+ *   <li>Streamed response bodies for {@link #getStream(String, Map)} and {@link
+ *       #getCsvStream(String, Map)}
+ * </ul>
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * TwelveDataClient client = new TwelveDataClient(
+ *     "your-api-key", "https://api.twelvedata.com",
+ *     new JdkHttpClient("https://api.twelvedata.com"));
+ * }</pre>
+ *
+ * <p>Default timeout is 30 seconds for connecting and for each response.
+ */
+public class JdkHttpClient implements HttpClient {
+
+  private static final Logger logger = LoggerFactory.getLogger(JdkHttpClient.class);
+
+  private final String baseUrl;
+  private final Duration timeout;
+  private final java.net.http.HttpClient client;
+
+  /**
+   * Creates a new HTTP client with the specified base URL and default timeout (30 seconds).
+   *
+   * @param baseUrl the base URL for the API (e.g., "https://api.twelvedata.com")
+   */
+  public JdkHttpClient(String baseUrl) {
+    this(baseUrl, 30000);
+  }
+
+  /**
+   * Creates a new HTTP client with the specified base URL and timeout.
+   *
+   * @param baseUrl the base URL for the API (e.g., "https://api.twelvedata.com")
+   * @param timeoutMs the timeout in milliseconds for connecting and for each response
+   */
+  public JdkHttpClient(String baseUrl, int timeoutMs) {
+    this(
+        baseUrl,
+        timeoutMs,
+        java.net.http.HttpClient.newBuilder()
+            .version(java.net.http.HttpClient.Version.HTTP_2)
+            .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofMillis(timeoutMs))
+            .build());
+  }
+
+  /**
+   * Creates a new HTTP client on a configured JDK client, e.g. one with a proxy or an executor.
+   *
+   * @param baseUrl the base URL for the API (e.g., "https://api.twelvedata.com")
+   * @param timeoutMs the timeout in milliseconds for each response
+   * @param client the JDK client
+   */
+  public JdkHttpClient(String baseUrl, int timeoutMs, java.net.http.HttpClient client) {
+    this.baseUrl = baseUrl;
+    this.timeout = Duration.ofMillis(timeoutMs);
+    this.client = client;
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    HttpRequest request = request(relativeUrl, params, false);
+
+    logger.debug("Making GET request to: {}", request.uri());
+
+    return checkResponse(send(request, HttpResponse.BodyHandlers.ofString()));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The request is sent with {@code sendAsync}; the future is completed on the JDK client's
+   * executor. Cancelling the future cancels the exchange.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    HttpRequest request;
+    try {
+      request = request(relativeUrl, params, false);
+    } catch (DeadlineExceededException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    Deadline deadline = Deadline.current();
+
+    logger.debug("Making async GET request to: {}", request.uri());
+
+    CompletableFuture<HttpResponse<String>> sent =
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<String> future = sent.handle((response, failure) -> {
+      if (failure != null) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+        if (cause instanceof TwelveDataException) {
+          throw (TwelveDataException) cause;
+        }
+        throw cause instanceof IOException
+            ? requestFailed((IOException) cause, deadline)
+            : new TwelveDataException("HTTP request failed", cause);
+      }
+      return checkResponse(response);
+    });
+    future.whenComplete((body, failure) -> {
+      if (future.isCancelled()) {
+        sent.cancel(true);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The stream reads from the connection, so closing it releases the connection. Closing it
+   * before the end of the body discards the rest of the response.
+   */
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    HttpRequest request = request(relativeUrl, params, false);
+    logger.debug("Making streaming GET request to: {}", request.uri());
+    return openStream(request);
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    HttpRequest request = request(relativeUrl, params, true);
+
+    logger.debug("Making CSV GET request to: {}", request.uri());
+
+    HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+    if (!HttpErrors.isSuccessful(response.statusCode())) {
+      throw HttpErrors.createException(response.statusCode(), response.body());
+    }
+    return response.body();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The stream reads from the connection, so closing it releases the connection. Closing it
+   * before the end of the body discards the rest of the response.
+   */
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    HttpRequest request = request(relativeUrl, params, true);
+    logger.debug("Making streaming CSV GET request to: {}", request.uri());
+    return openStream(request);
+  }
+
+  private InputStream openStream(HttpRequest request) throws TwelveDataException {
+    HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+    if (HttpErrors.isSuccessful(response.statusCode())) {
+      return response.body();
+    }
+    try (InputStream failed = response.body()) {
+      throw HttpErrors.createException(
+          response.statusCode(), new String(failed.readAllBytes(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new TwelveDataException("HTTP request failed", e);
+    }
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+        .timeout(timeout)
+        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+        .build();
+    CompletableFuture<?>[] sent = new CompletableFuture<?>[connections];
+    for (int i = 0; i < connections; i++) {
+      sent[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+    int opened = 0;
+    for (CompletableFuture<?> response : sent) {
+      try {
+        response.get();
+        opened++;
+      } catch (ExecutionException e) {
+        logger.debug("Warm-up request to {} failed", request.uri(), e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    return opened;
+  }
+
+  private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+      throws TwelveDataException {
+    try {
+      return client.send(request, bodyHandler);
+    } catch (IOException e) {
+      throw requestFailed(e, Deadline.current());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("HTTP request was interrupted", e);
+    }
+  }
+
+  private HttpRequest request(String relativeUrl, Map<String, String> params, boolean csv)
+      throws DeadlineExceededException {
+    StringBuilder url = new StringBuilder(baseUrl).append(relativeUrl);
+
+    // Add source parameter for monitoring
+    url.append(relativeUrl.indexOf('?') < 0 ? '?' : '&').append("source=java");
+    if (csv) {
+      url.append("&format=CSV");
+    }
+
+    // Add all parameters
+    for (Map.Entry<String, String> entry : params.entrySet()) {
+      if (entry.getValue() != null) {
+        url.append('&')
+            .append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8))
+            .append('=')
+            .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+      }
+    }
+
+    Duration requestTimeout = timeout;
+    Deadline deadline = Deadline.current();
+    if (deadline != null) {
+      deadline.check();
+      requestTimeout = Duration.ofNanos(Math.min(timeout.toNanos(), deadline.remainingNanos()));
+    }
+    return HttpRequest.newBuilder(URI.create(url.toString()))
+        .timeout(requestTimeout)
+        .GET()
+        .build();
+  }
+
+  private static TwelveDataException requestFailed(IOException e, Deadline deadline) {
+    if (deadline != null && deadline.isExpired()) {
+      return new DeadlineExceededException("Deadline exceeded", e);
+    }
+    return new TwelveDataException("HTTP request failed", e);
+  }
+
+  private static String checkResponse(HttpResponse<String> response) throws TwelveDataException {
+    return HttpErrors.checkResponse(
+        response.statusCode(),
+        response.headers().firstValue("Content-Type").orElse(null),
+        response.headers().firstValue("Is_batch").orElse(null),
+        response.body());
+  }
+}
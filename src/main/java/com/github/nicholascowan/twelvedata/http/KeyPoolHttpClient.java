@@ -0,0 +1,222 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HTTP client decorator that sends every request with a key from an {@link ApiKeyPool}.
+ *
+ * <p>The {@code apikey} parameter the endpoint was created with is replaced by the key the pool
+ * hands out, and the outcome is reported back to the pool. A request that fails because of its
+ * key (rate limited or invalid) is retried with another key, at most once per key of the pool. A
+ * forbidden request is not retried, as it is refused for what it asks rather than for its key. All
+ * keys share the delegate, and so its connection pool.
+ *
+ * <p>Cacheable requests (see {@link #isCacheable(String, Map)}) are sent with a sticky key derived
+ * from the path and parameters, so repeated requests for the same data hit the same key.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * ApiKeyPool keys = new ApiKeyPool(List.of("key-1", "key-2", "key-3"), 55);
+ * HttpClient httpClient =
+ *     new KeyPoolHttpClient(new DefaultHttpClient("https://api.twelvedata.com"), keys);
+ * TwelveDataClient client =
+ *     new TwelveDataClient("key-1", "https://api.twelvedata.com", httpClient);
+ * }</pre>
+ */
+public class KeyPoolHttpClient implements HttpClient {
+
+  /** Async retries wait for their key here rather than on the HTTP client's callback thread. */
+  private static final Executor RETRY_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "twelvedata-keypool-retry");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final HttpClient delegate;
+  private final ApiKeyPool pool;
+
+  /**
+   * Creates a pooling client.
+   *
+   * @param delegate the client that sends the requests
+   * @param pool the key pool, which may be shared by several clients
+   */
+  public KeyPoolHttpClient(HttpClient delegate, ApiKeyPool pool) {
+    this.delegate = delegate;
+    this.pool = pool;
+  }
+
+  public ApiKeyPool getPool() {
+    return pool;
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(relativeUrl, params, delegate::get);
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(relativeUrl, params, delegate::getCsv);
+  }
+
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(relativeUrl, params, delegate::getStream);
+  }
+
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(relativeUrl, params, delegate::getCsvStream);
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    return delegate.warmUp(connections);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Waits for a key on the calling thread, then sends the request with the delegate's {@link
+   * HttpClient#getAsync(String, Map)}. Retries wait for their key on a shared pool of daemon
+   * threads, so the delegate's callback thread is never blocked, and keep the {@link
+   * Deadline#current() current deadline} of the caller. Cancelling the future
+   * cancels the attempt in flight.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    AtomicReference<CompletableFuture<String>> attempt = new AtomicReference<>();
+    CompletableFuture<String> result = callAsync(relativeUrl, params,
+        stickyId(relativeUrl, params), Deadline.current(), attempt, pool.getKeys().size());
+    result.whenComplete((body, failure) -> {
+      if (result.isCancelled()) {
+        attempt.get().cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Checks whether a request returns data that does not change, so it should always be sent with
+   * the same key. The default treats requests for a fixed {@code end_date} or {@code date} as
+   * cacheable.
+   *
+   * @param relativeUrl the endpoint path
+   * @param params the query parameters
+   * @return true if the request is cacheable
+   */
+  protected boolean isCacheable(String relativeUrl, Map<String, String> params) {
+    return params.containsKey("end_date") || params.containsKey("date");
+  }
+
+  private <T> T call(String relativeUrl, Map<String, String> params, Request<T> request)
+      throws TwelveDataException {
+    String stickyId = stickyId(relativeUrl, params);
+    int attempts = pool.getKeys().size();
+    Deadline deadline = Deadline.current();
+    while (true) {
+      String apiKey = acquire(stickyId, deadline);
+      try {
+        return request.send(relativeUrl, withKey(params, apiKey));
+      } catch (TwelveDataException e) {
+        if (!pool.onFailure(apiKey, e) || --attempts == 0) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private CompletableFuture<String> callAsync(String relativeUrl, Map<String, String> params,
+      String stickyId, Deadline deadline, AtomicReference<CompletableFuture<String>> attempt,
+      int attempts) {
+    String apiKey;
+    CompletableFuture<String> sent;
+    try {
+      apiKey = acquire(stickyId, deadline);
+      Map<String, String> keyed = withKey(params, apiKey);
+      sent = deadline == null
+          ? delegate.getAsync(relativeUrl, keyed)
+          : deadline.call(() -> delegate.getAsync(relativeUrl, keyed));
+    } catch (TwelveDataException e) {
+      sent = CompletableFuture.failedFuture(e);
+      attempt.set(sent);
+      return sent;
+    }
+    attempt.set(sent);
+    return sent
+        .handle((body, failure) -> {
+          if (failure == null) {
+            return CompletableFuture.completedFuture(body);
+          }
+          Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+              ? failure.getCause()
+              : failure;
+          if (cause instanceof TwelveDataException
+              && pool.onFailure(apiKey, (TwelveDataException) cause)
+              && attempts > 1) {
+            return CompletableFuture
+                .supplyAsync(() -> callAsync(
+                    relativeUrl, params, stickyId, deadline, attempt, attempts - 1),
+                    RETRY_EXECUTOR)
+                .thenCompose(future -> future);
+          }
+          return CompletableFuture.<String>failedFuture(cause);
+        })
+        .thenCompose(future -> future);
+  }
+
+  // Waits no longer than the deadline, without taking a credit if it passes
+  private String acquire(String stickyId, Deadline deadline) throws TwelveDataException {
+    try {
+      if (deadline == null) {
+        return pool.acquire(stickyId);
+      }
+      deadline.check();
+      String apiKey = pool.tryAcquire(stickyId, deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+      if (apiKey == null) {
+        throw new DeadlineExceededException("Deadline exceeded while waiting for an API key");
+      }
+      return apiKey;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("Interrupted while waiting for an API key", e);
+    }
+  }
+
+  private String stickyId(String relativeUrl, Map<String, String> params) {
+    if (!isCacheable(relativeUrl, params)) {
+      return null;
+    }
+    Map<String, String> sorted = new TreeMap<>(params);
+    sorted.remove("apikey");
+    return relativeUrl + sorted;
+  }
+
+  private static Map<String, String> withKey(Map<String, String> params, String apiKey) {
+    Map<String, String> keyed = new HashMap<>(params);
+    keyed.put("apikey", apiKey);
+    return keyed;
+  }
+
+  /** A request sent by the delegate. */
+  @FunctionalInterface
+  private interface Request<T> {
+    T send(String relativeUrl, Map<String, String> params) throws TwelveDataException;
+  }
+}
@@ -0,0 +1,188 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.AdaptiveConcurrencyLimiter;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client decorator that keeps the requests of another client under an {@link
+ * AdaptiveConcurrencyLimiter}.
+ *
+ * <p>Each request waits for a permit before it is sent, no longer than the {@link
+ * Deadline#current() current deadline}, and reports its outcome when it completes: successful
+ * responses feed their latency to the limiter, {@link RateLimitException}s make it back off, and
+ * so do timeouts and missed deadlines (see {@link #isDropped(Throwable)}), as latency inflated
+ * past them leaves no sample to compare. Other failures are ignored. Streamed requests hold their
+ * permit until the response headers arrive; reading the body is not counted.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * HttpClient httpClient = new LimitingHttpClient(
+ *     new DefaultHttpClient("https://api.twelvedata.com"), new AdaptiveConcurrencyLimiter());
+ * TwelveDataClient client =
+ *     new TwelveDataClient("your-api-key", "https://api.twelvedata.com", httpClient);
+ * }</pre>
+ */
+public class LimitingHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  /**
+   * Creates a limiting client.
+   *
+   * @param delegate the client that sends the requests
+   * @param limiter the limiter, which may be shared by several clients
+   */
+  public LimitingHttpClient(HttpClient delegate, AdaptiveConcurrencyLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  public AdaptiveConcurrencyLimiter getLimiter() {
+    return limiter;
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(() -> delegate.get(relativeUrl, params));
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(() -> delegate.getCsv(relativeUrl, params));
+  }
+
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(() -> delegate.getStream(relativeUrl, params));
+  }
+
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(() -> delegate.getCsvStream(relativeUrl, params));
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    return delegate.warmUp(connections);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Waits for a permit on the calling thread, then sends the request with the delegate's
+   * {@link HttpClient#getAsync(String, Map)}. Cancelling the future cancels the delegate's
+   * request, which gives the permit back.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    AdaptiveConcurrencyLimiter.Permit permit;
+    try {
+      permit = acquire();
+    } catch (TwelveDataException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    CompletableFuture<String> response;
+    try {
+      response = delegate.getAsync(relativeUrl, params);
+    } catch (RuntimeException | Error e) {
+      complete(permit, e);
+      throw e;
+    }
+    CompletableFuture<String> accounted = response.whenComplete((body, failure) -> {
+      if (failure == null) {
+        permit.onSuccess();
+      } else {
+        complete(permit, failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure);
+      }
+    });
+    // A separate stage, so that cancelling it still lets the permit be accounted
+    CompletableFuture<String> result = accounted.thenApply(body -> body);
+    result.whenComplete((body, failure) -> {
+      if (result.isCancelled()) {
+        response.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Checks whether a failure means the request was dropped because the API was too slow. The
+   * default treats {@link DeadlineExceededException}s and request failures caused by a read, call
+   * or request timeout as dropped.
+   *
+   * @param failure the failure of a request
+   * @return true if the limiter should back off
+   */
+  protected boolean isDropped(Throwable failure) {
+    if (failure instanceof DeadlineExceededException) {
+      return true;
+    }
+    Throwable cause = failure instanceof TwelveDataException ? failure.getCause() : null;
+    return cause instanceof InterruptedIOException || cause instanceof HttpTimeoutException;
+  }
+
+  private <T> T call(Request<T> request) throws TwelveDataException {
+    AdaptiveConcurrencyLimiter.Permit permit = acquire();
+    try {
+      T result = request.send();
+      permit.onSuccess();
+      return result;
+    } catch (RuntimeException | Error e) {
+      complete(permit, e);
+      throw e;
+    }
+  }
+
+  // Waits no longer than the current deadline, without taking a permit if it passes
+  private AdaptiveConcurrencyLimiter.Permit acquire() throws TwelveDataException {
+    Deadline deadline = Deadline.current();
+    try {
+      if (deadline == null) {
+        return limiter.acquire();
+      }
+      deadline.check();
+      AdaptiveConcurrencyLimiter.Permit permit =
+          limiter.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+      if (permit == null) {
+        throw new DeadlineExceededException(
+            "Deadline exceeded while waiting for the concurrency limiter");
+      }
+      return permit;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("Interrupted while waiting for the concurrency limiter", e);
+    }
+  }
+
+  private void complete(AdaptiveConcurrencyLimiter.Permit permit, Throwable failure) {
+    if (failure instanceof RateLimitException) {
+      permit.onRateLimited();
+    } else if (isDropped(failure)) {
+      permit.onDropped();
+    } else {
+      permit.onIgnore();
+    }
+  }
+
+  /** A request sent by the delegate. */
+  @FunctionalInterface
+  private interface Request<T> {
+    T send() throws TwelveDataException;
+  }
+}
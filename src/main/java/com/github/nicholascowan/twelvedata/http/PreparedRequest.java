@@ -0,0 +1,145 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An immutable request template: a path and the parameters that are the same for every execution,
+ * such as the API key, the defaults and the interval.
+ *
+ * <p>Each execution only adds the parameters that vary, e.g. the symbol or the dates. This base
+ * implementation merges them into the static parameters and sends the result with the {@link
+ * HttpClient} the template was prepared by, so decorators keep seeing every request. Transports
+ * can do better: {@link DefaultHttpClient} encodes the URL up to the varying parameters once, when
+ * the template is prepared.
+ *
+ * <p>A varying parameter must not repeat a static one. Templates are thread-safe and meant to be
+ * kept, e.g. for a polling loop.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * PreparedRequest quotes = httpClient.prepare("/quote", Map.of("apikey", key, "dp", "4"));
+ * while (polling) {
+ *   for (String symbol : symbols) {
+ *     handle(quotes.get(Map.of("symbol", symbol)));
+ *   }
+ * }
+ * }</pre>
+ *
+ * @see HttpClient#prepare(String, Map)
+ */
+public class PreparedRequest {
+
+  private final HttpClient httpClient;
+  private final String relativeUrl;
+  private final Map<String, String> params;
+
+  /**
+   * Creates a template.
+   *
+   * @param httpClient the client that sends the requests
+   * @param relativeUrl the relative URL path
+   * @param params the static parameters; parameters with a null value are left out
+   */
+  protected PreparedRequest(
+      HttpClient httpClient, String relativeUrl, Map<String, String> params) {
+    this.httpClient = httpClient;
+    this.relativeUrl = relativeUrl;
+    Map<String, String> copy = new HashMap<>(params);
+    copy.values().removeIf(value -> value == null);
+    this.params = Collections.unmodifiableMap(copy);
+  }
+
+  public String getRelativeUrl() {
+    return relativeUrl;
+  }
+
+  public Map<String, String> getParams() {
+    return params;
+  }
+
+  /**
+   * Makes a GET request.
+   *
+   * @param params the varying parameters
+   * @return the response as a string
+   * @throws TwelveDataException if the request fails
+   * @see HttpClient#get(String, Map)
+   */
+  public String get(Map<String, String> params) throws TwelveDataException {
+    return httpClient.get(relativeUrl, merge(params));
+  }
+
+  /**
+   * Makes a GET request without blocking the calling thread.
+   *
+   * @param params the varying parameters
+   * @return a future of the response as a string
+   * @see HttpClient#getAsync(String, Map)
+   */
+  public CompletableFuture<String> getAsync(Map<String, String> params) {
+    return httpClient.getAsync(relativeUrl, merge(params));
+  }
+
+  /**
+   * Makes a GET request for a CSV response.
+   *
+   * @param params the varying parameters
+   * @return the response as a string (CSV format)
+   * @throws TwelveDataException if the request fails
+   * @see HttpClient#getCsv(String, Map)
+   */
+  public String getCsv(Map<String, String> params) throws TwelveDataException {
+    return httpClient.getCsv(relativeUrl, merge(params));
+  }
+
+  /**
+   * Makes a GET request and returns the body as a stream, which the caller must close.
+   *
+   * @param params the varying parameters
+   * @return the response body
+   * @throws TwelveDataException if the request fails
+   * @see HttpClient#getStream(String, Map)
+   */
+  public InputStream getStream(Map<String, String> params) throws TwelveDataException {
+    return httpClient.getStream(relativeUrl, merge(params));
+  }
+
+  /**
+   * Makes a GET request for a CSV response and returns the body as a stream, which the caller
+   * must close.
+   *
+   * @param params the varying parameters
+   * @return the response body (CSV format)
+   * @throws TwelveDataException if the request fails
+   * @see HttpClient#getCsvStream(String, Map)
+   */
+  public InputStream getCsvStream(Map<String, String> params) throws TwelveDataException {
+    return httpClient.getCsvStream(relativeUrl, merge(params));
+  }
+
+  /**
+   * Merges varying parameters into the static ones.
+   *
+   * @param varying the varying parameters
+   * @return the parameters of the request
+   */
+  protected Map<String, String> merge(Map<String, String> varying) {
+    if (varying.isEmpty()) {
+      return params;
+    }
+    Map<String, String> merged = new HashMap<>(params);
+    merged.putAll(varying);
+    return merged;
+  }
+
+  @Override
+  public String toString() {
+    return "PreparedRequest{" + relativeUrl + ", params=" + params.keySet() + '}';
+  }
+}
@@ -0,0 +1,196 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.concurrent.RequestPriority;
+import com.github.nicholascowan.twelvedata.concurrent.RequestScheduler;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HTTP client decorator that sends the requests of another client through a {@link
+ * RequestScheduler}.
+ *
+ * <p>Each request is classified by {@link #priorityOf(String, Map)} and costed by {@link
+ * #creditsOf(String, Map)}, then waits for a slot of the scheduler before it reaches the
+ * delegate, so backfills cannot fill the delegate's dispatcher ahead of quotes. Blocking requests
+ * wait no longer than the {@link Deadline#current() current deadline}. Streamed requests hold
+ * their slot until the response headers arrive; reading the body is not counted.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * HttpClient httpClient = new PriorityHttpClient(
+ *     new DefaultHttpClient("https://api.twelvedata.com"), new RequestScheduler(16));
+ * TwelveDataClient client =
+ *     new TwelveDataClient("your-api-key", "https://api.twelvedata.com", httpClient);
+ * }</pre>
+ */
+public class PriorityHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+  private final RequestScheduler scheduler;
+
+  /**
+   * Creates a scheduling client.
+   *
+   * @param delegate the client that sends the requests
+   * @param scheduler the scheduler, which may be shared by several clients
+   */
+  public PriorityHttpClient(HttpClient delegate, RequestScheduler scheduler) {
+    this.delegate = delegate;
+    this.scheduler = scheduler;
+  }
+
+  public RequestScheduler getScheduler() {
+    return scheduler;
+  }
+
+  @Override
+  public String get(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(relativeUrl, params, delegate::get);
+  }
+
+  @Override
+  public String getCsv(String relativeUrl, Map<String, String> params) throws TwelveDataException {
+    return call(relativeUrl, params, delegate::getCsv);
+  }
+
+  @Override
+  public InputStream getStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(relativeUrl, params, delegate::getStream);
+  }
+
+  @Override
+  public InputStream getCsvStream(String relativeUrl, Map<String, String> params)
+      throws TwelveDataException {
+    return call(relativeUrl, params, delegate::getCsvStream);
+  }
+
+  @Override
+  public int warmUp(int connections) {
+    return delegate.warmUp(connections);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Does not block: the request is sent with the delegate's {@link HttpClient#getAsync(String,
+   * Map)} once the scheduler grants it a slot, with the {@link Deadline#current() current
+   * deadline} of the caller. Cancelling the future while it is queued gives up its place;
+   * cancelling it later cancels the delegate's request.
+   */
+  @Override
+  public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+    CompletableFuture<Void> slot =
+        scheduler.schedule(priorityOf(relativeUrl, params), creditsOf(relativeUrl, params));
+    Deadline deadline = Deadline.current();
+    AtomicReference<CompletableFuture<String>> inFlight = new AtomicReference<>();
+    CompletableFuture<String> sent = slot.thenCompose(granted -> {
+      try {
+        inFlight.set(deadline == null
+            ? delegate.getAsync(relativeUrl, params)
+            : deadline.call(() -> delegate.getAsync(relativeUrl, params)));
+        return inFlight.get();
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    });
+    // Released when the delegate is done, even if the caller cancels the returned future
+    CompletableFuture<String> released = sent.whenComplete((body, failure) -> {
+      if (!slot.isCancelled()) {
+        scheduler.release();
+      }
+    });
+    CompletableFuture<String> response = released.thenApply(body -> body);
+    response.whenComplete((body, failure) -> {
+      if (response.isCancelled()) {
+        slot.cancel(false);
+        CompletableFuture<String> request = inFlight.get();
+        if (request != null) {
+          request.cancel(true);
+        }
+      }
+    });
+    return response;
+  }
+
+  /**
+   * Classifies a request. The default treats {@code /quote} and {@code /price} as realtime and
+   * {@code /time_series} as bulk, and everything else as interactive.
+   *
+   * @param relativeUrl the endpoint path
+   * @param params the query parameters
+   * @return the priority
+   */
+  protected RequestPriority priorityOf(String relativeUrl, Map<String, String> params) {
+    switch (relativeUrl) {
+      case "/quote":
+      case "/price":
+        return RequestPriority.REALTIME;
+      case "/time_series":
+        return RequestPriority.BULK;
+      default:
+        return RequestPriority.INTERACTIVE;
+    }
+  }
+
+  /**
+   * Gets the credits a request uses. The default charges one credit per symbol.
+   *
+   * @param relativeUrl the endpoint path
+   * @param params the query parameters
+   * @return the credits
+   */
+  protected int creditsOf(String relativeUrl, Map<String, String> params) {
+    String symbols = params.get("symbol");
+    if (symbols == null || symbols.isEmpty()) {
+      return 1;
+    }
+    int credits = 1;
+    for (int i = 0; i < symbols.length(); i++) {
+      if (symbols.charAt(i) == ',') {
+        credits++;
+      }
+    }
+    return credits;
+  }
+
+  private <T> T call(String relativeUrl, Map<String, String> params, Request<T> request)
+      throws TwelveDataException {
+    RequestPriority priority = priorityOf(relativeUrl, params);
+    int credits = creditsOf(relativeUrl, params);
+    Deadline deadline = Deadline.current();
+    try {
+      if (deadline == null) {
+        scheduler.acquire(priority, credits);
+      } else {
+        deadline.check();
+        if (!scheduler.tryAcquire(
+            priority, credits, deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+          throw new DeadlineExceededException(
+              "Deadline exceeded while waiting for the request scheduler");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TwelveDataException("Interrupted while waiting for the request scheduler", e);
+    }
+    try {
+      return request.send(relativeUrl, params);
+    } finally {
+      scheduler.release();
+    }
+  }
+
+  /** A request sent by the delegate. */
+  @FunctionalInterface
+  private interface Request<T> {
+    T send(String relativeUrl, Map<String, String> params) throws TwelveDataException;
+  }
+}
@@ -0,0 +1,17 @@
+package com.github.nicholascowan.twelvedata.models;
+
+/**
+ * Receives the bars of a streamed time series one at a time.
+ *
+ * @see TimeSeriesBarReader#forEach(BarConsumer)
+ */
+@FunctionalInterface
+public interface BarConsumer {
+
+  /**
+   * Handles one bar.
+   *
+   * @param bar the bar; it is reused for the next bar and must not be retained
+   */
+  void accept(MutableBar bar);
+}
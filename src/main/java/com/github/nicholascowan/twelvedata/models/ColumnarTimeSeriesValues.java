@@ -0,0 +1,581 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of time series values stored as primitive columns.
+ *
+ * <p>A list of {@link TimeSeriesValue} objects holds about six objects per bar (the value and its
+ * strings). This list keeps the same bars in a handful of arrays: local datetimes and epoch
+ * milliseconds as {@code long[]}, prices as {@code double[]} and volumes as {@code long[]}. {@link
+ * #get(int)} returns a lightweight view over one row that answers every {@link TimeSeriesValue}
+ * getter from the columns, so code written against {@link TimeSeriesResponse#getValues()} keeps
+ * working. The views are read-only; their setters throw {@link UnsupportedOperationException}.
+ *
+ * <p>String getters of the views render the decoded values on demand at the {@linkplain
+ * #getPriceScale() price scale}, so strings that were not canonical at that scale (or not numbers)
+ * do not survive the conversion. Loops that only need numbers should use the row accessors such as
+ * {@link #getCloseValue(int)}, which do not create a view.
+ *
+ * <p>{@link #get(int)} returns a new view on every call, so views compare by value: two views are
+ * equal if their datetime, decoded prices, volume, epoch milliseconds and price scale are. {@link
+ * #indexOf(Object)} and {@link #contains(Object)} therefore find a view of any row with the same
+ * bar, and {@link #equals(Object)} compares two columnar lists bar by bar. A view is never equal to
+ * a plain {@link TimeSeriesValue}, which keeps identity equality.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * TimeSeriesResponse response = client.timeSeries("AAPL", "1min").outputsize(5000)
+ *     .asColumnarObject();
+ * ColumnarTimeSeriesValues bars = (ColumnarTimeSeriesValues) response.getValues();
+ * double sum = 0;
+ * for (int i = 0; i < bars.size(); i++) {
+ *   sum += bars.getCloseValue(i);
+ * }
+ * }</pre>
+ */
+public final class ColumnarTimeSeriesValues extends AbstractList<TimeSeriesValue>
+    implements RandomAccess {
+
+  private static final long NO_EPOCH_MILLIS = Long.MIN_VALUE;
+  private static final long NO_VOLUME = Long.MIN_VALUE;
+
+  private final int size;
+  private final long[] localSeconds;
+  private final String[] datetimes;
+  private final int datetimeLength;
+  private final long[] epochMillis;
+  private final double[] open;
+  private final double[] high;
+  private final double[] low;
+  private final double[] close;
+  private final long[] volume;
+  private final int priceScale;
+
+  private ColumnarTimeSeriesValues(Builder builder) {
+    this.size = builder.size;
+    this.datetimes = builder.datetimes != null ? Arrays.copyOf(builder.datetimes, size) : null;
+    this.localSeconds = datetimes == null ? Arrays.copyOf(builder.localSeconds, size) : null;
+    this.datetimeLength = builder.datetimeLength;
+    this.epochMillis = builder.hasEpochMillis ? Arrays.copyOf(builder.epochMillis, size) : null;
+    this.open = Arrays.copyOf(builder.open, size);
+    this.high = Arrays.copyOf(builder.high, size);
+    this.low = Arrays.copyOf(builder.low, size);
+    this.close = Arrays.copyOf(builder.close, size);
+    this.volume = Arrays.copyOf(builder.volume, size);
+    this.priceScale = builder.priceScale;
+  }
+
+  /**
+   * Creates a builder for a columnar list.
+   *
+   * @param expectedSize the expected number of bars, used to size the columns
+   * @param timezone the exchange timezone the datetimes are expressed in, or null to leave epoch
+   *     milliseconds unset
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the builder
+   */
+  public static Builder builder(int expectedSize, String timezone, int priceScale) {
+    return new Builder(expectedSize, timezone, priceScale);
+  }
+
+  /**
+   * Copies time series values into columns.
+   *
+   * @param values the values to copy
+   * @param timezone the exchange timezone the datetimes are expressed in, or null
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the columnar list
+   */
+  public static ColumnarTimeSeriesValues of(
+      List<? extends TimeSeriesValue> values, String timezone, int priceScale) {
+    if (values instanceof ColumnarTimeSeriesValues) {
+      return (ColumnarTimeSeriesValues) values;
+    }
+    Builder builder = builder(values.size(), timezone, priceScale);
+    for (TimeSeriesValue value : values) {
+      builder.add(value.getDatetime(), value.getOpenValue(), value.getHighValue(),
+          value.getLowValue(), value.getCloseValue(),
+          value.hasVolume() ? value.getVolumeValue() : NO_VOLUME);
+    }
+    return builder.build();
+  }
+
+  @Override
+  public TimeSeriesValue get(int index) {
+    return new Bar(checkIndex(index));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @return the price scale, or -1 if unknown
+   */
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  /**
+   * Gets the datetime of a row as epoch milliseconds.
+   *
+   * @param row the row
+   * @return the epoch milliseconds, or {@link Long#MIN_VALUE} if no timezone was known or the
+   *     datetime of the row could not be parsed
+   */
+  public long getEpochMillisValue(int row) {
+    return epochMillis != null ? epochMillis[checkIndex(row)] : NO_EPOCH_MILLIS;
+  }
+
+  /**
+   * Gets the opening price of a row.
+   *
+   * @param row the row
+   * @return the opening price, or {@code NaN} if it was not set
+   */
+  public double getOpenValue(int row) {
+    return open[checkIndex(row)];
+  }
+
+  /**
+   * Gets the high price of a row.
+   *
+   * @param row the row
+   * @return the high price, or {@code NaN} if it was not set
+   */
+  public double getHighValue(int row) {
+    return high[checkIndex(row)];
+  }
+
+  /**
+   * Gets the low price of a row.
+   *
+   * @param row the row
+   * @return the low price, or {@code NaN} if it was not set
+   */
+  public double getLowValue(int row) {
+    return low[checkIndex(row)];
+  }
+
+  /**
+   * Gets the closing price of a row.
+   *
+   * @param row the row
+   * @return the closing price, or {@code NaN} if it was not set
+   */
+  public double getCloseValue(int row) {
+    return close[checkIndex(row)];
+  }
+
+  /**
+   * Gets the volume of a row.
+   *
+   * @param row the row
+   * @return the volume, or 0 if it was not set
+   */
+  public long getVolumeValue(int row) {
+    long value = volume[checkIndex(row)];
+    return value != NO_VOLUME ? value : 0L;
+  }
+
+  /**
+   * Checks whether a row has a volume.
+   *
+   * @param row the row
+   * @return true if the volume was set (forex pairs have none)
+   */
+  public boolean hasVolume(int row) {
+    return volume[checkIndex(row)] != NO_VOLUME;
+  }
+
+  private int checkIndex(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+    }
+    return row;
+  }
+
+  private String datetimeAt(int row) {
+    if (datetimes != null) {
+      return datetimes[row];
+    }
+    return DateTimeParser.formatLocalEpochSecond(localSeconds[row], datetimeLength);
+  }
+
+  private static double[] grow(double[] column, int capacity) {
+    return Arrays.copyOf(column, Math.max(capacity, column.length * 2));
+  }
+
+  private static long[] grow(long[] column, int capacity) {
+    return Arrays.copyOf(column, Math.max(capacity, column.length * 2));
+  }
+
+  /** Read-only view over one row of the columns. */
+  private final class Bar extends TimeSeriesValue {
+    private final int row;
+
+    Bar(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public String getDatetime() {
+      return datetimeAt(row);
+    }
+
+    @Override
+    public String getOpen() {
+      return NumberDecoder.render(null, open[row], priceScale);
+    }
+
+    @Override
+    public String getHigh() {
+      return NumberDecoder.render(null, high[row], priceScale);
+    }
+
+    @Override
+    public String getLow() {
+      return NumberDecoder.render(null, low[row], priceScale);
+    }
+
+    @Override
+    public String getClose() {
+      return NumberDecoder.render(null, close[row], priceScale);
+    }
+
+    @Override
+    public String getVolume() {
+      return NumberDecoder.render(null, volume[row], NO_VOLUME);
+    }
+
+    @Override
+    public Double getOpenAsDouble() {
+      return NumberDecoder.asDouble(null, open[row]);
+    }
+
+    @Override
+    public Double getHighAsDouble() {
+      return NumberDecoder.asDouble(null, high[row]);
+    }
+
+    @Override
+    public Double getLowAsDouble() {
+      return NumberDecoder.asDouble(null, low[row]);
+    }
+
+    @Override
+    public Double getCloseAsDouble() {
+      return NumberDecoder.asDouble(null, close[row]);
+    }
+
+    @Override
+    public Long getVolumeAsLong() {
+      return NumberDecoder.asLong(null, volume[row], NO_VOLUME);
+    }
+
+    @Override
+    public double getOpenValue() {
+      return open[row];
+    }
+
+    @Override
+    public double getHighValue() {
+      return high[row];
+    }
+
+    @Override
+    public double getLowValue() {
+      return low[row];
+    }
+
+    @Override
+    public double getCloseValue() {
+      return close[row];
+    }
+
+    @Override
+    public long getVolumeValue() {
+      return volume[row] != NO_VOLUME ? volume[row] : 0L;
+    }
+
+    @Override
+    public int getPriceScale() {
+      return priceScale;
+    }
+
+    @Override
+    public ScaledDecimal getOpenAsScaled() {
+      return NumberDecoder.asScaled(null, open[row], priceScale);
+    }
+
+    @Override
+    public ScaledDecimal getHighAsScaled() {
+      return NumberDecoder.asScaled(null, high[row], priceScale);
+    }
+
+    @Override
+    public ScaledDecimal getLowAsScaled() {
+      return NumberDecoder.asScaled(null, low[row], priceScale);
+    }
+
+    @Override
+    public ScaledDecimal getCloseAsScaled() {
+      return NumberDecoder.asScaled(null, close[row], priceScale);
+    }
+
+    @Override
+    public Long getEpochMillis() {
+      return epochMillis != null && epochMillis[row] != NO_EPOCH_MILLIS ? epochMillis[row] : null;
+    }
+
+    @Override
+    public Long getEpochMillis(ZoneId zone) {
+      if (datetimes == null) {
+        return DateTimeParser.localToEpochMillis(localSeconds[row], zone.getId());
+      }
+      return datetimes[row] != null ? DateTimeParser.toEpochMillis(datetimes[row], zone) : null;
+    }
+
+    @Override
+    public boolean hasVolume() {
+      return volume[row] != NO_VOLUME;
+    }
+
+    @Override
+    public void releaseRawStrings() {
+      // Columns hold no strings
+    }
+
+    @Override
+    public void setDatetime(String datetime) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setOpen(String open) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setHigh(String high) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setLow(String low) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setClose(String close) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setVolume(String volume) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setPriceScale(int priceScale) {
+      throw readOnly();
+    }
+
+    @Override
+    public void setEpochMillis(long epochMillis) {
+      throw readOnly();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Bar)) {
+        return false;
+      }
+      Bar that = (Bar) o;
+      if (outer() == that.outer() && row == that.row) {
+        return true;
+      }
+      return Double.compare(getOpenValue(), that.getOpenValue()) == 0
+          && Double.compare(getHighValue(), that.getHighValue()) == 0
+          && Double.compare(getLowValue(), that.getLowValue()) == 0
+          && Double.compare(getCloseValue(), that.getCloseValue()) == 0
+          && volume[row] == that.outer().volume[that.row]
+          && Objects.equals(getEpochMillis(), that.getEpochMillis())
+          && getPriceScale() == that.getPriceScale()
+          && Objects.equals(getDatetime(), that.getDatetime());
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Objects.hashCode(getDatetime());
+      result = 31 * result + Double.hashCode(getCloseValue());
+      return 31 * result + Long.hashCode(volume[row]);
+    }
+
+    private ColumnarTimeSeriesValues outer() {
+      return ColumnarTimeSeriesValues.this;
+    }
+
+    private UnsupportedOperationException readOnly() {
+      return new UnsupportedOperationException("Columnar time series values are read-only");
+    }
+  }
+
+  /**
+   * Accumulates bars into growing columns.
+   *
+   * <p>Datetimes are kept as local epoch seconds when every bar has the same API shape; otherwise
+   * the builder falls back to retaining the datetime strings. Epoch milliseconds are computed with
+   * the cached zone rules of {@link DateTimeParser} when a timezone is given.
+   */
+  public static final class Builder {
+    private final String timezone;
+    private final int priceScale;
+    private int size;
+    private long[] localSeconds;
+    private String[] datetimes;
+    private int datetimeLength = -1;
+    private long[] epochMillis;
+    private boolean hasEpochMillis;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private long[] volume;
+
+    private Builder(int expectedSize, String timezone, int priceScale) {
+      int capacity = Math.max(expectedSize, 16);
+      this.timezone = timezone;
+      this.priceScale = priceScale;
+      this.hasEpochMillis = timezone != null;
+      this.localSeconds = new long[capacity];
+      this.epochMillis = new long[capacity];
+      this.open = new double[capacity];
+      this.high = new double[capacity];
+      this.low = new double[capacity];
+      this.close = new double[capacity];
+      this.volume = new long[capacity];
+    }
+
+    /**
+     * Adds a bar from its API strings.
+     *
+     * @param datetime the datetime
+     * @param open the opening price, may be null
+     * @param high the high price, may be null
+     * @param low the low price, may be null
+     * @param close the closing price, may be null
+     * @param volume the volume, may be null
+     * @return this builder
+     */
+    public Builder add(
+        String datetime, String open, String high, String low, String close, String volume) {
+      return add(datetime, NumberDecoder.decodeDoubleOrNaN(open),
+          NumberDecoder.decodeDoubleOrNaN(high), NumberDecoder.decodeDoubleOrNaN(low),
+          NumberDecoder.decodeDoubleOrNaN(close), NumberDecoder.decodeLongOr(volume, NO_VOLUME));
+    }
+
+    /**
+     * Adds a decoded bar. The datetime is only retained as a string if the bars do not share one
+     * API shape, so it may be a view over a reused buffer.
+     */
+    Builder add(
+        CharSequence datetime, double open, double high, double low, double close, long volume) {
+      ensureCapacity(size + 1);
+      addDatetime(datetime);
+      this.open[size] = open;
+      this.high[size] = high;
+      this.low[size] = low;
+      this.close[size] = close;
+      this.volume[size] = volume;
+      size++;
+      return this;
+    }
+
+    /**
+     * Builds the list. The builder must not be used afterwards.
+     *
+     * @return the columnar list
+     */
+    public ColumnarTimeSeriesValues build() {
+      return new ColumnarTimeSeriesValues(this);
+    }
+
+    private void addDatetime(CharSequence datetime) {
+      long local = 0L;
+      boolean parsed = false;
+      if (datetime != null) {
+        try {
+          local = DateTimeParser.toLocalEpochSecond(datetime);
+          parsed = true;
+        } catch (DateTimeException e) {
+          // Kept as a string below
+        }
+      }
+      if (datetimes == null && !(parsed && isUniformShape(datetime))) {
+        retainDatetimes();
+      }
+      if (datetimes != null) {
+        datetimes[size] = datetime != null ? datetime.toString() : null;
+      }
+      localSeconds[size] = local;
+      if (hasEpochMillis) {
+        // An unparseable row has no epoch milliseconds; the others keep theirs
+        epochMillis[size] = NO_EPOCH_MILLIS;
+        try {
+          if (parsed) {
+            epochMillis[size] = DateTimeParser.localToEpochMillis(local, timezone);
+          }
+        } catch (DateTimeException e) {
+          // An unknown timezone fails every row the same way
+          hasEpochMillis = false;
+        }
+      }
+    }
+
+    private boolean isUniformShape(CharSequence datetime) {
+      if (datetimeLength < 0) {
+        datetimeLength = datetime.length();
+      }
+      return datetime.length() == datetimeLength
+          && (datetimeLength == 10 || datetime.charAt(10) == ' ');
+    }
+
+    private void retainDatetimes() {
+      datetimes = new String[localSeconds.length];
+      for (int i = 0; i < size; i++) {
+        datetimes[i] = DateTimeParser.formatLocalEpochSecond(localSeconds[i], datetimeLength);
+      }
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= open.length) {
+        return;
+      }
+      localSeconds = grow(localSeconds, capacity);
+      epochMillis = grow(epochMillis, capacity);
+      open = grow(open, capacity);
+      high = grow(high, capacity);
+      low = grow(low, capacity);
+      close = grow(close, capacity);
+      volume = grow(volume, capacity);
+      if (datetimes != null) {
+        datetimes = Arrays.copyOf(datetimes, localSeconds.length);
+      }
+    }
+  }
+}
@@ -0,0 +1,461 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming decoder for the CSV responses of the TwelveData API.
+ *
+ * <p>The decoder reads the response bytes in chunks and splits them into rows and fields in place.
+ * Fields are exposed as {@link CharSequence} views over the chunk, so numbers and datetimes are
+ * decoded by {@link NumberDecoder} and {@link DateTimeParser} straight from the bytes; a {@link
+ * String} is only created when {@link Row#getString(int)} is called. The first non-empty line is
+ * the header. Fields are separated by the {@code delimiter} request parameter ({@code ;} unless
+ * set) and are not quoted by the API, so quoting is not supported.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * try (InputStream in = httpClient.getCsvStream("/time_series", params)) {
+ *   ColumnarTimeSeriesValues bars =
+ *       CsvDecoder.decodeTimeSeries(in, ';', "America/New_York", 5);
+ * }
+ * }</pre>
+ */
+public final class CsvDecoder {
+
+  /** The delimiter the API uses when the {@code delimiter} parameter is not set. */
+  public static final char DEFAULT_DELIMITER = ';';
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int MAX_ERROR_BODY = 64 * 1024;
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  // Private constructor to prevent instantiation
+  private CsvDecoder() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Receives the rows of a CSV response.
+   *
+   * @see CsvDecoder#forEachRow(InputStream, char, RowHandler)
+   */
+  @FunctionalInterface
+  public interface RowHandler {
+
+    /**
+     * Handles one data row.
+     *
+     * @param row the row; it and its field views are only valid until this method returns
+     */
+    void onRow(Row row);
+  }
+
+  /**
+   * Calls a handler for every data row of a CSV response.
+   *
+   * <p>The stream is read to the end but not closed.
+   *
+   * @param in the response body
+   * @param delimiter the field delimiter
+   * @param handler the handler called for every row after the header
+   * @return the number of data rows
+   * @throws IOException if the stream cannot be read or the body is not CSV
+   * @throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException if the body is a
+   *     JSON error response
+   */
+  public static int forEachRow(InputStream in, char delimiter, RowHandler handler)
+      throws IOException {
+    if (delimiter > 0x7f) {
+      throw new IllegalArgumentException("Delimiter must be an ASCII character: " + delimiter);
+    }
+    return new Reader(in, (byte) delimiter).run(handler);
+  }
+
+  /**
+   * Decodes a {@code time_series} CSV response into primitive columns.
+   *
+   * <p>The header must contain a {@code datetime} column; {@code open}, {@code high}, {@code low},
+   * {@code close} and {@code volume} are optional and decoded as {@code NaN} or no volume when
+   * missing, empty or not numbers.
+   *
+   * @param in the response body
+   * @param delimiter the field delimiter
+   * @param timezone the timezone the datetimes are expressed in, or null to leave epoch
+   *     milliseconds unset
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded bars, in response order
+   * @throws IOException if the stream cannot be read, the body is not CSV or it has no {@code
+   *     datetime} column
+   * @throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException if the body is a
+   *     JSON error response
+   */
+  public static ColumnarTimeSeriesValues decodeTimeSeries(
+      InputStream in, char delimiter, String timezone, int priceScale) throws IOException {
+    ColumnarTimeSeriesValues.Builder builder =
+        ColumnarTimeSeriesValues.builder(0, timezone, priceScale);
+    int[] columns = new int[6];
+    forEachRow(in, delimiter, row -> {
+      if (row.getRowNumber() == 0) {
+        columns[0] = row.indexOf("datetime");
+        columns[1] = row.indexOf("open");
+        columns[2] = row.indexOf("high");
+        columns[3] = row.indexOf("low");
+        columns[4] = row.indexOf("close");
+        columns[5] = row.indexOf("volume");
+        if (columns[0] < 0) {
+          throw new MissingColumnException("datetime");
+        }
+      }
+      builder.add(row.getField(columns[0]), row.getDouble(columns[1]),
+          row.getDouble(columns[2]), row.getDouble(columns[3]), row.getDouble(columns[4]),
+          row.getLong(columns[5], Long.MIN_VALUE));
+    });
+    return builder.build();
+  }
+
+  /**
+   * Decodes a {@code price} CSV response.
+   *
+   * @param in the response body
+   * @param delimiter the field delimiter
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the price response, or a response with a null price if the body has no rows
+   * @throws IOException if the stream cannot be read or the body is not CSV
+   * @throws com.github.nicholascowan.twelvedata.exceptions.TwelveDataException if the body is a
+   *     JSON error response
+   */
+  public static PriceResponse decodePrice(InputStream in, char delimiter, int priceScale)
+      throws IOException {
+    String[] price = new String[1];
+    forEachRow(in, delimiter, row -> {
+      if (price[0] == null) {
+        int column = row.indexOf("price");
+        price[0] = row.getString(column >= 0 ? column : 0);
+      }
+    });
+    PriceResponse response = new PriceResponse(price[0]);
+    response.setPriceScale(priceScale);
+    response.releaseRawStrings();
+    return response;
+  }
+
+  /**
+   * One row of a CSV response.
+   *
+   * <p>Instances are reused for every row of a response; the field views must not be retained.
+   */
+  public static final class Row {
+    private String[] header = new String[0];
+    private Field[] fields = new Field[0];
+    private int fieldCount;
+    private int rowNumber = -1;
+
+    private Row() {}
+
+    /**
+     * Gets the zero-based number of this row, not counting the header.
+     *
+     * @return the row number
+     */
+    public int getRowNumber() {
+      return rowNumber;
+    }
+
+    public int getFieldCount() {
+      return fieldCount;
+    }
+
+    /**
+     * Finds a column by its header name.
+     *
+     * @param name the column name
+     * @return the column index, or -1 if the header has no such column
+     */
+    public int indexOf(String name) {
+      for (int i = 0; i < header.length; i++) {
+        if (header[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Gets a field as a view over the response bytes.
+     *
+     * @param index the column index
+     * @return the field, or an empty sequence if the row has no such column
+     */
+    public CharSequence getField(int index) {
+      return index >= 0 && index < fieldCount ? fields[index] : "";
+    }
+
+    /**
+     * Gets a field as a string.
+     *
+     * @param index the column index
+     * @return the field, or null if the row has no such column or the field is empty
+     */
+    public String getString(int index) {
+      CharSequence field = getField(index);
+      return field.length() == 0 ? null : field.toString();
+    }
+
+    /**
+     * Gets a numeric field as a double.
+     *
+     * @param index the column index
+     * @return the value, or {@code NaN} if the field is missing, empty or not a number
+     */
+    public double getDouble(int index) {
+      CharSequence field = getField(index);
+      if (field.length() == 0) {
+        return Double.NaN;
+      }
+      try {
+        return NumberDecoder.parseDouble(field);
+      } catch (NumberFormatException e) {
+        return Double.NaN;
+      }
+    }
+
+    /**
+     * Gets an integer field as a long.
+     *
+     * @param index the column index
+     * @param missing the value to return if the field is missing, empty or not an integer
+     * @return the value, or {@code missing}
+     */
+    public long getLong(int index, long missing) {
+      CharSequence field = getField(index);
+      if (field.length() == 0) {
+        return missing;
+      }
+      try {
+        return NumberDecoder.parseLong(field);
+      } catch (NumberFormatException e) {
+        return missing;
+      }
+    }
+
+    /**
+     * Gets a datetime field as seconds since 1970-01-01T00:00:00 on the local wall clock.
+     *
+     * @param index the column index
+     * @return the local epoch seconds
+     * @throws java.time.format.DateTimeParseException if the field is not an API datetime
+     */
+    public long getLocalEpochSecond(int index) {
+      return DateTimeParser.toLocalEpochSecond(getField(index));
+    }
+
+    private void setFieldCount(int count) {
+      if (count > fields.length) {
+        int old = fields.length;
+        fields = Arrays.copyOf(fields, Math.max(count, old * 2));
+        for (int i = old; i < fields.length; i++) {
+          fields[i] = new Field();
+        }
+      }
+      fieldCount = count;
+    }
+  }
+
+  /** Reads rows from a stream into a growing chunk buffer. */
+  private static final class Reader {
+    private final InputStream in;
+    private final byte delimiter;
+    private final Row row = new Row();
+    private byte[] buffer = new byte[CHUNK_SIZE];
+    private int start;
+    private int limit;
+    private boolean eof;
+
+    private Reader(InputStream in, byte delimiter) {
+      this.in = in;
+      this.delimiter = delimiter;
+    }
+
+    private int run(RowHandler handler) throws IOException {
+      boolean headerRead = false;
+      int end;
+      while ((end = nextLine()) >= 0) {
+        int lineEnd = end > start && buffer[end - 1] == '\r' ? end - 1 : end;
+        if (lineEnd > start) {
+          if (!headerRead) {
+            readHeader(lineEnd);
+            headerRead = true;
+          } else {
+            split(lineEnd);
+            row.rowNumber++;
+            try {
+              handler.onRow(row);
+            } catch (MissingColumnException e) {
+              throw new IOException("CSV response has no " + e.getMessage() + " column");
+            }
+          }
+        }
+        start = end + 1;
+      }
+      return row.rowNumber + 1;
+    }
+
+    /** Finds the end of the next line, reading more input as needed, or -1 at the end. */
+    private int nextLine() throws IOException {
+      int scan = start;
+      while (true) {
+        for (; scan < limit; scan++) {
+          if (buffer[scan] == '\n') {
+            return scan;
+          }
+        }
+        if (eof) {
+          return start < limit ? limit : -1;
+        }
+        scan -= start;
+        fill();
+      }
+    }
+
+    private void fill() throws IOException {
+      if (start > 0) {
+        System.arraycopy(buffer, start, buffer, 0, limit - start);
+        limit -= start;
+        start = 0;
+      }
+      if (limit == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+      int read = in.read(buffer, limit, buffer.length - limit);
+      if (read < 0) {
+        eof = true;
+      } else {
+        limit += read;
+      }
+    }
+
+    private void readHeader(int lineEnd) throws IOException {
+      int first = start;
+      if (first + 3 <= lineEnd && buffer[first] == (byte) 0xef && buffer[first + 1] == (byte) 0xbb
+          && buffer[first + 2] == (byte) 0xbf) {
+        first += 3;
+      }
+      if (first < lineEnd && (buffer[first] == '{' || buffer[first] == '[')) {
+        throw notCsv(first);
+      }
+      start = first;
+      split(lineEnd);
+      String[] header = new String[row.fieldCount];
+      for (int i = 0; i < header.length; i++) {
+        header[i] = row.fields[i].toString().trim();
+      }
+      row.header = header;
+    }
+
+    private void split(int lineEnd) {
+      int count = 1;
+      for (int i = start; i < lineEnd; i++) {
+        if (buffer[i] == delimiter) {
+          count++;
+        }
+      }
+      row.setFieldCount(count);
+      int fieldStart = start;
+      int field = 0;
+      int bits = 0;
+      for (int i = start; i <= lineEnd; i++) {
+        if (i == lineEnd || buffer[i] == delimiter) {
+          row.fields[field++].set(buffer, fieldStart, i - fieldStart, bits >= 0);
+          fieldStart = i + 1;
+          bits = 0;
+        } else {
+          bits |= buffer[i];
+        }
+      }
+    }
+
+    /** Maps a JSON body, which the API sends for errors, to an exception. */
+    private IOException notCsv(int first) throws IOException {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      body.write(buffer, first, limit - first);
+      byte[] chunk = new byte[8192];
+      int read;
+      while (body.size() < MAX_ERROR_BODY && (read = in.read(chunk)) >= 0) {
+        body.write(chunk, 0, read);
+      }
+      String text = body.toString(StandardCharsets.UTF_8);
+      try {
+        JsonNode json = objectMapper.readTree(text);
+        ModelUtils.checkForError(json);
+      } catch (IOException e) {
+        // Not JSON either; reported below
+      }
+      return new IOException("Expected a CSV response but got: "
+          + (text.length() > 200 ? text.substring(0, 200) + "..." : text));
+    }
+  }
+
+  /**
+   * A field of the current row. ASCII fields are read straight from the bytes, one char per
+   * byte; any other field is decoded as UTF-8 up front, so the view always matches {@link
+   * #toString()}.
+   */
+  private static final class Field implements CharSequence {
+    private byte[] bytes;
+    private int offset;
+    private int length;
+    private String decoded;
+
+    private void set(byte[] bytes, int offset, int length, boolean ascii) {
+      this.bytes = bytes;
+      this.offset = offset;
+      this.length = length;
+      this.decoded = ascii ? null : new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int length() {
+      return decoded != null ? decoded.length() : length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (decoded != null) {
+        return decoded.charAt(index);
+      }
+      if (index < 0 || index >= length) {
+        throw new StringIndexOutOfBoundsException(index);
+      }
+      return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      if (decoded != null) {
+        return decoded;
+      }
+      return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+    }
+  }
+
+  /** Thrown from a row handler to abort decoding when a required column is missing. */
+  private static final class MissingColumnException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private MissingColumnException(String column) {
+      super(column, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,319 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Fast decoder for the datetime strings returned by the TwelveData API.
+ *
+ * <p>The API formats datetimes as {@code yyyy-MM-dd} for daily and longer intervals and as {@code
+ * yyyy-MM-dd HH:mm:ss} for intraday intervals, in the exchange timezone. This class parses those
+ * fixed shapes directly from the characters (a {@code T} separator and a missing seconds field are
+ * also accepted) and converts them to epoch milliseconds without allocating.
+ *
+ * <p>Zone offsets are resolved through a per-timezone cache that remembers the offset window
+ * between two daylight-saving transitions, so consecutive bars of a series only consult {@link
+ * ZoneRules} when they cross a transition. Local times in a gap or overlap follow the same rules as
+ * {@link LocalDateTime#atZone(ZoneId)}.
+ */
+public final class DateTimeParser {
+
+  private static final long DAYS_0000_TO_1970 = 719_528L;
+  private static final long SECONDS_PER_DAY = 86_400L;
+
+  private static final ConcurrentMap<String, ZoneOffsetCache> ZONES = new ConcurrentHashMap<>();
+
+  // Private constructor to prevent instantiation
+  private DateTimeParser() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Converts an API datetime to epoch milliseconds.
+   *
+   * @param datetime the datetime in {@code yyyy-MM-dd[ HH:mm[:ss]]} format
+   * @param timezone the IANA timezone the datetime is expressed in, or null for UTC
+   * @return the epoch milliseconds
+   * @throws DateTimeParseException if the datetime does not have one of the supported shapes
+   * @throws java.time.DateTimeException if the timezone is not a valid zone id
+   */
+  public static long toEpochMillis(CharSequence datetime, String timezone) {
+    return localToEpochMillis(toLocalEpochSecond(datetime), timezone);
+  }
+
+  /**
+   * Converts an API datetime to epoch milliseconds.
+   *
+   * @param datetime the datetime in {@code yyyy-MM-dd[ HH:mm[:ss]]} format
+   * @param zone the zone the datetime is expressed in
+   * @return the epoch milliseconds
+   * @throws DateTimeParseException if the datetime does not have one of the supported shapes
+   */
+  public static long toEpochMillis(CharSequence datetime, ZoneId zone) {
+    return toEpochMillis(datetime, zone.getId());
+  }
+
+  /**
+   * Converts seconds since 1970-01-01T00:00:00 on the local wall clock to epoch milliseconds.
+   *
+   * @param localEpochSecond the local epoch seconds, as returned by {@link
+   *     #toLocalEpochSecond(CharSequence)}
+   * @param timezone the IANA timezone the local time is expressed in, or null for UTC
+   * @return the epoch milliseconds
+   * @throws java.time.DateTimeException if the timezone is not a valid zone id
+   */
+  public static long localToEpochMillis(long localEpochSecond, String timezone) {
+    if (timezone == null) {
+      return localEpochSecond * 1000L;
+    }
+    return zoneCache(timezone).toEpochSecond(localEpochSecond) * 1000L;
+  }
+
+  /**
+   * Converts an API datetime to seconds since 1970-01-01T00:00:00 on the local wall clock, without
+   * applying any zone offset.
+   *
+   * @param datetime the datetime in {@code yyyy-MM-dd[ HH:mm[:ss]]} format
+   * @return the local epoch seconds
+   * @throws DateTimeParseException if the datetime does not have one of the supported shapes
+   */
+  public static long toLocalEpochSecond(CharSequence datetime) {
+    int length = datetime.length();
+    if (length != 10 && length != 16 && length != 19) {
+      throw invalid(datetime, 0);
+    }
+    int year = digits(datetime, 0, 4);
+    expect(datetime, 4, '-');
+    int month = digits(datetime, 5, 2);
+    expect(datetime, 7, '-');
+    int day = digits(datetime, 8, 2);
+    if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+      throw invalid(datetime, 5);
+    }
+
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    if (length > 10) {
+      char separator = datetime.charAt(10);
+      if (separator != ' ' && separator != 'T') {
+        throw invalid(datetime, 10);
+      }
+      hour = digits(datetime, 11, 2);
+      expect(datetime, 13, ':');
+      minute = digits(datetime, 14, 2);
+      if (length == 19) {
+        expect(datetime, 16, ':');
+        second = digits(datetime, 17, 2);
+      }
+      if (hour > 23 || minute > 59 || second > 59) {
+        throw invalid(datetime, 11);
+      }
+    }
+    return toEpochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+  }
+
+  /**
+   * Formats seconds since 1970-01-01T00:00:00 on the local wall clock in the shape the API uses.
+   *
+   * @param localEpochSecond the local epoch seconds
+   * @param length the length of the result: 10 for {@code yyyy-MM-dd}, 16 for {@code yyyy-MM-dd
+   *     HH:mm} or 19 for {@code yyyy-MM-dd HH:mm:ss}
+   * @return the formatted datetime
+   * @throws IllegalArgumentException if the length is not supported or the year is not between 0
+   *     and 9999
+   */
+  public static String formatLocalEpochSecond(long localEpochSecond, int length) {
+    if (length != 10 && length != 16 && length != 19) {
+      throw new IllegalArgumentException("Unsupported datetime length: " + length);
+    }
+    long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(localEpochSecond, SECONDS_PER_DAY);
+
+    // Civil date from day count, counting eras of 400 years from 0000-03-01
+    long days = epochDay + DAYS_0000_TO_1970 - 60;
+    long era = Math.floorDiv(days, 146_097L);
+    int dayOfEra = (int) (days - era * 146_097L);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+    if (year < 0 || year > 9999) {
+      throw new IllegalArgumentException("Year out of range: " + year);
+    }
+
+    char[] chars = new char[length];
+    putDigits(chars, 0, (int) year, 4);
+    chars[4] = '-';
+    putDigits(chars, 5, month, 2);
+    chars[7] = '-';
+    putDigits(chars, 8, day, 2);
+    if (length > 10) {
+      chars[10] = ' ';
+      putDigits(chars, 11, secondOfDay / 3600, 2);
+      chars[13] = ':';
+      putDigits(chars, 14, secondOfDay / 60 % 60, 2);
+      if (length == 19) {
+        chars[16] = ':';
+        putDigits(chars, 17, secondOfDay % 60, 2);
+      }
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Gets the cached rules for a timezone.
+   *
+   * @param timezone the IANA timezone id (e.g., "America/New_York")
+   * @return the zone rules
+   * @throws java.time.DateTimeException if the timezone is not a valid zone id
+   */
+  public static ZoneRules getRules(String timezone) {
+    return zoneCache(timezone).rules;
+  }
+
+  private static ZoneOffsetCache zoneCache(String timezone) {
+    ZoneOffsetCache cache = ZONES.get(timezone);
+    if (cache == null) {
+      cache = ZONES.computeIfAbsent(timezone, id -> new ZoneOffsetCache(ZoneId.of(id)));
+    }
+    return cache;
+  }
+
+  static long toEpochDay(int year, int month, int day) {
+    long y = year;
+    long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  private static boolean isLeapYear(int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static int digits(CharSequence text, int offset, int count) {
+    int value = 0;
+    for (int i = offset; i < offset + count; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw invalid(text, i);
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static void putDigits(char[] chars, int offset, int value, int count) {
+    for (int i = offset + count - 1; i >= offset; i--) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static void expect(CharSequence text, int offset, char expected) {
+    if (text.charAt(offset) != expected) {
+      throw invalid(text, offset);
+    }
+  }
+
+  private static DateTimeParseException invalid(CharSequence text, int index) {
+    return new DateTimeParseException(
+        "Unsupported datetime format: " + text, text.toString(), index);
+  }
+
+  /** Offset window between two transitions of a zone, valid for epoch seconds in [from, to). */
+  private static final class OffsetWindow {
+    final long from;
+    final long to;
+    final int offsetSeconds;
+    // Local seconds below this value are ambiguous because the window starts with an overlap
+    final long ambiguousUntilLocal;
+
+    OffsetWindow(long from, long to, int offsetSeconds, long ambiguousUntilLocal) {
+      this.from = from;
+      this.to = to;
+      this.offsetSeconds = offsetSeconds;
+      this.ambiguousUntilLocal = ambiguousUntilLocal;
+    }
+  }
+
+  /** Per-zone cache of the most recently used offset window. */
+  private static final class ZoneOffsetCache {
+    final ZoneId zone;
+    final ZoneRules rules;
+    final boolean fixed;
+    final int fixedOffsetSeconds;
+    volatile OffsetWindow window;
+
+    ZoneOffsetCache(ZoneId zone) {
+      this.zone = zone;
+      this.rules = zone.getRules();
+      this.fixed = rules.isFixedOffset();
+      this.fixedOffsetSeconds = fixed ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : 0;
+    }
+
+    long toEpochSecond(long localSecond) {
+      if (fixed) {
+        return localSecond - fixedOffsetSeconds;
+      }
+      OffsetWindow current = window;
+      if (current != null && localSecond >= current.ambiguousUntilLocal) {
+        long epochSecond = localSecond - current.offsetSeconds;
+        if (epochSecond >= current.from && epochSecond < current.to) {
+          return epochSecond;
+        }
+      }
+      return resolve(localSecond);
+    }
+
+    private long resolve(long localSecond) {
+      long epochSecond =
+          LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC).atZone(zone).toEpochSecond();
+      Instant instant = Instant.ofEpochSecond(epochSecond);
+      ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+      ZoneOffsetTransition next = rules.nextTransition(instant);
+      long ambiguousUntil = Long.MIN_VALUE;
+      if (previous != null && previous.isOverlap()) {
+        ambiguousUntil =
+            previous.toEpochSecond() + previous.getOffsetBefore().getTotalSeconds();
+      }
+      window =
+          new OffsetWindow(
+              previous != null ? previous.toEpochSecond() : Long.MIN_VALUE,
+              next != null ? next.toEpochSecond() : Long.MAX_VALUE,
+              rules.getOffset(instant).getTotalSeconds(),
+              ambiguousUntil);
+      return epochSecond;
+    }
+  }
+}
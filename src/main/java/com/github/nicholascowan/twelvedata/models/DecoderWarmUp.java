@@ -0,0 +1,97 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Runs the response decoders on embedded sample payloads, so the JIT compiles them before the
+ * first real responses arrive.
+ *
+ * <p>Covers the JSON decoders of {@link ModelUtils} for quote, price, end-of-day and time series
+ * responses, the streaming {@link TimeSeriesBarReader} and the {@link CsvDecoder}, including the
+ * {@link NumberDecoder} and {@link DateTimeParser} paths they share. The samples use the {@code
+ * America/New_York} timezone, whose offset rules are loaded as a side effect.
+ *
+ * @see com.github.nicholascowan.twelvedata.TwelveDataClient#warmUp(int)
+ */
+public final class DecoderWarmUp {
+
+  /** Iterations after which the decoders of a typical JVM are compiled by C1 and mostly by C2. */
+  public static final int DEFAULT_ITERATIONS = 500;
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static final String QUOTE = "{\"symbol\":\"AAPL\",\"name\":\"Apple Inc\","
+      + "\"exchange\":\"NASDAQ\",\"mic_code\":\"XNAS\",\"currency\":\"USD\","
+      + "\"datetime\":\"2021-09-16\",\"timestamp\":1631772000,\"open\":\"148.44000\","
+      + "\"high\":\"148.96840\",\"low\":\"147.22099\",\"close\":\"148.85001\","
+      + "\"volume\":\"67903927\",\"previous_close\":\"149.09000\",\"change\":\"-0.23999\","
+      + "\"percent_change\":\"-0.16097\",\"average_volume\":\"83571571\","
+      + "\"is_market_open\":false,\"fifty_two_week\":{\"low\":\"103.10000\","
+      + "\"high\":\"157.25999\",\"low_change\":\"45.75001\",\"high_change\":\"-8.40999\","
+      + "\"low_change_percent\":\"44.37440\",\"high_change_percent\":\"-5.34782\","
+      + "\"range\":\"103.099998 - 157.259995\"}}";
+
+  private static final String PRICE = "{\"price\":\"200.99001\"}";
+
+  private static final String END_OF_DAY = "{\"symbol\":\"AAPL\",\"exchange\":\"NASDAQ\","
+      + "\"mic_code\":\"XNAS\",\"currency\":\"USD\",\"datetime\":\"2021-09-16\","
+      + "\"timestamp\":1631772000,\"close\":\"148.79000\"}";
+
+  private static final String TIME_SERIES = "{\"meta\":{\"symbol\":\"AAPL\",\"interval\":\"1min\","
+      + "\"currency\":\"USD\",\"exchange_timezone\":\"America/New_York\",\"exchange\":\"NASDAQ\","
+      + "\"mic_code\":\"XNAS\",\"type\":\"Common Stock\"},\"values\":["
+      + "{\"datetime\":\"2021-09-16 15:59:00\",\"open\":\"148.73500\",\"high\":\"148.86000\","
+      + "\"low\":\"148.73000\",\"close\":\"148.85001\",\"volume\":\"624277\"},"
+      + "{\"datetime\":\"2021-09-16 15:58:00\",\"open\":\"148.72000\",\"high\":\"148.75000\","
+      + "\"low\":\"148.71000\",\"close\":\"148.73500\",\"volume\":\"589123\"}],\"status\":\"ok\"}";
+
+  private static final byte[] TIME_SERIES_CSV = ("datetime;open;high;low;close;volume\n"
+      + "2021-09-16 15:59:00;148.73500;148.86000;148.73000;148.85001;624277\n"
+      + "2021-09-16 15:58:00;148.72000;148.75000;148.71000;148.73500;589123\n")
+      .getBytes(StandardCharsets.UTF_8);
+
+  private static final byte[] PRICE_CSV = "price\n200.99001\n".getBytes(StandardCharsets.UTF_8);
+
+  // Private constructor to prevent instantiation
+  private DecoderWarmUp() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Decodes every sample a number of times.
+   *
+   * @param iterations the number of times each sample is decoded
+   * @return the number of payloads decoded
+   * @throws TwelveDataException if a sample cannot be decoded, which is a bug
+   */
+  public static int run(int iterations) {
+    byte[] timeSeries = TIME_SERIES.getBytes(StandardCharsets.UTF_8);
+    int decoded = 0;
+    try {
+      for (int i = 0; i < iterations; i++) {
+        ModelUtils.toQuoteResponse(objectMapper.readTree(QUOTE), 5);
+        ModelUtils.toPriceResponse(objectMapper.readTree(PRICE), 5);
+        ModelUtils.toEndOfDayResponse(objectMapper.readTree(END_OF_DAY), 5);
+        ModelUtils.toTimeSeriesResponse(objectMapper.readTree(TIME_SERIES), 5);
+        try (TimeSeriesBarReader bars =
+            new TimeSeriesBarReader(new ByteArrayInputStream(timeSeries), 5)) {
+          while (bars.hasNext()) {
+            bars.next();
+          }
+        }
+        CsvDecoder.decodeTimeSeries(new ByteArrayInputStream(TIME_SERIES_CSV),
+            CsvDecoder.DEFAULT_DELIMITER, "America/New_York", 5);
+        CsvDecoder.decodePrice(new ByteArrayInputStream(PRICE_CSV),
+            CsvDecoder.DEFAULT_DELIMITER, 5);
+        decoded += 7;
+      }
+    } catch (IOException e) {
+      throw new TwelveDataException("Failed to decode warm-up sample", e);
+    }
+    return decoded;
+  }
+}
@@ -1,5 +1,7 @@
 package com.github.nicholascowan.twelvedata.models;
 
+import java.time.ZoneId;
+
 /**
  * Response model for the EndOfDay endpoint.
  * 
@@ -27,6 +29,9 @@ public class EndOfDayResponse {
   private String currency;
   private String datetime;
   private String close;
+  private int priceScale = -1;
+  private boolean released;
+  private double closeValue = Double.NaN;
 
   /**
    * Default constructor.
@@ -51,6 +56,7 @@ public class EndOfDayResponse {
     this.currency = currency;
     this.datetime = datetime;
     this.close = close;
+    this.closeValue = NumberDecoder.decodeDoubleOrNaN(close);
   }
 
   /**
@@ -149,7 +155,7 @@ public class EndOfDayResponse {
    * @return the closing price
    */
   public String getClose() {
-    return close;
+    return NumberDecoder.render(close, closeValue, priceScale);
   }
 
   /**
@@ -159,6 +165,7 @@ public class EndOfDayResponse {
    */
   public void setClose(String close) {
     this.close = close;
+    this.closeValue = NumberDecoder.decodeDoubleOrNaN(close);
   }
 
   /**
@@ -168,7 +175,7 @@ public class EndOfDayResponse {
    */
   public Double getCloseAsDouble() {
     try {
-      return close != null ? Double.parseDouble(close) : null;
+      return NumberDecoder.asDouble(close, closeValue);
     } catch (NumberFormatException e) {
       return null;
     }
@@ -181,12 +188,85 @@ public class EndOfDayResponse {
    */
   public Float getCloseAsFloat() {
     try {
-      return close != null ? Float.parseFloat(close) : null;
+      String text = getClose();
+      return text != null ? Float.parseFloat(text) : null;
     } catch (NumberFormatException e) {
       return null;
     }
   }
 
+  /**
+   * Gets the decoded closing price without boxing.
+   *
+   * @return the closing price, or {@code NaN} if it is not set or not a number
+   */
+  public double getCloseValue() {
+    return closeValue;
+  }
+
+  /**
+   * Drops the numeric strings that the string getters can rebuild exactly from the decoded values
+   * at the {@linkplain #getPriceScale() price scale}. Strings with a different number of fraction
+   * digits, or that are not numbers, are kept.
+   *
+   * <p>Has no effect while the price scale is unknown. Afterwards the price scale can no longer
+   * change.
+   */
+  public void releaseRawStrings() {
+    if (priceScale < 0) {
+      return;
+    }
+    released = true;
+    if (NumberDecoder.isCanonical(close, priceScale)) {
+      close = null;
+    }
+  }
+
+  /**
+   * Gets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @return the price scale, or -1 if unknown and inferred from each string
+   */
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  /**
+   * Sets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @param priceScale the price scale, or -1 to infer it from each string
+   * @throws IllegalStateException if the raw strings were released at another scale, as the
+   *     string getters would no longer return the text the API sent
+   */
+  public void setPriceScale(int priceScale) {
+    if (released && priceScale != this.priceScale) {
+      throw new IllegalStateException("Price scale " + this.priceScale
+          + " cannot change after the raw strings were released");
+    }
+    this.priceScale = priceScale;
+  }
+
+  /**
+   * Gets the close price as an exact fixed-point decimal at the price scale.
+   *
+   * @return the close price as a scaled decimal, or null if not set
+   * @throws NumberFormatException if the close price is not a plain decimal
+   */
+  public ScaledDecimal getCloseAsScaled() {
+    return NumberDecoder.asScaled(close, closeValue, priceScale);
+  }
+
+  /**
+   * Converts the datetime to epoch milliseconds in the given zone.
+   *
+   * @param zone the zone the datetime is expressed in
+   * @return the epoch milliseconds, or null if the datetime is not set
+   * @throws java.time.format.DateTimeParseException if the datetime has an unsupported format
+   */
+  public Long getEpochMillis(ZoneId zone) {
+    return datetime != null ? DateTimeParser.toEpochMillis(datetime, zone) : null;
+  }
+
   @Override
   public String toString() {
     return "EndOfDayResponse{"
@@ -213,11 +293,11 @@ public class EndOfDayResponse {
         && java.util.Objects.equals(micCode, that.micCode)
         && java.util.Objects.equals(currency, that.currency)
         && java.util.Objects.equals(datetime, that.datetime)
-        && java.util.Objects.equals(close, that.close);
+        && java.util.Objects.equals(getClose(), that.getClose());
   }
 
   @Override
   public int hashCode() {
-    return java.util.Objects.hash(symbol, exchange, micCode, currency, datetime, close);
+    return java.util.Objects.hash(symbol, exchange, micCode, currency, datetime, getClose());
   }
 } 
\ No newline at end of file
@@ -9,6 +9,14 @@ public class FiftyTwoWeek {
   private String lowChangePercent;
   private String highChangePercent;
   private String range;
+  private int priceScale = -1;
+  private boolean released;
+  private double lowValue = Double.NaN;
+  private double highValue = Double.NaN;
+  private double lowChangeValue = Double.NaN;
+  private double highChangeValue = Double.NaN;
+  private double lowChangePercentValue = Double.NaN;
+  private double highChangePercentValue = Double.NaN;
 
   /** Default constructor for FiftyTwoWeek. */
   public FiftyTwoWeek() {}
@@ -33,61 +41,73 @@ public class FiftyTwoWeek {
       String highChangePercent,
       String range) {
     this.low = low;
+    this.lowValue = NumberDecoder.decodeDoubleOrNaN(low);
     this.high = high;
+    this.highValue = NumberDecoder.decodeDoubleOrNaN(high);
     this.lowChange = lowChange;
+    this.lowChangeValue = NumberDecoder.decodeDoubleOrNaN(lowChange);
     this.highChange = highChange;
+    this.highChangeValue = NumberDecoder.decodeDoubleOrNaN(highChange);
     this.lowChangePercent = lowChangePercent;
+    this.lowChangePercentValue = NumberDecoder.decodeDoubleOrNaN(lowChangePercent);
     this.highChangePercent = highChangePercent;
+    this.highChangePercentValue = NumberDecoder.decodeDoubleOrNaN(highChangePercent);
     this.range = range;
   }
 
   // Getters and Setters
   public String getLow() {
-    return low;
+    return NumberDecoder.render(low, lowValue, priceScale);
   }
 
   public void setLow(String low) {
     this.low = low;
+    this.lowValue = NumberDecoder.decodeDoubleOrNaN(low);
   }
 
   public String getHigh() {
-    return high;
+    return NumberDecoder.render(high, highValue, priceScale);
   }
 
   public void setHigh(String high) {
     this.high = high;
+    this.highValue = NumberDecoder.decodeDoubleOrNaN(high);
   }
 
   public String getLowChange() {
-    return lowChange;
+    return NumberDecoder.render(lowChange, lowChangeValue, priceScale);
   }
 
   public void setLowChange(String lowChange) {
     this.lowChange = lowChange;
+    this.lowChangeValue = NumberDecoder.decodeDoubleOrNaN(lowChange);
   }
 
   public String getHighChange() {
-    return highChange;
+    return NumberDecoder.render(highChange, highChangeValue, priceScale);
   }
 
   public void setHighChange(String highChange) {
     this.highChange = highChange;
+    this.highChangeValue = NumberDecoder.decodeDoubleOrNaN(highChange);
   }
 
   public String getLowChangePercent() {
-    return lowChangePercent;
+    return NumberDecoder.render(lowChangePercent, lowChangePercentValue, priceScale);
   }
 
   public void setLowChangePercent(String lowChangePercent) {
     this.lowChangePercent = lowChangePercent;
+    this.lowChangePercentValue = NumberDecoder.decodeDoubleOrNaN(lowChangePercent);
   }
 
   public String getHighChangePercent() {
-    return highChangePercent;
+    return NumberDecoder.render(highChangePercent, highChangePercentValue, priceScale);
   }
 
   public void setHighChangePercent(String highChangePercent) {
     this.highChangePercent = highChangePercent;
+    this.highChangePercentValue = NumberDecoder.decodeDoubleOrNaN(highChangePercent);
   }
 
   public String getRange() {
@@ -100,49 +120,178 @@ public class FiftyTwoWeek {
 
   // Helper methods to get numeric values
   public Double getLowAsDouble() {
-    return low != null ? Double.parseDouble(low) : null;
+    return NumberDecoder.asDouble(low, lowValue);
   }
 
   public Double getHighAsDouble() {
-    return high != null ? Double.parseDouble(high) : null;
+    return NumberDecoder.asDouble(high, highValue);
   }
 
   public Double getLowChangeAsDouble() {
-    return lowChange != null ? Double.parseDouble(lowChange) : null;
+    return NumberDecoder.asDouble(lowChange, lowChangeValue);
   }
 
   public Double getHighChangeAsDouble() {
-    return highChange != null ? Double.parseDouble(highChange) : null;
+    return NumberDecoder.asDouble(highChange, highChangeValue);
   }
 
   public Double getLowChangePercentAsDouble() {
-    return lowChangePercent != null ? Double.parseDouble(lowChangePercent) : null;
+    return NumberDecoder.asDouble(lowChangePercent, lowChangePercentValue);
   }
 
   public Double getHighChangePercentAsDouble() {
-    return highChangePercent != null ? Double.parseDouble(highChangePercent) : null;
+    return NumberDecoder.asDouble(highChangePercent, highChangePercentValue);
+  }
+
+  /**
+   * Gets the decoded 52-week low without boxing.
+   *
+   * @return the 52-week low, or {@code NaN} if it is not set or not a number
+   */
+  public double getLowValue() {
+    return lowValue;
+  }
+
+  /**
+   * Gets the decoded 52-week high without boxing.
+   *
+   * @return the 52-week high, or {@code NaN} if it is not set or not a number
+   */
+  public double getHighValue() {
+    return highValue;
+  }
+
+  /**
+   * Gets the decoded change from the 52-week low without boxing.
+   *
+   * @return the change from the 52-week low, or {@code NaN} if it is not set or not a number
+   */
+  public double getLowChangeValue() {
+    return lowChangeValue;
+  }
+
+  /**
+   * Gets the decoded change from the 52-week high without boxing.
+   *
+   * @return the change from the 52-week high, or {@code NaN} if it is not set or not a number
+   */
+  public double getHighChangeValue() {
+    return highChangeValue;
+  }
+
+  /**
+   * Gets the decoded percentage change from the 52-week low without boxing.
+   *
+   * @return the percentage change from the 52-week low, or {@code NaN} if it is not set or not a
+   *     number
+   */
+  public double getLowChangePercentValue() {
+    return lowChangePercentValue;
+  }
+
+  /**
+   * Gets the decoded percentage change from the 52-week high without boxing.
+   *
+   * @return the percentage change from the 52-week high, or {@code NaN} if it is not set or not a
+   *     number
+   */
+  public double getHighChangePercentValue() {
+    return highChangePercentValue;
+  }
+
+  /**
+   * Drops the numeric strings that the string getters can rebuild exactly from the decoded values
+   * at the {@linkplain #getPriceScale() price scale}. Strings with a different number of fraction
+   * digits, or that are not numbers, are kept.
+   *
+   * <p>Has no effect while the price scale is unknown. Afterwards the price scale can no longer
+   * change.
+   */
+  public void releaseRawStrings() {
+    if (priceScale < 0) {
+      return;
+    }
+    released = true;
+    if (NumberDecoder.isCanonical(low, priceScale)) {
+      low = null;
+    }
+    if (NumberDecoder.isCanonical(high, priceScale)) {
+      high = null;
+    }
+    if (NumberDecoder.isCanonical(lowChange, priceScale)) {
+      lowChange = null;
+    }
+    if (NumberDecoder.isCanonical(highChange, priceScale)) {
+      highChange = null;
+    }
+    if (NumberDecoder.isCanonical(lowChangePercent, priceScale)) {
+      lowChangePercent = null;
+    }
+    if (NumberDecoder.isCanonical(highChangePercent, priceScale)) {
+      highChangePercent = null;
+    }
+  }
+
+  /**
+   * Gets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @return the price scale, or -1 if unknown and inferred from each string
+   */
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  /**
+   * Sets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @param priceScale the price scale, or -1 to infer it from each string
+   * @throws IllegalStateException if the raw strings were released at another scale, as the
+   *     string getters would no longer return the text the API sent
+   */
+  public void setPriceScale(int priceScale) {
+    if (released && priceScale != this.priceScale) {
+      throw new IllegalStateException("Price scale " + this.priceScale
+          + " cannot change after the raw strings were released");
+    }
+    this.priceScale = priceScale;
+  }
+
+  public ScaledDecimal getLowAsScaled() {
+    return NumberDecoder.asScaled(low, lowValue, priceScale);
+  }
+
+  public ScaledDecimal getHighAsScaled() {
+    return NumberDecoder.asScaled(high, highValue, priceScale);
+  }
+
+  public ScaledDecimal getLowChangeAsScaled() {
+    return NumberDecoder.asScaled(lowChange, lowChangeValue, priceScale);
+  }
+
+  public ScaledDecimal getHighChangeAsScaled() {
+    return NumberDecoder.asScaled(highChange, highChangeValue, priceScale);
   }
 
   @Override
   public String toString() {
     return "FiftyTwoWeek{"
         + "low='"
-        + low
+        + getLow()
         + '\''
         + ", high='"
-        + high
+        + getHigh()
         + '\''
         + ", lowChange='"
-        + lowChange
+        + getLowChange()
         + '\''
         + ", highChange='"
-        + highChange
+        + getHighChange()
         + '\''
         + ", lowChangePercent='"
-        + lowChangePercent
+        + getLowChangePercent()
         + '\''
         + ", highChangePercent='"
-        + highChangePercent
+        + getHighChangePercent()
         + '\''
         + ", range='"
         + range
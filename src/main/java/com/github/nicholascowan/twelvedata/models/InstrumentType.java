@@ -0,0 +1,71 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instrument type returned in the {@code type} field of the response meta.
+ *
+ * <p>Each constant carries the code the API uses, e.g. {@code COMMON_STOCK.getCode()} returns
+ * {@code "Common Stock"}.
+ */
+public enum InstrumentType {
+  COMMON_STOCK("Common Stock"),
+  PREFERRED_STOCK("Preferred Stock"),
+  ETF("ETF"),
+  REIT("REIT"),
+  MUTUAL_FUND("Mutual Fund"),
+  CLOSED_END_FUND("Closed-end Fund"),
+  INDEX("Index"),
+  PHYSICAL_CURRENCY("Physical Currency"),
+  DIGITAL_CURRENCY("Digital Currency"),
+  BOND("Bond"),
+  WARRANT("Warrant"),
+  RIGHT("Right"),
+  UNIT("Unit"),
+  TRUST("Trust"),
+  LIMITED_PARTNERSHIP("Limited Partnership"),
+  DEPOSITARY_RECEIPT("Depositary Receipt"),
+  AMERICAN_DEPOSITARY_RECEIPT("American Depositary Receipt"),
+  GLOBAL_DEPOSITARY_RECEIPT("Global Depositary Receipt"),
+  EXCHANGE_TRADED_NOTE("Exchange-Traded Note"),
+  STRUCTURED_PRODUCT("Structured Product");
+
+  private static final Map<String, InstrumentType> BY_CODE = new HashMap<>();
+
+  static {
+    for (InstrumentType value : values()) {
+      BY_CODE.put(value.code, value);
+    }
+  }
+
+  private final String code;
+
+  InstrumentType(String code) {
+    this.code = code;
+  }
+
+  /**
+   * Gets the code the API uses for this value.
+   *
+   * @return the API code
+   */
+  public String getCode() {
+    return code;
+  }
+
+  /**
+   * Looks up a value by its API code.
+   *
+   * @param code the API code, may be null
+   * @return the matching value, or null if the code is null or unknown
+   */
+  public static InstrumentType fromCode(String code) {
+    return code != null ? BY_CODE.get(code) : null;
+  }
+
+  @Override
+  public String toString() {
+    return code;
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bar interval of a time series, as sent in the {@code interval} parameter and returned in the
+ * response meta.
+ *
+ * <p>Each constant carries the code the API uses, e.g. {@code ONE_DAY.getCode()} returns
+ * {@code "1day"}.
+ */
+public enum Interval {
+  ONE_MINUTE("1min"),
+  FIVE_MINUTES("5min"),
+  FIFTEEN_MINUTES("15min"),
+  THIRTY_MINUTES("30min"),
+  FORTY_FIVE_MINUTES("45min"),
+  ONE_HOUR("1h"),
+  TWO_HOURS("2h"),
+  FOUR_HOURS("4h"),
+  EIGHT_HOURS("8h"),
+  ONE_DAY("1day"),
+  ONE_WEEK("1week"),
+  ONE_MONTH("1month");
+
+  private static final Map<String, Interval> BY_CODE = new HashMap<>();
+
+  static {
+    for (Interval value : values()) {
+      BY_CODE.put(value.code, value);
+    }
+  }
+
+  private final String code;
+
+  Interval(String code) {
+    this.code = code;
+  }
+
+  /**
+   * Gets the code the API uses for this value.
+   *
+   * @return the API code
+   */
+  public String getCode() {
+    return code;
+  }
+
+  /**
+   * Looks up a value by its API code.
+   *
+   * @param code the API code, may be null
+   * @return the matching value, or null if the code is null or unknown
+   */
+  public static Interval fromCode(String code) {
+    return code != null ? BY_CODE.get(code) : null;
+  }
+
+  @Override
+  public String toString() {
+    return code;
+  }
+}
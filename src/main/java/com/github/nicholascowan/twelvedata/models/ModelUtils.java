@@ -3,22 +3,25 @@ package com.github.nicholascowan.twelvedata.models;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
 import com.github.nicholascowan.twelvedata.exceptions.ForbiddenException;
+import com.github.nicholascowan.twelvedata.exceptions.NoDataException;
 import com.github.nicholascowan.twelvedata.exceptions.NotFoundException;
 import com.github.nicholascowan.twelvedata.exceptions.ParameterTooLongException;
 import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
 import com.github.nicholascowan.twelvedata.exceptions.ServerErrorException;
 import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
 import com.github.nicholascowan.twelvedata.exceptions.UnauthorizedException;
+import java.time.DateTimeException;
+import java.time.zone.ZoneRulesException;
 import java.util.List;
 
 /** Utility class for converting JSON responses to model objects. */
 public class ModelUtils {
   private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final int UNKNOWN_SCALE = -1;
 
   /** Check if the JSON response contains an error and throw appropriate exception. */
-  private static void checkForError(JsonNode jsonNode) {
+  static void checkForError(JsonNode jsonNode) {
     if (jsonNode.has("status")) {
       String status = jsonNode.get("status").asText();
       if ("error".equals(status)) {
@@ -37,7 +40,7 @@ public class ModelUtils {
         if (code != null) {
           switch (code) {
             case 400:
-              throw new BadRequestException(message);
+              throw NoDataException.badRequest(message);
             case 401:
               throw new UnauthorizedException(message);
             case 403:
@@ -65,6 +68,20 @@ public class ModelUtils {
 
   /** Convert JsonNode to TimeSeriesResponse. */
   public static TimeSeriesResponse toTimeSeriesResponse(JsonNode jsonNode) {
+    return toTimeSeriesResponse(jsonNode, UNKNOWN_SCALE);
+  }
+
+  /**
+   * Convert JsonNode to TimeSeriesResponse, decoding prices at the given scale.
+   *
+   * <p>When the scale is known, price and volume strings that match it are released once decoded
+   * and rendered again on demand (see {@link TimeSeriesValue#releaseRawStrings()}).
+   *
+   * @param jsonNode the JSON response
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded response, or null if jsonNode is null
+   */
+  public static TimeSeriesResponse toTimeSeriesResponse(JsonNode jsonNode, int priceScale) {
     if (jsonNode == null) {
       return null;
     }
@@ -79,32 +96,7 @@ public class ModelUtils {
     }
 
     if (jsonNode.has("meta")) {
-      JsonNode metaNode = jsonNode.get("meta");
-      TimeSeriesMeta meta = new TimeSeriesMeta();
-
-      if (metaNode.has("symbol")) {
-        meta.setSymbol(metaNode.get("symbol").asText());
-      }
-      if (metaNode.has("interval")) {
-        meta.setInterval(metaNode.get("interval").asText());
-      }
-      if (metaNode.has("currency")) {
-        meta.setCurrency(metaNode.get("currency").asText());
-      }
-      if (metaNode.has("exchange_timezone")) {
-        meta.setExchangeTimezone(metaNode.get("exchange_timezone").asText());
-      }
-      if (metaNode.has("exchange")) {
-        meta.setExchange(metaNode.get("exchange").asText());
-      }
-      if (metaNode.has("mic_code")) {
-        meta.setMicCode(metaNode.get("mic_code").asText());
-      }
-      if (metaNode.has("type")) {
-        meta.setType(metaNode.get("type").asText());
-      }
-
-      response.setMeta(meta);
+      response.setMeta(parseTimeSeriesMeta(jsonNode.get("meta")));
     }
 
     if (jsonNode.has("values") && jsonNode.get("values").isArray()) {
@@ -117,6 +109,63 @@ public class ModelUtils {
         // Fallback to manual parsing if automatic conversion fails
         response.setValues(parseTimeSeriesValues(jsonNode.get("values")));
       }
+      decodeEpochMillis(response);
+      if (priceScale >= 0) {
+        for (TimeSeriesValue value : response.getValues()) {
+          value.setPriceScale(priceScale);
+          value.releaseRawStrings();
+        }
+      }
+    }
+
+    return response;
+  }
+
+  /**
+   * Convert JsonNode to TimeSeriesResponse whose values are stored as primitive columns.
+   *
+   * <p>The bars are decoded straight into a {@link ColumnarTimeSeriesValues} list without creating
+   * a {@link TimeSeriesValue} per bar. {@link TimeSeriesResponse#getValues()} still returns a
+   * {@code List<TimeSeriesValue>}, whose elements are read-only views.
+   *
+   * @param jsonNode the JSON response
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded response, or null if jsonNode is null
+   */
+  public static TimeSeriesResponse toColumnarTimeSeriesResponse(JsonNode jsonNode, int priceScale) {
+    if (jsonNode == null) {
+      return null;
+    }
+
+    // Check for error response first
+    checkForError(jsonNode);
+
+    TimeSeriesResponse response = new TimeSeriesResponse();
+
+    if (jsonNode.has("status")) {
+      response.setStatus(jsonNode.get("status").asText());
+    }
+
+    if (jsonNode.has("meta")) {
+      response.setMeta(parseTimeSeriesMeta(jsonNode.get("meta")));
+    }
+
+    if (jsonNode.has("values") && jsonNode.get("values").isArray()) {
+      JsonNode valuesNode = jsonNode.get("values");
+      TimeSeriesMeta meta = response.getMeta();
+      String timezone = meta != null ? meta.getExchangeTimezone() : null;
+      ColumnarTimeSeriesValues.Builder builder =
+          ColumnarTimeSeriesValues.builder(valuesNode.size(), timezone, priceScale);
+      for (JsonNode valueNode : valuesNode) {
+        builder.add(
+            textOrNull(valueNode, "datetime"),
+            textOrNull(valueNode, "open"),
+            textOrNull(valueNode, "high"),
+            textOrNull(valueNode, "low"),
+            textOrNull(valueNode, "close"),
+            textOrNull(valueNode, "volume"));
+      }
+      response.setValues(builder.build());
     }
 
     return response;
@@ -124,6 +173,17 @@ public class ModelUtils {
 
   /** Convert JsonNode to QuoteResponse. */
   public static QuoteResponse toQuoteResponse(JsonNode jsonNode) {
+    return toQuoteResponse(jsonNode, UNKNOWN_SCALE);
+  }
+
+  /**
+   * Convert JsonNode to QuoteResponse, decoding prices at the given scale.
+   *
+   * @param jsonNode the JSON response
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded response, or null if jsonNode is null
+   */
+  public static QuoteResponse toQuoteResponse(JsonNode jsonNode, int priceScale) {
     if (jsonNode == null) {
       return null;
     }
@@ -141,13 +201,13 @@ public class ModelUtils {
       response.setName(jsonNode.get("name").asText());
     }
     if (jsonNode.has("exchange")) {
-      response.setExchange(jsonNode.get("exchange").asText());
+      response.setExchange(metadataText(jsonNode, "exchange"));
     }
     if (jsonNode.has("mic_code")) {
-      response.setMicCode(jsonNode.get("mic_code").asText());
+      response.setMicCode(metadataText(jsonNode, "mic_code"));
     }
     if (jsonNode.has("currency")) {
-      response.setCurrency(jsonNode.get("currency").asText());
+      response.setCurrency(metadataText(jsonNode, "currency"));
     }
     if (jsonNode.has("datetime")) {
       response.setDatetime(jsonNode.get("datetime").asText());
@@ -220,14 +280,29 @@ public class ModelUtils {
         fiftyTwoWeek.setRange(fiftyTwoWeekNode.get("range").asText());
       }
 
+      fiftyTwoWeek.setPriceScale(priceScale);
       response.setFiftyTwoWeek(fiftyTwoWeek);
     }
 
+    response.setPriceScale(priceScale);
+    response.releaseRawStrings();
+
     return response;
   }
 
   /** Convert JsonNode to PriceResponse. */
   public static PriceResponse toPriceResponse(JsonNode jsonNode) {
+    return toPriceResponse(jsonNode, UNKNOWN_SCALE);
+  }
+
+  /**
+   * Convert JsonNode to PriceResponse, decoding prices at the given scale.
+   *
+   * @param jsonNode the JSON response
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded response, or null if jsonNode is null
+   */
+  public static PriceResponse toPriceResponse(JsonNode jsonNode, int priceScale) {
     if (jsonNode == null) {
       return null;
     }
@@ -240,12 +315,25 @@ public class ModelUtils {
     if (jsonNode.has("price")) {
       response.setPrice(jsonNode.get("price").asText());
     }
+    response.setPriceScale(priceScale);
+    response.releaseRawStrings();
 
     return response;
   }
 
   /** Convert JsonNode to EndOfDayResponse. */
   public static EndOfDayResponse toEndOfDayResponse(JsonNode jsonNode) {
+    return toEndOfDayResponse(jsonNode, UNKNOWN_SCALE);
+  }
+
+  /**
+   * Convert JsonNode to EndOfDayResponse, decoding prices at the given scale.
+   *
+   * @param jsonNode the JSON response
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded response, or null if jsonNode is null
+   */
+  public static EndOfDayResponse toEndOfDayResponse(JsonNode jsonNode, int priceScale) {
     if (jsonNode == null) {
       return null;
     }
@@ -259,13 +347,13 @@ public class ModelUtils {
       response.setSymbol(jsonNode.get("symbol").asText());
     }
     if (jsonNode.has("exchange")) {
-      response.setExchange(jsonNode.get("exchange").asText());
+      response.setExchange(metadataText(jsonNode, "exchange"));
     }
     if (jsonNode.has("mic_code")) {
-      response.setMicCode(jsonNode.get("mic_code").asText());
+      response.setMicCode(metadataText(jsonNode, "mic_code"));
     }
     if (jsonNode.has("currency")) {
-      response.setCurrency(jsonNode.get("currency").asText());
+      response.setCurrency(metadataText(jsonNode, "currency"));
     }
     if (jsonNode.has("datetime")) {
       response.setDatetime(jsonNode.get("datetime").asText());
@@ -273,12 +361,25 @@ public class ModelUtils {
     if (jsonNode.has("close")) {
       response.setClose(jsonNode.get("close").asText());
     }
+    response.setPriceScale(priceScale);
+    response.releaseRawStrings();
 
     return response;
   }
 
   /** Convert JsonNode to DailyResponse. */
   public static DailyResponse toDailyResponse(JsonNode jsonNode) {
+    return toDailyResponse(jsonNode, UNKNOWN_SCALE);
+  }
+
+  /**
+   * Convert JsonNode to DailyResponse, decoding prices at the given scale.
+   *
+   * @param jsonNode the JSON response
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @return the decoded response, or null if jsonNode is null
+   */
+  public static DailyResponse toDailyResponse(JsonNode jsonNode, int priceScale) {
     if (jsonNode == null) {
       return null;
     }
@@ -287,7 +388,7 @@ public class ModelUtils {
     checkForError(jsonNode);
 
     // Convert to TimeSeriesResponse first, then to DailyResponse
-    TimeSeriesResponse timeSeriesResponse = toTimeSeriesResponse(jsonNode);
+    TimeSeriesResponse timeSeriesResponse = toTimeSeriesResponse(jsonNode, priceScale);
     if (timeSeriesResponse == null) {
       return null;
     }
@@ -324,6 +425,71 @@ public class ModelUtils {
     return response;
   }
 
+  /** Get a field as text, or null if it is missing. */
+  private static String textOrNull(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value != null ? value.asText() : null;
+  }
+
+  /**
+   * Get a metadata field as its canonical shared instance. Only fields drawn from closed sets go
+   * through here (exchanges, MIC codes, currencies, timezones, intervals and instrument types);
+   * symbols, names and datetimes do not.
+   */
+  private static String metadataText(JsonNode node, String field) {
+    return StringTable.shared().canonicalize(node.get(field).asText());
+  }
+
+  /** Decode the datetime of every value to epoch milliseconds in the exchange timezone. */
+  private static void decodeEpochMillis(TimeSeriesResponse response) {
+    TimeSeriesMeta meta = response.getMeta();
+    String timezone = meta != null ? meta.getExchangeTimezone() : null;
+    if (timezone == null || response.getValues() == null) {
+      return;
+    }
+    for (TimeSeriesValue value : response.getValues()) {
+      if (value.getDatetime() == null) {
+        continue;
+      }
+      try {
+        value.setEpochMillis(DateTimeParser.toEpochMillis(value.getDatetime(), timezone));
+      } catch (ZoneRulesException e) {
+        // An unknown timezone fails every row the same way
+        return;
+      } catch (DateTimeException e) {
+        // Leave this row undecoded for an unexpected datetime format
+      }
+    }
+  }
+
+  /** Parses a time series {@code meta} object; {@link TimeSeriesBarReader} reuses it. */
+  static TimeSeriesMeta parseTimeSeriesMeta(JsonNode metaNode) {
+    TimeSeriesMeta meta = new TimeSeriesMeta();
+
+    if (metaNode.has("symbol")) {
+      meta.setSymbol(metaNode.get("symbol").asText());
+    }
+    if (metaNode.has("interval")) {
+      meta.setInterval(metadataText(metaNode, "interval"));
+    }
+    if (metaNode.has("currency")) {
+      meta.setCurrency(metadataText(metaNode, "currency"));
+    }
+    if (metaNode.has("exchange_timezone")) {
+      meta.setExchangeTimezone(metadataText(metaNode, "exchange_timezone"));
+    }
+    if (metaNode.has("exchange")) {
+      meta.setExchange(metadataText(metaNode, "exchange"));
+    }
+    if (metaNode.has("mic_code")) {
+      meta.setMicCode(metadataText(metaNode, "mic_code"));
+    }
+    if (metaNode.has("type")) {
+      meta.setType(metadataText(metaNode, "type"));
+    }
+    return meta;
+  }
+
   /** Manual parsing of time series values as fallback. */
   private static List<TimeSeriesValue> parseTimeSeriesValues(JsonNode valuesNode) {
     List<TimeSeriesValue> values = new java.util.ArrayList<>();
@@ -0,0 +1,213 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.time.DateTimeException;
+
+/**
+ * Reusable bar filled by {@link TimeSeriesBarReader} for every value of a streamed time series.
+ *
+ * <p>A reader hands out the same instance for every bar and overwrites it when it moves on, so a
+ * bar must not be retained; call {@link #toTimeSeriesValue()} to keep a copy. Prices and volume
+ * are kept as primitives and the datetime as seconds on the local wall clock, so reading a bar
+ * does not create strings unless {@link #getDatetime()} is called.
+ */
+public final class MutableBar {
+  private static final long NO_EPOCH_MILLIS = Long.MIN_VALUE;
+  private static final long NO_VOLUME = Long.MIN_VALUE;
+
+  private TimeSeriesMeta meta;
+  private int priceScale = -1;
+  private int index = -1;
+  private long localEpochSecond;
+  private int datetimeLength;
+  private String datetimeText;
+  private long epochMillis = NO_EPOCH_MILLIS;
+  private double open = Double.NaN;
+  private double high = Double.NaN;
+  private double low = Double.NaN;
+  private double close = Double.NaN;
+  private long volume = NO_VOLUME;
+
+  MutableBar() {}
+
+  /**
+   * Gets the meta of the response the bar belongs to.
+   *
+   * @return the meta, or null if the response has no meta before its values
+   */
+  public TimeSeriesMeta getMeta() {
+    return meta;
+  }
+
+  /**
+   * Gets the zero-based position of the bar in the response.
+   *
+   * @return the position
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the datetime in the shape the API returned it.
+   *
+   * @return the datetime, or null if the bar has none
+   */
+  public String getDatetime() {
+    if (datetimeText != null || datetimeLength == 0) {
+      return datetimeText;
+    }
+    return DateTimeParser.formatLocalEpochSecond(localEpochSecond, datetimeLength);
+  }
+
+  /**
+   * Gets the datetime as epoch milliseconds, as decoded from the exchange timezone of the meta.
+   *
+   * @return the epoch milliseconds, or {@link Long#MIN_VALUE} if there is no timezone or the
+   *     datetime could not be decoded
+   */
+  public long getEpochMillisValue() {
+    return epochMillis;
+  }
+
+  public double getOpenValue() {
+    return open;
+  }
+
+  public double getHighValue() {
+    return high;
+  }
+
+  public double getLowValue() {
+    return low;
+  }
+
+  public double getCloseValue() {
+    return close;
+  }
+
+  /**
+   * Gets the volume.
+   *
+   * @return the volume, or 0 if the bar has none
+   */
+  public long getVolumeValue() {
+    return volume != NO_VOLUME ? volume : 0L;
+  }
+
+  /**
+   * Checks whether the bar has a volume (forex pairs, for example, do not).
+   *
+   * @return true if the bar has a volume
+   */
+  public boolean hasVolume() {
+    return volume != NO_VOLUME;
+  }
+
+  /**
+   * Copies the bar into a standalone value.
+   *
+   * @return a new value with the same fields
+   */
+  public TimeSeriesValue toTimeSeriesValue() {
+    TimeSeriesValue value = new TimeSeriesValue(getDatetime(),
+        NumberDecoder.render(null, open, priceScale), NumberDecoder.render(null, high, priceScale),
+        NumberDecoder.render(null, low, priceScale), NumberDecoder.render(null, close, priceScale),
+        NumberDecoder.render(null, volume, NO_VOLUME));
+    if (epochMillis != NO_EPOCH_MILLIS) {
+      value.setEpochMillis(epochMillis);
+    }
+    value.setPriceScale(priceScale);
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "MutableBar{"
+        + "index="
+        + index
+        + ", datetime='"
+        + getDatetime()
+        + '\''
+        + ", open="
+        + open
+        + ", high="
+        + high
+        + ", low="
+        + low
+        + ", close="
+        + close
+        + ", volume="
+        + (hasVolume() ? volume : null)
+        + '}';
+  }
+
+  void setMeta(TimeSeriesMeta meta) {
+    this.meta = meta;
+  }
+
+  void setPriceScale(int priceScale) {
+    this.priceScale = priceScale;
+  }
+
+  /** Clears the fields for the next bar. */
+  void reset(int index) {
+    this.index = index;
+    this.localEpochSecond = 0L;
+    this.datetimeLength = 0;
+    this.datetimeText = null;
+    this.epochMillis = NO_EPOCH_MILLIS;
+    this.open = Double.NaN;
+    this.high = Double.NaN;
+    this.low = Double.NaN;
+    this.close = Double.NaN;
+    this.volume = NO_VOLUME;
+  }
+
+  /**
+   * Sets the datetime, keeping it as a string only if it does not have one of the API shapes.
+   *
+   * @param datetime the datetime, possibly a view over a reused buffer
+   * @param timezone the exchange timezone, or null
+   */
+  void setDatetime(CharSequence datetime, String timezone) {
+    try {
+      localEpochSecond = DateTimeParser.toLocalEpochSecond(datetime);
+      int length = datetime.length();
+      datetimeLength = length == 10 || datetime.charAt(10) == ' ' ? length : 0;
+    } catch (DateTimeException e) {
+      datetimeText = datetime.toString();
+      return;
+    }
+    if (datetimeLength == 0) {
+      // A 'T' separator is not rendered back; keep the original text
+      datetimeText = datetime.toString();
+    }
+    if (timezone != null) {
+      try {
+        epochMillis = DateTimeParser.localToEpochMillis(localEpochSecond, timezone);
+      } catch (DateTimeException e) {
+        epochMillis = NO_EPOCH_MILLIS;
+      }
+    }
+  }
+
+  void setOpen(double open) {
+    this.open = open;
+  }
+
+  void setHigh(double high) {
+    this.high = high;
+  }
+
+  void setLow(double low) {
+    this.low = low;
+  }
+
+  void setClose(double close) {
+    this.close = close;
+  }
+
+  void setVolume(long volume) {
+    this.volume = volume;
+  }
+}
@@ -0,0 +1,466 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Hand-written ASCII decoder for the numeric strings returned by the TwelveData API.
+ *
+ * <p>The API encodes prices as plain decimal strings with a fixed number of fraction digits set by
+ * the {@code dp} parameter (e.g., {@code "148.85001"} for {@code dp=5}) and volumes as plain
+ * integers. This class decodes those shapes directly from the characters:
+ *
+ * <ul>
+ *   <li>{@link #parseScaled(CharSequence, int)} decodes to a {@code long} mantissa at a fixed
+ *       scale, which gives exact arithmetic for money values
+ *   <li>{@link #parseDouble(CharSequence)} decodes to the same {@code double} as {@link
+ *       Double#parseDouble(String)}, taking an exact fast path when the digits fit in 53 bits
+ *   <li>{@link #parseLong(CharSequence)} decodes plain integers without creating a {@code String}
+ * </ul>
+ *
+ * <p>Inputs outside the fast paths (exponents, very long mantissas) are delegated to the JDK
+ * parsers, so invalid input is rejected with the same {@link NumberFormatException}.
+ */
+public final class NumberDecoder {
+
+  /** The largest scale supported by scaled values. */
+  public static final int MAX_SCALE = 18;
+
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final int MAX_EXACT_POWER = 22;
+
+  private static final double[] DOUBLE_POWERS_OF_TEN = new double[MAX_EXACT_POWER + 1];
+  private static final long[] LONG_POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+  static {
+    double d = 1.0;
+    for (int i = 0; i <= MAX_EXACT_POWER; i++) {
+      DOUBLE_POWERS_OF_TEN[i] = d;
+      d *= 10.0;
+    }
+    long l = 1L;
+    for (int i = 0; i <= MAX_SCALE; i++) {
+      LONG_POWERS_OF_TEN[i] = l;
+      l *= 10L;
+    }
+  }
+
+  // Private constructor to prevent instantiation
+  private NumberDecoder() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  /**
+   * Decodes a decimal string to a mantissa at a fixed scale.
+   *
+   * <p>Missing fraction digits are padded with zeros and extra fraction digits are rounded half
+   * away from zero, so {@code parseScaled("148.85", 5)} returns {@code 14885000}.
+   *
+   * @param text the decimal string, with an optional sign
+   * @param scale the number of fraction digits of the result, between 0 and {@link #MAX_SCALE}
+   * @return the mantissa, i.e. the value multiplied by {@code 10^scale}
+   * @throws NumberFormatException if the text is not a plain decimal or overflows a long
+   */
+  public static long parseScaled(CharSequence text, int scale) {
+    checkScale(scale);
+    int length = text.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+      negative = text.charAt(0) == '-';
+      i++;
+    }
+    long value = 0;
+    int fractionDigits = 0;
+    int firstDroppedDigit = -1;
+    boolean seenPoint = false;
+    boolean seenDigit = false;
+    for (; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '.' && !seenPoint) {
+        seenPoint = true;
+        continue;
+      }
+      int digit = c - '0';
+      if (digit < 0 || digit > 9) {
+        throw invalid(text);
+      }
+      seenDigit = true;
+      if (seenPoint) {
+        if (fractionDigits == scale) {
+          if (firstDroppedDigit < 0) {
+            firstDroppedDigit = digit;
+          }
+          continue;
+        }
+        fractionDigits++;
+      }
+      value = appendDigit(value, digit, text);
+    }
+    if (!seenDigit) {
+      throw invalid(text);
+    }
+    for (; fractionDigits < scale; fractionDigits++) {
+      value = appendDigit(value, 0, text);
+    }
+    if (firstDroppedDigit >= 5) {
+      value = appendRoundingUnit(value, text);
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Gets the number of fraction digits of a decimal string.
+   *
+   * @param text the decimal string
+   * @return the number of digits after the decimal point, or 0 if there is none
+   */
+  public static int scaleOf(CharSequence text) {
+    for (int i = text.length() - 1; i >= 0; i--) {
+      if (text.charAt(i) == '.') {
+        return text.length() - 1 - i;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Decodes a decimal string to a double.
+   *
+   * <p>The result is identical to {@link Double#parseDouble(String)}. Plain decimals with at most
+   * 15 to 16 significant digits and 22 fraction digits are decoded by a single exact division,
+   * which is correctly rounded; everything else is delegated to the JDK.
+   *
+   * @param text the decimal string
+   * @return the decoded value
+   * @throws NumberFormatException if the text is not a number
+   */
+  public static double parseDouble(CharSequence text) {
+    int length = text.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+      negative = text.charAt(0) == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int scale = 0;
+    boolean seenPoint = false;
+    boolean seenDigit = false;
+    for (; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '.' && !seenPoint) {
+        seenPoint = true;
+        continue;
+      }
+      int digit = c - '0';
+      if (digit < 0 || digit > 9 || mantissa > MAX_EXACT_MANTISSA) {
+        return Double.parseDouble(text.toString());
+      }
+      seenDigit = true;
+      mantissa = mantissa * 10 + digit;
+      if (seenPoint) {
+        scale++;
+      }
+    }
+    if (!seenDigit || mantissa > MAX_EXACT_MANTISSA || scale > MAX_EXACT_POWER) {
+      return Double.parseDouble(text.toString());
+    }
+    double value = (double) mantissa / DOUBLE_POWERS_OF_TEN[scale];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Decodes an integer string to a long.
+   *
+   * @param text the integer string, with an optional sign
+   * @return the decoded value
+   * @throws NumberFormatException if the text is not an integer or overflows a long
+   */
+  public static long parseLong(CharSequence text) {
+    int length = text.length();
+    if (length == 0 || length > 18) {
+      return Long.parseLong(text.toString());
+    }
+    int i = 0;
+    boolean negative = false;
+    if (text.charAt(0) == '-' || text.charAt(0) == '+') {
+      negative = text.charAt(0) == '-';
+      i++;
+      if (length == 1) {
+        throw invalid(text);
+      }
+    }
+    long value = 0;
+    for (; i < length; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw invalid(text);
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Converts a scaled mantissa to the nearest double.
+   *
+   * @param mantissa the mantissa
+   * @param scale the number of fraction digits
+   * @return the value {@code mantissa / 10^scale}
+   */
+  public static double toDouble(long mantissa, int scale) {
+    if (scale <= MAX_EXACT_POWER && Math.abs(mantissa) <= MAX_EXACT_MANTISSA) {
+      return scale == 0 ? (double) mantissa : (double) mantissa / DOUBLE_POWERS_OF_TEN[scale];
+    }
+    return Double.parseDouble(format(mantissa, scale));
+  }
+
+  /**
+   * Formats a scaled mantissa as a plain decimal string with exactly {@code scale} fraction digits.
+   *
+   * @param mantissa the mantissa
+   * @param scale the number of fraction digits
+   * @return the decimal string (e.g., {@code format(14885001, 5)} returns {@code "148.85001"})
+   */
+  public static String format(long mantissa, int scale) {
+    String digits = Long.toString(mantissa);
+    if (scale == 0) {
+      return digits;
+    }
+    boolean negative = mantissa < 0;
+    StringBuilder builder = new StringBuilder(digits.length() + scale + 2);
+    String magnitude = negative ? digits.substring(1) : digits;
+    if (negative) {
+      builder.append('-');
+    }
+    int integerDigits = magnitude.length() - scale;
+    if (integerDigits <= 0) {
+      builder.append("0.");
+      for (int i = integerDigits; i < 0; i++) {
+        builder.append('0');
+      }
+      builder.append(magnitude);
+    } else {
+      builder.append(magnitude, 0, integerDigits).append('.').append(magnitude, integerDigits,
+          magnitude.length());
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Gets {@code 10^exponent} as a long.
+   *
+   * @param exponent the exponent, between 0 and {@link #MAX_SCALE}
+   * @return the power of ten
+   */
+  public static long powerOfTen(int exponent) {
+    checkScale(exponent);
+    return LONG_POWERS_OF_TEN[exponent];
+  }
+
+  /**
+   * Decodes a decimal string to a double for memoization, without throwing.
+   *
+   * @param text the decimal string, may be null
+   * @return the decoded value, or {@code NaN} if the text is null or not a number
+   */
+  static double decodeDoubleOrNaN(String text) {
+    if (text == null) {
+      return Double.NaN;
+    }
+    try {
+      return parseDouble(text);
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  /**
+   * Decodes an integer string to a long for memoization, without throwing.
+   *
+   * @param text the integer string, may be null
+   * @param missing the value to return if the text is null or not an integer
+   * @return the decoded value, or {@code missing}
+   */
+  static long decodeLongOr(String text, long missing) {
+    if (text == null) {
+      return missing;
+    }
+    try {
+      return parseLong(text);
+    } catch (NumberFormatException e) {
+      return missing;
+    }
+  }
+
+  /**
+   * Checks whether a decimal string is exactly what {@link #formatDouble(double, int)} would
+   * render for its value, so that the string can be dropped and rebuilt on demand.
+   *
+   * <p>That is the case for plain decimals without a plus sign or redundant leading zeros, with
+   * exactly {@code scale} fraction digits and at most 15 significant digits, which always survive
+   * a round trip through a double.
+   *
+   * @param text the decimal string, may be null
+   * @param scale the expected number of fraction digits
+   * @return true if the string can be rebuilt from its double value
+   */
+  static boolean isCanonical(String text, int scale) {
+    if (text == null || scale < 0 || scale > MAX_SCALE) {
+      return false;
+    }
+    int length = text.length();
+    int i = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+    int integerStart = i;
+    boolean nonZero = false;
+    for (; i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9'; i++) {
+      nonZero |= text.charAt(i) != '0';
+    }
+    int integerDigits = i - integerStart;
+    if (integerDigits == 0 || (integerDigits > 1 && text.charAt(integerStart) == '0')) {
+      return false;
+    }
+    int fractionDigits = 0;
+    if (i < length) {
+      if (text.charAt(i) != '.') {
+        return false;
+      }
+      for (i++; i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9'; i++) {
+        nonZero |= text.charAt(i) != '0';
+        fractionDigits++;
+      }
+      if (i != length || fractionDigits == 0) {
+        return false;
+      }
+    }
+    boolean negativeZero = integerStart == 1 && !nonZero;
+    return fractionDigits == scale && integerDigits + fractionDigits <= 15 && !negativeZero;
+  }
+
+  /**
+   * Renders a double as a plain decimal string with exactly {@code scale} fraction digits.
+   *
+   * @param value the value, which must be finite
+   * @param scale the number of fraction digits, or a negative value for the shortest string that
+   *     identifies the value
+   * @return the decimal string
+   */
+  static String formatDouble(double value, int scale) {
+    if (scale < 0) {
+      return BigDecimal.valueOf(value).toPlainString();
+    }
+    return format(toMantissa(value, scale), scale);
+  }
+
+  /**
+   * Converts a double to a mantissa at a fixed scale, rounding to the nearest integer.
+   *
+   * @param value the value
+   * @param scale the number of fraction digits
+   * @return the value multiplied by {@code 10^scale}
+   */
+  static long toMantissa(double value, int scale) {
+    return Math.round(value * DOUBLE_POWERS_OF_TEN[scale]);
+  }
+
+  /**
+   * Gets the string of a memoized price, rendering it if the raw string was released.
+   *
+   * @param raw the raw string, or null if released or not set
+   * @param value the memoized value, or {@code NaN} if not set
+   * @param scale the price scale of the model
+   * @return the raw string, the rendered value, or null if the price is not set
+   */
+  static String render(String raw, double value, int scale) {
+    if (raw != null || Double.isNaN(value)) {
+      return raw;
+    }
+    return formatDouble(value, scale);
+  }
+
+  /**
+   * Gets a memoized price as a boxed double, parsing the raw string only if it could not be
+   * decoded up front so that invalid input still fails with {@link NumberFormatException}.
+   *
+   * @param raw the raw string, or null if released or not set
+   * @param value the memoized value, or {@code NaN} if not set or not a number
+   * @return the value, or null if the price is not set
+   */
+  static Double asDouble(String raw, double value) {
+    if (!Double.isNaN(value)) {
+      return value;
+    }
+    return raw != null ? parseDouble(raw) : null;
+  }
+
+  /**
+   * Gets a memoized integer as a boxed long, parsing the raw string only if it could not be decoded
+   * up front.
+   *
+   * @param raw the raw string, or null if released or not set
+   * @param value the memoized value
+   * @param missing the value that marks the integer as not set
+   * @return the value, or null if the integer is not set
+   */
+  static Long asLong(String raw, long value, long missing) {
+    if (value != missing) {
+      return value;
+    }
+    return raw != null ? parseLong(raw) : null;
+  }
+
+  /**
+   * Gets a memoized price as a scaled decimal.
+   *
+   * @param raw the raw string, or null if released or not set
+   * @param value the memoized value, or {@code NaN} if not set
+   * @param scale the price scale of the model, or -1 to infer it from the string
+   * @return the value, or null if the price is not set
+   */
+  static ScaledDecimal asScaled(String raw, double value, int scale) {
+    if (raw == null && !Double.isNaN(value) && scale >= 0) {
+      return ScaledDecimal.of(toMantissa(value, scale), scale);
+    }
+    String text = render(raw, value, scale);
+    return text != null ? ScaledDecimal.parse(text, scale) : null;
+  }
+
+  /**
+   * Gets the string of a memoized integer, rendering it if the raw string was released.
+   *
+   * @param raw the raw string, or null if released or not set
+   * @param value the memoized value
+   * @param missing the value that marks the integer as not set
+   * @return the raw string, the rendered value, or null if the integer is not set
+   */
+  static String render(String raw, long value, long missing) {
+    if (raw != null || value == missing) {
+      return raw;
+    }
+    return Long.toString(value);
+  }
+
+  private static void checkScale(int scale) {
+    if (scale < 0 || scale > MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+    }
+  }
+
+  private static long appendDigit(long value, int digit, CharSequence text) {
+    if (value > (Long.MAX_VALUE - digit) / 10) {
+      throw new NumberFormatException("Value out of range: " + text);
+    }
+    return value * 10 + digit;
+  }
+
+  private static long appendRoundingUnit(long value, CharSequence text) {
+    if (value == Long.MAX_VALUE) {
+      throw new NumberFormatException("Value out of range: " + text);
+    }
+    return value + 1;
+  }
+
+  private static NumberFormatException invalid(CharSequence text) {
+    return new NumberFormatException("For input string: \"" + text + "\"");
+  }
+}
@@ -3,6 +3,9 @@ package com.github.nicholascowan.twelvedata.models;
 /** Price response for a stock. */
 public class PriceResponse {
   private String price;
+  private int priceScale = -1;
+  private boolean released;
+  private double priceValue = Double.NaN;
 
   /** Default constructor for PriceResponse. */
   public PriceResponse() {}
@@ -14,24 +17,82 @@ public class PriceResponse {
    */
   public PriceResponse(String price) {
     this.price = price;
+    this.priceValue = NumberDecoder.decodeDoubleOrNaN(price);
   }
 
   // Getters and Setters
   public String getPrice() {
-    return price;
+    return NumberDecoder.render(price, priceValue, priceScale);
   }
 
   public void setPrice(String price) {
     this.price = price;
+    this.priceValue = NumberDecoder.decodeDoubleOrNaN(price);
   }
 
   // Helper methods to get numeric values
   public Double getPriceAsDouble() {
-    return price != null ? Double.parseDouble(price) : null;
+    return NumberDecoder.asDouble(price, priceValue);
   }
 
   public Float getPriceAsFloat() {
-    return price != null ? Float.parseFloat(price) : null;
+    String text = getPrice();
+    return text != null ? Float.parseFloat(text) : null;
+  }
+
+  /**
+   * Gets the decoded price without boxing.
+   *
+   * @return the price, or {@code NaN} if it is not set or not a number
+   */
+  public double getPriceValue() {
+    return priceValue;
+  }
+
+  /**
+   * Drops the numeric strings that the string getters can rebuild exactly from the decoded values
+   * at the {@linkplain #getPriceScale() price scale}. Strings with a different number of fraction
+   * digits, or that are not numbers, are kept.
+   *
+   * <p>Has no effect while the price scale is unknown. Afterwards the price scale can no longer
+   * change.
+   */
+  public void releaseRawStrings() {
+    if (priceScale < 0) {
+      return;
+    }
+    released = true;
+    if (NumberDecoder.isCanonical(price, priceScale)) {
+      price = null;
+    }
+  }
+
+  /**
+   * Gets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @return the price scale, or -1 if unknown and inferred from each string
+   */
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  /**
+   * Sets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @param priceScale the price scale, or -1 to infer it from each string
+   * @throws IllegalStateException if the raw strings were released at another scale, as the
+   *     string getters would no longer return the text the API sent
+   */
+  public void setPriceScale(int priceScale) {
+    if (released && priceScale != this.priceScale) {
+      throw new IllegalStateException("Price scale " + this.priceScale
+          + " cannot change after the raw strings were released");
+    }
+    this.priceScale = priceScale;
+  }
+
+  public ScaledDecimal getPriceAsScaled() {
+    return NumberDecoder.asScaled(price, priceValue, priceScale);
   }
 
   @Override
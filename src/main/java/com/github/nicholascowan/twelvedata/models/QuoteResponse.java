@@ -1,7 +1,11 @@
 package com.github.nicholascowan.twelvedata.models;
 
+import java.time.ZoneId;
+
 /** Complete quote response for a stock. */
 public class QuoteResponse {
+  private static final long NO_VALUE = Long.MIN_VALUE;
+
   private String symbol;
   private String name;
   private String exchange;
@@ -21,6 +25,18 @@ public class QuoteResponse {
   private String averageVolume;
   private Boolean isMarketOpen;
   private FiftyTwoWeek fiftyTwoWeek;
+  private int priceScale = -1;
+  private boolean released;
+  private double openValue = Double.NaN;
+  private double highValue = Double.NaN;
+  private double lowValue = Double.NaN;
+  private double closeValue = Double.NaN;
+  private double previousCloseValue = Double.NaN;
+  private double changeValue = Double.NaN;
+  private double percentChangeValue = Double.NaN;
+  private long volumeValue = NO_VALUE;
+  private long averageVolumeValue = NO_VALUE;
+  private long timestampValue = NO_VALUE;
 
   /** Default constructor for QuoteResponse. */
   public QuoteResponse() {}
@@ -51,6 +67,7 @@ public class QuoteResponse {
     this.currency = currency;
     this.datetime = datetime;
     this.close = close;
+    this.closeValue = NumberDecoder.decodeDoubleOrNaN(close);
   }
 
   // Getters and Setters
@@ -103,11 +120,12 @@ public class QuoteResponse {
   }
 
   public String getTimestamp() {
-    return timestamp;
+    return NumberDecoder.render(timestamp, timestampValue, NO_VALUE);
   }
 
   public void setTimestamp(String timestamp) {
     this.timestamp = timestamp;
+    this.timestampValue = NumberDecoder.decodeLongOr(timestamp, NO_VALUE);
   }
 
   public String getLastQuoteAt() {
@@ -119,75 +137,84 @@ public class QuoteResponse {
   }
 
   public String getOpen() {
-    return open;
+    return NumberDecoder.render(open, openValue, priceScale);
   }
 
   public void setOpen(String open) {
     this.open = open;
+    this.openValue = NumberDecoder.decodeDoubleOrNaN(open);
   }
 
   public String getHigh() {
-    return high;
+    return NumberDecoder.render(high, highValue, priceScale);
   }
 
   public void setHigh(String high) {
     this.high = high;
+    this.highValue = NumberDecoder.decodeDoubleOrNaN(high);
   }
 
   public String getLow() {
-    return low;
+    return NumberDecoder.render(low, lowValue, priceScale);
   }
 
   public void setLow(String low) {
     this.low = low;
+    this.lowValue = NumberDecoder.decodeDoubleOrNaN(low);
   }
 
   public String getClose() {
-    return close;
+    return NumberDecoder.render(close, closeValue, priceScale);
   }
 
   public void setClose(String close) {
     this.close = close;
+    this.closeValue = NumberDecoder.decodeDoubleOrNaN(close);
   }
 
   public String getVolume() {
-    return volume;
+    return NumberDecoder.render(volume, volumeValue, NO_VALUE);
   }
 
   public void setVolume(String volume) {
     this.volume = volume;
+    this.volumeValue = NumberDecoder.decodeLongOr(volume, NO_VALUE);
   }
 
   public String getPreviousClose() {
-    return previousClose;
+    return NumberDecoder.render(previousClose, previousCloseValue, priceScale);
   }
 
   public void setPreviousClose(String previousClose) {
     this.previousClose = previousClose;
+    this.previousCloseValue = NumberDecoder.decodeDoubleOrNaN(previousClose);
   }
 
   public String getChange() {
-    return change;
+    return NumberDecoder.render(change, changeValue, priceScale);
   }
 
   public void setChange(String change) {
     this.change = change;
+    this.changeValue = NumberDecoder.decodeDoubleOrNaN(change);
   }
 
   public String getPercentChange() {
-    return percentChange;
+    return NumberDecoder.render(percentChange, percentChangeValue, priceScale);
   }
 
   public void setPercentChange(String percentChange) {
     this.percentChange = percentChange;
+    this.percentChangeValue = NumberDecoder.decodeDoubleOrNaN(percentChange);
   }
 
   public String getAverageVolume() {
-    return averageVolume;
+    return NumberDecoder.render(averageVolume, averageVolumeValue, NO_VALUE);
   }
 
   public void setAverageVolume(String averageVolume) {
     this.averageVolume = averageVolume;
+    this.averageVolumeValue = NumberDecoder.decodeLongOr(averageVolume, NO_VALUE);
   }
 
   public Boolean getIsMarketOpen() {
@@ -208,43 +235,250 @@ public class QuoteResponse {
 
   // Helper methods to get numeric values
   public Double getOpenAsDouble() {
-    return open != null ? Double.parseDouble(open) : null;
+    return NumberDecoder.asDouble(open, openValue);
   }
 
   public Double getHighAsDouble() {
-    return high != null ? Double.parseDouble(high) : null;
+    return NumberDecoder.asDouble(high, highValue);
   }
 
   public Double getLowAsDouble() {
-    return low != null ? Double.parseDouble(low) : null;
+    return NumberDecoder.asDouble(low, lowValue);
   }
 
   public Double getCloseAsDouble() {
-    return close != null ? Double.parseDouble(close) : null;
+    return NumberDecoder.asDouble(close, closeValue);
   }
 
   public Long getVolumeAsLong() {
-    return volume != null ? Long.parseLong(volume) : null;
+    return NumberDecoder.asLong(volume, volumeValue, NO_VALUE);
   }
 
   public Double getPreviousCloseAsDouble() {
-    return previousClose != null ? Double.parseDouble(previousClose) : null;
+    return NumberDecoder.asDouble(previousClose, previousCloseValue);
   }
 
   public Double getChangeAsDouble() {
-    return change != null ? Double.parseDouble(change) : null;
+    return NumberDecoder.asDouble(change, changeValue);
   }
 
   public Double getPercentChangeAsDouble() {
-    return percentChange != null ? Double.parseDouble(percentChange) : null;
+    return NumberDecoder.asDouble(percentChange, percentChangeValue);
   }
 
   public Long getAverageVolumeAsLong() {
-    return averageVolume != null ? Long.parseLong(averageVolume) : null;
+    return NumberDecoder.asLong(averageVolume, averageVolumeValue, NO_VALUE);
   }
 
   public Long getTimestampAsLong() {
-    return timestamp != null ? Long.parseLong(timestamp) : null;
+    return NumberDecoder.asLong(timestamp, timestampValue, NO_VALUE);
+  }
+
+  /**
+   * Gets the decoded opening price without boxing.
+   *
+   * @return the opening price, or {@code NaN} if it is not set or not a number
+   */
+  public double getOpenValue() {
+    return openValue;
+  }
+
+  /**
+   * Gets the decoded high price without boxing.
+   *
+   * @return the high price, or {@code NaN} if it is not set or not a number
+   */
+  public double getHighValue() {
+    return highValue;
+  }
+
+  /**
+   * Gets the decoded low price without boxing.
+   *
+   * @return the low price, or {@code NaN} if it is not set or not a number
+   */
+  public double getLowValue() {
+    return lowValue;
+  }
+
+  /**
+   * Gets the decoded closing price without boxing.
+   *
+   * @return the closing price, or {@code NaN} if it is not set or not a number
+   */
+  public double getCloseValue() {
+    return closeValue;
+  }
+
+  /**
+   * Gets the decoded previous closing price without boxing.
+   *
+   * @return the previous closing price, or {@code NaN} if it is not set or not a number
+   */
+  public double getPreviousCloseValue() {
+    return previousCloseValue;
+  }
+
+  /**
+   * Gets the decoded price change without boxing.
+   *
+   * @return the price change, or {@code NaN} if it is not set or not a number
+   */
+  public double getChangeValue() {
+    return changeValue;
+  }
+
+  /**
+   * Gets the decoded percentage change without boxing.
+   *
+   * @return the percentage change, or {@code NaN} if it is not set or not a number
+   */
+  public double getPercentChangeValue() {
+    return percentChangeValue;
+  }
+
+  /**
+   * Gets the decoded volume without boxing.
+   *
+   * @return the volume, or 0 if it is not set or not an integer
+   */
+  public long getVolumeValue() {
+    return volumeValue != NO_VALUE ? volumeValue : 0L;
+  }
+
+  /**
+   * Gets the decoded average volume without boxing.
+   *
+   * @return the average volume, or 0 if it is not set or not an integer
+   */
+  public long getAverageVolumeValue() {
+    return averageVolumeValue != NO_VALUE ? averageVolumeValue : 0L;
+  }
+
+  /**
+   * Gets the decoded Unix timestamp in seconds without boxing.
+   *
+   * @return the Unix timestamp in seconds, or 0 if it is not set or not an integer
+   */
+  public long getTimestampValue() {
+    return timestampValue != NO_VALUE ? timestampValue : 0L;
+  }
+
+  /**
+   * Drops the numeric strings that the string getters can rebuild exactly from the decoded values
+   * at the {@linkplain #getPriceScale() price scale}. Strings with a different number of fraction
+   * digits, or that are not numbers, are kept.
+   *
+   * <p>Has no effect while the price scale is unknown. Afterwards the price scale can no longer
+   * change.
+   */
+  public void releaseRawStrings() {
+    if (priceScale < 0) {
+      return;
+    }
+    released = true;
+    if (NumberDecoder.isCanonical(open, priceScale)) {
+      open = null;
+    }
+    if (NumberDecoder.isCanonical(high, priceScale)) {
+      high = null;
+    }
+    if (NumberDecoder.isCanonical(low, priceScale)) {
+      low = null;
+    }
+    if (NumberDecoder.isCanonical(close, priceScale)) {
+      close = null;
+    }
+    if (NumberDecoder.isCanonical(previousClose, priceScale)) {
+      previousClose = null;
+    }
+    if (NumberDecoder.isCanonical(change, priceScale)) {
+      change = null;
+    }
+    if (NumberDecoder.isCanonical(percentChange, priceScale)) {
+      percentChange = null;
+    }
+    if (NumberDecoder.isCanonical(volume, 0)) {
+      volume = null;
+    }
+    if (NumberDecoder.isCanonical(averageVolume, 0)) {
+      averageVolume = null;
+    }
+    if (NumberDecoder.isCanonical(timestamp, 0)) {
+      timestamp = null;
+    }
+    if (fiftyTwoWeek != null) {
+      fiftyTwoWeek.releaseRawStrings();
+    }
+  }
+
+  /**
+   * Gets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @return the price scale, or -1 if unknown and inferred from each string
+   */
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  /**
+   * Sets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @param priceScale the price scale, or -1 to infer it from each string
+   * @throws IllegalStateException if the raw strings were released at another scale, as the
+   *     string getters would no longer return the text the API sent
+   */
+  public void setPriceScale(int priceScale) {
+    if (released && priceScale != this.priceScale) {
+      throw new IllegalStateException("Price scale " + this.priceScale
+          + " cannot change after the raw strings were released");
+    }
+    this.priceScale = priceScale;
+  }
+
+  public ScaledDecimal getOpenAsScaled() {
+    return NumberDecoder.asScaled(open, openValue, priceScale);
+  }
+
+  public ScaledDecimal getHighAsScaled() {
+    return NumberDecoder.asScaled(high, highValue, priceScale);
+  }
+
+  public ScaledDecimal getLowAsScaled() {
+    return NumberDecoder.asScaled(low, lowValue, priceScale);
+  }
+
+  public ScaledDecimal getCloseAsScaled() {
+    return NumberDecoder.asScaled(close, closeValue, priceScale);
+  }
+
+  public ScaledDecimal getPreviousCloseAsScaled() {
+    return NumberDecoder.asScaled(previousClose, previousCloseValue, priceScale);
+  }
+
+  public ScaledDecimal getChangeAsScaled() {
+    return NumberDecoder.asScaled(change, changeValue, priceScale);
+  }
+
+  /**
+   * Gets the quote timestamp as epoch milliseconds.
+   *
+   * @return the epoch milliseconds derived from the Unix timestamp, or null if it is not set
+   */
+  public Long getEpochMillis() {
+    Long seconds = getTimestampAsLong();
+    return seconds != null ? seconds * 1000L : null;
+  }
+
+  /**
+   * Converts the datetime to epoch milliseconds in the given zone.
+   *
+   * @param zone the zone the datetime is expressed in
+   * @return the epoch milliseconds, or null if the datetime is not set
+   * @throws java.time.format.DateTimeParseException if the datetime has an unsupported format
+   */
+  public Long getDatetimeAsEpochMillis(ZoneId zone) {
+    return datetime != null ? DateTimeParser.toEpochMillis(datetime, zone) : null;
   }
 
   @Override
@@ -269,13 +503,13 @@ public class QuoteResponse {
         + datetime
         + '\''
         + ", close='"
-        + close
+        + getClose()
         + '\''
         + ", change='"
-        + change
+        + getChange()
         + '\''
         + ", percentChange='"
-        + percentChange
+        + getPercentChange()
         + '\''
         + ", isMarketOpen="
         + isMarketOpen
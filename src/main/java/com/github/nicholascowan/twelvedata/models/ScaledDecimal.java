@@ -0,0 +1,216 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable fixed-point decimal made of a {@code long} mantissa and a decimal scale.
+ *
+ * <p>The value is {@code mantissa / 10^scale}. Prices returned by the API have a scale equal to
+ * the {@code dp} request parameter, so {@code "148.85001"} with {@code dp=5} is represented
+ * exactly as mantissa {@code 14885001} and scale {@code 5}. Arithmetic is exact; operations that
+ * would overflow a {@code long} throw {@link ArithmeticException}.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * ScaledDecimal entry = ScaledDecimal.parse("148.73500", 5);
+ * ScaledDecimal exit = quote.getCloseAsScaled();
+ * ScaledDecimal pnl = exit.subtract(entry).multiply(100);
+ * }</pre>
+ *
+ * <p>{@link #equals(Object)} compares mantissa and scale, like {@link BigDecimal}; use {@link
+ * #compareTo(ScaledDecimal)} for numeric comparison across scales.
+ *
+ * @see NumberDecoder
+ */
+public final class ScaledDecimal implements Comparable<ScaledDecimal> {
+
+  private final long mantissa;
+  private final int scale;
+
+  private ScaledDecimal(long mantissa, int scale) {
+    this.mantissa = mantissa;
+    this.scale = scale;
+  }
+
+  /**
+   * Creates a decimal from a mantissa and scale.
+   *
+   * @param mantissa the mantissa
+   * @param scale the scale, between 0 and {@link NumberDecoder#MAX_SCALE}
+   * @return the decimal {@code mantissa / 10^scale}
+   * @throws IllegalArgumentException if the scale is out of range
+   */
+  public static ScaledDecimal of(long mantissa, int scale) {
+    NumberDecoder.powerOfTen(scale);
+    return new ScaledDecimal(mantissa, scale);
+  }
+
+  /**
+   * Parses a decimal string, keeping the number of fraction digits of the text as scale.
+   *
+   * @param text the decimal string (e.g., "148.85001")
+   * @return the parsed decimal
+   * @throws NumberFormatException if the text is not a plain decimal
+   */
+  public static ScaledDecimal parse(CharSequence text) {
+    int scale = Math.min(NumberDecoder.scaleOf(text), NumberDecoder.MAX_SCALE);
+    return new ScaledDecimal(NumberDecoder.parseScaled(text, scale), scale);
+  }
+
+  /**
+   * Parses a decimal string at a fixed scale, rounding half away from zero if the text has more
+   * fraction digits.
+   *
+   * @param text the decimal string (e.g., "148.85001")
+   * @param scale the scale of the result, or a negative value to keep the scale of the text
+   * @return the parsed decimal
+   * @throws NumberFormatException if the text is not a plain decimal
+   */
+  public static ScaledDecimal parse(CharSequence text, int scale) {
+    if (scale < 0) {
+      return parse(text);
+    }
+    return new ScaledDecimal(NumberDecoder.parseScaled(text, scale), scale);
+  }
+
+  /**
+   * Gets the mantissa.
+   *
+   * @return the value multiplied by {@code 10^scale}
+   */
+  public long getMantissa() {
+    return mantissa;
+  }
+
+  /**
+   * Gets the scale.
+   *
+   * @return the number of fraction digits
+   */
+  public int getScale() {
+    return scale;
+  }
+
+  /**
+   * Adds another decimal. The result has the larger of both scales.
+   *
+   * @param other the decimal to add
+   * @return the exact sum
+   * @throws ArithmeticException if the result overflows
+   */
+  public ScaledDecimal add(ScaledDecimal other) {
+    int resultScale = Math.max(scale, other.scale);
+    return new ScaledDecimal(
+        Math.addExact(mantissaAt(resultScale), other.mantissaAt(resultScale)), resultScale);
+  }
+
+  /**
+   * Subtracts another decimal. The result has the larger of both scales.
+   *
+   * @param other the decimal to subtract
+   * @return the exact difference
+   * @throws ArithmeticException if the result overflows
+   */
+  public ScaledDecimal subtract(ScaledDecimal other) {
+    int resultScale = Math.max(scale, other.scale);
+    return new ScaledDecimal(
+        Math.subtractExact(mantissaAt(resultScale), other.mantissaAt(resultScale)), resultScale);
+  }
+
+  /**
+   * Multiplies by an integer quantity, keeping the scale.
+   *
+   * @param quantity the quantity
+   * @return the exact product
+   * @throws ArithmeticException if the result overflows
+   */
+  public ScaledDecimal multiply(long quantity) {
+    return new ScaledDecimal(Math.multiplyExact(mantissa, quantity), scale);
+  }
+
+  /**
+   * Negates the value.
+   *
+   * @return the negated decimal
+   * @throws ArithmeticException if the result overflows
+   */
+  public ScaledDecimal negate() {
+    return new ScaledDecimal(Math.negateExact(mantissa), scale);
+  }
+
+  /**
+   * Changes the scale, rounding half away from zero when the scale decreases.
+   *
+   * @param newScale the new scale, between 0 and {@link NumberDecoder#MAX_SCALE}
+   * @return the rescaled decimal
+   * @throws ArithmeticException if the result overflows
+   */
+  public ScaledDecimal rescale(int newScale) {
+    NumberDecoder.powerOfTen(newScale);
+    if (newScale >= scale) {
+      return new ScaledDecimal(mantissaAt(newScale), newScale);
+    }
+    long divisor = NumberDecoder.powerOfTen(scale - newScale);
+    long quotient = mantissa / divisor;
+    long remainder = Math.abs(mantissa % divisor);
+    if (remainder * 2 >= divisor) {
+      quotient += mantissa < 0 ? -1 : 1;
+    }
+    return new ScaledDecimal(quotient, newScale);
+  }
+
+  /**
+   * Converts to the nearest double.
+   *
+   * @return the value as a double
+   */
+  public double toDouble() {
+    return NumberDecoder.toDouble(mantissa, scale);
+  }
+
+  /**
+   * Converts to a {@link BigDecimal} with the same scale.
+   *
+   * @return the exact value as a BigDecimal
+   */
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(mantissa, scale);
+  }
+
+  @Override
+  public int compareTo(ScaledDecimal other) {
+    if (scale == other.scale) {
+      return Long.compare(mantissa, other.mantissa);
+    }
+    return toBigDecimal().compareTo(other.toBigDecimal());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    ScaledDecimal that = (ScaledDecimal) obj;
+    return mantissa == that.mantissa && scale == that.scale;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(mantissa) + scale;
+  }
+
+  @Override
+  public String toString() {
+    return NumberDecoder.format(mantissa, scale);
+  }
+
+  private long mantissaAt(int targetScale) {
+    return targetScale == scale
+        ? mantissa
+        : Math.multiplyExact(mantissa, NumberDecoder.powerOfTen(targetScale - scale));
+  }
+}
@@ -0,0 +1,125 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, thread-safe table of canonical string instances.
+ *
+ * <p>Response metadata such as exchange, MIC code, currency, timezone, interval and instrument
+ * type takes only a few hundred distinct values, but every decoded response would otherwise hold
+ * its own copies. {@link #canonicalize(String)} returns one shared instance per distinct value so
+ * that cached responses retain each string once.
+ *
+ * <p>The table never evicts: once it holds {@code maxSize} entries, new values are returned as
+ * they are instead of being added. The key space is therefore capped even if the API starts
+ * sending a high-cardinality value in one of these fields, or one is routed through the table by
+ * mistake. Slots are reserved before inserting, so the cap holds under concurrent inserts.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * StringTable table = new StringTable(1024);
+ * String exchange = table.canonicalize(node.get("exchange").asText());
+ * }</pre>
+ */
+public final class StringTable {
+
+  /** The default capacity of the {@linkplain #shared() shared} table. */
+  public static final int DEFAULT_MAX_SIZE = 4096;
+
+  private static final StringTable SHARED = new StringTable(DEFAULT_MAX_SIZE);
+
+  private final ConcurrentHashMap<String, String> strings;
+  private final AtomicInteger count = new AtomicInteger();
+  private final int maxSize;
+
+  /**
+   * Creates a table holding at most {@code maxSize} distinct strings.
+   *
+   * @param maxSize the maximum number of canonical strings
+   * @throws IllegalArgumentException if maxSize is not positive
+   */
+  public StringTable(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+    }
+    this.maxSize = maxSize;
+    this.strings = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+  }
+
+  /**
+   * Gets the table used by the {@link ModelUtils} decoders for response metadata.
+   *
+   * @return the shared table
+   */
+  public static StringTable shared() {
+    return SHARED;
+  }
+
+  /**
+   * Gets the canonical instance of a string.
+   *
+   * @param value the string, may be null
+   * @return the canonical instance equal to value, value itself if the table is full, or null if
+   *     value is null
+   */
+  public String canonicalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String canonical = strings.get(value);
+    if (canonical != null) {
+      return canonical;
+    }
+    if (!reserve()) {
+      return value;
+    }
+    canonical = strings.putIfAbsent(value, value);
+    if (canonical != null) {
+      count.decrementAndGet();
+      return canonical;
+    }
+    return value;
+  }
+
+  /** Takes one of the {@code maxSize} slots, or returns false if the table is full. */
+  private boolean reserve() {
+    while (true) {
+      int current = count.get();
+      if (current >= maxSize) {
+        return false;
+      }
+      if (count.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of canonical strings in the table.
+   *
+   * @return the number of strings
+   */
+  public int size() {
+    return strings.size();
+  }
+
+  /**
+   * Gets the maximum number of canonical strings.
+   *
+   * @return the capacity of the table
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /** Removes all canonical strings. Strings already handed out remain valid. */
+  public void clear() {
+    for (String key : strings.keySet()) {
+      if (strings.remove(key) != null) {
+        count.decrementAndGet();
+      }
+    }
+  }
+}
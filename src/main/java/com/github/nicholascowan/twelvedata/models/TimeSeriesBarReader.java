@@ -0,0 +1,300 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull-style decoder for {@code time_series} JSON responses that reads one bar at a time.
+ *
+ * <p>The response is decoded with a Jackson streaming parser while it is read from the stream, so
+ * memory use does not depend on the number of bars: every bar is decoded into the same {@link
+ * MutableBar}, straight from the parser's character buffer. The meta is decoded when it is reached
+ * (the API sends it before the values) and is used to compute epoch milliseconds.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * try (TimeSeriesBarReader bars = client.timeSeries("AAPL", "1min").outputsize(5000).iterator()) {
+ *   while (bars.hasNext()) {
+ *     MutableBar bar = bars.next();
+ *     sum += bar.getCloseValue();
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Error responses are mapped to the same exceptions as {@link ModelUtils}. Read and parse
+ * failures are reported as {@link TwelveDataException}. Instances are not thread-safe.
+ */
+public final class TimeSeriesBarReader implements Iterator<MutableBar>, AutoCloseable {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final InputStream in;
+  private final JsonParser parser;
+  private final MutableBar bar = new MutableBar();
+  private final CharView text = new CharView();
+  private final ObjectNode topLevel = objectMapper.createObjectNode();
+  private String timezone;
+  private boolean inValues;
+  private boolean pending;
+  private boolean done;
+  private int count;
+
+  /**
+   * Creates a reader over a response body. The reader owns the stream and closes it on {@link
+   * #close()}.
+   *
+   * @param in the response body
+   * @param priceScale the {@code dp} the request was made with, or -1 if unknown
+   * @throws TwelveDataException if the body cannot be read or is not a JSON object
+   */
+  public TimeSeriesBarReader(InputStream in, int priceScale) {
+    this.in = in;
+    this.parser = createParser(in);
+    bar.setPriceScale(priceScale);
+  }
+
+  /**
+   * Gets the meta of the response.
+   *
+   * @return the meta, or null if it has not been reached yet
+   */
+  public TimeSeriesMeta getMeta() {
+    return bar.getMeta();
+  }
+
+  /**
+   * Checks whether the response has another bar, decoding it if so.
+   *
+   * @return true if {@link #next()} will return a bar
+   * @throws TwelveDataException if the response is an error or cannot be read
+   */
+  @Override
+  public boolean hasNext() {
+    if (!pending && !done) {
+      try {
+        pending = advance();
+      } catch (IOException e) {
+        throw new TwelveDataException("Failed to read time series response", e);
+      }
+    }
+    return pending;
+  }
+
+  /**
+   * Gets the next bar.
+   *
+   * @return the bar, which is overwritten by the next call
+   * @throws NoSuchElementException if there are no more bars
+   */
+  @Override
+  public MutableBar next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    pending = false;
+    return bar;
+  }
+
+  /**
+   * Passes every remaining bar to a consumer.
+   *
+   * @param consumer the consumer
+   * @return the number of bars passed
+   * @throws TwelveDataException if the response is an error or cannot be read
+   */
+  public int forEach(BarConsumer consumer) {
+    int passed = 0;
+    while (hasNext()) {
+      consumer.accept(next());
+      passed++;
+    }
+    return passed;
+  }
+
+  /** Closes the parser and the stream, discarding any bars that were not read. */
+  @Override
+  public void close() {
+    done = true;
+    closeQuietly();
+  }
+
+  private boolean advance() throws IOException {
+    while (true) {
+      JsonToken token = parser.nextToken();
+      if (token == null) {
+        throw new TwelveDataException("Truncated time series response");
+      }
+      if (inValues) {
+        if (token == JsonToken.START_OBJECT) {
+          readBar();
+          return true;
+        }
+        if (token == JsonToken.END_ARRAY) {
+          inValues = false;
+        } else {
+          parser.skipChildren();
+        }
+        continue;
+      }
+      if (token == JsonToken.END_OBJECT) {
+        done = true;
+        closeQuietly();
+        ModelUtils.checkForError(topLevel);
+        return false;
+      }
+      String name = parser.currentName();
+      token = parser.nextToken();
+      if ("meta".equals(name) && token == JsonToken.START_OBJECT) {
+        TimeSeriesMeta meta = ModelUtils.parseTimeSeriesMeta(parser.readValueAsTree());
+        bar.setMeta(meta);
+        timezone = meta.getExchangeTimezone();
+      } else if ("values".equals(name) && token == JsonToken.START_ARRAY) {
+        inValues = true;
+      } else if (token.isScalarValue()) {
+        // Kept for the error check at the end of the response
+        topLevel.set(name, (JsonNode) parser.readValueAsTree());
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readBar() throws IOException {
+    bar.reset(count++);
+    JsonToken token;
+    while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      token = parser.nextToken();
+      if (!token.isScalarValue()) {
+        parser.skipChildren();
+        continue;
+      }
+      switch (name) {
+        case "datetime":
+          if (token == JsonToken.VALUE_STRING) {
+            bar.setDatetime(text(), timezone);
+          }
+          break;
+        case "open":
+          bar.setOpen(decodeDouble(token));
+          break;
+        case "high":
+          bar.setHigh(decodeDouble(token));
+          break;
+        case "low":
+          bar.setLow(decodeDouble(token));
+          break;
+        case "close":
+          bar.setClose(decodeDouble(token));
+          break;
+        case "volume":
+          bar.setVolume(decodeLong(token));
+          break;
+        default:
+          break;
+      }
+    }
+    if (token != JsonToken.END_OBJECT) {
+      throw new TwelveDataException("Truncated time series response");
+    }
+  }
+
+  private double decodeDouble(JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return NumberDecoder.parseDouble(text());
+      } catch (NumberFormatException e) {
+        return Double.NaN;
+      }
+    }
+    return token.isNumeric() ? parser.getDoubleValue() : Double.NaN;
+  }
+
+  private long decodeLong(JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return NumberDecoder.parseLong(text());
+      } catch (NumberFormatException e) {
+        return Long.MIN_VALUE;
+      }
+    }
+    return token == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : Long.MIN_VALUE;
+  }
+
+  private CharSequence text() throws IOException {
+    text.set(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    return text;
+  }
+
+  private static JsonParser createParser(InputStream in) {
+    try {
+      JsonParser parser = objectMapper.getFactory().createParser(in);
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        in.close();
+        throw new TwelveDataException("Expected a JSON object in the time series response");
+      }
+      return parser;
+    } catch (IOException e) {
+      try {
+        in.close();
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw new TwelveDataException("Failed to read time series response", e);
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      parser.close();
+      in.close();
+    } catch (IOException e) {
+      // Nothing left to read
+    }
+  }
+
+  /** A view over the parser's character buffer for the current token. */
+  private static final class CharView implements CharSequence {
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    private void set(char[] chars, int offset, int length) {
+      this.chars = chars;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new StringIndexOutOfBoundsException(index);
+      }
+      return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(chars, offset, length);
+    }
+  }
+}
@@ -58,6 +58,15 @@ public class TimeSeriesMeta {
     this.interval = interval;
   }
 
+  /**
+   * Gets the interval as an enum.
+   *
+   * @return the interval, or null if it is not set or not a known interval code
+   */
+  public Interval getIntervalAsEnum() {
+    return Interval.fromCode(interval);
+  }
+
   public String getCurrency() {
     return currency;
   }
@@ -98,6 +107,15 @@ public class TimeSeriesMeta {
     this.type = type;
   }
 
+  /**
+   * Gets the instrument type as an enum.
+   *
+   * @return the instrument type, or null if it is not set or not a known type
+   */
+  public InstrumentType getTypeAsEnum() {
+    return InstrumentType.fromCode(type);
+  }
+
   @Override
   public String toString() {
     return "TimeSeriesMeta{"
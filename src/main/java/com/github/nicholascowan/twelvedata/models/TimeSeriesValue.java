@@ -1,13 +1,33 @@
 package com.github.nicholascowan.twelvedata.models;
 
-/** Individual time series data point (OHLCV). */
+import java.time.ZoneId;
+
+/**
+ * Individual time series data point (OHLCV).
+ *
+ * <p>Prices and volume are decoded once when they are set and kept as primitives, so the numeric
+ * accessors such as {@link #getCloseValue()} and {@link #getCloseAsDouble()} do not parse on every
+ * call. Once the price scale is known, {@link #releaseRawStrings()} drops the strings that can be
+ * rebuilt exactly from those primitives; the string getters then render them on demand.
+ */
 public class TimeSeriesValue {
+  private static final long NO_EPOCH_MILLIS = Long.MIN_VALUE;
+  private static final long NO_VOLUME = Long.MIN_VALUE;
+
   private String datetime;
   private String open;
   private String high;
   private String low;
   private String close;
   private String volume;
+  private double openValue = Double.NaN;
+  private double highValue = Double.NaN;
+  private double lowValue = Double.NaN;
+  private double closeValue = Double.NaN;
+  private long volumeValue = NO_VOLUME;
+  private long epochMillis = NO_EPOCH_MILLIS;
+  private int priceScale = -1;
+  private boolean released;
 
   /** Default constructor for TimeSeriesValue. */
   public TimeSeriesValue() {}
@@ -30,6 +50,11 @@ public class TimeSeriesValue {
     this.low = low;
     this.close = close;
     this.volume = volume;
+    this.openValue = NumberDecoder.decodeDoubleOrNaN(open);
+    this.highValue = NumberDecoder.decodeDoubleOrNaN(high);
+    this.lowValue = NumberDecoder.decodeDoubleOrNaN(low);
+    this.closeValue = NumberDecoder.decodeDoubleOrNaN(close);
+    this.volumeValue = NumberDecoder.decodeLongOr(volume, NO_VOLUME);
   }
 
   // Getters and Setters
@@ -42,86 +67,245 @@ public class TimeSeriesValue {
   }
 
   public String getOpen() {
-    return open;
+    return NumberDecoder.render(open, openValue, priceScale);
   }
 
   public void setOpen(String open) {
     this.open = open;
+    this.openValue = NumberDecoder.decodeDoubleOrNaN(open);
   }
 
   public String getHigh() {
-    return high;
+    return NumberDecoder.render(high, highValue, priceScale);
   }
 
   public void setHigh(String high) {
     this.high = high;
+    this.highValue = NumberDecoder.decodeDoubleOrNaN(high);
   }
 
   public String getLow() {
-    return low;
+    return NumberDecoder.render(low, lowValue, priceScale);
   }
 
   public void setLow(String low) {
     this.low = low;
+    this.lowValue = NumberDecoder.decodeDoubleOrNaN(low);
   }
 
   public String getClose() {
-    return close;
+    return NumberDecoder.render(close, closeValue, priceScale);
   }
 
   public void setClose(String close) {
     this.close = close;
+    this.closeValue = NumberDecoder.decodeDoubleOrNaN(close);
   }
 
   public String getVolume() {
-    return volume;
+    return NumberDecoder.render(volume, volumeValue, NO_VOLUME);
   }
 
   public void setVolume(String volume) {
     this.volume = volume;
+    this.volumeValue = NumberDecoder.decodeLongOr(volume, NO_VOLUME);
   }
 
   // Helper methods to get numeric values
   public Double getOpenAsDouble() {
-    return open != null ? Double.parseDouble(open) : null;
+    return NumberDecoder.asDouble(open, openValue);
   }
 
   public Double getHighAsDouble() {
-    return high != null ? Double.parseDouble(high) : null;
+    return NumberDecoder.asDouble(high, highValue);
   }
 
   public Double getLowAsDouble() {
-    return low != null ? Double.parseDouble(low) : null;
+    return NumberDecoder.asDouble(low, lowValue);
   }
 
   public Double getCloseAsDouble() {
-    return close != null ? Double.parseDouble(close) : null;
+    return NumberDecoder.asDouble(close, closeValue);
   }
 
   public Long getVolumeAsLong() {
-    return volume != null ? Long.parseLong(volume) : null;
+    return NumberDecoder.asLong(volume, volumeValue, NO_VOLUME);
+  }
+
+  /**
+   * Gets the decoded opening price without boxing.
+   *
+   * @return the opening price, or {@code NaN} if it is not set or not a number
+   */
+  public double getOpenValue() {
+    return openValue;
+  }
+
+  /**
+   * Gets the decoded high price without boxing.
+   *
+   * @return the high price, or {@code NaN} if it is not set or not a number
+   */
+  public double getHighValue() {
+    return highValue;
+  }
+
+  /**
+   * Gets the decoded low price without boxing.
+   *
+   * @return the low price, or {@code NaN} if it is not set or not a number
+   */
+  public double getLowValue() {
+    return lowValue;
+  }
+
+  /**
+   * Gets the decoded closing price without boxing.
+   *
+   * @return the closing price, or {@code NaN} if it is not set or not a number
+   */
+  public double getCloseValue() {
+    return closeValue;
+  }
+
+  /**
+   * Gets the decoded volume without boxing.
+   *
+   * @return the volume, or 0 if it is not set or not an integer (e.g., for forex pairs)
+   */
+  public long getVolumeValue() {
+    return volumeValue != NO_VOLUME ? volumeValue : 0L;
+  }
+
+  /**
+   * Checks whether the volume is set and is an integer.
+   *
+   * @return true if {@link #getVolumeValue()} returns a decoded volume
+   */
+  public boolean hasVolume() {
+    return volumeValue != NO_VOLUME;
+  }
+
+  /**
+   * Drops the price and volume strings that {@link #getOpen()} and the other string getters can
+   * rebuild exactly from the decoded values at the {@linkplain #getPriceScale() price scale}.
+   * Strings with a different number of fraction digits, or that are not numbers, are kept.
+   *
+   * <p>Has no effect while the price scale is unknown. Afterwards the price scale can no longer
+   * change.
+   */
+  public void releaseRawStrings() {
+    if (priceScale < 0) {
+      return;
+    }
+    released = true;
+    if (NumberDecoder.isCanonical(open, priceScale)) {
+      open = null;
+    }
+    if (NumberDecoder.isCanonical(high, priceScale)) {
+      high = null;
+    }
+    if (NumberDecoder.isCanonical(low, priceScale)) {
+      low = null;
+    }
+    if (NumberDecoder.isCanonical(close, priceScale)) {
+      close = null;
+    }
+    if (NumberDecoder.isCanonical(volume, 0)) {
+      volume = null;
+    }
+  }
+
+  /**
+   * Gets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @return the price scale, or -1 if unknown and inferred from each string
+   */
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  /**
+   * Sets the number of decimal places prices were requested with ({@code dp}).
+   *
+   * @param priceScale the price scale, or -1 to infer it from each string
+   * @throws IllegalStateException if the raw strings were released at another scale, as the
+   *     string getters would no longer return the text the API sent
+   */
+  public void setPriceScale(int priceScale) {
+    if (released && priceScale != this.priceScale) {
+      throw new IllegalStateException("Price scale " + this.priceScale
+          + " cannot change after the raw strings were released");
+    }
+    this.priceScale = priceScale;
+  }
+
+  public ScaledDecimal getOpenAsScaled() {
+    return NumberDecoder.asScaled(open, openValue, priceScale);
+  }
+
+  public ScaledDecimal getHighAsScaled() {
+    return NumberDecoder.asScaled(high, highValue, priceScale);
+  }
+
+  public ScaledDecimal getLowAsScaled() {
+    return NumberDecoder.asScaled(low, lowValue, priceScale);
+  }
+
+  public ScaledDecimal getCloseAsScaled() {
+    return NumberDecoder.asScaled(close, closeValue, priceScale);
+  }
+
+  /**
+   * Gets the datetime as epoch milliseconds, as decoded from the exchange timezone of the response
+   * this value belongs to.
+   *
+   * @return the epoch milliseconds, or null if the value was not decoded with a timezone
+   */
+  public Long getEpochMillis() {
+    return epochMillis != NO_EPOCH_MILLIS ? epochMillis : null;
+  }
+
+  /**
+   * Sets the decoded epoch milliseconds of the datetime.
+   *
+   * @param epochMillis the epoch milliseconds
+   */
+  public void setEpochMillis(long epochMillis) {
+    this.epochMillis = epochMillis;
+  }
+
+  /**
+   * Converts the datetime to epoch milliseconds in the given zone.
+   *
+   * @param zone the zone the datetime is expressed in
+   * @return the epoch milliseconds, or null if the datetime is not set
+   * @throws java.time.format.DateTimeParseException if the datetime has an unsupported format
+   */
+  public Long getEpochMillis(ZoneId zone) {
+    return datetime != null ? DateTimeParser.toEpochMillis(datetime, zone) : null;
   }
 
   @Override
   public String toString() {
     return "TimeSeriesValue{"
         + "datetime='"
-        + datetime
+        + getDatetime()
         + '\''
         + ", open='"
-        + open
+        + getOpen()
         + '\''
         + ", high='"
-        + high
+        + getHigh()
         + '\''
         + ", low='"
-        + low
+        + getLow()
         + '\''
         + ", close='"
-        + close
+        + getClose()
         + '\''
         + ", volume='"
-        + volume
+        + getVolume()
         + '\''
         + '}';
   }
@@ -0,0 +1,10 @@
+package com.github.nicholascowan.twelvedata.series;
+
+/** The OHLCV fields of a bar, used to select a column from columnar series structures. */
+public enum BarField {
+  OPEN,
+  HIGH,
+  LOW,
+  CLOSE,
+  VOLUME
+}
@@ -0,0 +1,471 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Append-only, compressed in-memory series of OHLCV bars for a single symbol.
+ *
+ * <p>Bars are encoded into one bit stream with the techniques of Facebook's Gorilla time series
+ * store:
+ *
+ * <ul>
+ *   <li>timestamps as the delta of the delta to the previous bar, so a regular 1min series costs
+ *       one bit per bar while the interval does not change
+ *   <li>each price as the XOR with the previous price of the same field (the previous close for
+ *       the open), storing only the meaningful bits, so unchanged prices cost one bit
+ *   <li>volumes as zigzag varints of the difference to the previous volume
+ * </ul>
+ *
+ * <p>A year of 1min bars with two decimal places shrinks from 48 bytes per bar as primitive columns
+ * (and several hundred as {@code TimeSeriesValue} objects) to about 20. The encoding only supports
+ * sequential access: use {@link #cursor()} to scan the bars in ascending time order.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * CompressedSeries series = CompressedSeries.from(client.timeSeries("AAPL", "1min")
+ *     .outputsize(5000).asObject());
+ * series.append(nextBarMillis, open, high, low, close, volume);
+ *
+ * CompressedSeries.Cursor cursor = series.cursor();
+ * while (cursor.next()) {
+ *   double close = cursor.getClose();
+ * }
+ * }</pre>
+ *
+ * <p>Appending is not thread-safe. A cursor sees the bars that were appended before it was
+ * created; appends must not run concurrently with scans.
+ */
+public final class CompressedSeries {
+
+  /** Volume value for bars without a volume (e.g., forex pairs). */
+  public static final long NO_VOLUME = -1L;
+
+  private static final int PRICE_FIELDS = 4;
+  private static final int DEFAULT_CAPACITY = 256;
+
+  private byte[] buffer;
+  private long bitPosition;
+  private int size;
+
+  private long firstTimestamp;
+  private long lastTimestamp;
+  private long lastDelta;
+  private long lastVolume;
+  private final long[] lastPriceBits = new long[PRICE_FIELDS];
+  private final int[] lastLeadingZeros = new int[PRICE_FIELDS];
+  private final int[] lastTrailingZeros = new int[PRICE_FIELDS];
+
+  /** Creates an empty series. */
+  public CompressedSeries() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty series with an initial buffer capacity.
+   *
+   * @param initialCapacityBytes the initial size of the encoding buffer in bytes
+   */
+  public CompressedSeries(int initialCapacityBytes) {
+    this.buffer = new byte[Math.max(initialCapacityBytes, 16)];
+    Arrays.fill(lastLeadingZeros, -1);
+  }
+
+  /**
+   * Compresses the bars of a time series response.
+   *
+   * <p>Bars are sorted into ascending time order first, since the API returns the newest bar
+   * first by default; every bar is kept, including bars that share a timestamp. Datetimes are
+   * interpreted in the exchange timezone of the response meta.
+   *
+   * @param response the response to compress
+   * @return the compressed series
+   * @throws java.time.format.DateTimeParseException if a datetime has an unsupported format
+   */
+  public static CompressedSeries from(TimeSeriesResponse response) {
+    SeriesPanel.SymbolSeries bars = SeriesPanel.SymbolSeries.of(response);
+    long[] timestamps = bars.timestamps;
+    double[] open = bars.values[BarField.OPEN.ordinal()];
+    double[] high = bars.values[BarField.HIGH.ordinal()];
+    double[] low = bars.values[BarField.LOW.ordinal()];
+    double[] close = bars.values[BarField.CLOSE.ordinal()];
+    double[] volume = bars.values[BarField.VOLUME.ordinal()];
+
+    CompressedSeries series = new CompressedSeries(timestamps.length * 16);
+    for (int row = 0; row < timestamps.length; row++) {
+      long barVolume = Double.isNaN(volume[row]) ? NO_VOLUME : (long) volume[row];
+      series.append(timestamps[row], open[row], high[row], low[row], close[row], barVolume);
+    }
+    return series;
+  }
+
+  /**
+   * Appends a bar.
+   *
+   * @param epochMillis the bar timestamp, not before the last appended bar
+   * @param open the opening price
+   * @param high the high price
+   * @param low the low price
+   * @param close the closing price
+   * @param volume the volume, or {@link #NO_VOLUME}
+   * @return this series
+   * @throws IllegalArgumentException if the timestamp is before the last bar or the volume is
+   *     negative and not {@link #NO_VOLUME}
+   */
+  public CompressedSeries append(
+      long epochMillis, double open, double high, double low, double close, long volume) {
+    if (size > 0 && epochMillis < lastTimestamp) {
+      throw new IllegalArgumentException(
+          "Bars must be appended in ascending time order: " + epochMillis + " < " + lastTimestamp);
+    }
+    if (volume < NO_VOLUME) {
+      throw new IllegalArgumentException("Volume must not be negative: " + volume);
+    }
+    ensureCapacity(bitPosition + 64 + 2 + PRICE_FIELDS * 77 + 80);
+
+    if (size == 0) {
+      firstTimestamp = epochMillis;
+      writeBits(epochMillis, 64);
+    } else {
+      long delta = epochMillis - lastTimestamp;
+      writeDeltaOfDelta(delta - lastDelta);
+      lastDelta = delta;
+    }
+    lastTimestamp = epochMillis;
+
+    // The open usually repeats the previous close, so it is XORed with that instead
+    writePrice(0, open, lastPriceBits[3]);
+    writePrice(1, high, lastPriceBits[1]);
+    writePrice(2, low, lastPriceBits[2]);
+    writePrice(3, close, lastPriceBits[3]);
+
+    writeVarint(zigzag(volume - lastVolume));
+    lastVolume = volume;
+
+    size++;
+    return this;
+  }
+
+  /**
+   * Gets the number of bars.
+   *
+   * @return the number of bars
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the series has no bars.
+   *
+   * @return true if no bar was appended
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the timestamp of the first bar.
+   *
+   * @return the epoch milliseconds of the first bar
+   * @throws NoSuchElementException if the series is empty
+   */
+  public long getFirstTimestamp() {
+    if (size == 0) {
+      throw new NoSuchElementException("Series is empty");
+    }
+    return firstTimestamp;
+  }
+
+  /**
+   * Gets the timestamp of the last bar.
+   *
+   * @return the epoch milliseconds of the last bar
+   * @throws NoSuchElementException if the series is empty
+   */
+  public long getLastTimestamp() {
+    if (size == 0) {
+      throw new NoSuchElementException("Series is empty");
+    }
+    return lastTimestamp;
+  }
+
+  /**
+   * Gets the size of the encoded bars.
+   *
+   * @return the number of bytes used by the encoding, excluding unused buffer capacity
+   */
+  public int getEncodedBytes() {
+    return (int) ((bitPosition + 7) >>> 3);
+  }
+
+  /**
+   * Gets the average encoded size of a bar.
+   *
+   * @return the number of bytes per bar, or 0 if the series is empty
+   */
+  public double getBytesPerBar() {
+    return size > 0 ? (double) getEncodedBytes() / size : 0.0;
+  }
+
+  /** Shrinks the encoding buffer to the encoded size. */
+  public void trimToSize() {
+    buffer = Arrays.copyOf(buffer, Math.max(getEncodedBytes(), 16));
+  }
+
+  /**
+   * Creates a cursor positioned before the first bar.
+   *
+   * @return a cursor over the bars appended so far
+   */
+  public Cursor cursor() {
+    return new Cursor(buffer, size);
+  }
+
+  @Override
+  public String toString() {
+    return "CompressedSeries{"
+        + "size="
+        + size
+        + ", encodedBytes="
+        + getEncodedBytes()
+        + '}';
+  }
+
+  private void writeDeltaOfDelta(long deltaOfDelta) {
+    if (deltaOfDelta == 0) {
+      writeBits(0, 1);
+      return;
+    }
+    long encoded = zigzag(deltaOfDelta);
+    if (encoded < 1L << 7) {
+      writeBits(0b10, 2);
+      writeBits(encoded, 7);
+    } else if (encoded < 1L << 9) {
+      writeBits(0b110, 3);
+      writeBits(encoded, 9);
+    } else if (encoded < 1L << 12) {
+      writeBits(0b1110, 4);
+      writeBits(encoded, 12);
+    } else if (encoded < 1L << 32) {
+      writeBits(0b11110, 5);
+      writeBits(encoded, 32);
+    } else {
+      writeBits(0b11111, 5);
+      writeBits(encoded, 64);
+    }
+  }
+
+  private void writePrice(int field, double value, long referenceBits) {
+    long bits = Double.doubleToRawLongBits(value);
+    long xor = bits ^ referenceBits;
+    lastPriceBits[field] = bits;
+    if (xor == 0) {
+      writeBits(0, 1);
+      return;
+    }
+    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+    int trailing = Long.numberOfTrailingZeros(xor);
+    int previousLeading = lastLeadingZeros[field];
+    int previousTrailing = lastTrailingZeros[field];
+    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+      // The meaningful bits fit in the previous window
+      writeBits(0b10, 2);
+      writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+      return;
+    }
+    int meaningful = 64 - leading - trailing;
+    writeBits(0b11, 2);
+    writeBits(leading, 5);
+    writeBits(meaningful - 1, 6);
+    writeBits(xor >>> trailing, meaningful);
+    lastLeadingZeros[field] = leading;
+    lastTrailingZeros[field] = trailing;
+  }
+
+  private void writeVarint(long value) {
+    while ((value & ~0x7FL) != 0) {
+      writeBits((value & 0x7F) | 0x80, 8);
+      value >>>= 7;
+    }
+    writeBits(value, 8);
+  }
+
+  /** Writes the low {@code count} bits of value, most significant first. */
+  private void writeBits(long value, int count) {
+    while (count > 0) {
+      int byteIndex = (int) (bitPosition >>> 3);
+      int freeInByte = 8 - (int) (bitPosition & 7);
+      int chunk = Math.min(freeInByte, count);
+      int bits = (int) ((value >>> (count - chunk)) & ((1 << chunk) - 1));
+      buffer[byteIndex] |= (byte) (bits << (freeInByte - chunk));
+      bitPosition += chunk;
+      count -= chunk;
+    }
+  }
+
+  private void ensureCapacity(long bits) {
+    long requiredBytes = (bits + 7) >>> 3;
+    if (requiredBytes > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Compressed series is full");
+    }
+    if (requiredBytes > buffer.length) {
+      long grown = Math.max(requiredBytes, (long) buffer.length * 2);
+      buffer = Arrays.copyOf(buffer, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+    }
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Sequential reader over the bars of a {@link CompressedSeries}, in ascending time order.
+   *
+   * <p>The getters return the values of the current bar, i.e. the bar of the last call to {@link
+   * #next()} that returned true.
+   */
+  public static final class Cursor {
+    private final byte[] buffer;
+    private final int size;
+    private long bitPosition;
+    private int position = -1;
+
+    private long timestamp;
+    private long delta;
+    private long volume;
+    private final long[] priceBits = new long[PRICE_FIELDS];
+    private final int[] leadingZeros = new int[PRICE_FIELDS];
+    private final int[] trailingZeros = new int[PRICE_FIELDS];
+
+    private Cursor(byte[] buffer, int size) {
+      this.buffer = buffer;
+      this.size = size;
+    }
+
+    /**
+     * Advances to the next bar.
+     *
+     * @return true if there is a next bar, false at the end of the series
+     */
+    public boolean next() {
+      if (position + 1 >= size) {
+        return false;
+      }
+      position++;
+      if (position == 0) {
+        timestamp = readBits(64);
+      } else {
+        delta += readDeltaOfDelta();
+        timestamp += delta;
+      }
+      readPrice(0, priceBits[3]);
+      for (int field = 1; field < PRICE_FIELDS; field++) {
+        readPrice(field, priceBits[field]);
+      }
+      volume += unzigzag(readVarint());
+      return true;
+    }
+
+    /**
+     * Gets the position of the current bar.
+     *
+     * @return the zero-based position, or -1 before the first call to {@link #next()}
+     */
+    public int getPosition() {
+      return position;
+    }
+
+    public long getEpochMillis() {
+      return timestamp;
+    }
+
+    public double getOpen() {
+      return Double.longBitsToDouble(priceBits[0]);
+    }
+
+    public double getHigh() {
+      return Double.longBitsToDouble(priceBits[1]);
+    }
+
+    public double getLow() {
+      return Double.longBitsToDouble(priceBits[2]);
+    }
+
+    public double getClose() {
+      return Double.longBitsToDouble(priceBits[3]);
+    }
+
+    /**
+     * Gets the volume of the current bar.
+     *
+     * @return the volume, or {@link #NO_VOLUME} if the bar has none
+     */
+    public long getVolume() {
+      return volume;
+    }
+
+    private long readDeltaOfDelta() {
+      if (readBits(1) == 0) {
+        return 0;
+      }
+      int width;
+      if (readBits(1) == 0) {
+        width = 7;
+      } else if (readBits(1) == 0) {
+        width = 9;
+      } else if (readBits(1) == 0) {
+        width = 12;
+      } else {
+        width = readBits(1) == 0 ? 32 : 64;
+      }
+      return unzigzag(readBits(width));
+    }
+
+    private void readPrice(int field, long referenceBits) {
+      priceBits[field] = referenceBits;
+      if (readBits(1) == 0) {
+        return;
+      }
+      if (readBits(1) == 1) {
+        leadingZeros[field] = (int) readBits(5);
+        int meaningful = (int) readBits(6) + 1;
+        trailingZeros[field] = 64 - leadingZeros[field] - meaningful;
+      }
+      int meaningful = 64 - leadingZeros[field] - trailingZeros[field];
+      priceBits[field] ^= readBits(meaningful) << trailingZeros[field];
+    }
+
+    private long readVarint() {
+      long value = 0;
+      int shift = 0;
+      long chunk;
+      do {
+        chunk = readBits(8);
+        value |= (chunk & 0x7F) << shift;
+        shift += 7;
+      } while ((chunk & 0x80) != 0);
+      return value;
+    }
+
+    private long readBits(int count) {
+      long value = 0;
+      while (count > 0) {
+        int byteIndex = (int) (bitPosition >>> 3);
+        int availableInByte = 8 - (int) (bitPosition & 7);
+        int chunk = Math.min(availableInByte, count);
+        int bits = ((buffer[byteIndex] & 0xFF) >>> (availableInByte - chunk)) & ((1 << chunk) - 1);
+        value = (value << chunk) | bits;
+        bitPosition += chunk;
+        count -= chunk;
+      }
+      return value;
+    }
+  }
+}
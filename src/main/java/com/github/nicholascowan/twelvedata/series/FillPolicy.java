@@ -0,0 +1,17 @@
+package com.github.nicholascowan.twelvedata.series;
+
+/**
+ * Policy for cells of a {@link SeriesPanel} where a symbol has no bar at a timestamp that exists
+ * for at least one other symbol.
+ */
+public enum FillPolicy {
+
+  /** Leave missing cells as {@link Double#NaN}. */
+  NAN,
+
+  /**
+   * Carry the most recent bar of the same symbol forward. Cells before the first bar of a symbol
+   * remain {@link Double#NaN}.
+   */
+  FORWARD_FILL
+}
@@ -0,0 +1,134 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owner of the off-heap memory behind a group of {@link OffHeapSeries}.
+ *
+ * <p>Memory is allocated as direct {@link ByteBuffer}s, which live outside the Java heap, so cached
+ * history does not count against the old generation or get copied by the collector. Series only
+ * reach their buffer through the arena, so closing the arena makes all of its buffers unreachable
+ * at once, even while the series handles are still cached; series of a closed arena throw {@link
+ * IllegalStateException} on access. The memory itself is returned by the buffers' cleaner when
+ * the garbage collector finds them, never while a read that started before the close is running.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * try (OffHeapArena arena = new OffHeapArena()) {
+ *   OffHeapSeries aapl = OffHeapSeries.copyOf(response, arena);
+ *   double close = aapl.getClose(aapl.size() - 1);
+ * }
+ * }</pre>
+ *
+ * <p>Instances are thread-safe. A series may be read on one thread while the arena is closed on
+ * another: the read either completes on the old memory or throws.
+ */
+public final class OffHeapArena implements AutoCloseable {
+
+  private final List<Block> blocks = new ArrayList<>();
+  private long allocatedBytes;
+  private volatile boolean open = true;
+
+  /**
+   * Allocates a zeroed, native-order direct buffer owned by this arena.
+   *
+   * <p>The returned buffer stays usable, and its memory allocated, for as long as the caller
+   * references it, also after the arena is closed.
+   *
+   * @param bytes the size of the buffer
+   * @return the buffer
+   * @throws IllegalStateException if the arena is closed
+   * @throws IllegalArgumentException if bytes is negative
+   */
+  public synchronized ByteBuffer allocate(int bytes) {
+    return allocateBlock(bytes).buffer();
+  }
+
+  /**
+   * Gets the total size of the buffers allocated by this arena.
+   *
+   * @return the number of off-heap bytes, or 0 once closed
+   */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Checks whether the arena is open.
+   *
+   * @return true until {@link #close()} is called
+   */
+  public boolean isOpen() {
+    return open;
+  }
+
+  /**
+   * Releases all buffers of this arena, so that their memory is freed once the garbage collector
+   * finds them. Calling it again has no effect.
+   */
+  @Override
+  public synchronized void close() {
+    if (!open) {
+      return;
+    }
+    open = false;
+    for (Block block : blocks) {
+      block.buffer = null;
+    }
+    blocks.clear();
+    allocatedBytes = 0;
+  }
+
+  synchronized Block allocateBlock(int bytes) {
+    if (!open) {
+      throw new IllegalStateException("Off-heap arena is closed");
+    }
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Size must not be negative: " + bytes);
+    }
+    Block block = new Block(ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder()));
+    blocks.add(block);
+    allocatedBytes += bytes;
+    return block;
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapArena{"
+        + "open="
+        + open
+        + ", allocatedBytes="
+        + getAllocatedBytes()
+        + '}';
+  }
+
+  /**
+   * The only reference to a buffer the arena owns. Readers copy the reference before using it,
+   * which keeps the memory alive for the rest of the read.
+   */
+  static final class Block {
+    private volatile ByteBuffer buffer;
+
+    private Block(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    /**
+     * Gets the buffer.
+     *
+     * @return the buffer
+     * @throws IllegalStateException if the arena is closed
+     */
+    ByteBuffer buffer() {
+      ByteBuffer current = buffer;
+      if (current == null) {
+        throw new IllegalStateException("Off-heap arena is closed");
+      }
+      return current;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import com.github.nicholascowan.twelvedata.models.TimeSeriesMeta;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only OHLCV series of a single symbol stored off-heap in an {@link OffHeapArena}.
+ *
+ * <p>The bars are copied into one direct buffer as primitive columns (epoch milliseconds, open,
+ * high, low, close and volume, 48 bytes per bar) in ascending time order. Only this small handle
+ * and the response meta stay on the heap, so a large cache of series adds almost nothing to the
+ * live set the garbage collector has to trace and copy.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * OffHeapArena arena = new OffHeapArena();
+ * OffHeapSeries series = OffHeapSeries.copyOf(client.timeSeries("AAPL", "1min")
+ *     .outputsize(5000).asColumnarObject(), arena);
+ * int row = series.indexOf(epochMillis);
+ * double close = row >= 0 ? series.getClose(row) : Double.NaN;
+ * // ...
+ * arena.close();
+ * }</pre>
+ *
+ * <p>Instances are safe to share between threads, also while the arena is being closed. Every
+ * accessor throws {@link IllegalStateException} once the arena has been closed.
+ */
+public final class OffHeapSeries {
+
+  /** Volume value for bars without a volume (e.g., forex pairs). */
+  public static final long NO_VOLUME = -1L;
+
+  private static final int BYTES_PER_BAR = 6 * Long.BYTES;
+  private static final int TIMESTAMP = 0;
+  private static final int OPEN = 1;
+  private static final int HIGH = 2;
+  private static final int LOW = 3;
+  private static final int CLOSE = 4;
+  private static final int VOLUME = 5;
+
+  private final OffHeapArena arena;
+  private final OffHeapArena.Block block;
+  private final int size;
+  private final TimeSeriesMeta meta;
+
+  private OffHeapSeries(OffHeapArena arena, int size, TimeSeriesMeta meta) {
+    if (size > Integer.MAX_VALUE / BYTES_PER_BAR) {
+      throw new IllegalArgumentException("Too many bars for one off-heap series: " + size);
+    }
+    this.arena = arena;
+    this.block = arena.allocateBlock(size * BYTES_PER_BAR);
+    this.size = size;
+    this.meta = meta;
+  }
+
+  /**
+   * Copies the bars of a time series response off-heap.
+   *
+   * <p>Both object and columnar responses are supported; {@link
+   * com.github.nicholascowan.twelvedata.models.ColumnarTimeSeriesValues} are copied straight from
+   * their columns. Bars are sorted into ascending time order and every bar is kept, including bars
+   * that share a timestamp. Datetimes are interpreted in the exchange timezone of the response
+   * meta.
+   *
+   * @param response the response to copy
+   * @param arena the arena that owns the memory
+   * @return the off-heap series
+   * @throws IllegalStateException if the arena is closed
+   * @throws java.time.format.DateTimeParseException if a datetime has an unsupported format
+   */
+  public static OffHeapSeries copyOf(TimeSeriesResponse response, OffHeapArena arena) {
+    SeriesPanel.SymbolSeries bars = SeriesPanel.SymbolSeries.of(response);
+    long[] timestamps = bars.timestamps;
+    double[] open = bars.values[BarField.OPEN.ordinal()];
+    double[] high = bars.values[BarField.HIGH.ordinal()];
+    double[] low = bars.values[BarField.LOW.ordinal()];
+    double[] close = bars.values[BarField.CLOSE.ordinal()];
+    double[] volume = bars.values[BarField.VOLUME.ordinal()];
+
+    OffHeapSeries series = new OffHeapSeries(arena, timestamps.length, response.getMeta());
+    for (int row = 0; row < timestamps.length; row++) {
+      long barVolume = Double.isNaN(volume[row]) ? NO_VOLUME : (long) volume[row];
+      series.put(row, timestamps[row], open[row], high[row], low[row], close[row], barVolume);
+    }
+    return series;
+  }
+
+  /**
+   * Copies the bars of a compressed series off-heap.
+   *
+   * @param compressed the compressed series
+   * @param meta the meta of the series, may be null
+   * @param arena the arena that owns the memory
+   * @return the off-heap series
+   * @throws IllegalStateException if the arena is closed
+   */
+  public static OffHeapSeries copyOf(
+      CompressedSeries compressed, TimeSeriesMeta meta, OffHeapArena arena) {
+    OffHeapSeries series = new OffHeapSeries(arena, compressed.size(), meta);
+    CompressedSeries.Cursor cursor = compressed.cursor();
+    while (cursor.next()) {
+      series.put(cursor.getPosition(), cursor.getEpochMillis(), cursor.getOpen(),
+          cursor.getHigh(), cursor.getLow(), cursor.getClose(), cursor.getVolume());
+    }
+    return series;
+  }
+
+  /**
+   * Gets the number of bars.
+   *
+   * @return the number of bars
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the meta of the response the series was copied from.
+   *
+   * @return the meta, or null if none was given
+   */
+  public TimeSeriesMeta getMeta() {
+    return meta;
+  }
+
+  /**
+   * Gets the arena that owns the memory of this series.
+   *
+   * @return the arena
+   */
+  public OffHeapArena getArena() {
+    return arena;
+  }
+
+  public long getTimestamp(int row) {
+    return block.buffer().getLong(offset(TIMESTAMP, row));
+  }
+
+  public double getOpen(int row) {
+    return block.buffer().getDouble(offset(OPEN, row));
+  }
+
+  public double getHigh(int row) {
+    return block.buffer().getDouble(offset(HIGH, row));
+  }
+
+  public double getLow(int row) {
+    return block.buffer().getDouble(offset(LOW, row));
+  }
+
+  public double getClose(int row) {
+    return block.buffer().getDouble(offset(CLOSE, row));
+  }
+
+  /**
+   * Gets the volume of a bar.
+   *
+   * @param row the row
+   * @return the volume, or {@link #NO_VOLUME} if the bar has none
+   */
+  public long getVolume(int row) {
+    return block.buffer().getLong(offset(VOLUME, row));
+  }
+
+  /**
+   * Finds the row of a timestamp.
+   *
+   * @param epochMillis the timestamp
+   * @return the row, or -1 if no bar has that timestamp
+   */
+  public int indexOf(long epochMillis) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long timestamp = getTimestamp(mid);
+      if (timestamp < epochMillis) {
+        low = mid + 1;
+      } else if (timestamp > epochMillis) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compresses the bars back onto the heap.
+   *
+   * @return a compressed copy of the series
+   */
+  public CompressedSeries toCompressedSeries() {
+    CompressedSeries compressed = new CompressedSeries(size * 16);
+    for (int row = 0; row < size; row++) {
+      compressed.append(getTimestamp(row), getOpen(row), getHigh(row), getLow(row), getClose(row),
+          getVolume(row));
+    }
+    return compressed;
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapSeries{"
+        + "symbol="
+        + (meta != null ? meta.getSymbol() : null)
+        + ", size="
+        + size
+        + ", open="
+        + arena.isOpen()
+        + '}';
+  }
+
+  private void put(
+      int row, long timestamp, double open, double high, double low, double close, long volume) {
+    ByteBuffer buffer = block.buffer();
+    buffer.putLong(offset(TIMESTAMP, row), timestamp);
+    buffer.putDouble(offset(OPEN, row), open);
+    buffer.putDouble(offset(HIGH, row), high);
+    buffer.putDouble(offset(LOW, row), low);
+    buffer.putDouble(offset(CLOSE, row), close);
+    buffer.putLong(offset(VOLUME, row), volume);
+  }
+
+  private int offset(int column, int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+    }
+    return (column * size + row) * Long.BYTES;
+  }
+}
@@ -0,0 +1,472 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import com.github.nicholascowan.twelvedata.models.ColumnarTimeSeriesValues;
+import com.github.nicholascowan.twelvedata.models.DateTimeParser;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesMeta;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Multi-symbol panel of bars aligned on a shared, ascending epoch-millisecond index.
+ *
+ * <p>A panel is built by merging several {@link TimeSeriesResponse} results. Every distinct bar
+ * timestamp across all symbols becomes one row of the index, and each symbol gets one primitive
+ * {@code double[]} column per {@link BarField}. Cells where a symbol has no bar are filled
+ * according to the {@link FillPolicy}; a bar's own {@link Double#NaN} values are kept as they are.
+ *
+ * <p>The merge is a k-way merge over the per-symbol series, so building a panel costs
+ * {@code O(total bars * log symbols)} regardless of how the symbols' trading calendars overlap.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * Map<String, TimeSeriesResponse> responses = new LinkedHashMap<>();
+ * responses.put("AAPL", client.timeSeries("AAPL", "1day").outputsize(500).asObject());
+ * responses.put("MSFT", client.timeSeries("MSFT", "1day").outputsize(500).asObject());
+ *
+ * SeriesPanel panel = SeriesPanel.merge(responses, FillPolicy.FORWARD_FILL);
+ * double[] aaplClose = panel.getColumn("AAPL", BarField.CLOSE);
+ * double[] msftClose = panel.getColumn("MSFT", BarField.CLOSE);
+ * for (int row = 0; row < panel.size(); row++) {
+ *   double spread = aaplClose[row] - msftClose[row];
+ * }
+ * }</pre>
+ *
+ * <p>Datetimes are interpreted in the exchange timezone reported in each response's meta, falling
+ * back to UTC when it is missing. Instances are immutable and safe to share between threads as long
+ * as the arrays returned by {@link #getColumn(String, BarField)} are not modified.
+ *
+ * @see FillPolicy
+ * @see BarField
+ */
+public final class SeriesPanel {
+
+  private static final BarField[] ALL_FIELDS = BarField.values();
+
+  private final long[] index;
+  private final String[] symbols;
+  private final Map<String, Integer> symbolIndex;
+  private final double[][][] columns;
+  private final FillPolicy fillPolicy;
+
+  private SeriesPanel(
+      long[] index, String[] symbols, double[][][] columns, FillPolicy fillPolicy) {
+    this.index = index;
+    this.symbols = symbols;
+    this.columns = columns;
+    this.fillPolicy = fillPolicy;
+    this.symbolIndex = new HashMap<>(symbols.length * 2);
+    for (int i = 0; i < symbols.length; i++) {
+      symbolIndex.put(symbols[i], i);
+    }
+  }
+
+  /**
+   * Merges responses into a panel, taking each symbol from the response's meta.
+   *
+   * @param responses the responses to merge, one per symbol
+   * @param fillPolicy how to fill cells where a symbol has no bar
+   * @param fields the fields to include; all fields when none are given
+   * @return the merged panel
+   * @throws IllegalArgumentException if a response has no symbol in its meta, or two responses
+   *     share a symbol
+   */
+  public static SeriesPanel merge(
+      Collection<? extends TimeSeriesResponse> responses,
+      FillPolicy fillPolicy,
+      BarField... fields) {
+    Map<String, TimeSeriesResponse> bySymbol = new LinkedHashMap<>();
+    for (TimeSeriesResponse response : responses) {
+      TimeSeriesMeta meta = response.getMeta();
+      if (meta == null || meta.getSymbol() == null) {
+        throw new IllegalArgumentException("Response has no symbol in its meta: " + response);
+      }
+      if (bySymbol.put(meta.getSymbol(), response) != null) {
+        throw new IllegalArgumentException("Duplicate symbol in panel: " + meta.getSymbol());
+      }
+    }
+    return merge(bySymbol, fillPolicy, fields);
+  }
+
+  /**
+   * Merges responses keyed by symbol into a panel. Symbols keep the iteration order of the map.
+   *
+   * @param responses the responses to merge keyed by the symbol used as column name
+   * @param fillPolicy how to fill cells where a symbol has no bar
+   * @param fields the fields to include; all fields when none are given
+   * @return the merged panel
+   */
+  public static SeriesPanel merge(
+      Map<String, ? extends TimeSeriesResponse> responses,
+      FillPolicy fillPolicy,
+      BarField... fields) {
+    Set<BarField> included =
+        fields.length == 0 ? EnumSet.allOf(BarField.class) : EnumSet.copyOf(Arrays.asList(fields));
+
+    int symbolCount = responses.size();
+    String[] symbols = new String[symbolCount];
+    SymbolSeries[] series = new SymbolSeries[symbolCount];
+    int k = 0;
+    for (Map.Entry<String, ? extends TimeSeriesResponse> entry : responses.entrySet()) {
+      symbols[k] = entry.getKey();
+      series[k] = SymbolSeries.of(entry.getValue());
+      k++;
+    }
+
+    // k-way merge of the per-symbol timestamp streams into the shared index
+    int[][] rowOf = new int[symbolCount][];
+    long[] index = new long[Math.max(16, maxLength(series))];
+    int rows = 0;
+    CursorHeap heap = new CursorHeap(series);
+    while (!heap.isEmpty()) {
+      int s = heap.peek();
+      SymbolSeries current = series[s];
+      long timestamp = current.timestamps[current.cursor];
+      if (rows == 0 || index[rows - 1] != timestamp) {
+        if (rows == index.length) {
+          index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[rows++] = timestamp;
+      }
+      if (rowOf[s] == null) {
+        rowOf[s] = new int[current.timestamps.length];
+      }
+      rowOf[s][current.cursor] = rows - 1;
+      current.cursor++;
+      heap.advance();
+    }
+    index = Arrays.copyOf(index, rows);
+
+    double[][][] columns = new double[ALL_FIELDS.length][][];
+    for (BarField field : included) {
+      double[][] perSymbol = new double[symbolCount][];
+      for (int s = 0; s < symbolCount; s++) {
+        double[] column = new double[rows];
+        Arrays.fill(column, Double.NaN);
+        double[] source = series[s].values[field.ordinal()];
+        for (int i = 0; i < source.length; i++) {
+          column[rowOf[s][i]] = source[i];
+        }
+        if (fillPolicy == FillPolicy.FORWARD_FILL && source.length > 0) {
+          forwardFill(column, rowOf[s]);
+        }
+        perSymbol[s] = column;
+      }
+      columns[field.ordinal()] = perSymbol;
+    }
+
+    return new SeriesPanel(index, symbols, columns, fillPolicy);
+  }
+
+  /**
+   * Gets the number of rows in the shared index.
+   *
+   * @return the number of distinct timestamps across all symbols
+   */
+  public int size() {
+    return index.length;
+  }
+
+  /**
+   * Gets the number of symbols in the panel.
+   *
+   * @return the symbol count
+   */
+  public int symbolCount() {
+    return symbols.length;
+  }
+
+  /**
+   * Gets the symbols of the panel in column order.
+   *
+   * @return an unmodifiable list of symbols
+   */
+  public List<String> getSymbols() {
+    return Collections.unmodifiableList(Arrays.asList(symbols));
+  }
+
+  /**
+   * Gets the position of a symbol in column order.
+   *
+   * @param symbol the symbol
+   * @return the symbol position, or -1 if the symbol is not part of the panel
+   */
+  public int indexOfSymbol(String symbol) {
+    Integer position = symbolIndex.get(symbol);
+    return position != null ? position : -1;
+  }
+
+  /**
+   * Gets the timestamp of a row.
+   *
+   * @param row the row number
+   * @return the epoch milliseconds of the row
+   */
+  public long getTimestamp(int row) {
+    return index[row];
+  }
+
+  /**
+   * Gets a copy of the shared ascending index.
+   *
+   * @return the epoch milliseconds of all rows
+   */
+  public long[] getIndex() {
+    return index.clone();
+  }
+
+  /**
+   * Finds the row holding an exact timestamp.
+   *
+   * @param epochMillis the timestamp to look up
+   * @return the row number, or -1 if no symbol has a bar at that timestamp
+   */
+  public int indexOf(long epochMillis) {
+    int row = Arrays.binarySearch(index, epochMillis);
+    return row >= 0 ? row : -1;
+  }
+
+  /**
+   * Gets the column of a symbol for a field.
+   *
+   * <p>The returned array is the panel's backing storage and has {@link #size()} entries. It is
+   * returned without copying so analytics can iterate it directly, and must not be modified.
+   *
+   * @param symbol the symbol
+   * @param field the bar field
+   * @return the column values aligned with the index
+   * @throws IllegalArgumentException if the symbol or field is not part of the panel
+   */
+  public double[] getColumn(String symbol, BarField field) {
+    int position = indexOfSymbol(symbol);
+    if (position < 0) {
+      throw new IllegalArgumentException("Symbol not in panel: " + symbol);
+    }
+    return getColumn(position, field);
+  }
+
+  /**
+   * Gets the column of a symbol position for a field.
+   *
+   * @param symbolPosition the symbol position as returned by {@link #indexOfSymbol(String)}
+   * @param field the bar field
+   * @return the column values aligned with the index; must not be modified
+   * @throws IllegalArgumentException if the field was not included when merging
+   */
+  public double[] getColumn(int symbolPosition, BarField field) {
+    double[][] perSymbol = columns[field.ordinal()];
+    if (perSymbol == null) {
+      throw new IllegalArgumentException("Field not included in panel: " + field);
+    }
+    return perSymbol[symbolPosition];
+  }
+
+  /**
+   * Gets a single cell of the panel.
+   *
+   * @param row the row number
+   * @param symbol the symbol
+   * @param field the bar field
+   * @return the value, or {@link Double#NaN} if the cell is missing
+   */
+  public double get(int row, String symbol, BarField field) {
+    return getColumn(symbol, field)[row];
+  }
+
+  /**
+   * Gets the fill policy the panel was built with.
+   *
+   * @return the fill policy
+   */
+  public FillPolicy getFillPolicy() {
+    return fillPolicy;
+  }
+
+  @Override
+  public String toString() {
+    return "SeriesPanel{"
+        + "symbols="
+        + symbols.length
+        + ", rows="
+        + index.length
+        + ", fillPolicy="
+        + fillPolicy
+        + '}';
+  }
+
+  /** Fills the rows between a symbol's bars, given the ascending rows the bars landed on. */
+  private static void forwardFill(double[] column, int[] rows) {
+    for (int i = 0; i < rows.length; i++) {
+      int end = i + 1 < rows.length ? rows[i + 1] : column.length;
+      for (int row = rows[i] + 1; row < end; row++) {
+        column[row] = column[rows[i]];
+      }
+    }
+  }
+
+  private static int maxLength(SymbolSeries[] series) {
+    int max = 0;
+    for (SymbolSeries s : series) {
+      max = Math.max(max, s.timestamps.length);
+    }
+    return max;
+  }
+
+  private static double toDouble(Double value) {
+    return value != null ? value : Double.NaN;
+  }
+
+  /**
+   * One symbol's bars in ascending timestamp order, with a merge cursor. Bars that share a
+   * timestamp are all kept; {@link CompressedSeries} and {@link OffHeapSeries} copy them as they
+   * are.
+   */
+  static final class SymbolSeries {
+    final long[] timestamps;
+    final double[][] values;
+    int cursor;
+
+    private SymbolSeries(long[] timestamps, double[][] values) {
+      this.timestamps = timestamps;
+      this.values = values;
+    }
+
+    static SymbolSeries of(TimeSeriesResponse response) {
+      List<TimeSeriesValue> bars =
+          response.getValues() != null ? response.getValues() : new ArrayList<>();
+      TimeSeriesMeta meta = response.getMeta();
+      String timezone = meta != null ? meta.getExchangeTimezone() : null;
+
+      // Columnar values are read straight from their columns, without row views
+      ColumnarTimeSeriesValues columns =
+          bars instanceof ColumnarTimeSeriesValues ? (ColumnarTimeSeriesValues) bars : null;
+
+      int n = bars.size();
+      long[] timestamps = new long[n];
+      for (int i = 0; i < n; i++) {
+        if (columns != null && columns.getEpochMillisValue(i) != Long.MIN_VALUE) {
+          timestamps[i] = columns.getEpochMillisValue(i);
+          continue;
+        }
+        TimeSeriesValue bar = bars.get(i);
+        Long decoded = bar.getEpochMillis();
+        timestamps[i] =
+            decoded != null ? decoded : DateTimeParser.toEpochMillis(bar.getDatetime(), timezone);
+      }
+
+      // The API returns descending order by default; normalize to ascending
+      Integer[] order = null;
+      boolean descending = n > 1 && timestamps[0] > timestamps[n - 1];
+      for (int i = 1; i < n && order == null; i++) {
+        boolean outOfOrder =
+            descending ? timestamps[i] > timestamps[i - 1] : timestamps[i] < timestamps[i - 1];
+        if (outOfOrder) {
+          order = new Integer[n];
+          for (int j = 0; j < n; j++) {
+            order[j] = j;
+          }
+          final long[] keys = timestamps;
+          Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+        }
+      }
+
+      long[] sorted = new long[n];
+      double[][] values = new double[ALL_FIELDS.length][n];
+      for (int i = 0; i < n; i++) {
+        int source = order != null ? order[i] : descending ? n - 1 - i : i;
+        sorted[i] = timestamps[source];
+        if (columns != null) {
+          values[BarField.OPEN.ordinal()][i] = columns.getOpenValue(source);
+          values[BarField.HIGH.ordinal()][i] = columns.getHighValue(source);
+          values[BarField.LOW.ordinal()][i] = columns.getLowValue(source);
+          values[BarField.CLOSE.ordinal()][i] = columns.getCloseValue(source);
+          values[BarField.VOLUME.ordinal()][i] =
+              columns.hasVolume(source) ? columns.getVolumeValue(source) : Double.NaN;
+          continue;
+        }
+        TimeSeriesValue bar = bars.get(source);
+        values[BarField.OPEN.ordinal()][i] = toDouble(bar.getOpenAsDouble());
+        values[BarField.HIGH.ordinal()][i] = toDouble(bar.getHighAsDouble());
+        values[BarField.LOW.ordinal()][i] = toDouble(bar.getLowAsDouble());
+        values[BarField.CLOSE.ordinal()][i] = toDouble(bar.getCloseAsDouble());
+        Long volume = bar.getVolumeAsLong();
+        values[BarField.VOLUME.ordinal()][i] = volume != null ? volume : Double.NaN;
+      }
+      return new SymbolSeries(sorted, values);
+    }
+  }
+
+  /** Binary min-heap of symbol positions keyed by the timestamp under each symbol's cursor. */
+  private static final class CursorHeap {
+    private final SymbolSeries[] series;
+    private final int[] heap;
+    private int size;
+
+    CursorHeap(SymbolSeries[] series) {
+      this.series = series;
+      this.heap = new int[series.length];
+      for (int s = 0; s < series.length; s++) {
+        if (series[s].timestamps.length > 0) {
+          heap[size++] = s;
+        }
+      }
+      for (int i = size / 2 - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    int peek() {
+      return heap[0];
+    }
+
+    /** Re-establishes the heap after the cursor of the top symbol moved forward. */
+    void advance() {
+      SymbolSeries top = series[heap[0]];
+      if (top.cursor >= top.timestamps.length) {
+        heap[0] = heap[--size];
+      }
+      if (size > 0) {
+        siftDown(0);
+      }
+    }
+
+    private long key(int s) {
+      SymbolSeries entry = series[s];
+      return entry.timestamps[entry.cursor];
+    }
+
+    private void siftDown(int i) {
+      int item = heap[i];
+      long itemKey = key(item);
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && key(heap[child + 1]) < key(heap[child])) {
+          child++;
+        }
+        if (key(heap[child]) >= itemKey) {
+          break;
+        }
+        heap[i] = heap[child];
+        i = child;
+      }
+      heap[i] = item;
+    }
+  }
+}
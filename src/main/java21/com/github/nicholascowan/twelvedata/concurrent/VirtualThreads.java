@@ -0,0 +1,32 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads on Java 21 and later.
+ *
+ * <p>Packaged in {@code META-INF/versions/21} of the multi-release jar, where it replaces the
+ * reflective Java 17 version.
+ */
+final class VirtualThreads {
+
+  // Private constructor to prevent instantiation
+  private VirtualThreads() {
+    throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+  }
+
+  static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Creates an executor that starts a virtual thread per task.
+   *
+   * @param name the prefix of the thread names, followed by a counter
+   * @return the executor
+   */
+  static ExecutorService newExecutor(String name) {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0L).factory());
+  }
+}
@@ -6,6 +6,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.github.nicholascowan.twelvedata.endpoints.Price;
 import com.github.nicholascowan.twelvedata.endpoints.Quote;
 import com.github.nicholascowan.twelvedata.endpoints.TimeSeries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -96,4 +99,34 @@ public class TwelveDataClientTest {
     assertTrue(priceResponse.has("price"));
     assertTrue(priceResponse.get("price").isTextual());
   }
+
+  @Test
+  @DisplayName("Warm-up should open connections and decode samples")
+  void testWarmUp() throws Exception {
+    MockWebServer mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    try {
+      for (int i = 0; i < 4; i++) {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+      }
+      String baseUrl = mockWebServer.url("").toString().replaceAll("/$", "");
+      TwelveDataClient warmed = new TwelveDataClient("demo", baseUrl);
+
+      WarmUpReport report = warmed.warmUp(2, 10);
+      assertEquals(2, report.getConnections());
+      assertTrue(report.getDecodedPayloads() > 0);
+      assertTrue(report.getTotalDuration().compareTo(report.getDecodeDuration()) >= 0);
+      assertEquals(4, mockWebServer.getRequestCount());
+
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      report.bindTo(registry);
+      assertEquals(2.0, registry.get("twelvedata.warmup.connections").gauge().value());
+      assertTrue(registry.get("twelvedata.warmup.request.latency")
+          .tag("phase", "cold").gauge().value() > 0);
+    } finally {
+      mockWebServer.shutdown();
+    }
+    assertThrows(IllegalArgumentException.class, () -> client.warmUp(0));
+    assertThrows(IllegalArgumentException.class, () -> client.warmUp(1, -1));
+  }
 }
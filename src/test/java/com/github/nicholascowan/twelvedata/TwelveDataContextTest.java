@@ -0,0 +1,91 @@
+package com.github.nicholascowan.twelvedata;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.endpoints.Quote;
+import com.github.nicholascowan.twelvedata.http.DefaultHttpClient;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the TwelveDataContext. */
+@Tag("UnitTest")
+class TwelveDataContextTest {
+
+  private static TwelveDataContext context(Map<String, String> defaults) {
+    return new TwelveDataContext("test-api-key", "http://localhost",
+        new DefaultHttpClient("http://localhost"), defaults);
+  }
+
+  @Test
+  void testAllParamsAreSharedUntilUpdated() {
+    Map<String, String> defaults = new HashMap<>(Map.of("dp", "5"));
+    TwelveDataContext context = context(defaults);
+    defaults.put("dp", "2");
+
+    Map<String, String> before = context.getAllParams();
+    assertSame(before, context.getAllParams());
+    assertEquals(Map.of("dp", "5", "apikey", "test-api-key"), before);
+    assertThrows(UnsupportedOperationException.class, () -> before.put("dp", "3"));
+
+    context.updateDefaults(Map.of("dp", "3", "order", "asc"));
+    assertEquals(Map.of("dp", "3", "order", "asc", "apikey", "test-api-key"),
+        context.getAllParams());
+    assertEquals(Map.of("dp", "5"), context.getDefaults());
+    assertEquals("5", before.get("dp"), "snapshots are never changed");
+  }
+
+  @Test
+  void testFromContextIsIndependent() {
+    TwelveDataContext context = context(Map.of("dp", "5"));
+    context.updateDefaults(Map.of("order", "asc"));
+    TwelveDataContext copy = TwelveDataContext.fromContext(context);
+
+    copy.updateDefaults(Map.of("order", "desc"));
+    assertEquals("asc", context.getAllParams().get("order"));
+    assertEquals("desc", copy.getAllParams().get("order"));
+  }
+
+  @Test
+  void testEndpointsKeepTheirSnapshot() {
+    TwelveDataContext context = context(Map.of("dp", "5"));
+    Quote quote = new Quote(context, "AAPL");
+
+    context.updateDefaults(Map.of("dp", "2"));
+    assertTrue(quote.asUrl().contains("dp=5"));
+    assertTrue(new Quote(context, "AAPL").asUrl().contains("dp=2"));
+  }
+
+  @Test
+  void testConcurrentUpdatesAndEndpoints() throws Exception {
+    TwelveDataContext context = context(Map.of("dp", "5"));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        tasks.add(executor.submit(() -> {
+          for (int i = 0; i < 2000; i++) {
+            if (thread == 0) {
+              context.updateDefaults(Map.of("custom" + (i % 50), String.valueOf(i)));
+            } else {
+              new Quote(context, "AAPL").asUrl();
+            }
+          }
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(50, context.getCustomDefaults().size());
+  }
+}
@@ -0,0 +1,160 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the adaptive concurrency limiter. */
+@Tag("UnitTest")
+class AdaptiveConcurrencyLimiterTest {
+
+  @Test
+  void testGrowsWhileSaturatedAndLatencyIsFlat() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8);
+    // A GC pause can inflate one sample, so keep going until the limit recovered from it
+    for (int round = 0; round < 1000 && limiter.getLimit() < 8; round++) {
+      List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+      int limit = limiter.getLimit();
+      for (int i = 0; i < limit; i++) {
+        permits.add(limiter.acquire());
+      }
+      permits.forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+    }
+    assertEquals(8, limiter.getLimit(), "limit grows to the maximum");
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void testDoesNotGrowWhenIdle() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 64);
+    for (int i = 0; i < 1000; i++) {
+      limiter.acquire().onSuccess();
+    }
+    // A GC pause may inflate a sample and back off, so only check that the limit did not grow
+    assertTrue(limiter.getLimit() <= 4, "one request at a time does not use a limit of 4");
+  }
+
+  @Test
+  void testHalvesOnRateLimit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 3, 64);
+    limiter.acquire().onRateLimited();
+    assertEquals(8, limiter.getLimit());
+    limiter.acquire().onRateLimited();
+    limiter.acquire().onRateLimited();
+    assertEquals(3, limiter.getLimit(), "never below the minimum");
+    assertEquals(3, limiter.getRateLimitBackoffs());
+  }
+
+  @Test
+  void testBurstOfRateLimitsHalvesOnce() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 1, 64);
+    List<AdaptiveConcurrencyLimiter.Permit> burst = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      burst.add(limiter.acquire());
+    }
+    burst.forEach(AdaptiveConcurrencyLimiter.Permit::onRateLimited);
+    assertEquals(8, limiter.getLimit(), "requests sent under the old limit back off once");
+    assertEquals(1, limiter.getRateLimitBackoffs());
+
+    limiter.acquire().onRateLimited();
+    assertEquals(4, limiter.getLimit(), "a request sent after the back-off halves it again");
+  }
+
+  @Test
+  void testBacksOffOnLatencyInflation() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 64);
+    for (int i = 0; i < 5; i++) {
+      limiter.acquire().onSuccess();
+    }
+    AdaptiveConcurrencyLimiter.Permit slow = limiter.acquire();
+    Thread.sleep(20);
+    slow.onSuccess();
+    assertEquals(9, limiter.getLimit());
+    assertEquals(1, limiter.getLatencyBackoffs());
+  }
+
+  @Test
+  void testBacksOffOnDroppedRequest() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 16);
+    limiter.acquire().onDropped();
+    assertEquals(9, limiter.getLimit());
+    assertEquals(1, limiter.getLatencyBackoffs());
+    assertEquals(0, limiter.getRateLimitBackoffs());
+  }
+
+  @Test
+  void testIgnoredOutcomesAndDoubleCompletion() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8);
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+    permit.onIgnore();
+    permit.onRateLimited();
+    assertEquals(4, limiter.getLimit(), "a completed permit cannot be completed again");
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void testAcquireWaitsAtTheLimit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+    AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+    assertNull(limiter.tryAcquire());
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiter = new Thread(() -> {
+      try {
+        limiter.acquire().onIgnore();
+        acquired.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    waiter.start();
+    assertFalse(acquired.await(50, TimeUnit.MILLISECONDS), "second request waits");
+    first.onSuccess();
+    assertTrue(acquired.await(5, TimeUnit.SECONDS), "released permit wakes the waiter");
+    waiter.join();
+  }
+
+  @Test
+  void testTimedTryAcquireGivesUp() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+    AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+
+    assertNull(limiter.tryAcquire(20, TimeUnit.MILLISECONDS));
+    assertEquals(1, limiter.getInFlight());
+    first.onSuccess();
+    AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire(20, TimeUnit.MILLISECONDS);
+    assertNotNull(second);
+    second.onIgnore();
+  }
+
+  @Test
+  void testMetrics() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 16);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    limiter.bindTo(registry);
+
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+    assertEquals(8.0, registry.get("twelvedata.concurrency.limit").gauge().value());
+    assertEquals(1.0, registry.get("twelvedata.concurrency.inflight").gauge().value());
+
+    permit.onRateLimited();
+    assertEquals(4.0, registry.get("twelvedata.concurrency.limit").gauge().value());
+    assertEquals(1.0, registry.get("twelvedata.concurrency.backoffs")
+        .tag("cause", "rate_limit").functionCounter().count());
+    assertEquals(0.0, registry.get("twelvedata.concurrency.backoffs")
+        .tag("cause", "latency").functionCounter().count());
+  }
+
+  @Test
+  void testInvalidLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(0, 0, 4));
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(8, 1, 4));
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 3, 4));
+  }
+}
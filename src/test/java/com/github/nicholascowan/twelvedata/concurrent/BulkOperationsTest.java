@@ -0,0 +1,127 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.TwelveDataClient;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import com.github.nicholascowan.twelvedata.models.PriceResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the bounded bulk fan-out. */
+@Tag("UnitTest")
+class BulkOperationsTest {
+
+  @Test
+  void testConcurrencyIsBounded() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    List<String> symbols = List.of("A", "B", "C", "D", "E", "F", "G", "H");
+
+    BulkResult<String> result = BulkOperations.forEachSymbol(symbols, symbol -> {
+      peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      running.decrementAndGet();
+      return symbol.toLowerCase();
+    }, new BulkOptions().concurrency(3));
+
+    assertTrue(peak.get() <= 3, "at most three in flight: " + peak.get());
+    assertFalse(result.hasFailures());
+    assertEquals(symbols, List.copyOf(result.getSuccesses().keySet()));
+    assertEquals("h", result.getSuccesses().get("H"));
+  }
+
+  @Test
+  void testFailuresAreSeparated() {
+    List<String> progress = new CopyOnWriteArrayList<>();
+    BulkResult<Integer> result = BulkOperations.forEachSymbol(
+        List.of("AAPL", "BAD", "MSFT", "AAPL", "NPE"),
+        symbol -> {
+          if (symbol.equals("BAD")) {
+            throw new InvalidApiKeyException("bad symbol");
+          }
+          if (symbol.equals("NPE")) {
+            throw new NullPointerException("boom");
+          }
+          return symbol.length();
+        },
+        new BulkOptions().concurrency(2).progress((symbol, failure, completed, total) ->
+            progress.add(completed + "/" + total + (failure != null ? " failed" : ""))));
+
+    assertEquals(4, result.size(), "duplicates are requested once");
+    assertEquals(List.of("AAPL", "MSFT"), List.copyOf(result.getSuccesses().keySet()));
+    assertEquals(List.of("BAD", "NPE"), List.copyOf(result.getFailures().keySet()));
+    assertInstanceOf(InvalidApiKeyException.class, result.getFailures().get("BAD"));
+    assertInstanceOf(NullPointerException.class, result.getFailures().get("NPE").getCause());
+    assertEquals(4, progress.size());
+    assertEquals(2, progress.stream().filter(line -> line.endsWith("failed")).count());
+    assertTrue(progress.contains("4/4") || progress.contains("4/4 failed"));
+  }
+
+  @Test
+  void testDeadlineIsPropagatedToRequests() {
+    Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+    BulkResult<Deadline> current = BulkOperations.forEachSymbol(List.of("AAPL", "MSFT"),
+        symbol -> Deadline.current(), new BulkOptions().deadline(deadline));
+    assertSame(deadline, current.getSuccesses().get("AAPL"));
+
+    BulkResult<String> expired = BulkOperations.forEachSymbol(List.of("AAPL", "MSFT"),
+        symbol -> symbol, new BulkOptions().deadline(Deadline.after(Duration.ZERO)));
+    assertEquals(2, expired.getFailures().size());
+    assertInstanceOf(DeadlineExceededException.class, expired.getFailures().get("MSFT"));
+  }
+
+  @Test
+  void testEmptySymbols() {
+    BulkResult<String> result =
+        BulkOperations.forEachSymbol(List.of(), symbol -> symbol, new BulkOptions());
+    assertEquals(0, result.size());
+    assertFalse(result.hasFailures());
+  }
+
+  @Test
+  void testClientRequestsUnderRateLimiter() throws Exception {
+    try (MockWebServer server = new MockWebServer()) {
+      server.setDispatcher(new Dispatcher() {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+          String symbol = request.getRequestUrl().queryParameter("symbol");
+          if ("ZZZZ".equals(symbol)) {
+            return new MockResponse().setBody(
+                "{\"code\":400,\"message\":\"symbol not found\",\"status\":\"error\"}");
+          }
+          return new MockResponse().setBody("{\"price\":\"1.5\"}");
+        }
+      });
+      server.start();
+      TwelveDataClient client = new TwelveDataClient(
+          "test-api-key", server.url("").toString().replaceAll("/$", ""));
+      client.setRateLimiter(new RateLimiter(2, Duration.ofMillis(100)));
+
+      long start = System.nanoTime();
+      BulkResult<PriceResponse> result = client.forEachSymbol(
+          List.of("AAPL", "MSFT", "ZZZZ", "TSLA"), symbol -> client.price(symbol).asObject());
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+      assertEquals(4, server.getRequestCount());
+      assertTrue(elapsedMillis >= 90, "two requests wait for the limiter: " + elapsedMillis);
+      assertEquals(List.of("AAPL", "MSFT", "TSLA"), List.copyOf(result.getSuccesses().keySet()));
+      assertEquals(1.5, result.getSuccesses().get("TSLA").getPriceAsDouble(), 1e-9);
+      assertInstanceOf(TwelveDataException.class, result.getFailures().get("ZZZZ"));
+    }
+  }
+}
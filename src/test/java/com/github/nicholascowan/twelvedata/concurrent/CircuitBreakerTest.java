@@ -0,0 +1,133 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the CircuitBreaker. */
+@Tag("UnitTest")
+class CircuitBreakerTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static CircuitBreakerOptions options() {
+    return new CircuitBreakerOptions()
+        .windowSize(10)
+        .minimumCalls(4)
+        .failureRateThreshold(0.5)
+        .slowCallRateThreshold(0.5)
+        .slowCallThreshold(Duration.ofSeconds(1))
+        .openDuration(Duration.ofMillis(100))
+        .halfOpenCalls(2);
+  }
+
+  @Test
+  void testOpensOnFailureRate() {
+    CircuitBreaker breaker = new CircuitBreaker(options());
+
+    breaker.onResult(FAST, true);
+    breaker.onResult(FAST, true);
+    breaker.onResult(FAST, true);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "below the minimum calls");
+    breaker.onResult(FAST, false);
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquirePermission());
+    assertEquals(1, breaker.getRejected());
+  }
+
+  @Test
+  void testStaysClosedBelowThreshold() {
+    CircuitBreaker breaker = new CircuitBreaker(options());
+
+    for (int i = 0; i < 10; i++) {
+      breaker.onResult(FAST, (i + 1) % 3 == 0);
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void testOpensOnSlowCallRate() {
+    CircuitBreaker breaker = new CircuitBreaker(options());
+
+    for (int i = 0; i < 4; i++) {
+      breaker.onResult(TimeUnit.SECONDS.toNanos(2), false);
+    }
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void testOldCallsLeaveTheWindow() {
+    CircuitBreaker breaker = new CircuitBreaker(options().minimumCalls(10));
+
+    for (int i = 0; i < 4; i++) {
+      breaker.onResult(FAST, true);
+    }
+    for (int i = 0; i < 16; i++) {
+      breaker.onResult(FAST, false);
+    }
+    breaker.onResult(FAST, true);
+    breaker.onResult(FAST, true);
+    breaker.onResult(FAST, true);
+    breaker.onResult(FAST, true);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "4 of the last 10 failed");
+    breaker.onResult(FAST, true);
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "5 of the last 10 failed");
+  }
+
+  @Test
+  void testHalfOpenClosesAfterHealthyTrials() throws Exception {
+    CircuitBreaker breaker = open();
+
+    Thread.sleep(150);
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertTrue(breaker.tryAcquirePermission());
+    assertTrue(breaker.tryAcquirePermission());
+    assertFalse(breaker.tryAcquirePermission(), "only two trial calls");
+    breaker.onResult(FAST, false);
+    breaker.onResult(FAST, false);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void testHalfOpenReopensAfterFailedTrials() throws Exception {
+    CircuitBreaker breaker = open();
+
+    Thread.sleep(150);
+    assertTrue(breaker.tryAcquirePermission());
+    assertTrue(breaker.tryAcquirePermission());
+    breaker.onResult(FAST, true);
+    breaker.onResult(FAST, false);
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void testReleasedPermissionAllowsAnotherTrial() throws Exception {
+    CircuitBreaker breaker = open();
+
+    Thread.sleep(150);
+    assertTrue(breaker.tryAcquirePermission());
+    assertTrue(breaker.tryAcquirePermission());
+    breaker.releasePermission();
+    assertTrue(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void testInvalidOptions() {
+    assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerOptions().windowSize(0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CircuitBreakerOptions().failureRateThreshold(1.5));
+  }
+
+  private static CircuitBreaker open() {
+    CircuitBreaker breaker = new CircuitBreaker(options());
+    for (int i = 0; i < 4; i++) {
+      breaker.onResult(FAST, true);
+    }
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    return breaker;
+  }
+}
@@ -0,0 +1,77 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the Deadline. */
+@Tag("UnitTest")
+class DeadlineTest {
+
+  @Test
+  void testExpiry() {
+    Deadline future = Deadline.after(Duration.ofMinutes(1));
+    Deadline past = Deadline.after(Duration.ofMillis(-1));
+
+    assertFalse(future.isExpired());
+    assertTrue(future.remainingNanos() > 0);
+    future.check();
+    assertTrue(past.isExpired());
+    assertThrows(DeadlineExceededException.class, past::check);
+    assertSame(past, future.min(past));
+    assertSame(future, future.min(null));
+  }
+
+  @Test
+  void testCallSetsCurrentDeadline() {
+    Deadline outer = Deadline.after(Duration.ofSeconds(1));
+    Deadline inner = Deadline.after(Duration.ofMinutes(1));
+
+    assertNull(Deadline.current());
+    Deadline seen = outer.call(() -> inner.call(Deadline::current));
+    assertSame(outer, seen, "a nested deadline never extends the one in effect");
+    assertSame(outer, outer.call(Deadline::current));
+    assertNull(Deadline.current());
+  }
+
+  @Test
+  void testCallFailsAfterDeadline() {
+    Deadline past = Deadline.after(Duration.ZERO);
+
+    assertThrows(DeadlineExceededException.class, () -> past.call(() -> "never"));
+    assertNull(Deadline.current());
+  }
+
+  @Test
+  void testBoundFailsLateFuture() {
+    CompletableFuture<String> late = new CompletableFuture<>();
+
+    Deadline.after(Duration.ofMillis(20)).bound(late);
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+  }
+
+  @Test
+  void testBoundReleasesCompletedFutures() {
+    Deadline deadline = Deadline.after(Duration.ofHours(1));
+    int before = Deadline.pendingTimeouts();
+    List<CompletableFuture<String>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(deadline.bound(new CompletableFuture<>()));
+    }
+    assertEquals(before + 10, Deadline.pendingTimeouts());
+
+    futures.forEach(future -> future.complete("done"));
+    assertEquals(before, Deadline.pendingTimeouts(), "completed futures cancel their timeout");
+    assertEquals("done", futures.get(0).join());
+  }
+}
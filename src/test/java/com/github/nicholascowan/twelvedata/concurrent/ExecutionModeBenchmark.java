@@ -0,0 +1,95 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import com.github.nicholascowan.twelvedata.TwelveDataClient;
+import com.github.nicholascowan.twelvedata.models.PriceResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Manual benchmark of many concurrent price requests against a mock server with a fixed latency:
+ * a bulk operation on pooled platform threads, the same bulk operation on virtual threads, and
+ * {@code asObjectAsync()} on OkHttp's non-blocking dispatcher.
+ *
+ * <p>Not run by the test suite. The virtual thread run is skipped on Java 17:
+ *
+ * <pre>{@code
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes \
+ *     com.github.nicholascowan.twelvedata.concurrent.ExecutionModeBenchmark
+ * }</pre>
+ */
+public final class ExecutionModeBenchmark {
+
+  private static final int REQUESTS = 2_000;
+  private static final int CONCURRENCY = 256;
+  private static final long LATENCY_MILLIS = 50;
+
+  private ExecutionModeBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    try (MockWebServer server = new MockWebServer()) {
+      server.setDispatcher(new Dispatcher() {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+          Thread.sleep(LATENCY_MILLIS);
+          return new MockResponse()
+              .setBody("{\"price\":\"150.25000\"}")
+              .addHeader("Content-Type", "application/json");
+        }
+      });
+      server.start();
+      TwelveDataClient client =
+          new TwelveDataClient("test-api-key", server.url("").toString().replaceAll("/$", ""));
+      List<String> symbols = new ArrayList<>(REQUESTS);
+      for (int i = 0; i < REQUESTS; i++) {
+        symbols.add("SYM" + i);
+      }
+
+      System.out.printf(Locale.ROOT, "%d requests, %d ms latency%n", REQUESTS, LATENCY_MILLIS);
+      for (int round = 0; round < 2; round++) {
+        run("platform threads", () -> bulk(client, symbols, ExecutionMode.PLATFORM));
+        if (ExecutionMode.VIRTUAL.isSupported()) {
+          run("virtual threads", () -> bulk(client, symbols, ExecutionMode.VIRTUAL));
+        } else {
+          System.out.println("virtual threads: skipped, requires Java 21");
+        }
+        run("okhttp async", () -> async(client, symbols));
+      }
+    }
+  }
+
+  private static int bulk(TwelveDataClient client, List<String> symbols, ExecutionMode mode) {
+    BulkResult<PriceResponse> result = client.forEachSymbol(symbols,
+        symbol -> client.price(symbol).asObject(),
+        new BulkOptions().executionMode(mode).concurrency(CONCURRENCY));
+    return result.getSuccesses().size();
+  }
+
+  private static int async(TwelveDataClient client, List<String> symbols) {
+    List<CompletableFuture<PriceResponse>> futures = new ArrayList<>(symbols.size());
+    for (String symbol : symbols) {
+      futures.add(client.price(symbol).asObjectAsync());
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    return futures.size();
+  }
+
+  private static void run(String name, Task task) throws Exception {
+    long start = System.nanoTime();
+    int completed = task.run();
+    long elapsed = System.nanoTime() - start;
+    System.out.printf(Locale.ROOT, "%-17s %,6d ok in %,6d ms  %,8.0f req/s%n", name + ":",
+        completed, TimeUnit.NANOSECONDS.toMillis(elapsed), completed / (elapsed / 1e9));
+  }
+
+  private interface Task {
+    int run() throws Exception;
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the execution modes. */
+@Tag("UnitTest")
+class ExecutionModeTest {
+
+  @Test
+  void testPlatformExecutor() throws Exception {
+    assertTrue(ExecutionMode.PLATFORM.isSupported());
+    ExecutorService executor = ExecutionMode.PLATFORM.newExecutor("test-platform", 2);
+    try {
+      Future<Thread> thread = executor.submit(Thread::currentThread);
+      assertEquals("test-platform", thread.get().getName());
+      assertTrue(thread.get().isDaemon());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testVirtualSupportMatchesRuntime() throws Exception {
+    assertEquals(Runtime.version().feature() >= 21, ExecutionMode.VIRTUAL.isSupported());
+    if (!ExecutionMode.VIRTUAL.isSupported()) {
+      assertThrows(UnsupportedOperationException.class,
+          () -> ExecutionMode.VIRTUAL.newExecutor("test-virtual", 0));
+      TwelveDataContext context =
+          new TwelveDataContext("test-api-key", "http://localhost", null, new HashMap<>());
+      assertThrows(UnsupportedOperationException.class,
+          () -> context.setExecutionMode(ExecutionMode.VIRTUAL));
+      assertEquals(ExecutionMode.PLATFORM, context.getExecutionMode());
+      return;
+    }
+
+    ExecutorService executor = ExecutionMode.VIRTUAL.newExecutor("test-virtual", 0);
+    try {
+      Future<Thread> thread = executor.submit(Thread::currentThread);
+      assertEquals("test-virtual-0", thread.get().getName());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testBulkOperationUsesExecutionMode() {
+    BulkResult<String> result = BulkOperations.forEachSymbol(List.of("AAPL"),
+        symbol -> Thread.currentThread().getName(),
+        new BulkOptions().executionMode(ExecutionMode.PLATFORM));
+    assertEquals("twelvedata-bulk", result.getSuccesses().get("AAPL"));
+  }
+}
@@ -0,0 +1,73 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the token-bucket rate limiter. */
+@Tag("UnitTest")
+class RateLimiterTest {
+
+  @Test
+  void testBurstThenRefillRate() throws Exception {
+    RateLimiter limiter = new RateLimiter(10, Duration.ofMillis(100));
+    long start = System.nanoTime();
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire();
+    }
+    assertTrue(System.nanoTime() - start < 50_000_000L, "a full burst does not wait");
+
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire();
+    }
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+    assertTrue(elapsedMillis >= 90, "second burst waits for a refill: " + elapsedMillis);
+  }
+
+  @Test
+  void testTryAcquire() {
+    RateLimiter limiter = new RateLimiter(2, Duration.ofMinutes(1));
+    assertTrue(limiter.tryAcquire(2));
+    assertFalse(limiter.tryAcquire(1));
+    assertEquals(0, limiter.getAvailablePermits());
+    assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(3));
+    assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(0));
+  }
+
+  @Test
+  void testTimedTryAcquireDoesNotReserveOnTimeout() throws Exception {
+    RateLimiter limiter = new RateLimiter(1, Duration.ofMillis(200));
+    limiter.acquire();
+
+    long start = System.nanoTime();
+    assertFalse(limiter.tryAcquire(1, 20, TimeUnit.MILLISECONDS));
+    assertTrue(System.nanoTime() - start < 100_000_000L, "gives up without waiting");
+
+    assertTrue(limiter.tryAcquire(1, 1, TimeUnit.SECONDS));
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+    assertTrue(elapsedMillis >= 150 && elapsedMillis < 350,
+        "the failed attempt reserved nothing: " + elapsedMillis);
+  }
+
+  @Test
+  void testUnlimited() throws Exception {
+    RateLimiter limiter = RateLimiter.unlimited();
+    assertTrue(limiter.isUnlimited());
+    assertSame(limiter, RateLimiter.unlimited());
+    for (int i = 0; i < 1000; i++) {
+      limiter.acquire();
+    }
+    assertEquals(Integer.MAX_VALUE, limiter.getAvailablePermits());
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, Duration.ofSeconds(1)));
+    assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, Duration.ZERO));
+    assertEquals("RateLimiter{permitsPerMinute=55, burst=55}",
+        RateLimiter.perMinute(55).toString());
+  }
+}
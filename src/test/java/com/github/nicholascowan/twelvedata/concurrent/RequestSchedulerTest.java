@@ -0,0 +1,134 @@
+package com.github.nicholascowan.twelvedata.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the RequestScheduler. */
+@Tag("UnitTest")
+class RequestSchedulerTest {
+
+  @Test
+  void testGrantsFreeSlotsAtOnce() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(2);
+
+    scheduler.acquire(RequestPriority.BULK, 1);
+    assertTrue(scheduler.schedule(RequestPriority.BULK, 1).isDone());
+    assertFalse(scheduler.schedule(RequestPriority.REALTIME, 1).isDone());
+    assertEquals(2, scheduler.getInFlight());
+    assertEquals(1, scheduler.getQueued(RequestPriority.REALTIME));
+  }
+
+  @Test
+  void testSharesSlotsByWeight() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquire(RequestPriority.INTERACTIVE, 1);
+    List<RequestPriority> granted = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      for (RequestPriority priority : List.of(RequestPriority.INTERACTIVE, RequestPriority.BULK)) {
+        scheduler.schedule(priority, 1).thenRun(() -> granted.add(priority));
+      }
+    }
+
+    for (int i = 0; i < 10; i++) {
+      scheduler.release();
+    }
+    assertEquals(List.of(RequestPriority.INTERACTIVE, RequestPriority.INTERACTIVE,
+        RequestPriority.INTERACTIVE, RequestPriority.INTERACTIVE, RequestPriority.BULK,
+        RequestPriority.INTERACTIVE, RequestPriority.INTERACTIVE, RequestPriority.INTERACTIVE,
+        RequestPriority.INTERACTIVE, RequestPriority.BULK), granted);
+  }
+
+  @Test
+  void testExpensiveRequestsWaitForCredits() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(1).weight(RequestPriority.BULK, 2);
+    scheduler.acquire(RequestPriority.INTERACTIVE, 1);
+    CompletableFuture<Void> expensive = scheduler.schedule(RequestPriority.BULK, 4);
+    List<Integer> granted = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      int index = i;
+      scheduler.schedule(RequestPriority.INTERACTIVE, 1).thenRun(() -> granted.add(index));
+    }
+
+    for (int i = 0; i < 12 && !expensive.isDone(); i++) {
+      scheduler.release();
+    }
+    assertTrue(expensive.isDone());
+    assertEquals(8, granted.size(), "bulk collects its 4 credits over two rounds");
+  }
+
+  @Test
+  void testRealtimePreemptsQueuedBulk() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    scheduler.bindTo(registry);
+    scheduler.acquire(RequestPriority.BULK, 1);
+    CompletableFuture<Void> bulk = scheduler.schedule(RequestPriority.BULK, 1);
+    CompletableFuture<Void> realtime = scheduler.schedule(RequestPriority.REALTIME, 1);
+
+    scheduler.release();
+    assertTrue(realtime.isDone());
+    assertFalse(bulk.isDone());
+    assertEquals(1, scheduler.getPreemptions());
+    assertEquals(1.0,
+        registry.get("twelvedata.scheduler.queued").tag("priority", "bulk").gauge().value());
+
+    scheduler.release();
+    assertTrue(bulk.isDone());
+    assertEquals(1.0, registry.get("twelvedata.scheduler.preemptions").functionCounter().count());
+  }
+
+  @Test
+  void testCancelledRequestGivesUpItsPlace() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquire(RequestPriority.BULK, 1);
+    CompletableFuture<Void> cancelled = scheduler.schedule(RequestPriority.REALTIME, 1);
+    CompletableFuture<Void> next = scheduler.schedule(RequestPriority.BULK, 1);
+
+    cancelled.cancel(false);
+    assertEquals(0, scheduler.getQueued(RequestPriority.REALTIME));
+    scheduler.release();
+    assertTrue(next.isDone());
+    assertEquals(1, scheduler.getInFlight());
+  }
+
+  @Test
+  void testInterruptedAcquireHoldsNoSlot() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquire(RequestPriority.BULK, 1);
+
+    Thread.currentThread().interrupt();
+    assertThrows(InterruptedException.class,
+        () -> scheduler.acquire(RequestPriority.REALTIME, 1));
+    assertEquals(0, scheduler.getQueued(RequestPriority.REALTIME));
+    scheduler.release();
+    assertEquals(0, scheduler.getInFlight());
+  }
+
+  @Test
+  void testTimedAcquireGivesUpItsPlace() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquire(RequestPriority.BULK, 1);
+
+    assertFalse(scheduler.tryAcquire(RequestPriority.REALTIME, 1, 20, TimeUnit.MILLISECONDS));
+    assertEquals(0, scheduler.getQueued(RequestPriority.REALTIME));
+    scheduler.release();
+    assertTrue(scheduler.tryAcquire(RequestPriority.REALTIME, 1, 20, TimeUnit.MILLISECONDS));
+    assertEquals(1, scheduler.getInFlight());
+  }
+
+  @Test
+  void testRejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new RequestScheduler(0));
+    RequestScheduler scheduler = new RequestScheduler(1);
+    assertThrows(IllegalArgumentException.class,
+        () -> scheduler.weight(RequestPriority.BULK, 0));
+    assertThrows(IllegalArgumentException.class, () -> scheduler.preemptThreshold(0));
+  }
+}
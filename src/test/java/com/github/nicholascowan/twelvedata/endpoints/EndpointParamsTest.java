@@ -0,0 +1,39 @@
+package com.github.nicholascowan.twelvedata.endpoints;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the EndpointParams. */
+@Tag("UnitTest")
+class EndpointParamsTest {
+
+  @Test
+  void testOwnParamsHideShared() {
+    Map<String, String> shared = Map.of("apikey", "key", "dp", "5", "order", "desc");
+    EndpointParams params = new EndpointParams(shared);
+
+    assertNull(params.put("symbol", "AAPL"));
+    assertEquals("5", params.put("dp", "2"));
+    assertEquals("2", params.get("dp"));
+    assertEquals("key", params.get("apikey"));
+    assertTrue(params.containsKey("order"));
+    assertEquals(4, params.size());
+    assertEquals(Map.of("apikey", "key", "dp", "2", "order", "desc", "symbol", "AAPL"),
+        new HashMap<>(params));
+    assertEquals("5", shared.get("dp"), "the shared params are not changed");
+  }
+
+  @Test
+  void testParamsCannotBeRemoved() {
+    EndpointParams params = new EndpointParams(Map.of("apikey", "key"));
+    params.put("symbol", "AAPL");
+
+    assertThrows(UnsupportedOperationException.class, () -> params.remove("symbol"));
+    assertThrows(UnsupportedOperationException.class,
+        () -> params.entrySet().iterator().next().setValue("MSFT"));
+  }
+}
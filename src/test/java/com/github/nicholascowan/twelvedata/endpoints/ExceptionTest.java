@@ -72,6 +72,26 @@ class ExceptionTest {
     assertEquals(400, exception.getErrorCode());
   }
 
+  @Test
+  void testNoDataException() throws Exception {
+    String errorResponse =
+        "{\"code\":400,\"message\":\"No data is available on the specified dates. Try setting"
+            + " different start/end dates.\",\"status\":\"error\"}";
+    mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody(errorResponse));
+    mockWebServer.enqueue(new MockResponse().setBody(errorResponse));
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"code\":400,\"message\":\"Invalid symbol\",\"status\":\"error\"}"));
+
+    NoDataException status =
+        assertThrows(NoDataException.class, () -> endpoint.symbol("AAPL").asObject());
+    assertEquals(400, status.getErrorCode());
+    assertThrows(NoDataException.class, () -> endpoint.symbol("AAPL").asObject(),
+        "error body with a 200 status");
+    BadRequestException other =
+        assertThrows(BadRequestException.class, () -> endpoint.symbol("AAPL").asObject());
+    assertFalse(other instanceof NoDataException);
+  }
+
   @Test
   void testUnauthorizedException() throws Exception {
     // Setup mock response with 401 Unauthorized
@@ -4,9 +4,17 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
 import com.github.nicholascowan.twelvedata.endpoints.Price;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.concurrent.RateLimiter;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
 import com.github.nicholascowan.twelvedata.http.DefaultHttpClient;
 import com.github.nicholascowan.twelvedata.models.PriceResponse;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
@@ -341,4 +349,85 @@ class PriceTest {
     assertEquals(150.25f, priceResponse.getPriceAsFloat());
   }
   // Note: Exception testing is now handled by the consolidated ExceptionTest class
+
+  @Test
+  void testPriceAsCsvObject() throws Exception {
+    mockWebServer.enqueue(
+        new MockResponse().setBody("price\n150.25\n").addHeader("Content-Type", "text/csv"));
+
+    PriceResponse priceResponse = endpoint.symbol("AAPL").asCsvObject();
+
+    assertEquals("150.25", priceResponse.getPrice());
+    assertEquals(150.25, priceResponse.getPriceValue());
+  }
+
+  @Test
+  void testPriceAsObjectAsync() throws Exception {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"150.25\"}")
+        .addHeader("Content-Type", "application/json"));
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"code\":400,\"message\":\"symbol not found\",\"status\":\"error\"}")
+        .addHeader("Content-Type", "application/json"));
+
+    PriceResponse priceResponse =
+        endpoint.symbol("AAPL").dp(2).asObjectAsync().get(5, TimeUnit.SECONDS);
+    assertEquals(150.25, priceResponse.getPriceValue());
+    assertEquals(2, priceResponse.getPriceScale());
+
+    CompletionException failure = assertThrows(
+        CompletionException.class, () -> endpoint.symbol("INVALID").asObjectAsync().join());
+    assertInstanceOf(BadRequestException.class, failure.getCause());
+  }
+
+  @Test
+  void testPriceDeadline() {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"150.25\"}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"150.25\"}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+
+    assertThrows(DeadlineExceededException.class, () -> endpoint.symbol("AAPL")
+        .deadline(Deadline.after(Duration.ofMillis(100)))
+        .asObject());
+    ExecutionException failure = assertThrows(ExecutionException.class, () -> endpoint
+        .deadline(Deadline.after(Duration.ofMillis(100)))
+        .asObjectAsync()
+        .get(2, TimeUnit.SECONDS));
+    assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+  }
+
+  @Test
+  void testPriceDeadlineExpiresWhileQueuedOnRateLimiter() throws Exception {
+    String baseUrl = mockWebServer.url("/").toString();
+    TwelveDataContext context = new TwelveDataContext(
+        "test-api-key", baseUrl, new DefaultHttpClient(baseUrl, 30000), new HashMap<>());
+    RateLimiter limiter = new RateLimiter(1, Duration.ofMillis(500));
+    context.setRateLimiter(limiter);
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"150.25\"}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"150.26\"}"));
+    new Price(context).symbol("AAPL").asObject();
+
+    long start = System.nanoTime();
+    assertThrows(DeadlineExceededException.class, () -> new Price(context).symbol("AAPL")
+        .deadline(Deadline.after(Duration.ofMillis(100)))
+        .asObject());
+    assertTrue(System.nanoTime() - start < 300_000_000L, "fails without waiting out the limiter");
+    assertEquals(1, mockWebServer.getRequestCount());
+
+    // The expired request left its slot: the next one waits for one refill, not two
+    start = System.nanoTime();
+    assertEquals("150.26", new Price(context).symbol("AAPL").asObject().getPrice());
+    assertTrue(System.nanoTime() - start < 900_000_000L);
+  }
+
+  @Test
+  void testPriceExpiredDeadlineSendsNothing() {
+    assertThrows(DeadlineExceededException.class, () -> endpoint.symbol("AAPL")
+        .deadline(Deadline.after(Duration.ZERO))
+        .asObject());
+    assertEquals(0, mockWebServer.getRequestCount());
+  }
 }
@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.Map;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -550,4 +551,23 @@ class QuoteTest {
     assertNotNull(response.getAverageVolumeAsLong());
     assertNotNull(response.getTimestampAsLong());
   }
+
+  @Test
+  void testPreparedQuote() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody(TestUtils.QUOTE_JSON_RESPONSE));
+    mockWebServer.enqueue(new MockResponse().setBody(TestUtils.QUOTE_JSON_RESPONSE));
+
+    PreparedEndpoint<QuoteResponse> quotes = endpoint.interval("1day").prepareObject();
+    endpoint.interval("1week");
+    assertEquals("AAPL", quotes.execute("AAPL").getSymbol());
+    assertEquals("AAPL", quotes.executeAsync(Map.of("symbol", "MSFT")).get().getSymbol());
+
+    RecordedRequest first = mockWebServer.takeRequest();
+    assertEquals("AAPL", first.getRequestUrl().queryParameter("symbol"));
+    assertEquals("1day", first.getRequestUrl().queryParameter("interval"));
+    assertEquals("test-api-key", first.getRequestUrl().queryParameter("apikey"));
+    RecordedRequest second = mockWebServer.takeRequest();
+    assertEquals("MSFT", second.getRequestUrl().queryParameter("symbol"));
+    assertEquals("1day", second.getRequestUrl().queryParameter("interval"));
+  }
 }
@@ -3,10 +3,15 @@ package com.github.nicholascowan.twelvedata.endpoints;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.nicholascowan.twelvedata.TestUtils;
 import com.github.nicholascowan.twelvedata.TwelveDataContext;
 import com.github.nicholascowan.twelvedata.endpoints.TimeSeries;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
 import com.github.nicholascowan.twelvedata.http.DefaultHttpClient;
+import com.github.nicholascowan.twelvedata.models.ColumnarTimeSeriesValues;
+import com.github.nicholascowan.twelvedata.models.ModelUtils;
 import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
 import java.util.HashMap;
 import java.util.Map;
@@ -535,4 +540,63 @@ class TimeSeriesTest {
     assertThrows(NumberFormatException.class, () -> firstValue.getCloseAsDouble());
     assertThrows(NumberFormatException.class, () -> firstValue.getVolumeAsLong());
   }
+
+  @Test
+  void testAsCsvValuesHonorsDelimiter() throws Exception {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody("datetime|open|high|low|close|volume\n"
+                + "2021-09-16 15:59:00|148.73500|148.86000|148.73000|148.85001|624277\n")
+            .addHeader("Content-Type", "text/csv"));
+
+    ColumnarTimeSeriesValues values = endpoint.symbol("AAPL").interval("1min").delimiter("|")
+        .timezone("UTC").asCsvValues();
+
+    assertEquals(1, values.size());
+    assertEquals(148.85001, values.getCloseValue(0));
+    assertEquals(624277L, values.getVolumeValue(0));
+    assertEquals(1631807940000L, values.getEpochMillisValue(0));
+    var request = mockWebServer.takeRequest();
+    assertEquals("CSV", request.getRequestUrl().queryParameter("format"));
+    assertEquals("|", request.getRequestUrl().queryParameter("delimiter"));
+  }
+
+  @Test
+  void testAsCsvValuesMapsErrors() {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(400)
+            .setBody("{\"code\":400,\"message\":\"bad symbol\",\"status\":\"error\"}"));
+
+    assertThrows(BadRequestException.class,
+        () -> endpoint.symbol("???").interval("1min").asCsvValues());
+  }
+
+  @Test
+  void testStreamDecodesBarsOneAtATime() throws Exception {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody(TestUtils.TIME_SERIES_JSON_RESPONSE)
+            .addHeader("Content-Type", "application/json"));
+
+    double[] sum = new double[1];
+    int count =
+        endpoint.symbol("AAPL").interval("1min").stream(bar -> sum[0] += bar.getCloseValue());
+
+    TimeSeriesResponse expected = ModelUtils.toTimeSeriesResponse(
+        new ObjectMapper().readTree(TestUtils.TIME_SERIES_JSON_RESPONSE));
+    assertEquals(expected.getValueCount(), count);
+    assertEquals(expected.getValues().stream().mapToDouble(v -> v.getCloseValue()).sum(), sum[0]);
+  }
+
+  @Test
+  void testStreamMapsErrorBodies() {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody("{\"code\":429,\"message\":\"out of credits\",\"status\":\"error\"}")
+            .addHeader("Content-Type", "application/json"));
+
+    assertThrows(RateLimitException.class,
+        () -> endpoint.symbol("AAPL").interval("1min").stream(bar -> fail("no bars")));
+  }
 }
@@ -0,0 +1,193 @@
+package com.github.nicholascowan.twelvedata.flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.TwelveDataContext;
+import com.github.nicholascowan.twelvedata.endpoints.TimeSeries;
+import com.github.nicholascowan.twelvedata.http.DefaultHttpClient;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the demand-driven publishers. */
+@Tag("UnitTest")
+class PublishersTest {
+
+  @Test
+  void testTimeSeriesChunks() throws Exception {
+    try (MockWebServer server = new MockWebServer()) {
+      server.enqueue(json(values("2024-01-01 09:30:00", "2024-01-02 09:30:00")));
+      server.enqueue(json("{\"code\":400,\"message\":\"No data is available on the specified"
+          + " dates. Try setting different start/end dates.\",\"status\":\"error\"}"));
+      server.enqueue(json(values("2024-01-02 09:30:00", "2024-01-05 09:30:00")));
+      server.start();
+      String baseUrl = server.url("").toString().replaceAll("/$", "");
+      TwelveDataContext context = new TwelveDataContext(
+          "test-api-key", baseUrl, new DefaultHttpClient(baseUrl), new HashMap<>());
+
+      TestSubscriber<TimeSeriesValue> subscriber = new TestSubscriber<>();
+      Publishers.timeSeries(() -> new TimeSeries(context, "AAPL", "1day"),
+          LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7), Period.ofDays(2))
+          .subscribe(subscriber);
+      subscriber.request(1);
+      subscriber.awaitItems(1);
+      assertEquals(1, server.getRequestCount(), "only the first chunk is requested");
+
+      subscriber.request(Long.MAX_VALUE);
+      subscriber.awaitTermination();
+      assertNull(subscriber.error);
+      assertEquals(List.of("2024-01-01 09:30:00", "2024-01-02 09:30:00", "2024-01-05 09:30:00"),
+          subscriber.items.stream().map(TimeSeriesValue::getDatetime).collect(Collectors.toList()));
+      assertEquals(1704205800000L, subscriber.items.get(1).getEpochMillis());
+
+      RecordedRequest first = server.takeRequest();
+      assertEquals("2024-01-01", first.getRequestUrl().queryParameter("start_date"));
+      assertEquals("2024-01-03", first.getRequestUrl().queryParameter("end_date"));
+      assertEquals("asc", first.getRequestUrl().queryParameter("order"));
+      server.takeRequest();
+      assertEquals("2024-01-07",
+          server.takeRequest().getRequestUrl().queryParameter("end_date"));
+    }
+  }
+
+  @Test
+  void testFanOutHonorsDemand() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    List<String> symbols = IntStream.range(0, 10).mapToObj(i -> "S" + i)
+        .collect(Collectors.toList());
+    TestSubscriber<String> subscriber = new TestSubscriber<>();
+    Publishers.fanOut(symbols, symbol -> {
+      calls.incrementAndGet();
+      return symbol.toLowerCase();
+    }, 4, PullPublisher.DEFAULT_EXECUTOR).subscribe(subscriber);
+
+    subscriber.request(3);
+    subscriber.awaitItems(3);
+    Thread.sleep(50);
+    assertEquals(3, calls.get(), "no requests beyond the demand");
+
+    subscriber.request(100);
+    subscriber.awaitTermination();
+    assertEquals(10, calls.get());
+    assertEquals(symbols.stream().map(String::toLowerCase).collect(Collectors.toList()),
+        subscriber.items);
+  }
+
+  @Test
+  void testFanOutSignalsErrors() throws Exception {
+    TestSubscriber<String> subscriber = new TestSubscriber<>();
+    Publishers.<String, String>fanOut(List.of("A", "B"), symbol -> {
+      throw new IllegalStateException("boom " + symbol);
+    }, 2, PullPublisher.DEFAULT_EXECUTOR).subscribe(subscriber);
+
+    subscriber.request(5);
+    subscriber.awaitTermination();
+    assertEquals("boom A", subscriber.error.getMessage());
+    assertTrue(subscriber.items.isEmpty());
+  }
+
+  @Test
+  void testPollingOnlyPollsOnDemandAndStopsOnCancel() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+    Publishers.polling(polls::incrementAndGet, Duration.ofMillis(5)).subscribe(subscriber);
+
+    Thread.sleep(30);
+    assertEquals(0, polls.get(), "nothing is polled without demand");
+    subscriber.request(3);
+    subscriber.awaitItems(3);
+    Thread.sleep(30);
+    assertEquals(3, polls.get());
+
+    subscriber.request(Long.MAX_VALUE);
+    subscriber.subscription.cancel();
+    int afterCancel = polls.get();
+    Thread.sleep(30);
+    assertTrue(polls.get() <= afterCancel + 1);
+    assertEquals(List.of(1, 2, 3), subscriber.items.subList(0, 3));
+  }
+
+  @Test
+  void testNonPositiveRequestIsAnError() throws Exception {
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+    Publishers.polling(() -> 1, Duration.ofSeconds(1)).subscribe(subscriber);
+
+    subscriber.request(0);
+    subscriber.awaitTermination();
+    assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+  }
+
+  private static MockResponse json(String body) {
+    return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+  }
+
+  private static String values(String... datetimes) {
+    StringBuilder json = new StringBuilder("{\"meta\":{\"symbol\":\"AAPL\","
+        + "\"exchange_timezone\":\"America/New_York\"},\"values\":[");
+    for (int i = 0; i < datetimes.length; i++) {
+      json.append(i > 0 ? "," : "").append("{\"datetime\":\"").append(datetimes[i])
+          .append("\",\"open\":\"1.0\",\"high\":\"1.0\",\"low\":\"1.0\",\"close\":\"1.0\"}");
+    }
+    return json.append("],\"status\":\"ok\"}").toString();
+  }
+
+  /** Records the signals of a subscription. */
+  private static final class TestSubscriber<T> implements Flow.Subscriber<T> {
+    private final List<T> items = new CopyOnWriteArrayList<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile Flow.Subscription subscription;
+    private volatile Throwable error;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      terminated.countDown();
+    }
+
+    void request(long n) {
+      subscription.request(n);
+    }
+
+    void awaitItems(int count) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (items.size() < count && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertTrue(items.size() >= count, "received " + items.size() + " of " + count);
+    }
+
+    void awaitTermination() throws InterruptedException {
+      assertTrue(terminated.await(5, TimeUnit.SECONDS), "terminated");
+    }
+  }
+}
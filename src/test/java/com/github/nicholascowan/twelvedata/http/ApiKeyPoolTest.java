@@ -0,0 +1,108 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.ForbiddenException;
+import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the ApiKeyPool. */
+@Tag("UnitTest")
+class ApiKeyPoolTest {
+
+  @Test
+  void testSpreadsRequestsOverKeys() throws Exception {
+    ApiKeyPool pool = new ApiKeyPool(List.of("key-a", "key-b", "key-c"), 2);
+
+    Set<String> used = new HashSet<>();
+    for (int i = 0; i < 6; i++) {
+      used.add(pool.acquire(null));
+    }
+    assertEquals(Set.of("key-a", "key-b", "key-c"), used);
+  }
+
+  @Test
+  void testStickyRequestsUseTheSameKey() throws Exception {
+    ApiKeyPool pool = new ApiKeyPool(List.of("key-a", "key-b", "key-c"), 100);
+
+    String first = pool.acquire("/eod?symbol=AAPL");
+    for (int i = 0; i < 5; i++) {
+      assertEquals(first, pool.acquire("/eod?symbol=AAPL"));
+    }
+  }
+
+  @Test
+  void testAuthenticationErrorsQuarantineTheKey() throws Exception {
+    ApiKeyPool pool = new ApiKeyPool(List.of("key-a", "key-b"), 100);
+
+    assertTrue(pool.onFailure("key-a", new InvalidApiKeyException("invalid")));
+    assertFalse(pool.onFailure("key-b", new BadRequestException("bad")));
+    assertEquals(Set.of("key-a"), pool.getQuarantined());
+    for (int i = 0; i < 4; i++) {
+      assertEquals("key-b", pool.acquire(null));
+    }
+
+    assertFalse(pool.onFailure("key-b", new ForbiddenException("forbidden")));
+    assertEquals(Set.of("key-a"), pool.getQuarantined(), "a 403 is not the key's fault");
+
+    assertTrue(pool.onFailure("key-b", new InvalidApiKeyException("invalid")));
+    TwelveDataException e = assertThrows(TwelveDataException.class, () -> pool.acquire(null));
+    assertEquals("All API keys are quarantined", e.getMessage());
+
+    pool.restore("key-a");
+    assertEquals("key-a", pool.acquire(null));
+  }
+
+  @Test
+  void testRateLimitedKeyCoolsDown() throws Exception {
+    ApiKeyPool pool = new ApiKeyPool(List.of("key-a", "key-b"), 100, Duration.ofMinutes(1));
+
+    assertTrue(pool.onFailure("key-a", new RateLimitException("out of credits")));
+    for (int i = 0; i < 4; i++) {
+      assertEquals("key-b", pool.acquire(null));
+    }
+    assertTrue(pool.getQuarantined().isEmpty());
+  }
+
+  @Test
+  void testTimedAcquireDoesNotSleepThroughCooldown() throws Exception {
+    ApiKeyPool pool = new ApiKeyPool(List.of("key-a"), 100, Duration.ofMinutes(1));
+    pool.onFailure("key-a", new RateLimitException("out of credits"));
+
+    long start = System.nanoTime();
+    assertNull(pool.tryAcquire(null, 50, TimeUnit.MILLISECONDS));
+    assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    pool.restore("key-a");
+    assertEquals("key-a", pool.tryAcquire(null, 50, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testMetricsAreTaggedWithMaskedKey() throws Exception {
+    ApiKeyPool pool = new ApiKeyPool(List.of("secret-1234"), 100);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    pool.bindTo(registry);
+
+    pool.acquire(null);
+    pool.onFailure("secret-1234", new RateLimitException("out of credits"));
+
+    assertEquals(1.0,
+        registry.get("twelvedata.apikey.requests").tag("key", "1234").functionCounter().count());
+    assertEquals(1.0, registry.get("twelvedata.apikey.rate_limited").functionCounter().count());
+    assertEquals(0.0, registry.get("twelvedata.apikey.quarantined").gauge().value());
+  }
+
+  @Test
+  void testRequiresKeys() {
+    assertThrows(IllegalArgumentException.class, () -> new ApiKeyPool(List.of(), 10));
+  }
+}
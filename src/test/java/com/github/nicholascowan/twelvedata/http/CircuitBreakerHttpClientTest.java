@@ -0,0 +1,152 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.concurrent.CircuitBreaker;
+import com.github.nicholascowan.twelvedata.concurrent.CircuitBreakerOptions;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.BulkheadFullException;
+import com.github.nicholascowan.twelvedata.exceptions.CircuitOpenException;
+import com.github.nicholascowan.twelvedata.exceptions.InternalServerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the CircuitBreakerHttpClient. */
+@Tag("UnitTest")
+class CircuitBreakerHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private CircuitBreakerHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    CircuitBreakerOptions options = new CircuitBreakerOptions()
+        .windowSize(4)
+        .minimumCalls(2)
+        .openDuration(Duration.ofMinutes(1));
+    httpClient = new CircuitBreakerHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")), options, 4)
+        .bulkhead("/time_series", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testServerErrorsOpenTheCircuit() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+
+    assertThrows(InternalServerException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertThrows(InternalServerException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertEquals(CircuitBreaker.State.OPEN, httpClient.getCircuitBreaker("/quote").getState());
+    assertThrows(CircuitOpenException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertEquals(2, mockWebServer.getRequestCount(), "rejected calls are not sent");
+  }
+
+  @Test
+  void testCircuitsArePerEndpoint() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    assertThrows(InternalServerException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertThrows(InternalServerException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", new HashMap<>()));
+    assertEquals(CircuitBreaker.State.CLOSED, httpClient.getCircuitBreaker("/price").getState());
+  }
+
+  @Test
+  void testClientErrorsDoNotCount() {
+    for (int i = 0; i < 4; i++) {
+      mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("Bad Request"));
+      assertThrows(BadRequestException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, httpClient.getCircuitBreaker("/quote").getState());
+  }
+
+  @Test
+  void testAsyncFailsFastWhenOpen() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+
+    for (int i = 0; i < 2; i++) {
+      ExecutionException failure = assertThrows(ExecutionException.class,
+          () -> httpClient.getAsync("/quote", new HashMap<>()).get(5, TimeUnit.SECONDS));
+      assertInstanceOf(InternalServerException.class, failure.getCause());
+    }
+    ExecutionException rejected = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/quote", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(CircuitOpenException.class, rejected.getCause());
+  }
+
+  @Test
+  void testErrorsReleaseTheBulkhead() {
+    CircuitBreakerHttpClient failing = new CircuitBreakerHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")) {
+          @Override
+          public String get(String relativeUrl, Map<String, String> params) {
+            throw new StackOverflowError();
+          }
+        }, new CircuitBreakerOptions(), 4).bulkhead("/quote", 1);
+
+    for (int i = 0; i < 3; i++) {
+      assertThrows(StackOverflowError.class, () -> failing.get("/quote", new HashMap<>()));
+    }
+    assertEquals(0, failing.getInFlight("/quote"));
+    assertEquals(CircuitBreaker.State.CLOSED, failing.getCircuitBreaker("/quote").getState());
+  }
+
+  @Test
+  void testBulkheadRejectsExcessCalls() throws Exception {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"values\":[]}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+
+    CompletableFuture<String> slow = httpClient.getAsync("/time_series", new HashMap<>());
+    assertEquals(1, httpClient.getInFlight("/time_series"));
+    assertThrows(BulkheadFullException.class,
+        () -> httpClient.get("/time_series", new HashMap<>()));
+
+    slow.cancel(true);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (httpClient.getInFlight("/time_series") > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, httpClient.getInFlight("/time_series"));
+    assertEquals(CircuitBreaker.State.CLOSED,
+        httpClient.getCircuitBreaker("/time_series").getState(), "cancels are not failures");
+  }
+
+  @Test
+  void testMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    httpClient.bindTo(registry);
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+
+    assertThrows(InternalServerException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertThrows(InternalServerException.class, () -> httpClient.get("/quote", new HashMap<>()));
+    assertThrows(CircuitOpenException.class, () -> httpClient.get("/quote", new HashMap<>()));
+
+    assertEquals(1.0, registry.get("twelvedata.circuit.state")
+        .tag("endpoint", "/quote").gauge().value());
+    assertEquals(1.0, registry.get("twelvedata.circuit.rejected")
+        .tag("endpoint", "/quote").tag("reason", "circuit_open").functionCounter().count());
+  }
+}
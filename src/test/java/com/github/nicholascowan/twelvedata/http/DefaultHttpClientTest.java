@@ -2,13 +2,28 @@ package com.github.nicholascowan.twelvedata.http;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
 import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
 import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -97,4 +112,207 @@ public class DefaultHttpClientTest {
     String response = httpClient.getCsv("/test", params);
     assertEquals(csvResponse, response);
   }
+
+  @Test
+  void testGetAsync() throws Exception {
+    String expectedResponse = "{\"status\":\"ok\",\"data\":\"test\"}";
+    mockWebServer.enqueue(
+        new MockResponse().setBody(expectedResponse).addHeader("Content-Type", "application/json"));
+
+    Map<String, String> params = new HashMap<>();
+    params.put("symbol", "AAPL");
+
+    CompletableFuture<String> response = httpClient.getAsync("/test", params);
+    assertEquals(expectedResponse, response.get(5, TimeUnit.SECONDS));
+    assertEquals("AAPL",
+        mockWebServer.takeRequest().getRequestUrl().queryParameter("symbol"));
+  }
+
+  @Test
+  void testDeadlineAbortsCall() {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"1.5\"}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+
+    long start = System.nanoTime();
+    assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(100))
+        .call(() -> httpClient.get("/price", new HashMap<>())));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  void testDeadlineAbortsAsyncCall() {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"1.5\"}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+
+    CompletableFuture<String> response = Deadline.after(Duration.ofMillis(100))
+        .call(() -> httpClient.getAsync("/price", new HashMap<>()));
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> response.get(2, TimeUnit.SECONDS));
+    assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+  }
+
+  @Test
+  void testGetAsyncMapsErrors() {
+    String errorResponse = "{\"status\":\"error\",\"code\":400,\"message\":\"Invalid symbol\"}";
+    mockWebServer.enqueue(
+        new MockResponse().setBody(errorResponse).addHeader("Content-Type", "application/json"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(401).setBody("Invalid API Key"));
+
+    ExecutionException badRequest = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/test", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(BadRequestException.class, badRequest.getCause());
+    assertEquals("Invalid symbol", badRequest.getCause().getMessage());
+
+    ExecutionException invalidKey = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/test", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(InvalidApiKeyException.class, invalidKey.getCause());
+  }
+
+  @Test
+  void testPreparedRequest() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+    mockWebServer.enqueue(new MockResponse().setBody("datetime;close\n"));
+    Map<String, String> params = new HashMap<>();
+    params.put("apikey", "key");
+    params.put("dp", "4");
+    params.put("interval", null);
+
+    PreparedRequest prepared = httpClient.prepare("/price", params);
+    params.put("dp", "2");
+    assertEquals(Map.of("apikey", "key", "dp", "4"), prepared.getParams());
+    assertEquals("{\"price\":\"1.5\"}", prepared.get(Map.of("symbol", "AAPL")));
+    RecordedRequest json = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+    assertEquals("java", json.getRequestUrl().queryParameter("source"));
+    assertEquals("key", json.getRequestUrl().queryParameter("apikey"));
+    assertEquals("4", json.getRequestUrl().queryParameter("dp"));
+    assertEquals("AAPL", json.getRequestUrl().queryParameter("symbol"));
+    assertNull(json.getRequestUrl().queryParameter("format"));
+
+    assertEquals("datetime;close\n", prepared.getCsv(Map.of("symbol", "BRK A")));
+    RecordedRequest csv = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+    assertEquals("CSV", csv.getRequestUrl().queryParameter("format"));
+    assertEquals("BRK A", csv.getRequestUrl().queryParameter("symbol"));
+  }
+
+  @Test
+  void testPreparedRequestWithRepeatedParam() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    PreparedRequest prepared = httpClient.prepare("/price", Map.of("symbol", "AAPL"));
+    prepared.getAsync(Map.of("symbol", "MSFT")).get(5, TimeUnit.SECONDS);
+    RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+    assertEquals(List.of("MSFT"),
+        request.getRequestUrl().queryParameterValues("symbol"));
+  }
+
+  @Test
+  void testWarmUp() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+    }
+
+    assertEquals(3, httpClient.warmUp(3));
+    assertEquals("HEAD", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getMethod());
+  }
+
+  @Test
+  void testWarmUpCountsFailures() throws Exception {
+    mockWebServer.shutdown();
+
+    assertEquals(0, httpClient.warmUp(2));
+  }
+
+  @Test
+  void testWarmUpIsBoundedByTheTimeout() {
+    mockWebServer.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+    DefaultHttpClient quick = new DefaultHttpClient(mockWebServer.url("/").toString(), 200);
+
+    long start = System.nanoTime();
+    assertEquals(0, quick.warmUp(1));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  void testAcceptsCompressedResponses() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+    httpClient.get("/quote", Map.of("symbol", "AAPL"));
+    RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+    String expected = DefaultHttpClient.isBrotliAvailable() ? "br, gzip" : "gzip";
+    assertEquals(expected, request.getHeader("Accept-Encoding"));
+  }
+
+  @Test
+  void testCompressionDisabled() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+    httpClient.compression(false).get("/quote", Map.of("symbol", "AAPL"));
+    RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+    assertEquals("identity", request.getHeader("Accept-Encoding"));
+    assertEquals(2, httpClient.getWireBytes("/quote"));
+    assertEquals(2, httpClient.getDecodedBytes("/quote"));
+  }
+
+  @Test
+  void testGzipResponseIsDecodedAndCounted() throws Exception {
+    String body = "{\"symbol\":\"AAPL\",\"values\":[" + "{\"close\":\"1.5\"},".repeat(200)
+        + "{\"close\":\"1.5\"}]}";
+    mockWebServer.enqueue(gzip(body));
+
+    assertEquals(body, httpClient.get("/time_series", Map.of("symbol", "AAPL")));
+    long decoded = body.getBytes(StandardCharsets.UTF_8).length;
+    assertEquals(decoded, httpClient.getDecodedBytes("/time_series"));
+    assertTrue(httpClient.getWireBytes("/time_series") > 0);
+    assertTrue(httpClient.getWireBytes("/time_series") < decoded);
+    assertEquals(0, httpClient.getWireBytes("/quote"));
+  }
+
+  @Test
+  void testGzipStreamIsDecoded() throws Exception {
+    String body = "datetime;close\n" + "2024-01-02;1.5\n".repeat(100);
+    mockWebServer.enqueue(gzip(body));
+
+    try (InputStream in = httpClient.getCsvStream("/time_series", Map.of("symbol", "AAPL"))) {
+      assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertEquals(body.length(), httpClient.getDecodedBytes("/time_series"));
+  }
+
+  @Test
+  void testGzipErrorBodyIsDecoded() throws Exception {
+    mockWebServer.enqueue(gzip("Bad Request").setResponseCode(400));
+
+    BadRequestException e = assertThrows(BadRequestException.class,
+        () -> httpClient.get("/quote", Map.of()));
+    assertTrue(e.getMessage().contains("Bad Request"));
+  }
+
+  @Test
+  void testBindToPublishesResponseBytes() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+    httpClient.get("/quote", Map.of());
+    httpClient.bindTo(registry);
+    mockWebServer.enqueue(gzip("{\"price\":\"1.5\"}"));
+    httpClient.get("/price", Map.of());
+
+    FunctionCounter quote = registry.get("twelvedata.http.response.bytes")
+        .tags("endpoint", "/quote", "type", "decoded").functionCounter();
+    assertEquals(2.0, quote.count());
+    FunctionCounter price = registry.get("twelvedata.http.response.bytes")
+        .tags("endpoint", "/price", "type", "wire").functionCounter();
+    assertEquals(httpClient.getWireBytes("/price"), (long) price.count());
+  }
+
+  private static MockResponse gzip(String body) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    return new MockResponse()
+        .setBody(new Buffer().write(bytes.toByteArray()))
+        .addHeader("Content-Encoding", "gzip");
+  }
 }
@@ -0,0 +1,184 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.concurrent.RateLimiter;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the HedgingHttpClient. */
+@Tag("UnitTest")
+class HedgingHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private HedgingHttpClient httpClient;
+  private final AtomicInteger requests = new AtomicInteger();
+  private volatile int slowRequest = -1;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mockWebServer = new MockWebServer();
+    mockWebServer.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        int number = requests.incrementAndGet();
+        if (request.getPath().startsWith("/quote?") && request.getPath().contains("BAD")) {
+          return new MockResponse().setResponseCode(400).setBody("Bad Request");
+        }
+        MockResponse response = new MockResponse().setBody("{\"request\":" + number + "}");
+        return number == slowRequest
+            ? response.setHeadersDelay(1500, TimeUnit.MILLISECONDS)
+            : response;
+      }
+    });
+    mockWebServer.start();
+    httpClient = new HedgingHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testSlowRequestIsHedged() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    httpClient.bindTo(registry);
+    warmUp();
+    assertTrue(httpClient.getHedgeDelayNanos() >= 0);
+
+    slowRequest = HedgingHttpClient.MIN_SAMPLES + 1;
+    long start = System.nanoTime();
+    String body = httpClient.get("/quote", new HashMap<>());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    assertEquals("{\"request\":" + (HedgingHttpClient.MIN_SAMPLES + 2) + "}", body);
+    assertEquals(1, httpClient.getHedgesSent());
+    // The win is counted just after the response is handed over
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (httpClient.getHedgesWon() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(1, httpClient.getHedgesWon());
+    assertEquals(1.0, registry.get("twelvedata.hedge.won").functionCounter().count());
+  }
+
+  @Test
+  void testBudgetLimitsHedges() {
+    httpClient.budget(0.01);
+    warmUp();
+
+    slowRequest = HedgingHttpClient.MIN_SAMPLES + 1;
+    long start = System.nanoTime();
+    httpClient.get("/quote", new HashMap<>());
+    assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1),
+        "20 requests do not earn a hedge at 1%");
+    assertEquals(0, httpClient.getHedgesSent());
+  }
+
+  @Test
+  void testHedgesTakeARateLimitPermit() {
+    RateLimiter limiter = new RateLimiter(2, Duration.ofMinutes(1));
+    httpClient.rateLimiter(limiter).budget(1.0);
+    warmUp();
+
+    slowRequest = HedgingHttpClient.MIN_SAMPLES + 1;
+    httpClient.get("/quote", new HashMap<>());
+    assertEquals(1, httpClient.getHedgesSent());
+    assertEquals(1, limiter.getAvailablePermits(), "the hedge was charged");
+
+    assertTrue(limiter.tryAcquire(1));
+    slowRequest = HedgingHttpClient.MIN_SAMPLES + 3;
+    long start = System.nanoTime();
+    httpClient.get("/quote", new HashMap<>());
+    assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1),
+        "no hedge without a free permit");
+    assertEquals(1, httpClient.getHedgesSent());
+  }
+
+  @Test
+  void testOnlyHedgeableRequestsAreHedged() {
+    warmUp();
+
+    slowRequest = HedgingHttpClient.MIN_SAMPLES + 1;
+    httpClient.get("/time_series", new HashMap<>());
+    assertEquals(0, httpClient.getHedgesSent());
+    assertEquals(HedgingHttpClient.MIN_SAMPLES + 1, requests.get());
+  }
+
+  @Test
+  void testErrorsAreNotHedged() {
+    warmUp();
+
+    HashMap<String, String> params = new HashMap<>();
+    params.put("symbol", "BAD");
+    assertThrows(BadRequestException.class, () -> httpClient.get("/quote", params));
+    assertEquals(HedgingHttpClient.MIN_SAMPLES + 1, requests.get());
+  }
+
+  @Test
+  void testExpiredDeadlineDoesNotSpendTheBudget() throws Exception {
+    AtomicInteger latencyMillis = new AtomicInteger(50);
+    AtomicInteger sent = new AtomicInteger();
+    HttpClient delegate = new HttpClient() {
+      @Override
+      public String get(String relativeUrl, Map<String, String> params) {
+        return getAsync(relativeUrl, params).join();
+      }
+
+      @Override
+      public CompletableFuture<String> getAsync(String relativeUrl, Map<String, String> params) {
+        // Ignores deadlines, so the original request outlives them
+        sent.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> "{}", CompletableFuture.delayedExecutor(
+            latencyMillis.get(), TimeUnit.MILLISECONDS));
+      }
+
+      @Override
+      public String getCsv(String relativeUrl, Map<String, String> params) {
+        throw new UnsupportedOperationException();
+      }
+    };
+    HedgingHttpClient hedging = new HedgingHttpClient(delegate);
+    for (int i = 0; i < HedgingHttpClient.MIN_SAMPLES; i++) {
+      hedging.get("/quote", new HashMap<>());
+    }
+
+    latencyMillis.set(300);
+    CompletableFuture<String> late = Deadline.after(Duration.ofMillis(10))
+        .call(() -> hedging.getAsync("/quote", new HashMap<>()));
+    assertEquals("{}", late.get(5, TimeUnit.SECONDS));
+    assertEquals(0, hedging.getHedgesSent(), "no hedge once the deadline has passed");
+    assertEquals(HedgingHttpClient.MIN_SAMPLES + 1, sent.get());
+
+    hedging.get("/quote", new HashMap<>());
+    assertEquals(1, hedging.getHedgesSent(), "the budget was kept for the next request");
+  }
+
+  @Test
+  void testRejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> httpClient.percentile(1.0));
+    assertThrows(IllegalArgumentException.class, () -> httpClient.budget(-0.1));
+  }
+
+  private void warmUp() {
+    for (int i = 0; i < HedgingHttpClient.MIN_SAMPLES; i++) {
+      httpClient.get("/quote", new HashMap<>());
+    }
+  }
+}
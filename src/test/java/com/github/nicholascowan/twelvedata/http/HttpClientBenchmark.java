@@ -0,0 +1,129 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.net.ServerSocketFactory;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Manual benchmark of {@link DefaultHttpClient} (OkHttp) and {@link JdkHttpClient} against the
+ * same mock server: time of the first request, sequential request latency and async throughput
+ * with a fixed server latency.
+ *
+ * <p>Not run by the test suite. The first request includes class loading, so compare it by running
+ * one client per JVM; the mock server itself loads OkHttp and Kotlin, so in this setup it
+ * understates what {@link JdkHttpClient} saves at startup:
+ *
+ * <pre>{@code
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:<dependencies> \
+ *     com.github.nicholascowan.twelvedata.http.HttpClientBenchmark [okhttp|jdk ...]
+ * }</pre>
+ */
+public final class HttpClientBenchmark {
+
+  private static final String BODY = "{\"symbol\":\"AAPL\",\"price\":\"150.25000\"}";
+  private static final int WARMUP = 2_000;
+  private static final int SEQUENTIAL = 5_000;
+  private static final int ASYNC = 2_000;
+  private static final long ASYNC_LATENCY_MILLIS = 20;
+
+  private HttpClientBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    List<String> clients = args.length > 0 ? Arrays.asList(args) : List.of("okhttp", "jdk");
+    try (MockWebServer server = new MockWebServer()) {
+      server.setDispatcher(new Dispatcher() {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+          if ("/slow".equals(request.getRequestUrl().encodedPath())) {
+            Thread.sleep(ASYNC_LATENCY_MILLIS);
+          }
+          return new MockResponse().setBody(BODY).addHeader("Content-Type", "application/json");
+        }
+      });
+      server.setServerSocketFactory(new NoDelayServerSocketFactory());
+      server.start();
+      String baseUrl = server.url("").toString().replaceAll("/$", "");
+      Map<String, String> params = Map.of("symbol", "AAPL", "dp", "5");
+
+      for (String name : clients) {
+        long start = System.nanoTime();
+        HttpClient client = "jdk".equals(name)
+            ? new JdkHttpClient(baseUrl)
+            : new DefaultHttpClient(baseUrl);
+        client.get("/price", params);
+        System.out.printf(Locale.ROOT, "%-7s first request %,8.1f ms%n",
+            name, (System.nanoTime() - start) / 1e6);
+
+        for (int i = 0; i < WARMUP; i++) {
+          client.get("/price", params);
+        }
+        long[] latencies = new long[SEQUENTIAL];
+        for (int i = 0; i < SEQUENTIAL; i++) {
+          long requestStart = System.nanoTime();
+          client.get("/price", params);
+          latencies[i] = System.nanoTime() - requestStart;
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "%-7s sequential    p50 %,6d us  p99 %,6d us%n", name,
+            latencies[SEQUENTIAL / 2] / 1_000, latencies[SEQUENTIAL * 99 / 100] / 1_000);
+
+        start = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>(ASYNC);
+        for (int i = 0; i < ASYNC; i++) {
+          futures.add(client.getAsync("/slow", params));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .get(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf(Locale.ROOT, "%-7s async %,d x %d ms  %,6d ms  %,8.0f req/s%n", name,
+            ASYNC, ASYNC_LATENCY_MILLIS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+            ASYNC / (elapsed / 1e9));
+      }
+    }
+  }
+
+  /** Disables Nagle's algorithm on the mock server, whose split writes otherwise stall on ACKs. */
+  private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+    @Override
+    public ServerSocket createServerSocket() throws IOException {
+      return new ServerSocket() {
+        @Override
+        public Socket accept() throws IOException {
+          Socket socket = super.accept();
+          socket.setTcpNoDelay(true);
+          return socket;
+        }
+      };
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog, InetAddress address)
+        throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.exceptions.InternalServerException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the InterceptingHttpClient. */
+@Tag("UnitTest")
+class InterceptingHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private DefaultHttpClient delegate;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    delegate = new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", ""));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testNoInterceptorsReturnsDelegate() {
+    assertSame(delegate, InterceptingHttpClient.of(delegate));
+    assertSame(delegate, InterceptingHttpClient.of(delegate, List.of()));
+  }
+
+  @Test
+  void testInterceptorsRunInOrder() {
+    List<String> calls = new ArrayList<>();
+    HttpClient httpClient = InterceptingHttpClient.of(delegate,
+        recording("first", calls), recording("second", calls));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", Map.of("symbol", "AAPL")));
+    assertEquals(List.of("first GET /price?symbol=AAPL", "second GET /price?symbol=AAPL",
+        "second done", "first done"), calls);
+  }
+
+  @Test
+  void testInterceptorChangesRequest() throws Exception {
+    HttpClient httpClient = InterceptingHttpClient.of(delegate, new HttpInterceptor() {
+      @Override
+      public <T> T intercept(Chain<T> chain) {
+        return chain.proceed(chain.request().withParam("dp", "2"));
+      }
+    });
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.50\"}"));
+
+    httpClient.get("/price", Map.of("symbol", "AAPL"));
+    RecordedRequest recorded = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+    assertEquals("2", recorded.getRequestUrl().queryParameter("dp"));
+    assertEquals("AAPL", recorded.getRequestUrl().queryParameter("symbol"));
+  }
+
+  @Test
+  void testInterceptorAnswersRequest() {
+    Map<HttpRequest, Object> cache = new ConcurrentHashMap<>();
+    HttpClient httpClient = InterceptingHttpClient.of(delegate, new HttpInterceptor() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T> T intercept(Chain<T> chain) {
+        if (chain.request().getKind() != HttpRequest.Kind.GET) {
+          return chain.proceed(chain.request());
+        }
+        return (T) cache.computeIfAbsent(chain.request(), r -> chain.proceed(r));
+      }
+    });
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    Map<String, String> params = new HashMap<>();
+    params.put("symbol", "AAPL");
+    params.put("apikey", "key-1");
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", params));
+    params.put("apikey", "key-2");
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", params));
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testInterceptorRetries() {
+    HttpClient httpClient = InterceptingHttpClient.of(delegate, new HttpInterceptor() {
+      @Override
+      public <T> T intercept(Chain<T> chain) {
+        try {
+          return chain.proceed(chain.request());
+        } catch (InternalServerException e) {
+          return chain.proceed(chain.request());
+        }
+      }
+    });
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Error"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", new HashMap<>()));
+    assertEquals(2, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testTypedResponses() throws Exception {
+    List<String> calls = new ArrayList<>();
+    HttpClient httpClient = InterceptingHttpClient.of(delegate, recording("timing", calls));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+    mockWebServer.enqueue(new MockResponse().setBody("datetime;close\n"));
+
+    CompletableFuture<String> async = httpClient.getAsync("/price", new HashMap<>());
+    assertEquals("{\"price\":\"1.5\"}", async.get(5, TimeUnit.SECONDS));
+    try (InputStream csv = httpClient.getCsvStream("/time_series", new HashMap<>())) {
+      assertEquals("datetime;close\n", new String(csv.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertEquals("timing GET_ASYNC /price", calls.get(0));
+    assertEquals("timing GET_CSV_STREAM /time_series", calls.get(2));
+  }
+
+  @Test
+  void testAsyncInterceptorFailureFailsFuture() {
+    HttpClient httpClient = InterceptingHttpClient.of(delegate, new HttpInterceptor() {
+      @Override
+      public <T> T intercept(Chain<T> chain) {
+        throw new TwelveDataException("rejected");
+      }
+    });
+
+    CompletableFuture<String> async = httpClient.getAsync("/price", new HashMap<>());
+    assertTrue(async.isCompletedExceptionally());
+    assertEquals(0, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testKindCannotChange() {
+    HttpClient httpClient = InterceptingHttpClient.of(delegate, new HttpInterceptor() {
+      @Override
+      public <T> T intercept(Chain<T> chain) {
+        HttpRequest request = chain.request();
+        return chain.proceed(
+            new HttpRequest(request.getRelativeUrl(), request.getParams(), HttpRequest.Kind.GET));
+      }
+    });
+
+    assertThrows(IllegalArgumentException.class,
+        () -> httpClient.getCsv("/time_series", new HashMap<>()));
+  }
+
+  @Test
+  void testCanonicalRequest() {
+    Map<String, String> params = new HashMap<>();
+    params.put("symbol", "AAPL");
+    params.put("interval", "1day");
+    params.put("apikey", "secret");
+    HttpRequest request = new HttpRequest("/quote", params, HttpRequest.Kind.GET);
+
+    assertEquals("/quote?interval=1day&symbol=AAPL", request.canonical());
+    assertEquals(request, request.withParam("apikey", "other"));
+    assertNotEquals(request, request.withParam("symbol", "MSFT"));
+    assertNull(request.withParam("symbol", null).getParam("symbol"));
+  }
+
+  @Test
+  void testRequestIsNotChangedByTheCallersMap() {
+    Map<String, String> params = new HashMap<>();
+    params.put("symbol", "AAPL");
+    HttpRequest request = new HttpRequest("/quote", params, HttpRequest.Kind.GET);
+    HttpRequest same = new HttpRequest("/quote", params, HttpRequest.Kind.GET);
+    int hash = request.hashCode();
+
+    params.put("symbol", "MSFT");
+
+    assertEquals("AAPL", request.getParam("symbol"));
+    assertEquals("/quote?symbol=AAPL", request.canonical());
+    assertEquals(hash, request.hashCode());
+    assertEquals(same, request);
+  }
+
+  private static HttpInterceptor recording(String name, List<String> calls) {
+    return new HttpInterceptor() {
+      @Override
+      public <T> T intercept(Chain<T> chain) {
+        calls.add(name + " " + chain.request());
+        T response = chain.proceed(chain.request());
+        assertTrue(System.nanoTime() >= chain.startNanos());
+        calls.add(name + " done");
+        return response;
+      }
+    };
+  }
+}
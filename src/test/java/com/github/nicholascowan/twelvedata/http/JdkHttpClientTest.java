@@ -0,0 +1,165 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.InternalServerException;
+import com.github.nicholascowan.twelvedata.exceptions.InvalidApiKeyException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the JdkHttpClient. */
+@Tag("UnitTest")
+class JdkHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private JdkHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    httpClient = new JdkHttpClient(mockWebServer.url("").toString().replaceAll("/$", ""));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testDeadlineCapsTimeout() {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"1.5\"}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+
+    assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(100))
+        .call(() -> httpClient.get("/price", new HashMap<>())));
+  }
+
+  @Test
+  void testSuccessfulGet() throws Exception {
+    String expectedResponse = "{\"status\":\"ok\",\"data\":\"test\"}";
+    mockWebServer.enqueue(
+        new MockResponse().setBody(expectedResponse).addHeader("Content-Type", "application/json"));
+
+    Map<String, String> params = new HashMap<>();
+    params.put("symbol", "BRK.B");
+    params.put("exchange", "NYSE & co");
+    params.put("type", null);
+
+    assertEquals(expectedResponse, httpClient.get("/test", params));
+    RecordedRequest request = mockWebServer.takeRequest();
+    assertEquals("/test", request.getRequestUrl().encodedPath());
+    assertEquals("java", request.getRequestUrl().queryParameter("source"));
+    assertEquals("BRK.B", request.getRequestUrl().queryParameter("symbol"));
+    assertEquals("NYSE & co", request.getRequestUrl().queryParameter("exchange"));
+    assertNull(request.getRequestUrl().queryParameter("type"));
+  }
+
+  @Test
+  void testStatusErrors() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("Bad Request"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(401).setBody("Invalid API Key"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(429).setBody("Too Many Requests"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(503).setBody("Unavailable"));
+
+    Map<String, String> params = new HashMap<>();
+
+    assertThrows(BadRequestException.class, () -> httpClient.get("/test", params));
+    assertThrows(InvalidApiKeyException.class, () -> httpClient.get("/test", params));
+    assertThrows(RateLimitException.class, () -> httpClient.get("/test", params));
+    InternalServerException serverError =
+        assertThrows(InternalServerException.class, () -> httpClient.get("/test", params));
+    assertEquals("Unavailable", serverError.getMessage());
+  }
+
+  @Test
+  void testJsonErrorResponse() {
+    String errorResponse = "{\"status\":\"error\",\"code\":400,\"message\":\"Invalid symbol\"}";
+    mockWebServer.enqueue(
+        new MockResponse().setBody(errorResponse).addHeader("Content-Type", "application/json"));
+
+    BadRequestException error =
+        assertThrows(BadRequestException.class, () -> httpClient.get("/test", new HashMap<>()));
+    assertEquals("Invalid symbol", error.getMessage());
+  }
+
+  @Test
+  void testCsvResponse() throws Exception {
+    String csvResponse = "datetime;close\n2023-01-01;100.5\n";
+    mockWebServer.enqueue(
+        new MockResponse().setBody(csvResponse).addHeader("Content-Type", "text/csv"));
+    mockWebServer.enqueue(
+        new MockResponse().setBody(csvResponse).addHeader("Content-Type", "text/csv"));
+
+    assertEquals(csvResponse, httpClient.getCsv("/test", new HashMap<>()));
+    assertEquals("CSV", mockWebServer.takeRequest().getRequestUrl().queryParameter("format"));
+
+    try (InputStream in = httpClient.getCsvStream("/test", new HashMap<>())) {
+      assertEquals(csvResponse, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testStreamError() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("Not Found"));
+
+    TwelveDataException error = assertThrows(
+        TwelveDataException.class, () -> httpClient.getStream("/test", new HashMap<>()));
+    assertEquals("Not Found", error.getMessage());
+    assertEquals(404, error.getErrorCode());
+  }
+
+  @Test
+  void testGetAsync() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"status\":\"error\",\"code\":401,\"message\":\"bad key\"}"));
+
+    assertEquals("{\"price\":\"1.5\"}",
+        httpClient.getAsync("/price", new HashMap<>()).get(5, TimeUnit.SECONDS));
+
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/price", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(InvalidApiKeyException.class, failure.getCause());
+  }
+
+  @Test
+  void testConnectionFailure() throws Exception {
+    mockWebServer.shutdown();
+
+    assertThrows(TwelveDataException.class, () -> httpClient.get("/test", new HashMap<>()));
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/test", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(TwelveDataException.class, failure.getCause());
+    assertInstanceOf(IOException.class, failure.getCause().getCause());
+  }
+
+  @Test
+  void testWarmUp() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+    }
+
+    assertEquals(2, httpClient.warmUp(2));
+    assertEquals("HEAD", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getMethod());
+  }
+}
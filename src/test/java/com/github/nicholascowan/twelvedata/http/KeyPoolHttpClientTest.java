@@ -0,0 +1,120 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.ForbiddenException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the KeyPoolHttpClient. */
+@Tag("UnitTest")
+class KeyPoolHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private ApiKeyPool pool;
+  private KeyPoolHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    pool = new ApiKeyPool(List.of("key-a", "key-b"), 100);
+    httpClient = new KeyPoolHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")), pool);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testReplacesApiKey() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.6\"}"));
+    Map<String, String> params = new HashMap<>();
+    params.put("apikey", "original");
+    params.put("symbol", "AAPL");
+
+    httpClient.get("/price", params);
+    httpClient.get("/price", params);
+
+    String first = mockWebServer.takeRequest(1, TimeUnit.SECONDS).getRequestUrl()
+        .queryParameter("apikey");
+    String second = mockWebServer.takeRequest(1, TimeUnit.SECONDS).getRequestUrl()
+        .queryParameter("apikey");
+    assertEquals(Set.of("key-a", "key-b"), Set.of(first, second));
+    assertEquals("original", params.get("apikey"), "the caller's parameters are not changed");
+  }
+
+  @Test
+  void testRetriesWithAnotherKeyAfterAuthenticationError() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(401).setBody("Invalid key"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", new HashMap<>()));
+    String rejected = mockWebServer.takeRequest().getRequestUrl().queryParameter("apikey");
+    String accepted = mockWebServer.takeRequest().getRequestUrl().queryParameter("apikey");
+    assertNotEquals(rejected, accepted);
+    assertEquals(Set.of(rejected), pool.getQuarantined());
+  }
+
+  @Test
+  void testAsyncRetriesAfterRateLimit() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(429).setBody("Too Many Requests"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+
+    assertEquals("{\"price\":\"1.5\"}",
+        httpClient.getAsync("/price", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertEquals(2, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testOtherErrorsAreNotRetried() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("Bad Request"));
+
+    assertThrows(BadRequestException.class, () -> httpClient.get("/price", new HashMap<>()));
+    assertEquals(1, mockWebServer.getRequestCount());
+    assertTrue(pool.getQuarantined().isEmpty());
+  }
+
+  @Test
+  void testForbiddenRequestsAreNotRetriedOrQuarantined() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(403).setBody("Not on your plan"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(403).setBody("Not on your plan"));
+
+    assertThrows(ForbiddenException.class, () -> httpClient.get("/price", new HashMap<>()));
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/price", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(ForbiddenException.class, e.getCause());
+    assertEquals(2, mockWebServer.getRequestCount());
+    assertTrue(pool.getQuarantined().isEmpty());
+  }
+
+  @Test
+  void testCacheableRequestsUseTheSameKey() throws Exception {
+    Map<String, String> params = new HashMap<>();
+    params.put("symbol", "AAPL");
+    params.put("date", "2024-01-02");
+    for (int i = 0; i < 4; i++) {
+      mockWebServer.enqueue(new MockResponse().setBody("{\"close\":\"1.5\"}"));
+      httpClient.get("/eod", params);
+    }
+
+    String key = mockWebServer.takeRequest().getRequestUrl().queryParameter("apikey");
+    for (int i = 1; i < 4; i++) {
+      assertEquals(key, mockWebServer.takeRequest().getRequestUrl().queryParameter("apikey"));
+    }
+  }
+}
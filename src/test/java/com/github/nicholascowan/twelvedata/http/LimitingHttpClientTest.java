@@ -0,0 +1,155 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.concurrent.AdaptiveConcurrencyLimiter;
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the LimitingHttpClient. */
+@Tag("UnitTest")
+class LimitingHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private AdaptiveConcurrencyLimiter limiter;
+  private LimitingHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    limiter = new AdaptiveConcurrencyLimiter(8, 2, 16);
+    httpClient = new LimitingHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")), limiter);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testDeadlineBoundsTheWaitForAPermit() throws Exception {
+    AdaptiveConcurrencyLimiter single = new AdaptiveConcurrencyLimiter(1, 1, 1);
+    LimitingHttpClient limited = new LimitingHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")), single);
+    AdaptiveConcurrencyLimiter.Permit held = single.acquire();
+
+    long start = System.nanoTime();
+    assertThrows(DeadlineExceededException.class,
+        () -> Deadline.after(Duration.ofMillis(100)).call(() -> limited.get("/price", Map.of())));
+    assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    assertEquals(1, single.getInFlight(), "no permit was taken");
+    assertEquals(0, mockWebServer.getRequestCount());
+    held.onIgnore();
+  }
+
+  @Test
+  void testTimeoutsBackOff() {
+    LimitingHttpClient impatient = new LimitingHttpClient(new DefaultHttpClient(
+        mockWebServer.url("").toString().replaceAll("/$", ""), 200), limiter);
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"1.5\"}")
+        .setHeadersDelay(2, TimeUnit.SECONDS));
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"1.5\"}")
+        .setHeadersDelay(2, TimeUnit.SECONDS));
+
+    assertThrows(TwelveDataException.class, () -> impatient.get("/price", new HashMap<>()));
+    assertEquals(7, limiter.getLimit(), "a timed out request backs off");
+    assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(100))
+        .call(() -> httpClient.get("/price", new HashMap<>())));
+    assertEquals(6, limiter.getLimit(), "so does a missed deadline");
+    assertEquals(2, limiter.getLatencyBackoffs());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void testErrorsReleaseThePermit() {
+    LimitingHttpClient failing = new LimitingHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")) {
+          @Override
+          public String get(String relativeUrl, Map<String, String> params) {
+            throw new StackOverflowError();
+          }
+
+          @Override
+          public CompletableFuture<String> getAsync(
+              String relativeUrl, Map<String, String> params) {
+            throw new AssertionError();
+          }
+        }, limiter);
+
+    for (int i = 0; i < 10; i++) {
+      assertThrows(StackOverflowError.class, () -> failing.get("/price", new HashMap<>()));
+      assertThrows(AssertionError.class, () -> failing.getAsync("/price", new HashMap<>()));
+    }
+    assertEquals(0, limiter.getInFlight());
+    assertEquals(8, limiter.getLimit());
+  }
+
+  @Test
+  void testRateLimitBacksOff() {
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(429).setBody("Too Many Requests"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("Bad Request"));
+
+    assertEquals("{\"price\":\"1.5\"}", httpClient.get("/price", new HashMap<>()));
+    assertThrows(RateLimitException.class, () -> httpClient.get("/price", new HashMap<>()));
+    assertEquals(4, limiter.getLimit());
+    assertThrows(BadRequestException.class, () -> httpClient.get("/price", new HashMap<>()));
+    assertEquals(4, limiter.getLimit(), "other errors do not change the limit");
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void testAsyncRateLimitBacksOff() throws Exception {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"code\":429,\"message\":\"out of credits\",\"status\":\"error\"}"));
+
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> httpClient.getAsync("/price", new HashMap<>()).get(5, TimeUnit.SECONDS));
+    assertInstanceOf(RateLimitException.class, failure.getCause());
+    assertEquals(4, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void testCancelReleasesPermit() throws Exception {
+    mockWebServer.enqueue(new MockResponse()
+        .setBody("{\"price\":\"1.5\"}")
+        .setHeadersDelay(5, TimeUnit.SECONDS));
+
+    CompletableFuture<String> response = httpClient.getAsync("/price", new HashMap<>());
+    assertEquals(1, limiter.getInFlight());
+    response.cancel(true);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (limiter.getInFlight() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void testStreamReleasesPermitWhenOpened() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("datetime;close\n"));
+
+    httpClient.getCsvStream("/time_series", new HashMap<>()).close();
+    assertEquals(0, limiter.getInFlight());
+  }
+}
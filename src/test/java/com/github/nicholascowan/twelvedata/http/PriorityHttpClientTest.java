@@ -0,0 +1,101 @@
+package com.github.nicholascowan.twelvedata.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.concurrent.Deadline;
+import com.github.nicholascowan.twelvedata.concurrent.RequestPriority;
+import com.github.nicholascowan.twelvedata.concurrent.RequestScheduler;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.DeadlineExceededException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the PriorityHttpClient. */
+@Tag("UnitTest")
+class PriorityHttpClientTest {
+
+  private MockWebServer mockWebServer;
+  private RequestScheduler scheduler;
+  private PriorityHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    scheduler = new RequestScheduler(1);
+    httpClient = new PriorityHttpClient(
+        new DefaultHttpClient(mockWebServer.url("").toString().replaceAll("/$", "")), scheduler);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testClassifiesRequests() {
+    Map<String, String> params = new HashMap<>();
+    assertEquals(RequestPriority.REALTIME, httpClient.priorityOf("/quote", params));
+    assertEquals(RequestPriority.REALTIME, httpClient.priorityOf("/price", params));
+    assertEquals(RequestPriority.BULK, httpClient.priorityOf("/time_series", params));
+    assertEquals(RequestPriority.INTERACTIVE, httpClient.priorityOf("/eod", params));
+
+    assertEquals(1, httpClient.creditsOf("/quote", params));
+    params.put("symbol", "AAPL,MSFT,EUR/USD");
+    assertEquals(3, httpClient.creditsOf("/quote", params));
+  }
+
+  @Test
+  void testDeadlineBoundsTheWaitForASlot() throws Exception {
+    scheduler.acquire(RequestPriority.BULK, 1);
+
+    assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(50))
+        .call(() -> httpClient.get("/quote", new HashMap<>())));
+    assertEquals(0, scheduler.getQueued(RequestPriority.REALTIME));
+    assertEquals(0, mockWebServer.getRequestCount());
+    scheduler.release();
+    assertEquals(0, scheduler.getInFlight());
+  }
+
+  @Test
+  void testReleasesSlotAfterErrors() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("Bad Request"));
+
+    assertThrows(BadRequestException.class, () -> httpClient.get("/price", new HashMap<>()));
+    assertEquals(0, scheduler.getInFlight());
+  }
+
+  @Test
+  void testAsyncRequestWaitsForSlot() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":\"1.5\"}"));
+    scheduler.acquire(RequestPriority.BULK, 1);
+
+    CompletableFuture<String> price = httpClient.getAsync("/price", new HashMap<>());
+    assertNull(mockWebServer.takeRequest(100, TimeUnit.MILLISECONDS));
+    assertEquals(1, scheduler.getQueued(RequestPriority.REALTIME));
+
+    scheduler.release();
+    assertEquals("{\"price\":\"1.5\"}", price.get(5, TimeUnit.SECONDS));
+    assertEquals(0, scheduler.getInFlight());
+  }
+
+  @Test
+  void testCancelledAsyncRequestLeavesQueue() throws Exception {
+    scheduler.acquire(RequestPriority.BULK, 1);
+
+    httpClient.getAsync("/price", new HashMap<>()).cancel(false);
+    assertEquals(0, scheduler.getQueued(RequestPriority.REALTIME));
+    scheduler.release();
+    assertEquals(0, scheduler.getInFlight());
+    assertEquals(0, mockWebServer.getRequestCount());
+  }
+}
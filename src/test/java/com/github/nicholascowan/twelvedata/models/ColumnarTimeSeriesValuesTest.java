@@ -0,0 +1,126 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the columnar time series values list and its row views. */
+@Tag("UnitTest")
+class ColumnarTimeSeriesValuesTest {
+
+  @Test
+  void testColumnarResponseMatchesObjectResponse() throws Exception {
+    JsonNode json = new ObjectMapper().readTree(TestUtils.TIME_SERIES_JSON_RESPONSE);
+    TimeSeriesResponse expected = ModelUtils.toTimeSeriesResponse(json, 5);
+    TimeSeriesResponse columnar = ModelUtils.toColumnarTimeSeriesResponse(json, 5);
+
+    assertInstanceOf(ColumnarTimeSeriesValues.class, columnar.getValues());
+    assertInstanceOf(RandomAccess.class, columnar.getValues());
+    assertEquals(expected.getMeta().getSymbol(), columnar.getMeta().getSymbol());
+    assertEquals(expected.getValueCount(), columnar.getValueCount());
+    for (int i = 0; i < expected.getValueCount(); i++) {
+      TimeSeriesValue want = expected.getValues().get(i);
+      TimeSeriesValue got = columnar.getValues().get(i);
+      assertEquals(want.getDatetime(), got.getDatetime());
+      assertEquals(want.getOpen(), got.getOpen());
+      assertEquals(want.getHigh(), got.getHigh());
+      assertEquals(want.getLow(), got.getLow());
+      assertEquals(want.getClose(), got.getClose());
+      assertEquals(want.getVolume(), got.getVolume());
+      assertEquals(want.getCloseAsDouble(), got.getCloseAsDouble());
+      assertEquals(want.getVolumeAsLong(), got.getVolumeAsLong());
+      assertEquals(want.getCloseAsScaled(), got.getCloseAsScaled());
+      assertEquals(want.getEpochMillis(), got.getEpochMillis());
+      assertEquals(want.toString(), got.toString());
+    }
+    assertEquals("148.85001", columnar.getLatestValue().getClose());
+    assertEquals("2021-09-16 15:58:00", columnar.getOldestValue().getDatetime());
+  }
+
+  @Test
+  void testRowAccessorsAndReadOnlyViews() {
+    ColumnarTimeSeriesValues values = ColumnarTimeSeriesValues.builder(1, null, 2)
+        .add("2024-03-01", "10.50", "11.00", "10.25", "10.75", null)
+        .add("2024-03-04", "10.75", "11.10", "10.70", "11.05", null)
+        .build();
+
+    assertEquals(2, values.size());
+    assertEquals(11.05, values.getCloseValue(1));
+    assertFalse(values.hasVolume(0));
+    assertEquals(0L, values.getVolumeValue(0));
+    assertEquals(Long.MIN_VALUE, values.getEpochMillisValue(0));
+    assertNull(values.get(0).getVolume());
+    assertNull(values.get(0).getEpochMillis());
+    assertEquals(LocalDateTime.of(2024, 3, 4, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli(),
+        values.get(1).getEpochMillis(ZoneOffset.UTC));
+
+    assertThrows(UnsupportedOperationException.class, () -> values.get(0).setClose("1.00"));
+    assertThrows(UnsupportedOperationException.class, () -> values.add(new TimeSeriesValue()));
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> values.getCloseValue(-1));
+  }
+
+  @Test
+  void testViewsCompareByValue() {
+    List<TimeSeriesValue> source = Arrays.asList(
+        new TimeSeriesValue("2024-03-01 09:30:00", "1.5", "1.6", "1.4", "1.55", "10"),
+        new TimeSeriesValue("2024-03-01 09:31:00", "1.5", "1.6", "1.4", "1.56", "10"),
+        new TimeSeriesValue("2024-03-01 09:32:00", "1.5", "1.6", "1.4", null, null));
+    ColumnarTimeSeriesValues values = ColumnarTimeSeriesValues.of(source, "UTC", 2);
+    ColumnarTimeSeriesValues copy = ColumnarTimeSeriesValues.of(source, "UTC", 2);
+
+    for (int i = 0; i < values.size(); i++) {
+      assertEquals(values.get(i), values.get(i));
+      assertEquals(values.get(i).hashCode(), copy.get(i).hashCode());
+      assertEquals(i, values.indexOf(values.get(i)));
+      assertTrue(copy.contains(values.get(i)));
+    }
+    assertNotEquals(values.get(0), values.get(1));
+    assertEquals(values, copy);
+    assertNotEquals(values, ColumnarTimeSeriesValues.of(source, "UTC", 3));
+    assertNotEquals(values.get(0), source.get(0), "plain values keep identity equality");
+  }
+
+  @Test
+  void testIrregularDatetimesAreRetained() {
+    List<TimeSeriesValue> source = Arrays.asList(
+        new TimeSeriesValue("2024-03-01 09:30:00", "1.5", "1.5", "1.5", "1.5", "10"),
+        new TimeSeriesValue("2024-03-01T09:31:00", "1.5", "1.5", "1.5", "1.5", "10"),
+        new TimeSeriesValue("not a date", "1.5", "1.5", "1.5", "1.5", "10"));
+    ColumnarTimeSeriesValues values =
+        ColumnarTimeSeriesValues.of(source, "America/New_York", -1);
+
+    for (int i = 0; i < source.size(); i++) {
+      assertEquals(source.get(i).getDatetime(), values.get(i).getDatetime());
+      assertEquals("1.5", values.get(i).getClose());
+    }
+    assertEquals(1709303400000L, values.get(0).getEpochMillis());
+    assertNull(values.get(2).getEpochMillis(), "only the unparseable row has no epoch millis");
+    assertSame(values, ColumnarTimeSeriesValues.of(values, null, -1));
+  }
+
+  @Test
+  void testFormatLocalEpochSecondMatchesJavaTime() {
+    LocalDateTime local = LocalDateTime.of(1970, 1, 1, 0, 0);
+    for (int i = 0; i < 20_000; i++) {
+      long seconds = local.toEpochSecond(ZoneOffset.UTC);
+      String text = local.toString().replace('T', ' ');
+      assertEquals(text.substring(0, 10), DateTimeParser.formatLocalEpochSecond(seconds, 10));
+      assertEquals(text.length() == 16 ? text + ":00" : text,
+          DateTimeParser.formatLocalEpochSecond(seconds, 19));
+      local = local.plusDays(3).plusSeconds(4_001);
+    }
+    assertEquals("1969-12-31 23:59", DateTimeParser.formatLocalEpochSecond(-1, 16));
+    assertThrows(IllegalArgumentException.class,
+        () -> DateTimeParser.formatLocalEpochSecond(0, 13));
+  }
+}
@@ -0,0 +1,135 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.exceptions.RateLimitException;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the streaming CSV decoder. */
+@Tag("UnitTest")
+class CsvDecoderTest {
+
+  private static final String TIME_SERIES_CSV =
+      "datetime;open;high;low;close;volume\r\n"
+          + "2021-09-16 15:59:00;148.73500;148.86000;148.73000;148.85001;624277\r\n"
+          + "2021-09-16 15:58:00;148.72000;148.78000;148.70000;148.74001;274622\r\n"
+          + "\r\n";
+
+  @Test
+  void testTimeSeriesAcrossChunkBoundaries() throws Exception {
+    ColumnarTimeSeriesValues values = CsvDecoder.decodeTimeSeries(
+        trickle(TIME_SERIES_CSV), ';', "America/New_York", 5);
+
+    assertEquals(2, values.size());
+    assertEquals("2021-09-16 15:59:00", values.get(0).getDatetime());
+    assertEquals("148.73500", values.get(0).getOpen());
+    assertEquals(148.85001, values.getCloseValue(0));
+    assertEquals(624277L, values.getVolumeValue(0));
+    assertEquals(148.74001, values.getCloseValue(1));
+    assertEquals(DateTimeParser.toEpochMillis("2021-09-16 15:58:00", "America/New_York"),
+        values.getEpochMillisValue(1));
+  }
+
+  @Test
+  void testResponsesLargerThanTheChunk() throws Exception {
+    StringBuilder csv = new StringBuilder("datetime;open;high;low;close;volume\n");
+    for (int i = 0; i < 10_000; i++) {
+      csv.append(DateTimeParser.formatLocalEpochSecond(1_700_000_000L - i * 60L, 19))
+          .append(";1.5;2.5;0.5;").append(i).append(".25;").append(i).append('\n');
+    }
+    ColumnarTimeSeriesValues values =
+        CsvDecoder.decodeTimeSeries(in(csv.toString()), ';', "UTC", 2);
+
+    assertEquals(10_000, values.size());
+    for (int i = 0; i < values.size(); i++) {
+      assertEquals(i + 0.25, values.getCloseValue(i));
+      assertEquals(i, values.getVolumeValue(i));
+      assertEquals((1_700_000_000L - i * 60L) * 1000L, values.getEpochMillisValue(i));
+    }
+  }
+
+  @Test
+  void testDelimiterAndMissingColumns() throws Exception {
+    String csv = "datetime,close\n2024-03-01,1.25\n2024-03-04,\n2024-03-05,x";
+    ColumnarTimeSeriesValues values = CsvDecoder.decodeTimeSeries(in(csv), ',', null, -1);
+
+    assertEquals(3, values.size());
+    assertEquals(1.25, values.getCloseValue(0));
+    assertTrue(Double.isNaN(values.getOpenValue(0)));
+    assertTrue(Double.isNaN(values.getCloseValue(1)));
+    assertTrue(Double.isNaN(values.getCloseValue(2)));
+    assertFalse(values.hasVolume(0));
+    assertEquals("2024-03-04", values.get(1).getDatetime());
+
+    IOException missing = assertThrows(IOException.class,
+        () -> CsvDecoder.decodeTimeSeries(in("close\n1.0\n"), ',', null, -1));
+    assertTrue(missing.getMessage().contains("datetime"));
+  }
+
+  @Test
+  void testRowHandlerSeesFieldViews() throws Exception {
+    List<String> seen = new ArrayList<>();
+    int rows = CsvDecoder.forEachRow(in("symbol|price\nAAPL|150.25\nMSFT|\n"), '|', row -> {
+      assertEquals(0, row.indexOf("symbol"));
+      seen.add(row.getString(0) + "=" + row.getDouble(1) + "@" + row.getRowNumber());
+    });
+
+    assertEquals(2, rows);
+    assertEquals(List.of("AAPL=150.25@0", "MSFT=NaN@1"), seen);
+    assertEquals(0, CsvDecoder.forEachRow(in(""), ';', row -> fail("no rows")));
+  }
+
+  @Test
+  void testNonAsciiFieldsMatchTheirStrings() throws Exception {
+    CsvDecoder.forEachRow(in("name;exchange\nNestlé S.A.;SIX\n"), ';', row -> {
+      CharSequence name = row.getField(0);
+      assertEquals("Nestlé S.A.", name.toString());
+      assertEquals(11, name.length());
+      assertEquals('é', name.charAt(5));
+      assertEquals("SIX", row.getField(1).toString());
+      assertEquals('X', row.getField(1).charAt(2));
+    });
+  }
+
+  @Test
+  void testPrice() throws Exception {
+    PriceResponse response = CsvDecoder.decodePrice(in("price\n150.25000\n"), ';', 5);
+
+    assertEquals(150.25, response.getPriceValue());
+    assertEquals("150.25000", response.getPrice());
+  }
+
+  @Test
+  void testJsonErrorBodies() {
+    String error = "{\"code\":429,\"message\":\"You have run out of API credits\","
+        + "\"status\":\"error\"}";
+    RateLimitException e = assertThrows(RateLimitException.class,
+        () -> CsvDecoder.decodeTimeSeries(in(error), ';', null, -1));
+    assertEquals("You have run out of API credits", e.getMessage());
+
+    assertThrows(IOException.class,
+        () -> CsvDecoder.decodeTimeSeries(in("{\"status\":\"ok\"}"), ';', null, -1));
+  }
+
+  private static InputStream in(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Returns at most three bytes per read, so rows and fields straddle reads. */
+  private static InputStream trickle(String text) {
+    return new FilterInputStream(in(text)) {
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        return super.read(b, off, Math.min(len, 3));
+      }
+    };
+  }
+}
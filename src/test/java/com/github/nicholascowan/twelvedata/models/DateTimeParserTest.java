@@ -0,0 +1,116 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the fixed-format datetime decoder. */
+@Tag("UnitTest")
+class DateTimeParserTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private static long expected(String datetime, ZoneId zone) {
+    LocalDateTime local =
+        datetime.length() == 10
+            ? LocalDate.parse(datetime).atStartOfDay()
+            : LocalDateTime.parse(datetime.replace(' ', 'T'));
+    return local.atZone(zone).toInstant().toEpochMilli();
+  }
+
+  @Test
+  void testSupportedShapes() {
+    assertEquals(expected("2021-09-16", NEW_YORK),
+        DateTimeParser.toEpochMillis("2021-09-16", NEW_YORK));
+    assertEquals(expected("2021-09-16 15:59:00", NEW_YORK),
+        DateTimeParser.toEpochMillis("2021-09-16 15:59:00", NEW_YORK));
+    assertEquals(expected("2021-09-16 15:59", NEW_YORK),
+        DateTimeParser.toEpochMillis("2021-09-16T15:59", NEW_YORK));
+    assertEquals(expected("2024-02-29 23:59:59", ZoneOffset.UTC),
+        DateTimeParser.toEpochMillis("2024-02-29 23:59:59", (String) null));
+  }
+
+  @Test
+  void testMatchesJavaTimeAcrossDaylightSavingTransitions() {
+    // Walk every 15 minutes through a year that includes a gap and an overlap
+    LocalDateTime local = LocalDateTime.of(2023, 1, 1, 0, 0);
+    LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+    while (local.isBefore(end)) {
+      String text = local.toString().replace('T', ' ') + ":00";
+      assertEquals(expected(text, NEW_YORK), DateTimeParser.toEpochMillis(text, NEW_YORK), text);
+      local = local.plusMinutes(15);
+    }
+  }
+
+  @Test
+  void testOverlapResolvesToEarlierOffsetAfterCachingLaterWindow() {
+    String zone = "Europe/London";
+    // Cache the winter window first, then ask for an ambiguous local time
+    DateTimeParser.toEpochMillis("2023-10-29 12:00:00", zone);
+    assertEquals(expected("2023-10-29 01:30:00", ZoneId.of(zone)),
+        DateTimeParser.toEpochMillis("2023-10-29 01:30:00", zone));
+  }
+
+  @Test
+  void testInvalidInputs() {
+    assertThrows(DateTimeParseException.class,
+        () -> DateTimeParser.toEpochMillis("2021-9-16", NEW_YORK));
+    assertThrows(DateTimeParseException.class,
+        () -> DateTimeParser.toEpochMillis("2021-02-30", NEW_YORK));
+    assertThrows(DateTimeParseException.class,
+        () -> DateTimeParser.toEpochMillis("2021-09-16 24:00:00", NEW_YORK));
+    assertThrows(DateTimeParseException.class,
+        () -> DateTimeParser.toEpochMillis("2021-09-16/15:59:00", NEW_YORK));
+  }
+
+  @Test
+  void testModelsExposeEpochMillis() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    TimeSeriesResponse series =
+        ModelUtils.toTimeSeriesResponse(mapper.readTree(TestUtils.TIME_SERIES_JSON_RESPONSE));
+    assertEquals(expected("2021-09-16 15:59:00", NEW_YORK),
+        series.getLatestValue().getEpochMillis());
+    assertEquals(series.getLatestValue().getEpochMillis(),
+        series.getLatestValue().getEpochMillis(NEW_YORK));
+
+    QuoteResponse quote =
+        ModelUtils.toQuoteResponse(mapper.readTree(TestUtils.QUOTE_JSON_RESPONSE));
+    assertEquals(1631772000000L, quote.getEpochMillis());
+    assertEquals(expected("2021-09-16", NEW_YORK), quote.getDatetimeAsEpochMillis(NEW_YORK));
+
+    EndOfDayResponse eod =
+        new EndOfDayResponse("AAPL", "NASDAQ", "XNAS", "USD", "2021-09-16", "148.79");
+    assertEquals(expected("2021-09-16", NEW_YORK), eod.getEpochMillis(NEW_YORK));
+    assertNull(new TimeSeriesValue().getEpochMillis());
+  }
+
+  @Test
+  void testMalformedDatetimeOnlySkipsItsOwnRow() throws Exception {
+    String json = "{\"meta\":{\"symbol\":\"AAPL\",\"exchange_timezone\":\"America/New_York\"},"
+        + "\"values\":["
+        + "{\"datetime\":\"2021-09-16\",\"close\":\"148.79\"},"
+        + "{\"datetime\":\"16/09/2021\",\"close\":\"148.80\"},"
+        + "{\"datetime\":\"2021-09-14\",\"close\":\"148.12\"}],"
+        + "\"status\":\"ok\"}";
+    JsonNode node = new ObjectMapper().readTree(json);
+
+    for (TimeSeriesResponse series : List.of(ModelUtils.toTimeSeriesResponse(node),
+        ModelUtils.toColumnarTimeSeriesResponse(node, -1))) {
+      List<TimeSeriesValue> values = series.getValues();
+      assertEquals(expected("2021-09-16", NEW_YORK), values.get(0).getEpochMillis());
+      assertNull(values.get(1).getEpochMillis(), "the malformed row is skipped");
+      assertEquals(expected("2021-09-14", NEW_YORK), values.get(2).getEpochMillis(),
+          "rows after the malformed one are still decoded");
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the DecoderWarmUp. */
+@Tag("UnitTest")
+class DecoderWarmUpTest {
+
+  @Test
+  void testSamplesDecode() {
+    assertEquals(14, DecoderWarmUp.run(2));
+    assertEquals(0, DecoderWarmUp.run(0));
+  }
+}
@@ -0,0 +1,189 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for fixed-point and double decoding of API number strings. */
+@Tag("UnitTest")
+class NumberDecoderTest {
+
+  @Test
+  void testParseScaled() {
+    assertEquals(14885001L, NumberDecoder.parseScaled("148.85001", 5));
+    assertEquals(14885000L, NumberDecoder.parseScaled("148.85", 5));
+    assertEquals(14885L, NumberDecoder.parseScaled("148.85001", 2));
+    assertEquals(14886L, NumberDecoder.parseScaled("148.855", 2), "rounds half up");
+    assertEquals(-14886L, NumberDecoder.parseScaled("-148.855", 2), "rounds half away from zero");
+    assertEquals(-23999L, NumberDecoder.parseScaled("-0.23999", 5));
+    assertEquals(624277L, NumberDecoder.parseScaled("624277", 0));
+    assertEquals(50L, NumberDecoder.parseScaled(".5", 2));
+
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseScaled("", 5));
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseScaled("-", 5));
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseScaled("1.2.3", 5));
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseScaled("1e5", 5));
+    assertThrows(NumberFormatException.class,
+        () -> NumberDecoder.parseScaled("92233720368547758.08", 2));
+    assertThrows(IllegalArgumentException.class, () -> NumberDecoder.parseScaled("1", 19));
+  }
+
+  @Test
+  void testParseDoubleMatchesJdk() {
+    String[] samples = {
+      "148.85001", "-0.23999", "0", "-0", "0.1", "157.25999", "1e3", "123456789012345678901.5",
+      "0.00000000000000000000001", "9007199254740993", "5.", ".5", "+1.25"
+    };
+    for (String sample : samples) {
+      assertEquals(Double.parseDouble(sample), NumberDecoder.parseDouble(sample), sample);
+    }
+
+    Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      String text = BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(9))
+          .toPlainString();
+      assertEquals(Double.parseDouble(text), NumberDecoder.parseDouble(text), text);
+    }
+
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseDouble("abc"));
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseDouble(""));
+  }
+
+  @Test
+  void testParseLong() {
+    assertEquals(67903927L, NumberDecoder.parseLong("67903927"));
+    assertEquals(-5L, NumberDecoder.parseLong("-5"));
+    assertEquals(Long.MAX_VALUE, NumberDecoder.parseLong(Long.toString(Long.MAX_VALUE)));
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseLong("12.5"));
+    assertThrows(NumberFormatException.class, () -> NumberDecoder.parseLong("-"));
+  }
+
+  @Test
+  void testScaledDecimalArithmetic() {
+    ScaledDecimal entry = ScaledDecimal.parse("148.73500", 5);
+    ScaledDecimal exit = ScaledDecimal.parse("148.85001");
+
+    assertEquals("0.11501", exit.subtract(entry).toString());
+    assertEquals("11.50100", exit.subtract(entry).multiply(100).toString());
+    assertEquals("297.58501", exit.add(entry).toString());
+    assertEquals(ScaledDecimal.of(14885, 2), exit.rescale(2));
+    assertEquals("-0.05", ScaledDecimal.parse("-0.045").rescale(2).toString());
+    assertEquals(0, ScaledDecimal.parse("1.5").compareTo(ScaledDecimal.parse("1.50")));
+    assertNotEquals(ScaledDecimal.parse("1.5"), ScaledDecimal.parse("1.50"));
+    assertEquals(new BigDecimal("148.85001"), exit.toBigDecimal());
+    assertEquals(148.85001, exit.toDouble());
+    assertThrows(ArithmeticException.class, () -> ScaledDecimal.of(Long.MAX_VALUE, 0).add(
+        ScaledDecimal.of(1, 0)));
+  }
+
+  @Test
+  void testModelsDecodeAtRequestedScale() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    TimeSeriesResponse series = ModelUtils.toTimeSeriesResponse(
+        mapper.readTree(TestUtils.TIME_SERIES_JSON_RESPONSE), 2);
+    TimeSeriesValue latest = series.getLatestValue();
+    assertEquals(2, latest.getPriceScale());
+    assertEquals(ScaledDecimal.of(14885, 2), latest.getCloseAsScaled());
+
+    QuoteResponse quote =
+        ModelUtils.toQuoteResponse(mapper.readTree(TestUtils.QUOTE_JSON_RESPONSE), 5);
+    assertEquals(ScaledDecimal.of(-23999, 5), quote.getChangeAsScaled());
+    assertEquals(ScaledDecimal.of(15725999, 5), quote.getFiftyTwoWeek().getHighAsScaled());
+
+    PriceResponse price =
+        ModelUtils.toPriceResponse(mapper.readTree(TestUtils.PRICE_JSON_RESPONSE));
+    assertEquals(-1, price.getPriceScale());
+    assertEquals(ScaledDecimal.of(20099001, 5), price.getPriceAsScaled());
+  }
+
+  @Test
+  void testCanonicalStrings() {
+    assertTrue(NumberDecoder.isCanonical("148.85001", 5));
+    assertTrue(NumberDecoder.isCanonical("-0.23999", 5));
+    assertTrue(NumberDecoder.isCanonical("624277", 0));
+    assertFalse(NumberDecoder.isCanonical("148.85", 5), "fewer fraction digits");
+    assertFalse(NumberDecoder.isCanonical("+148.85001", 5));
+    assertFalse(NumberDecoder.isCanonical("0148.85001", 5));
+    assertFalse(NumberDecoder.isCanonical("-0.00000", 5));
+    assertFalse(NumberDecoder.isCanonical("1234567890123.45678", 5), "too many digits");
+    assertFalse(NumberDecoder.isCanonical("1.5e3", 1));
+    assertFalse(NumberDecoder.isCanonical(null, 5));
+    assertEquals("-0.23999", NumberDecoder.formatDouble(-0.23999, 5));
+    assertEquals("9999999999.99999", NumberDecoder.formatDouble(9999999999.99999, 5));
+  }
+
+  @Test
+  void testModelsMemoizeValuesAndReleaseStrings() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    TimeSeriesResponse series = ModelUtils.toTimeSeriesResponse(
+        mapper.readTree(TestUtils.TIME_SERIES_JSON_RESPONSE), 5);
+    TimeSeriesValue latest = series.getLatestValue();
+    assertEquals(148.85001, latest.getCloseValue());
+    assertEquals("148.85001", latest.getClose());
+    assertEquals("624277", latest.getVolume());
+    assertEquals(624277L, latest.getVolumeValue());
+    assertEquals(ScaledDecimal.of(14885001, 5), latest.getCloseAsScaled());
+
+    // Strings that do not match the scale are retained as received
+    TimeSeriesValue value =
+        new TimeSeriesValue("2021-09-16", "148.7", "x", null, "148.85001", "1.5");
+    value.setPriceScale(5);
+    value.releaseRawStrings();
+    assertEquals("148.7", value.getOpen());
+    assertEquals("148.85001", value.getClose());
+    assertTrue(Double.isNaN(value.getHighValue()));
+    assertThrows(NumberFormatException.class, value::getHighAsDouble);
+    assertNull(value.getLowAsDouble());
+    assertEquals(0L, value.getVolumeValue());
+    assertThrows(NumberFormatException.class, value::getVolumeAsLong);
+
+    QuoteResponse quote =
+        ModelUtils.toQuoteResponse(mapper.readTree(TestUtils.QUOTE_JSON_RESPONSE), 5);
+    assertEquals(-0.23999, quote.getChangeValue());
+    assertEquals("-0.23999", quote.getChange());
+    assertEquals(1631772000L, quote.getTimestampValue());
+    assertEquals(157.25999, quote.getFiftyTwoWeek().getHighValue());
+    assertEquals("157.25999", quote.getFiftyTwoWeek().getHigh());
+
+    PriceResponse price =
+        ModelUtils.toPriceResponse(mapper.readTree(TestUtils.PRICE_JSON_RESPONSE), 5);
+    assertEquals(200.99001, price.getPriceValue());
+    assertEquals("200.99001", price.getPrice());
+
+    EndOfDayResponse eod =
+        new EndOfDayResponse("AAPL", "NASDAQ", "XNAS", "USD", "2021-09-16", "148.79000");
+    EndOfDayResponse released =
+        new EndOfDayResponse("AAPL", "NASDAQ", "XNAS", "USD", "2021-09-16", "148.79000");
+    released.setPriceScale(5);
+    released.releaseRawStrings();
+    assertEquals(148.79, released.getCloseValue());
+    assertEquals(eod, released);
+    assertEquals(eod.hashCode(), released.hashCode());
+  }
+
+  @Test
+  void testPriceScaleIsFrozenOnceStringsAreReleased() {
+    TimeSeriesValue value =
+        new TimeSeriesValue("2021-09-16", "148.70000", "148.90000", "148.10000", "148.85001", "10");
+    value.setPriceScale(5);
+    value.releaseRawStrings();
+    value.setPriceScale(5);
+    assertThrows(IllegalStateException.class, () -> value.setPriceScale(2));
+    assertEquals("148.85001", value.getClose(), "strings still render as the API sent them");
+
+    TimeSeriesValue kept = new TimeSeriesValue("2021-09-16", "1.5", "1.5", "1.5", "1.5", "10");
+    kept.releaseRawStrings();
+    kept.setPriceScale(2);
+    assertEquals("1.5", kept.getClose(), "nothing was released while the scale was unknown");
+
+    PriceResponse price = new PriceResponse("200.99001");
+    price.setPriceScale(5);
+    price.releaseRawStrings();
+    assertThrows(IllegalStateException.class, () -> price.setPriceScale(-1));
+  }
+}
@@ -0,0 +1,102 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for metadata string canonicalization and the enum-backed metadata accessors. */
+@Tag("UnitTest")
+class StringTableTest {
+
+  @Test
+  void testCanonicalizeReturnsSharedInstance() {
+    StringTable table = new StringTable(16);
+    String first = table.canonicalize(new String("NASDAQ"));
+    String second = table.canonicalize(new String("NASDAQ"));
+    assertSame(first, second);
+    assertEquals(1, table.size());
+    assertNull(table.canonicalize(null));
+  }
+
+  @Test
+  void testFullTableReturnsInputWithoutGrowing() {
+    StringTable table = new StringTable(2);
+    table.canonicalize("USD");
+    table.canonicalize("EUR");
+    String extra = new String("GBP");
+    assertSame(extra, table.canonicalize(extra));
+    assertEquals(2, table.size());
+    assertSame(table.canonicalize("USD"), table.canonicalize(new String("USD")));
+
+    table.clear();
+    assertEquals(0, table.size());
+    assertThrows(IllegalArgumentException.class, () -> new StringTable(0));
+  }
+
+  @Test
+  void testConcurrentInsertsStayWithinTheCap() throws Exception {
+    StringTable table = new StringTable(100);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            table.canonicalize("v" + (i * 8 + thread) % 500);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(100, table.size());
+
+    table.clear();
+    table.canonicalize("USD");
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  void testDecodersShareMetadataStrings() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    TimeSeriesMeta first = ModelUtils.toTimeSeriesResponse(
+        mapper.readTree(TestUtils.TIME_SERIES_JSON_RESPONSE)).getMeta();
+    TimeSeriesMeta second = ModelUtils.toTimeSeriesResponse(
+        mapper.readTree(TestUtils.TIME_SERIES_JSON_RESPONSE)).getMeta();
+    assertSame(first.getExchange(), second.getExchange());
+    assertSame(first.getExchangeTimezone(), second.getExchangeTimezone());
+    assertSame(first.getType(), second.getType());
+
+    QuoteResponse quote =
+        ModelUtils.toQuoteResponse(mapper.readTree(TestUtils.QUOTE_JSON_RESPONSE));
+    assertSame(first.getMicCode(), quote.getMicCode());
+    assertSame(first.getCurrency(), quote.getCurrency());
+
+    assertEquals(Interval.ONE_MINUTE, first.getIntervalAsEnum());
+    assertEquals(InstrumentType.COMMON_STOCK, first.getTypeAsEnum());
+  }
+
+  @Test
+  void testEnumCodes() {
+    for (Interval interval : Interval.values()) {
+      assertSame(interval, Interval.fromCode(interval.getCode()));
+    }
+    assertEquals("1day", Interval.ONE_DAY.toString());
+    assertNull(Interval.fromCode("3min"));
+    assertNull(Interval.fromCode(null));
+    assertEquals(InstrumentType.DIGITAL_CURRENCY, InstrumentType.fromCode("Digital Currency"));
+    assertNull(InstrumentType.fromCode("Unknown"));
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.nicholascowan.twelvedata.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import com.github.nicholascowan.twelvedata.exceptions.BadRequestException;
+import com.github.nicholascowan.twelvedata.exceptions.TwelveDataException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the streaming time series bar reader. */
+@Tag("UnitTest")
+class TimeSeriesBarReaderTest {
+
+  @Test
+  void testBarsMatchObjectResponse() throws Exception {
+    TimeSeriesResponse expected = ModelUtils.toTimeSeriesResponse(
+        new ObjectMapper().readTree(TestUtils.TIME_SERIES_JSON_RESPONSE), 5);
+
+    List<TimeSeriesValue> copies = new ArrayList<>();
+    try (TimeSeriesBarReader reader =
+        new TimeSeriesBarReader(in(TestUtils.TIME_SERIES_JSON_RESPONSE), 5)) {
+      MutableBar first = null;
+      while (reader.hasNext()) {
+        MutableBar bar = reader.next();
+        assertSame(first != null ? first : bar, bar, "the bar is reused");
+        first = bar;
+        assertEquals(copies.size(), bar.getIndex());
+        copies.add(bar.toTimeSeriesValue());
+      }
+      assertEquals("AAPL", reader.getMeta().getSymbol());
+      assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    assertEquals(expected.getValueCount(), copies.size());
+    for (int i = 0; i < copies.size(); i++) {
+      TimeSeriesValue want = expected.getValues().get(i);
+      TimeSeriesValue got = copies.get(i);
+      assertEquals(want.getDatetime(), got.getDatetime());
+      assertEquals(want.getOpen(), got.getOpen());
+      assertEquals(want.getClose(), got.getClose());
+      assertEquals(want.getVolume(), got.getVolume());
+      assertEquals(want.getEpochMillis(), got.getEpochMillis());
+    }
+  }
+
+  @Test
+  void testConsumerAndIrregularValues() {
+    String json = "{\"values\":[{\"datetime\":\"2024-03-01\",\"close\":1.5,\"extra\":{\"a\":1}},"
+        + "{\"datetime\":\"2024-03-01T09:30\",\"open\":\"x\",\"volume\":\"12\"}],"
+        + "\"meta\":{\"symbol\":\"EUR/USD\"},\"status\":\"ok\"}";
+    List<String> seen = new ArrayList<>();
+
+    int count = new TimeSeriesBarReader(in(json), -1).forEach(bar -> seen.add(
+        bar.getDatetime() + " " + bar.getOpenValue() + " " + bar.getCloseValue() + " "
+            + bar.hasVolume() + " " + bar.getEpochMillisValue()));
+
+    assertEquals(2, count);
+    assertEquals(List.of("2024-03-01 NaN 1.5 false " + Long.MIN_VALUE,
+        "2024-03-01T09:30 NaN NaN true " + Long.MIN_VALUE), seen);
+  }
+
+  @Test
+  void testErrorsAreMapped() {
+    String error = "{\"code\":400,\"message\":\"**symbol** not found\",\"status\":\"error\"}";
+    TimeSeriesBarReader reader = new TimeSeriesBarReader(in(error), -1);
+    BadRequestException e = assertThrows(BadRequestException.class, reader::hasNext);
+    assertEquals("**symbol** not found", e.getMessage());
+    assertFalse(reader.hasNext());
+
+    assertThrows(TwelveDataException.class, () -> new TimeSeriesBarReader(in("[]"), -1));
+    TimeSeriesBarReader truncated =
+        new TimeSeriesBarReader(in("{\"values\":[{\"datetime\":\"2024-03-01\","), -1);
+    assertThrows(TwelveDataException.class, truncated::hasNext);
+  }
+
+  private static InputStream in(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,105 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Manual benchmark for {@link CompressedSeries}: compression ratio and encode/decode throughput
+ * on a synthetic year of 1min bars.
+ *
+ * <p>Not run by the test suite. Run it with:
+ *
+ * <pre>{@code
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes \
+ *     com.github.nicholascowan.twelvedata.series.CompressedSeriesBenchmark
+ * }</pre>
+ */
+public final class CompressedSeriesBenchmark {
+
+  private static final int TRADING_DAYS = 252;
+  private static final int BARS_PER_DAY = 390;
+  private static final int ROUNDS = 20;
+
+  private CompressedSeriesBenchmark() {}
+
+  public static void main(String[] args) {
+    int n = TRADING_DAYS * BARS_PER_DAY;
+    long[] timestamps = new long[n];
+    double[][] prices = new double[4][n];
+    long[] volumes = new long[n];
+    generate(timestamps, prices, volumes, new Random(42));
+
+    CompressedSeries series = null;
+    long encodeNanos = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      series = encode(timestamps, prices, volumes);
+      encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+    }
+
+    long decodeNanos = Long.MAX_VALUE;
+    double checksum = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      checksum += scan(series);
+      decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+    }
+
+    int columnBytes = n * (Long.BYTES + 4 * Double.BYTES + Long.BYTES);
+    System.out.printf(Locale.ROOT, "bars:              %,d%n", n);
+    System.out.printf(Locale.ROOT, "encoded size:      %,d bytes (%.2f bytes/bar)%n",
+        series.getEncodedBytes(), series.getBytesPerBar());
+    System.out.printf(Locale.ROOT, "primitive columns: %,d bytes (ratio %.1fx)%n",
+        columnBytes, (double) columnBytes / series.getEncodedBytes());
+    System.out.printf(Locale.ROOT, "encode:            %.1f M bars/s%n", n * 1e3 / encodeNanos);
+    System.out.printf(Locale.ROOT, "decode:            %.1f M bars/s%n", n * 1e3 / decodeNanos);
+    System.out.printf(Locale.ROOT, "checksum:          %.3f%n", checksum);
+  }
+
+  private static void generate(
+      long[] timestamps, double[][] prices, long[] volumes, Random random) {
+    long dayStart = 1_704_205_800_000L; // 2024-01-02 09:30 America/New_York
+    double price = 185.0;
+    int i = 0;
+    for (int day = 0; day < TRADING_DAYS; day++) {
+      // Weekends add a longer gap every fifth session
+      dayStart += (day % 5 == 0 && day > 0 ? 3 : 1) * 86_400_000L;
+      for (int bar = 0; bar < BARS_PER_DAY; bar++, i++) {
+        double open = price;
+        price = round(price + random.nextGaussian() * 0.05);
+        double high = round(Math.max(open, price) + random.nextDouble() * 0.03);
+        double low = round(Math.min(open, price) - random.nextDouble() * 0.03);
+        timestamps[i] = dayStart + bar * 60_000L;
+        prices[0][i] = open;
+        prices[1][i] = high;
+        prices[2][i] = low;
+        prices[3][i] = price;
+        volumes[i] = 50_000 + random.nextInt(150_000);
+      }
+    }
+  }
+
+  private static double round(double price) {
+    // Like the API with dp=2
+    return Math.round(price * 100) / 100.0;
+  }
+
+  private static CompressedSeries encode(long[] timestamps, double[][] prices, long[] volumes) {
+    CompressedSeries series = new CompressedSeries(timestamps.length * 16);
+    for (int i = 0; i < timestamps.length; i++) {
+      series.append(timestamps[i], prices[0][i], prices[1][i], prices[2][i], prices[3][i],
+          volumes[i]);
+    }
+    return series;
+  }
+
+  private static double scan(CompressedSeries series) {
+    double sum = 0;
+    CompressedSeries.Cursor cursor = series.cursor();
+    while (cursor.next()) {
+      sum += cursor.getClose() + cursor.getVolume() * 1e-9;
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,126 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import com.github.nicholascowan.twelvedata.models.ModelUtils;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesMeta;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the Gorilla-style compressed series. */
+@Tag("UnitTest")
+class CompressedSeriesTest {
+
+  @Test
+  void testRoundTripIsLossless() {
+    Random random = new Random(7);
+    int n = 20_000;
+    long[] timestamps = new long[n];
+    double[][] prices = new double[n][4];
+    long[] volumes = new long[n];
+
+    CompressedSeries series = new CompressedSeries();
+    long timestamp = 1_700_000_000_000L;
+    double price = 150.0;
+    for (int i = 0; i < n; i++) {
+      // Mostly regular minutes with occasional gaps and irregular values
+      timestamp += random.nextInt(50) == 0 ? random.nextInt(1_000_000_000) : 60_000L;
+      price = Math.round((price + random.nextGaussian() * 0.05) * 100_000) / 100_000.0;
+      timestamps[i] = timestamp;
+      prices[i] = new double[] {price, price + 0.01, price - 0.01, i % 3 == 0 ? price : -price};
+      volumes[i] = i % 11 == 0 ? CompressedSeries.NO_VOLUME : random.nextInt(1_000_000);
+      series.append(timestamps[i], prices[i][0], prices[i][1], prices[i][2], prices[i][3],
+          volumes[i]);
+    }
+    series.append(timestamp, Double.NaN, Double.POSITIVE_INFINITY, -0.0, Double.MIN_VALUE,
+        Long.MAX_VALUE);
+
+    CompressedSeries.Cursor cursor = series.cursor();
+    for (int i = 0; i < n; i++) {
+      assertTrue(cursor.next());
+      assertEquals(i, cursor.getPosition());
+      assertEquals(timestamps[i], cursor.getEpochMillis());
+      assertEquals(prices[i][0], cursor.getOpen());
+      assertEquals(prices[i][1], cursor.getHigh());
+      assertEquals(prices[i][2], cursor.getLow());
+      assertEquals(prices[i][3], cursor.getClose());
+      assertEquals(volumes[i], cursor.getVolume());
+    }
+    assertTrue(cursor.next());
+    assertTrue(Double.isNaN(cursor.getOpen()));
+    assertEquals(Double.POSITIVE_INFINITY, cursor.getHigh());
+    assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(cursor.getLow()));
+    assertEquals(Double.MIN_VALUE, cursor.getClose());
+    assertEquals(Long.MAX_VALUE, cursor.getVolume());
+    assertFalse(cursor.next());
+
+    assertEquals(n + 1, series.size());
+    assertEquals(timestamps[0], series.getFirstTimestamp());
+    assertEquals(timestamp, series.getLastTimestamp());
+    assertTrue(series.getBytesPerBar() < 48, "smaller than primitive columns");
+  }
+
+  @Test
+  void testFromResponseSortsAscending() throws Exception {
+    TimeSeriesResponse response = ModelUtils.toTimeSeriesResponse(
+        new ObjectMapper().readTree(TestUtils.TIME_SERIES_JSON_RESPONSE));
+    CompressedSeries series = CompressedSeries.from(response);
+
+    assertEquals(2, series.size());
+    CompressedSeries.Cursor cursor = series.cursor();
+    assertTrue(cursor.next());
+    assertEquals(response.getOldestValue().getEpochMillis(), cursor.getEpochMillis());
+    assertEquals(148.735, cursor.getClose());
+    assertEquals(589123L, cursor.getVolume());
+    assertTrue(cursor.next());
+    assertEquals(148.85001, cursor.getClose());
+    assertFalse(cursor.next());
+  }
+
+  @Test
+  void testFromResponseKeepsDuplicateTimestamps() {
+    TimeSeriesMeta meta =
+        new TimeSeriesMeta("AAPL", "1day", "USD", "UTC", "NASDAQ", "XNAS", "Common Stock");
+    TimeSeriesResponse response = new TimeSeriesResponse("ok", meta, Arrays.asList(
+        new TimeSeriesValue("2024-01-03", "3", "3", "3", "3", "100"),
+        new TimeSeriesValue("2024-01-02", "2", "2", "2", "2", "100"),
+        new TimeSeriesValue("2024-01-02", "1", "1", "1", "1", "100")));
+    CompressedSeries series = CompressedSeries.from(response);
+
+    assertEquals(3, series.size());
+    CompressedSeries.Cursor cursor = series.cursor();
+    assertTrue(cursor.next());
+    long duplicate = cursor.getEpochMillis();
+    double first = cursor.getClose();
+    assertTrue(cursor.next());
+    assertEquals(duplicate, cursor.getEpochMillis());
+    assertEquals(3.0, first + cursor.getClose(), "both bars of 2024-01-02 are kept");
+    assertTrue(cursor.next());
+    assertEquals(3.0, cursor.getClose());
+    assertFalse(cursor.next());
+  }
+
+  @Test
+  void testAppendValidationAndCursorSnapshot() {
+    CompressedSeries series = new CompressedSeries(1);
+    series.append(1_000L, 1.0, 1.0, 1.0, 1.0, 5);
+    CompressedSeries.Cursor cursor = series.cursor();
+    series.append(2_000L, 2.0, 2.0, 2.0, 2.0, 6);
+    series.trimToSize();
+
+    assertTrue(cursor.next());
+    assertFalse(cursor.next(), "cursor sees bars appended before it was created");
+    assertThrows(IllegalArgumentException.class,
+        () -> series.append(1_500L, 1.0, 1.0, 1.0, 1.0, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> series.append(3_000L, 1.0, 1.0, 1.0, 1.0, -2));
+    assertThrows(java.util.NoSuchElementException.class,
+        () -> new CompressedSeries().getFirstTimestamp());
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import com.github.nicholascowan.twelvedata.models.TimeSeriesMeta;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Manual benchmark comparing a cache of {@link TimeSeriesValue} lists on the heap with the same
+ * bars in {@link OffHeapSeries}: retained heap, collector work under allocation churn and scan
+ * throughput.
+ *
+ * <p>Not run by the test suite. Run it with a fixed heap so the numbers are comparable:
+ *
+ * <pre>{@code
+ * mvn test-compile
+ * java -Xmx2g -cp target/classes:target/test-classes \
+ *     com.github.nicholascowan.twelvedata.series.OffHeapSeriesBenchmark
+ * }</pre>
+ */
+public final class OffHeapSeriesBenchmark {
+
+  private static final int SYMBOLS = 200;
+  private static final int BARS = 5_000;
+  private static final int CHURN_ROUNDS = 200;
+
+  private OffHeapSeriesBenchmark() {}
+
+  public static void main(String[] args) {
+    long baseline = usedHeap();
+    List<List<TimeSeriesValue>> heapCache = new ArrayList<>();
+    Random random = new Random(42);
+    for (int s = 0; s < SYMBOLS; s++) {
+      heapCache.add(response("SYM" + s, random).getValues());
+    }
+    report("heap", usedHeap() - baseline, churn(), scanHeap(heapCache));
+    heapCache = null;
+
+    baseline = usedHeap();
+    List<OffHeapSeries> offHeapCache = new ArrayList<>();
+    random = new Random(42);
+    try (OffHeapArena arena = new OffHeapArena()) {
+      for (int s = 0; s < SYMBOLS; s++) {
+        offHeapCache.add(OffHeapSeries.copyOf(response("SYM" + s, random), arena));
+      }
+      report("off-heap", usedHeap() - baseline, churn(), scanOffHeap(offHeapCache));
+      System.out.printf(Locale.ROOT, "off-heap bytes: %,d%n", arena.getAllocatedBytes());
+    }
+  }
+
+  private static TimeSeriesResponse response(String symbol, Random random) {
+    TimeSeriesMeta meta = new TimeSeriesMeta(
+        symbol, "1min", "USD", "America/New_York", "NASDAQ", "XNAS", "Common Stock");
+    List<TimeSeriesValue> values = new ArrayList<>(BARS);
+    double price = 100 + random.nextInt(100);
+    for (int i = 0; i < BARS; i++) {
+      int minute = BARS - 1 - i;
+      String datetime = String.format(Locale.ROOT, "2024-01-%02d %02d:%02d:00",
+          2 + minute / 1440, minute / 60 % 24, minute % 60);
+      String close = String.format(Locale.ROOT, "%.5f", price);
+      price += random.nextGaussian() * 0.05;
+      values.add(new TimeSeriesValue(datetime, close, close, close, close,
+          Integer.toString(random.nextInt(100_000))));
+    }
+    return new TimeSeriesResponse("ok", meta, values);
+  }
+
+  /** Allocates short-lived garbage and reports the collector time it caused. */
+  private static long churn() {
+    long before = gcMillis();
+    long sink = 0;
+    for (int round = 0; round < CHURN_ROUNDS; round++) {
+      byte[][] garbage = new byte[1_000][];
+      for (int i = 0; i < garbage.length; i++) {
+        garbage[i] = new byte[8_192];
+      }
+      sink += garbage[round % garbage.length].length;
+    }
+    return gcMillis() - before + (sink < 0 ? 1 : 0);
+  }
+
+  private static double scanHeap(List<List<TimeSeriesValue>> cache) {
+    long start = System.nanoTime();
+    double sum = 0;
+    for (List<TimeSeriesValue> values : cache) {
+      for (TimeSeriesValue value : values) {
+        sum += value.getCloseValue();
+      }
+    }
+    return barsPerSecond(start, sum);
+  }
+
+  private static double scanOffHeap(List<OffHeapSeries> cache) {
+    long start = System.nanoTime();
+    double sum = 0;
+    for (OffHeapSeries series : cache) {
+      for (int row = 0; row < series.size(); row++) {
+        sum += series.getClose(row);
+      }
+    }
+    return barsPerSecond(start, sum);
+  }
+
+  private static double barsPerSecond(long start, double checksum) {
+    long elapsed = Math.max(System.nanoTime() - start, 1);
+    return checksum == 0 ? 0 : (double) SYMBOLS * BARS * 1e9 / elapsed;
+  }
+
+  private static void report(String label, long retained, long gcMillis, double scanRate) {
+    System.out.printf(Locale.ROOT, "%-9s retained heap: %,d bytes, gc under churn: %d ms,"
+        + " scan: %.1f M bars/s%n", label, retained, gcMillis, scanRate / 1e6);
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static long gcMillis() {
+    long total = 0;
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(bean.getCollectionTime(), 0);
+    }
+    return total;
+  }
+}
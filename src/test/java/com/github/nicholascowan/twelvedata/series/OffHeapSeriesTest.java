@@ -0,0 +1,174 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nicholascowan.twelvedata.TestUtils;
+import com.github.nicholascowan.twelvedata.models.ModelUtils;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesMeta;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for off-heap series storage and arena lifecycle. */
+@Tag("UnitTest")
+class OffHeapSeriesTest {
+
+  @Test
+  void testCopyOfResponseStoresAscendingBars() throws Exception {
+    JsonNode json = new ObjectMapper().readTree(TestUtils.TIME_SERIES_JSON_RESPONSE);
+    TimeSeriesResponse response = ModelUtils.toTimeSeriesResponse(json, 5);
+    TimeSeriesResponse columnar = ModelUtils.toColumnarTimeSeriesResponse(json, 5);
+
+    try (OffHeapArena arena = new OffHeapArena()) {
+      OffHeapSeries series = OffHeapSeries.copyOf(response, arena);
+      OffHeapSeries fromColumns = OffHeapSeries.copyOf(columnar, arena);
+
+      assertEquals(2, series.size());
+      assertEquals("AAPL", series.getMeta().getSymbol());
+      assertEquals(2 * 2 * 48, arena.getAllocatedBytes(), "two series of two bars");
+      long latest = response.getLatestValue().getEpochMillis();
+      assertEquals(1, series.indexOf(latest));
+      assertEquals(-1, series.indexOf(latest + 1));
+      assertEquals(148.85001, series.getClose(1));
+      assertEquals(148.735, series.getOpen(1));
+      assertEquals(589123L, series.getVolume(0));
+      for (int row = 0; row < series.size(); row++) {
+        assertEquals(series.getTimestamp(row), fromColumns.getTimestamp(row));
+        assertEquals(series.getHigh(row), fromColumns.getHigh(row));
+        assertEquals(series.getLow(row), fromColumns.getLow(row));
+      }
+      assertThrows(IndexOutOfBoundsException.class, () -> series.getClose(2));
+    }
+  }
+
+  @Test
+  void testCopyOfResponseKeepsDuplicateTimestamps() {
+    TimeSeriesMeta meta =
+        new TimeSeriesMeta("AAPL", "1day", "USD", "UTC", "NASDAQ", "XNAS", "Common Stock");
+    TimeSeriesResponse response = new TimeSeriesResponse("ok", meta, Arrays.asList(
+        new TimeSeriesValue("2024-01-03", "3", "3", "3", "3", "100"),
+        new TimeSeriesValue("2024-01-02", "2", "2", "2", "2", "100"),
+        new TimeSeriesValue("2024-01-02", "1", "1", "1", "1", "100")));
+
+    try (OffHeapArena arena = new OffHeapArena()) {
+      OffHeapSeries series = OffHeapSeries.copyOf(response, arena);
+
+      assertEquals(3, series.size());
+      assertEquals(series.getTimestamp(0), series.getTimestamp(1));
+      assertEquals(3.0, series.getClose(0) + series.getClose(1),
+          "both bars of 2024-01-02 are kept");
+      assertEquals(3.0, series.getClose(2));
+    }
+  }
+
+  @Test
+  void testCompressedRoundTrip() {
+    CompressedSeries compressed = new CompressedSeries()
+        .append(1_000L, 1.5, 2.0, 1.0, 1.75, 10)
+        .append(61_000L, 1.75, 2.5, 1.5, 2.25, OffHeapSeries.NO_VOLUME);
+
+    try (OffHeapArena arena = new OffHeapArena()) {
+      OffHeapSeries series = OffHeapSeries.copyOf(compressed, null, arena);
+      assertEquals(61_000L, series.getTimestamp(1));
+      assertEquals(OffHeapSeries.NO_VOLUME, series.getVolume(1));
+
+      CompressedSeries.Cursor cursor = series.toCompressedSeries().cursor();
+      assertTrue(cursor.next());
+      assertEquals(1.75, cursor.getClose());
+      assertTrue(cursor.next());
+      assertEquals(2.25, cursor.getClose());
+      assertFalse(cursor.next());
+    }
+  }
+
+  @Test
+  void testClosedArenaRejectsAccess() {
+    OffHeapArena arena = new OffHeapArena();
+    OffHeapSeries series =
+        OffHeapSeries.copyOf(new CompressedSeries().append(1L, 1, 1, 1, 1, 1), null, arena);
+    assertTrue(arena.getAllocatedBytes() > 0);
+
+    arena.close();
+    arena.close();
+    assertFalse(arena.isOpen());
+    assertEquals(0, arena.getAllocatedBytes());
+    assertThrows(IllegalStateException.class, () -> series.getClose(0));
+    assertThrows(IllegalStateException.class, () -> arena.allocate(8));
+  }
+
+  @Test
+  void testCloseWhileReading() throws Exception {
+    CompressedSeries compressed = new CompressedSeries();
+    for (int i = 0; i < 1000; i++) {
+      compressed.append(i * 60_000L, i, i + 1, i - 1, i + 0.5, i);
+    }
+    OffHeapArena arena = new OffHeapArena();
+    OffHeapSeries series = OffHeapSeries.copyOf(compressed, null, arena);
+    ByteBuffer allocated = arena.allocate(8);
+    CountDownLatch reading = new CountDownLatch(1);
+    AtomicReference<Throwable> unexpected = new AtomicReference<>();
+
+    Thread reader = new Thread(() -> {
+      try {
+        while (true) {
+          for (int row = 0; row < series.size(); row++) {
+            if (series.getClose(row) != row + 0.5) {
+              throw new AssertionError("read freed memory at row " + row);
+            }
+          }
+          reading.countDown();
+        }
+      } catch (IllegalStateException e) {
+        // Closed
+      } catch (Throwable t) {
+        unexpected.set(t);
+      }
+    });
+    reader.start();
+    assertTrue(reading.await(5, TimeUnit.SECONDS));
+    arena.close();
+    reader.join(5_000);
+
+    assertFalse(reader.isAlive());
+    assertNull(unexpected.get());
+    allocated.putLong(0, 42L);
+    assertEquals(42L, allocated.getLong(0), "buffers handed out stay valid");
+  }
+
+  @Test
+  void testAllocateWhileClosing() throws Exception {
+    for (int attempt = 0; attempt < 200; attempt++) {
+      OffHeapArena arena = new OffHeapArena();
+      CountDownLatch allocating = new CountDownLatch(1);
+      AtomicReference<Throwable> unexpected = new AtomicReference<>();
+
+      Thread allocator = new Thread(() -> {
+        try {
+          while (true) {
+            assertNotNull(arena.allocate(8), "allocate never returns null");
+            allocating.countDown();
+          }
+        } catch (IllegalStateException e) {
+          // Closed
+        } catch (Throwable t) {
+          unexpected.set(t);
+        }
+      });
+      allocator.start();
+      assertTrue(allocating.await(5, TimeUnit.SECONDS));
+      arena.close();
+      allocator.join(5_000);
+
+      assertFalse(allocator.isAlive());
+      assertNull(unexpected.get());
+    }
+  }
+}
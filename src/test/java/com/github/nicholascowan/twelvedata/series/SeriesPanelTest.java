@@ -0,0 +1,180 @@
+package com.github.nicholascowan.twelvedata.series;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.nicholascowan.twelvedata.models.ColumnarTimeSeriesValues;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesMeta;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesResponse;
+import com.github.nicholascowan.twelvedata.models.TimeSeriesValue;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests for aligning several time series on a shared index. */
+@Tag("UnitTest")
+class SeriesPanelTest {
+
+  private static TimeSeriesResponse response(String symbol, String... datetimeAndClose) {
+    TimeSeriesMeta meta =
+        new TimeSeriesMeta(symbol, "1day", "USD", "UTC", "NASDAQ", "XNAS", "Common Stock");
+    List<TimeSeriesValue> values = new ArrayList<>();
+    for (int i = 0; i < datetimeAndClose.length; i += 2) {
+      String close = datetimeAndClose[i + 1];
+      values.add(new TimeSeriesValue(datetimeAndClose[i], close, close, close, close, "100"));
+    }
+    return new TimeSeriesResponse("ok", meta, values);
+  }
+
+  private static long day(String date) {
+    return LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+  }
+
+  @Test
+  void testMergeBuildsSortedUnionIndex() {
+    // Descending like the API default
+    TimeSeriesResponse aapl =
+        response("AAPL", "2024-01-04", "4.0", "2024-01-03", "3.0", "2024-01-01", "1.0");
+    TimeSeriesResponse msft = response("MSFT", "2024-01-02", "20.0", "2024-01-03", "30.0");
+
+    SeriesPanel panel = SeriesPanel.merge(Arrays.asList(aapl, msft), FillPolicy.NAN);
+
+    assertEquals(4, panel.size());
+    assertEquals(2, panel.symbolCount());
+    assertEquals(Arrays.asList("AAPL", "MSFT"), panel.getSymbols());
+    assertArrayEquals(
+        new long[] {day("2024-01-01"), day("2024-01-02"), day("2024-01-03"), day("2024-01-04")},
+        panel.getIndex());
+
+    double[] aaplClose = panel.getColumn("AAPL", BarField.CLOSE);
+    assertEquals(1.0, aaplClose[0]);
+    assertTrue(Double.isNaN(aaplClose[1]));
+    assertEquals(3.0, aaplClose[2]);
+    assertEquals(4.0, aaplClose[3]);
+
+    double[] msftClose = panel.getColumn("MSFT", BarField.CLOSE);
+    assertTrue(Double.isNaN(msftClose[0]));
+    assertEquals(20.0, msftClose[1]);
+    assertEquals(30.0, msftClose[2]);
+    assertTrue(Double.isNaN(msftClose[3]));
+  }
+
+  @Test
+  void testForwardFill() {
+    TimeSeriesResponse aapl = response("AAPL", "2024-01-01", "1.0", "2024-01-04", "4.0");
+    TimeSeriesResponse msft = response("MSFT", "2024-01-02", "20.0", "2024-01-03", "30.0");
+
+    SeriesPanel panel = SeriesPanel.merge(Arrays.asList(aapl, msft), FillPolicy.FORWARD_FILL);
+
+    assertArrayEquals(new double[] {1.0, 1.0, 1.0, 4.0}, panel.getColumn("AAPL", BarField.CLOSE));
+    double[] msftClose = panel.getColumn("MSFT", BarField.CLOSE);
+    assertTrue(Double.isNaN(msftClose[0]), "no value before the first bar");
+    assertEquals(20.0, msftClose[1]);
+    assertEquals(30.0, msftClose[2]);
+    assertEquals(30.0, msftClose[3]);
+    assertEquals(100.0, panel.get(3, "MSFT", BarField.VOLUME));
+  }
+
+  @Test
+  void testForwardFillKeepsMissingValuesOfPresentBars() {
+    TimeSeriesResponse aapl =
+        response("AAPL", "2024-01-01", "1.0", "2024-01-02", null, "2024-01-04", "4.0");
+    TimeSeriesResponse msft = response("MSFT", "2024-01-03", "30.0");
+
+    SeriesPanel panel = SeriesPanel.merge(Arrays.asList(aapl, msft), FillPolicy.FORWARD_FILL);
+
+    double[] aaplClose = panel.getColumn("AAPL", BarField.CLOSE);
+    assertEquals(1.0, aaplClose[0]);
+    assertTrue(Double.isNaN(aaplClose[1]), "the bar's own missing close is not filled");
+    assertTrue(Double.isNaN(aaplClose[2]), "the gap carries the previous bar as it is");
+    assertEquals(4.0, aaplClose[3]);
+    assertEquals(100.0, panel.get(2, "AAPL", BarField.VOLUME));
+  }
+
+  @Test
+  void testIntradayTimestampsUseExchangeTimezone() {
+    TimeSeriesResponse ny = response("AAPL", "2024-01-02 09:30:00", "1.0");
+    ny.getMeta().setExchangeTimezone("America/New_York");
+    TimeSeriesResponse utc = response("VOD", "2024-01-02 14:30:00", "2.0");
+
+    SeriesPanel panel = SeriesPanel.merge(Arrays.asList(ny, utc), FillPolicy.NAN);
+
+    assertEquals(1, panel.size(), "09:30 New York and 14:30 UTC are the same instant");
+    assertEquals(0, panel.indexOf(day("2024-01-02") + 14 * 3_600_000L + 30 * 60_000L));
+    assertEquals(-1, panel.indexOf(0L));
+  }
+
+  @Test
+  void testSelectedFieldsOnly() {
+    Map<String, TimeSeriesResponse> responses = new LinkedHashMap<>();
+    responses.put("X", response("AAPL", "2024-01-01", "1.0"));
+
+    SeriesPanel panel = SeriesPanel.merge(responses, FillPolicy.NAN, BarField.CLOSE);
+
+    assertEquals(Arrays.asList("X"), panel.getSymbols());
+    assertEquals(1.0, panel.get(0, "X", BarField.CLOSE));
+    assertThrows(IllegalArgumentException.class, () -> panel.getColumn("X", BarField.OPEN));
+    assertThrows(IllegalArgumentException.class, () -> panel.getColumn("Y", BarField.CLOSE));
+  }
+
+  @Test
+  void testDuplicateSymbolsRejected() {
+    TimeSeriesResponse first = response("AAPL", "2024-01-01", "1.0");
+    TimeSeriesResponse second = response("AAPL", "2024-01-02", "2.0");
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeriesPanel.merge(Arrays.asList(first, second), FillPolicy.NAN));
+  }
+
+  @Test
+  void testManySymbolsMergeMatchesNaiveUnion() {
+    List<TimeSeriesResponse> responses = new ArrayList<>();
+    TreeSet<Long> expected = new TreeSet<>();
+    for (int s = 0; s < 50; s++) {
+      List<String> args = new ArrayList<>();
+      for (int d = 30; d >= 1; d--) {
+        if ((d + s) % 3 != 0) {
+          String date = String.format("2024-01-%02d", d);
+          args.add(date);
+          args.add(Integer.toString(d));
+          expected.add(day(date));
+        }
+      }
+      responses.add(response("S" + s, args.toArray(new String[0])));
+    }
+
+    SeriesPanel panel = SeriesPanel.merge(responses, FillPolicy.NAN);
+
+    long[] index = panel.getIndex();
+    assertEquals(expected.size(), index.length);
+    int i = 0;
+    for (long timestamp : expected) {
+      assertEquals(timestamp, index[i++]);
+    }
+  }
+
+  @Test
+  void testColumnarValuesMergeLikeObjectValues() {
+    TimeSeriesResponse aapl =
+        response("AAPL", "2024-01-04", "4.0", "2024-01-03", "3.0", "2024-01-01", "1.0");
+    TimeSeriesResponse msft = response("MSFT", "2024-01-02", "20.0", "2024-01-03", "30.0");
+    TimeSeriesResponse columnarMsft = new TimeSeriesResponse("ok", msft.getMeta(),
+        ColumnarTimeSeriesValues.of(msft.getValues(), "UTC", 1));
+
+    SeriesPanel expected = SeriesPanel.merge(Arrays.asList(aapl, msft), FillPolicy.FORWARD_FILL);
+    SeriesPanel actual =
+        SeriesPanel.merge(Arrays.asList(aapl, columnarMsft), FillPolicy.FORWARD_FILL);
+
+    assertArrayEquals(expected.getIndex(), actual.getIndex());
+    for (BarField field : BarField.values()) {
+      assertArrayEquals(expected.getColumn("MSFT", field), actual.getColumn("MSFT", field));
+    }
+  }
+}